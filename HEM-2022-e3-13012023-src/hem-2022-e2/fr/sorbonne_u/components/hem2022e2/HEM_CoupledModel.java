@@ -46,6 +46,8 @@ import fr.sorbonne_u.devs_simulation.models.events.EventSource;
 import fr.sorbonne_u.devs_simulation.models.events.ReexportedEvent;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 // -----------------------------------------------------------------------------
 /**
@@ -149,6 +151,11 @@ extends		CoupledModel
 			this.subreports.add(r);
 		}
 
+		public List<HEM_ReportI>	getSubReports()
+		{
+			return Collections.unmodifiableList(this.subreports);
+		}
+
 		@Override
 		public String		printout(String indent)
 		{
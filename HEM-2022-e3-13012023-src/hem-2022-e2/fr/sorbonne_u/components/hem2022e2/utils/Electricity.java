@@ -54,6 +54,25 @@ import fr.sorbonne_u.devs_simulation.models.time.Duration;
  */
 public class			Electricity
 {
+	/**
+	 * return the number of hours in one {@code u}, to be computed once by the
+	 * models and given to {@code computeConsumption(double, double, double)}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code u != null}
+	 * post	{@code ret > 0.0}
+	 * </pre>
+	 *
+	 * @param u		a time unit.
+	 * @return		the duration of one {@code u} in hours.
+	 */
+	public static double	hoursPerUnit(TimeUnit u)
+	{
+		return ((double) u.toNanos(1))/TimeUnit.HOURS.toNanos(1);
+	}
+
 	/**
 	 * convert the duration {@code d} in hours.
 	 * 
@@ -69,12 +88,10 @@ public class			Electricity
 	 */
 	public static double	toHours(Duration d)
 	{
-		long factor = 1;
-		if (d.getTimeUnit() != TimeUnit.HOURS) {
-			factor = d.getTimeUnit().convert(1, TimeUnit.HOURS);
+		if (d.getTimeUnit() == TimeUnit.HOURS) {
+			return d.getSimulatedDuration();
 		}
-		double ret = d.getSimulatedDuration()/factor;
-		return ret;
+		return d.getSimulatedDuration()*hoursPerUnit(d.getTimeUnit());
 	}
 
 	/**
@@ -98,5 +115,33 @@ public class			Electricity
 		double h = toHours(d);
 		return h*i/1000.0;
 	}
+
+	/**
+	 * compute the total consumption in kwh for the given intensity {@code i}
+	 * in watts consumed during {@code duration} time units, each lasting
+	 * {@code hoursPerUnit} hours; this version neither allocates nor converts
+	 * time units, hence it is the one to be used at each step of the models.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code duration >= 0.0 && hoursPerUnit > 0.0}
+	 * pre	{@code i >= 0.0}
+	 * post	{@code ret >= 0.0}
+	 * </pre>
+	 *
+	 * @param duration		duration of the consumption in the time unit of the model.
+	 * @param hoursPerUnit	duration of the time unit in hours, as given by {@code hoursPerUnit}.
+	 * @param i				constant intensity in watts during the duration.
+	 * @return				the total consumption in kwh.
+	 */
+	public static double	computeConsumption(
+		double duration,
+		double hoursPerUnit,
+		double i
+		)
+	{
+		return duration*hoursPerUnit*i/1000.0;
+	}
 }
 // -----------------------------------------------------------------------------
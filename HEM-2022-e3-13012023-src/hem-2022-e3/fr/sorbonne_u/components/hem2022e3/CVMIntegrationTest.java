@@ -38,6 +38,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.AirCondition
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.test.AirConditionerTester;
 import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.HairDryer;
 import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.test.HairDryerUser;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterControlLoop;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.PredictiveHeaterController;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeater;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeaterController;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.test.ThermostatedHeaterUser;
@@ -47,6 +49,10 @@ import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.test.IndoorGar
 import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeter;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.SolarPanel;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.test.SolarPanelTester;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticControlEngine;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoopDescriptor;
+import fr.sorbonne_u.components.hem2022e3.utils.RealTimeProbe;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationScenario;
 import fr.sorbonne_u.devs_simulation.simulators.AtomicRTEngine;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
@@ -97,8 +103,9 @@ extends		AbstractCVM
 	 *  because of implementation constraints revolving around the precision
 	 *  of the Java thread scheduler, this factor must be chosen in such a way
 	 *  that intervals between simulation transitions or the execution of pieces
-	 *  of code do not fall under 10 milliseconds approximately.			*/
-	public static final double	ACC_FACTOR = IS_SIMULATED ? 300.0 : 4800;
+	 *  of code do not fall under 10 milliseconds approximately; it can be
+	 *  changed by the scenario file of the run.							*/
+	public static double		ACC_FACTOR = IS_SIMULATED ? 300.0 : 4800;
 	/** delay to start the real time simulations on every model at the
 	 *  same moment (the order is delivered to the models during this
 	 *  delay; this delay must be ample enough to give the time to notify
@@ -108,10 +115,10 @@ extends		AbstractCVM
 	 *  JVM and even more several computers require a larger delay.			*/
 	public static final long	DELAY_TO_START_SIMULATION = 3000L;
 	/** duration  of the simulation in hours.								*/
-	public static final double	SIMULATION_DURATION = 24.0;
+	public static double		SIMULATION_DURATION = 24.0;
 
 	/** start instant in test scenarios, as a string to be parsed.			*/
-	public static final String	START_INSTANT = "2022-11-08T00:00:00.00Z";
+	public static String		START_INSTANT = "2022-11-08T00:00:00.00Z";
 	/** Unix epoch time at which the execution of the simulation and the
 	 *  test scenarios must start.											*/
 	public static long			EXECUTION_START;
@@ -124,6 +131,20 @@ extends		AbstractCVM
 
 	/** target temperature for the run.										*/
 	protected static double		TARGET_TEMPERATURE = 19.0;
+	/** when true, the heater pushes the crossings of the hysteresis band
+	 *  to its controller instead of being polled at each control period.	*/
+	protected static boolean	HEATER_PUSH_MODE = false;
+	/** when true, the heater is controlled by a loop of a shared
+	 *  {@code ThermostaticControlEngine} instead of its own controller.	*/
+	protected static boolean	SHARED_CONTROL_ENGINE = false;
+	/** when true, the heater is controlled by a
+	 *  {@code PredictiveHeaterController} instead of the hysteresis one.	*/
+	protected static boolean	HEATER_PREDICTIVE_CONTROL = false;
+	/** scenario of the run, read from the file given by the system property
+	 *  {@code SimulationScenario.SCENARIO_FILE_PROPERTY} or by the first
+	 *  argument of {@code main}; its run parameters are passed to the
+	 *  models by the supervisor.											*/
+	public static SimulationScenario	SCENARIO = new SimulationScenario();
 
 	// -------------------------------------------------------------------------
 	// Constructors
@@ -197,10 +218,31 @@ extends		AbstractCVM
 							 IntegrationTestSupervisor.SIM_ARCHITECTURE_URI,
 							 ACC_FACTOR,
 							 CLOCK_URI});
-		// the heater controller component that needs the clock to compute its
-		// accelerated control period when executed in test mode
-		AbstractComponent.createComponent(
-				ThermostatedHeaterController.class.getCanonicalName(),
+		if (SHARED_CONTROL_ENGINE) {
+			// the control engine executing the loops of the thermostatic
+			// devices in pull mode, here only the heater as the refrigerator
+			// and the electric blanket are not deployed by this test; it
+			// needs the clock to compute the accelerated control periods of
+			// its loops
+			AbstractComponent.createComponent(
+				ThermostaticControlEngine.class.getCanonicalName(),
+				new Object[]{
+					new ThermostaticLoopDescriptor[]{
+						new HeaterControlLoop.Descriptor(
+							HeaterControlLoop.class.getSimpleName(),
+							ThermostatedHeater.SENSOR_INBOUND_PORT_URI,
+							ThermostatedHeater.ACTUATOR_INBOUND_PORT_URI,
+							ThermostatedHeaterController.STANDARD_HYSTERESIS,
+							ThermostatedHeaterController.STANDARD_CONTROL_PERIOD)
+						},
+					IS_UNDER_TEST,
+					CLOCK_URI});
+		} else if (HEATER_PREDICTIVE_CONTROL) {
+			// the predictive heater controller, always in pull mode, that
+			// needs the clock to forecast the external temperature and the
+			// prices over its plans
+			AbstractComponent.createComponent(
+				PredictiveHeaterController.class.getCanonicalName(),
 				new Object[]{
 						ThermostatedHeater.SENSOR_INBOUND_PORT_URI,
 						ThermostatedHeater.ACTUATOR_INBOUND_PORT_URI,
@@ -208,6 +250,21 @@ extends		AbstractCVM
 						ThermostatedHeaterController.STANDARD_CONTROL_PERIOD,
 						IS_UNDER_TEST,
 						CLOCK_URI});
+		} else {
+			// the heater controller component that needs the clock to
+			// compute its accelerated control period when executed in test
+			// mode
+			AbstractComponent.createComponent(
+				ThermostatedHeaterController.class.getCanonicalName(),
+				new Object[]{
+						ThermostatedHeater.SENSOR_INBOUND_PORT_URI,
+						ThermostatedHeater.ACTUATOR_INBOUND_PORT_URI,
+						ThermostatedHeaterController.STANDARD_HYSTERESIS,
+						ThermostatedHeaterController.STANDARD_CONTROL_PERIOD,
+						IS_UNDER_TEST,
+						CLOCK_URI,
+						HEATER_PUSH_MODE});
+		}
 		// user component that will switch on the heater, set its target
 		// temperature and then switch it off just before the end of the
 		// execution; it needs the clock to schedule its test scenario actions
@@ -332,6 +389,31 @@ extends		AbstractCVM
 	public static void	main(String[] args)
 	{
 		try {
+			// the settings of the scenario replace the default values
+			SCENARIO = args.length > 0 ?
+							SimulationScenario.load(args[0])
+						:	SimulationScenario.fromSystemProperty();
+			ACC_FACTOR = SCENARIO.getDouble(SimulationScenario.ACC_FACTOR_KEY,
+											ACC_FACTOR);
+			SIMULATION_DURATION =
+				SCENARIO.getDouble(SimulationScenario.SIMULATION_DURATION_KEY,
+								   SIMULATION_DURATION);
+			START_INSTANT = SCENARIO.getStartInstant(START_INSTANT);
+			TARGET_TEMPERATURE =
+				SCENARIO.getDouble(SimulationScenario.TARGET_TEMPERATURE_KEY,
+								   TARGET_TEMPERATURE);
+			HEATER_PUSH_MODE =
+				SCENARIO.getBoolean(SimulationScenario.HEATER_PUSH_MODE_KEY,
+									HEATER_PUSH_MODE);
+			SHARED_CONTROL_ENGINE =
+				SCENARIO.getBoolean(
+						SimulationScenario.SHARED_CONTROL_ENGINE_KEY,
+						SHARED_CONTROL_ENGINE);
+			HEATER_PREDICTIVE_CONTROL =
+				SCENARIO.getBoolean(
+						SimulationScenario.HEATER_PREDICTIVE_CONTROL_KEY,
+						HEATER_PREDICTIVE_CONTROL);
+
 			CVMIntegrationTest cvm = new CVMIntegrationTest();
 			// compute the execution duration in milliseconds from the
 			// simulation duration in hours and the acceleration factor
@@ -349,8 +431,15 @@ extends		AbstractCVM
 										DELAY_TO_START_SIMULATION +
 											AtomicRTEngine.END_TIME_TOLERANCE +
 												1000L);
-			// delay to look at the results before closing the trace windows
-			Thread.sleep(10000L);
+			// the measures of the real time probes, if enabled, are written
+			// once all of the components have stopped
+			RealTimeProbe.writeReport();
+			// delay to look at the results before closing the trace windows,
+			// useless when the run is measured by a benchmark
+			if (System.getProperty(
+							RealTimeProbe.REPORT_FILE_PROPERTY) == null) {
+				Thread.sleep(10000L);
+			}
 			// force the exit
 			System.exit(0);
 		} catch (Exception e) {
@@ -0,0 +1,121 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import fr.sorbonne_u.components.hem2022e2.HEM_CoupledModel.HEM_Report;
+import fr.sorbonne_u.components.hem2022e2.HEM_ReportI;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.StaticVariableDescriptor;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableSink;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableSource;
+import fr.sorbonne_u.devs_simulation.interfaces.ModelDescriptionI;
+import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
+import fr.sorbonne_u.devs_simulation.models.CoupledModel;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.events.EventSink;
+import fr.sorbonne_u.devs_simulation.models.events.EventSource;
+import fr.sorbonne_u.devs_simulation.models.events.ReexportedEvent;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>HouseholdCoupledModel</code> defines the coupled model
+ * assembling the simulation models of all of the equipments of the household
+ * in a single simulator.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * Its final report gathers the reports of its submodels that implement
+ * {@code HEM_ReportI}, the other submodels returning no report.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			HouseholdCoupledModel
+extends		CoupledModel
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** URI for a model; works when only one instance is created.			*/
+	public static final String	URI =
+								HouseholdCoupledModel.class.getSimpleName();
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * creating the coupled model.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no more precondition.
+	 * post	{@code true}	// no more postcondition.
+	 * </pre>
+	 *
+	 * @param uri				URI of the coupled model to be created.
+	 * @param simulatedTimeUnit	time unit used in the simulation by the model.
+	 * @param simulationEngine	simulation engine enacting the model.
+	 * @param submodels			array of submodels of the new coupled model.
+	 * @param imported			map from imported event types to submodels consuming them.
+	 * @param reexported		map from event types exported by submodels that are reexported by this coupled model.
+	 * @param connections		map connecting event sources to arrays of event sinks among submodels.
+	 * @param importedVars		variables imported by the coupled model that are consumed by submodels.
+	 * @param reexportedVars	variables exported by submodels that are reexported by the coupled model.
+	 * @param bindings			bindings between exported and imported variables among submodels.
+	 * @throws Exception		<i>to do</i>.
+	 */
+	public				HouseholdCoupledModel(
+		String uri,
+		TimeUnit simulatedTimeUnit,
+		SimulatorI simulationEngine,
+		ModelDescriptionI[] submodels,
+		Map<Class<? extends EventI>, EventSink[]> imported,
+		Map<Class<? extends EventI>, ReexportedEvent> reexported,
+		Map<EventSource, EventSink[]> connections,
+		Map<StaticVariableDescriptor, VariableSink[]> importedVars,
+		Map<VariableSource, StaticVariableDescriptor> reexportedVars,
+		Map<VariableSource, VariableSink[]> bindings
+		) throws Exception
+	{
+		super(uri, simulatedTimeUnit, simulationEngine, submodels,
+			  imported, reexported, connections,
+			  importedVars, reexportedVars, bindings);
+	}
+
+	// -------------------------------------------------------------------------
+	// Optional DEVS simulation protocol: simulation report
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.Model#getFinalReport()
+	 */
+	@Override
+	public SimulationReportI	getFinalReport() throws Exception
+	{
+		HEM_Report ret = new HEM_Report(this.getURI());
+		for (int i = 0 ; i < this.submodels.length ; i++) {
+			SimulationReportI r = this.submodels[i].getFinalReport();
+			if (r instanceof HEM_ReportI) {
+				ret.addSubReport((HEM_ReportI) r);
+			}
+		}
+		return ret;
+	}
+}
+// -----------------------------------------------------------------------------
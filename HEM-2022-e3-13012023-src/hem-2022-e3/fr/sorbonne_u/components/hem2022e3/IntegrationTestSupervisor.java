@@ -82,6 +82,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.solar.SolarPanel;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.SolarPanelStateModel;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.events.SolarNotProduce;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.events.SolarProduce;
+import fr.sorbonne_u.components.hem2022e3.utils.BinaryTraceWriter;
+import fr.sorbonne_u.components.hem2022e3.utils.RealTimeProbe;
 import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
 import fr.sorbonne_u.devs_simulation.models.architectures.AbstractAtomicModelDescriptor;
 import fr.sorbonne_u.devs_simulation.models.architectures.CoupledModelDescriptor;
@@ -576,8 +578,22 @@ extends		AbstractCyPhyComponent
 		// create the simulator from the simulation architecture
 		this.sp.createSimulator();
 		// force the setting of simulation run parameters, as simulation
-		// plug-ins in components can add some during the process
-		this.sp.setSimulationRunParameters(new HashMap<String, Object>());
+		// plug-ins in components can add some during the process; the
+		// scenario of the run gives the values changed from the defaults and
+		// the models trace in binary when a trace file is given as a system
+		// property
+		HashMap<String, Object> simParams = new HashMap<String, Object>(
+							CVMIntegrationTest.SCENARIO.getRunParameters());
+		String traceFile =
+				System.getProperty(BinaryTraceWriter.TRACE_FILE_PROPERTY);
+		if (traceFile != null) {
+			simParams.put(BinaryTraceWriter.TRACE_FILE_RPNAME, traceFile);
+		}
+		this.sp.setSimulationRunParameters(simParams);
+		// the scenario may change the levels of the messages of the models
+		// and components, SimulationLog.setLevel switching them during the
+		// run when diagnosing a single one
+		CVMIntegrationTest.SCENARIO.applyLogLevels();
 		// start a real time simulation with a delay before the
 		// actual start of the simulation
 		this.clockServerOBP = new ClockServerOutboundPort(this);
@@ -601,6 +617,8 @@ extends		AbstractCyPhyComponent
 
 		long realTimeOfStart =
 				TimeUnit.NANOSECONDS.toMillis(clock.getStartEpochNanos());
+		// the real time probes measure the lags from the same start
+		RealTimeProbe.setTimeline(realTimeOfStart, this.accFactor);
 		this.sp.startRTSimulation(realTimeOfStart, 0.0,
 								  CVMIntegrationTest.SIMULATION_DURATION);
 	}
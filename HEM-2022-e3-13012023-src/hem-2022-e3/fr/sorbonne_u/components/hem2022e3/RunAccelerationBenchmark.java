@@ -0,0 +1,303 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3;
+
+import java.io.File;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import fr.sorbonne_u.components.hem2022e3.utils.RealTimeProbe;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationScenario;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunAccelerationBenchmark</code> runs the SIL integration
+ * test at increasing acceleration factors to find the largest one the real
+ * time architecture sustains.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * A configuration is a scenario file as read by {@code SimulationScenario}.
+ * For each configuration and each acceleration factor, in increasing order,
+ * {@code CVMIntegrationTest} is executed in a new virtual machine, as a CVM
+ * deployment cannot be restarted in the same one, with a scenario copying the
+ * configuration but for the acceleration factor and the real time probes
+ * enabled. The probes measure the lag of the transitions of the heater
+ * temperature and electric meter models behind the accelerated clock and
+ * the jitter of the control loops of the heater controller and of the HEM.
+ * </p>
+ * <p>
+ * An acceleration factor is sustained when the run ends normally and no probe
+ * misses more than {@code MAX_MISSED_RATIO} of its deadlines; the factors of
+ * a configuration are tried until the first one that is not sustained. The
+ * output of each run goes to a log file in the working directory, and the
+ * statistics of each probe at each factor then the largest sustained factor
+ * of each configuration are printed.
+ * </p>
+ * <p>
+ * Usage: {@code RunAccelerationBenchmark [scenario ...]}, the default
+ * scenario being used without argument. The factors can be given as a comma
+ * separated list by the system property {@code FACTORS_PROPERTY}, the
+ * deadline in milliseconds by {@code RealTimeProbe.DEADLINE_PROPERTY}, and
+ * the simulated duration of the runs defaults to
+ * {@code DEFAULT_SIMULATION_DURATION} hours when the scenario does not give
+ * it.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			RunAccelerationBenchmark
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** name of the system property giving the acceleration factors.		*/
+	public static final String		FACTORS_PROPERTY = "hem.benchmark.factors";
+	/** acceleration factors tried by default.								*/
+	public static final double[]	DEFAULT_FACTORS =
+						new double[]{300.0, 600.0, 1200.0, 2400.0, 4800.0,
+									 9600.0, 19200.0};
+	/** simulated duration of a run in hours when the scenario does not
+	 *  give it.															*/
+	public static final double		DEFAULT_SIMULATION_DURATION = 6.0;
+	/** largest ratio of missed deadlines of a sustained run.				*/
+	public static final double		MAX_MISSED_RATIO = 0.01;
+	/** time in milliseconds given to a run beyond its execution duration
+	 *  before it is considered as stuck.									*/
+	protected static final long		RUN_TIMEOUT_MARGIN = 60000L;
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * execute {@code CVMIntegrationTest} in a new virtual machine under the
+	 * configuration {@code configuration} accelerated by {@code accFactor} and
+	 * return the report of its real time probes, or null if the run failed.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code configuration != null && accFactor > 0.0}
+	 * pre	{@code prefix != null && !prefix.isEmpty()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param configuration	settings of the scenario of the run.
+	 * @param accFactor		acceleration factor of the run.
+	 * @param prefix		prefix of the files of the run.
+	 * @return				the report of the probes or null if the run failed.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public static Properties	run(
+		Properties configuration,
+		double accFactor,
+		String prefix
+		) throws Exception
+	{
+		assert	configuration != null && accFactor > 0.0;
+		assert	prefix != null && !prefix.isEmpty();
+
+		Properties scenario = new Properties();
+		scenario.putAll(configuration);
+		scenario.setProperty(SimulationScenario.ACC_FACTOR_KEY,
+							 Double.toString(accFactor));
+		double duration = new SimulationScenario(scenario).getDouble(
+								SimulationScenario.SIMULATION_DURATION_KEY,
+								DEFAULT_SIMULATION_DURATION);
+		scenario.setProperty(SimulationScenario.SIMULATION_DURATION_KEY,
+							 Double.toString(duration));
+
+		Path scenarioFile = Paths.get(prefix + ".scenario");
+		Path reportFile = Paths.get(prefix + ".report");
+		Files.deleteIfExists(reportFile);
+		try (Writer w = Files.newBufferedWriter(scenarioFile,
+												StandardCharsets.UTF_8)) {
+			scenario.store(w, "acceleration benchmark run");
+		}
+
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"),
+							  "bin", "java").toString());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add("-D" + SimulationScenario.SCENARIO_FILE_PROPERTY + "="
+					+ scenarioFile.toAbsolutePath());
+		command.add("-D" + RealTimeProbe.REPORT_FILE_PROPERTY + "="
+					+ reportFile.toAbsolutePath());
+		String deadline = System.getProperty(RealTimeProbe.DEADLINE_PROPERTY);
+		if (deadline != null) {
+			command.add("-D" + RealTimeProbe.DEADLINE_PROPERTY + "="
+						+ deadline);
+		}
+		// the traces of the models would slow down the measured run
+		command.add("-D" + SimulationLog.LEVEL_PROPERTY + "="
+					+ System.getProperty(SimulationLog.LEVEL_PROPERTY,
+										 SimulationLog.Level.OFF.name()));
+		command.add(CVMIntegrationTest.class.getCanonicalName());
+
+		Process p = new ProcessBuilder(command).
+							redirectErrorStream(true).
+							redirectOutput(new File(prefix + ".log")).
+							start();
+		long timeout =
+				(long) (duration * TimeUnit.HOURS.toMillis(1)/accFactor) +
+				CVMIntegrationTest.DELAY_TO_START_SIMULATION +
+				RUN_TIMEOUT_MARGIN;
+		if (!p.waitFor(timeout, TimeUnit.MILLISECONDS)) {
+			p.destroyForcibly();
+			return null;
+		}
+		if (p.exitValue() != 0 || !Files.exists(reportFile)) {
+			return null;
+		}
+		Properties report = new Properties();
+		try (Reader r = Files.newBufferedReader(reportFile,
+												StandardCharsets.UTF_8)) {
+			report.load(r);
+		}
+		return report;
+	}
+
+	/**
+	 * return true if no probe of {@code report} misses more than
+	 * {@code MAX_MISSED_RATIO} of its deadlines.
+	 *
+	 * @param report	report of the probes of a run, or null if it failed.
+	 * @return			true if the run sustained its acceleration factor.
+	 */
+	public static boolean	isSustained(Properties report)
+	{
+		if (report == null) {
+			return false;
+		}
+		for (String probe : RealTimeProbe.probeNames(report)) {
+			long count = Long.parseLong(report.getProperty(
+									probe + RealTimeProbe.COUNT_SUFFIX));
+			long missed = Long.parseLong(report.getProperty(
+									probe + RealTimeProbe.MISSED_SUFFIX));
+			if (missed > MAX_MISSED_RATIO * count) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * print the statistics of the probes of a run.
+	 *
+	 * @param accFactor	acceleration factor of the run.
+	 * @param report	report of the probes of the run, or null if it failed.
+	 */
+	protected static void	print(double accFactor, Properties report)
+	{
+		if (report == null) {
+			System.out.println(String.format("%9.1f  run failed", accFactor));
+			return;
+		}
+		for (String probe : RealTimeProbe.probeNames(report)) {
+			System.out.println(String.format(
+				"%9.1f  %-30s n = %s, missed = %s, mean = %s ms, "
+				+ "p99 = %s ms, max = %s ms",
+				accFactor, probe,
+				report.getProperty(probe + RealTimeProbe.COUNT_SUFFIX),
+				report.getProperty(probe + RealTimeProbe.MISSED_SUFFIX),
+				report.getProperty(probe + RealTimeProbe.MEAN_SUFFIX, "-"),
+				report.getProperty(probe + RealTimeProbe.P99_SUFFIX, "-"),
+				report.getProperty(probe + RealTimeProbe.MAX_SUFFIX, "-")));
+		}
+	}
+
+	/**
+	 * return the acceleration factors to be tried, in increasing order.
+	 *
+	 * @return	the acceleration factors to be tried.
+	 */
+	protected static double[]	factors()
+	{
+		String s = System.getProperty(FACTORS_PROPERTY);
+		if (s == null) {
+			return DEFAULT_FACTORS;
+		}
+		String[] items = s.split(",");
+		double[] ret = new double[items.length];
+		for (int i = 0 ; i < items.length ; i++) {
+			ret[i] = Double.parseDouble(items[i].trim());
+		}
+		Arrays.sort(ret);
+		return ret;
+	}
+
+	public static void	main(String[] args)
+	{
+		try {
+			// configurations by name, the default scenario when none is given
+			Map<String,Properties> configurations = new LinkedHashMap<>();
+			if (args.length == 0) {
+				configurations.put("default", new Properties());
+			}
+			for (String path : args) {
+				Properties p = new Properties();
+				try (Reader r = Files.newBufferedReader(
+											Paths.get(path),
+											StandardCharsets.UTF_8)) {
+					p.load(r);
+				}
+				configurations.put(path, p);
+			}
+
+			double[] factors = factors();
+			Map<String,Double> sustained = new LinkedHashMap<>();
+			int index = 0;
+			for (Map.Entry<String,Properties> c : configurations.entrySet()) {
+				System.out.println("configuration " + c.getKey() + ":");
+				double best = Double.NaN;
+				for (double f : factors) {
+					Properties report =
+						run(c.getValue(), f,
+							"acc-benchmark-" + index + "-" + (long) f);
+					print(f, report);
+					if (!isSustained(report)) {
+						break;
+					}
+					best = f;
+				}
+				sustained.put(c.getKey(), best);
+				index++;
+			}
+
+			System.out.println("largest sustained acceleration factors:");
+			for (Map.Entry<String,Double> e : sustained.entrySet()) {
+				System.out.println("  " + e.getKey() + ": " +
+								   (Double.isNaN(e.getValue()) ?
+										"none" : e.getValue().toString()));
+			}
+			System.exit(0);
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,266 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3;
+
+import java.util.ArrayList;
+import java.util.List;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.PredictiveHeatingPlanner;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeater;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeaterController;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.CosineTemperatureProfile;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.ExternalTemperatureModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.ExternalTemperatureProfileI;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterTemperatureModel;
+import fr.sorbonne_u.components.hem2022e3.utils.MicroBenchmark;
+import fr.sorbonne_u.components.hem2022e3.utils.NewtonCoolingSolver;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunHeatingControlComparison</code> compares the hysteresis
+ * control of the heater with its predictive control by a
+ * {@code PredictiveHeatingPlanner} over the same days and prints their
+ * number of switches, energy, cost and discomfort.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The room is simulated in closed loop with the dynamics and the default
+ * constants of the {@code HeaterTemperatureModel}, the external temperature
+ * of the default profile of the {@code ExternalTemperatureModel} and the
+ * power of the {@code HeaterElectricityModel}, the controllers deciding at
+ * each control period of the {@code ThermostatedHeaterController} from the
+ * current room temperature; the temperature is computed exactly over each
+ * period with the external temperature of its beginning. The simulated time
+ * 0 is midnight, the hour at which the prices of the planner start. The
+ * discomfort is the integral in degree hours of the room temperature below
+ * the target minus the hysteresis. The time and the memory allocated per
+ * plan are then measured by a {@code MicroBenchmark}.
+ * </p>
+ * <p>
+ * Usage: {@code RunHeatingControlComparison [duration [target]]}, the
+ * duration being in hours.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			RunHeatingControlComparison
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The interface <code>ControlI</code> gives the decision of a controller
+	 * at each control period.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	@FunctionalInterface
+	public static interface	ControlI
+	{
+		/**
+		 * return true if the heater must heat during the next period.
+		 *
+		 * @param t				simulated time in hours.
+		 * @param current		current room temperature.
+		 * @param heating		true if the heater is heating.
+		 * @return				true if the heater must heat.
+		 */
+		public boolean	heat(double t, double current, boolean heating);
+	}
+
+	/**
+	 * The class <code>Result</code> gathers the measures of a run.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static class	Result
+	{
+		/** name of the controller.											*/
+		public final String	name;
+		/** number of changes of state of the heater.						*/
+		public int			switches;
+		/** energy consumed by heating in kWh.								*/
+		public double		energy;
+		/** energy consumed by heating during the peak hours in kWh.		*/
+		public double		peakEnergy;
+		/** cost of the energy at the hourly prices of the planner.			*/
+		public double		cost;
+		/** integral of the temperature below the comfort band in degree
+		 *  hours.															*/
+		public double		discomfort;
+		/** mean room temperature.											*/
+		public double		meanTemperature;
+
+		public			Result(String name)
+		{
+			this.name = name;
+		}
+
+		/**
+		 * return a printable line of the measures.
+		 *
+		 * @return	a printable line of the measures.
+		 */
+		public String	printout()
+		{
+			return String.format(
+					"%-12s switches %5d energy %8.2f kWh peak %7.2f kWh "
+					+ "cost %8.2f discomfort %6.3f Ch mean %6.2f C",
+					this.name, this.switches, this.energy, this.peakEnergy,
+					this.cost, this.discomfort, this.meanTemperature);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** default simulated duration of a run in hours.						*/
+	public static final double	DEFAULT_DURATION = 72.0;
+	/** control period in hours.											*/
+	public static final double	CONTROL_PERIOD =
+					ThermostatedHeaterController.STANDARD_CONTROL_PERIOD/3600.0;
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * run the room in closed loop with {@code control} and return the
+	 * measures of the run.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code name != null && control != null && profile != null}
+	 * pre	{@code duration > 0.0}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param name			name of the controller.
+	 * @param control		controller.
+	 * @param profile		profile of the external temperature.
+	 * @param prices		hourly prices of a kWh.
+	 * @param duration		simulated duration in hours.
+	 * @param target		target room temperature.
+	 * @param hysteresis	tolerance below the target.
+	 * @return				the measures of the run.
+	 */
+	public static Result	run(
+		String name,
+		ControlI control,
+		ExternalTemperatureProfileI profile,
+		double[] prices,
+		double duration,
+		double target,
+		double hysteresis
+		)
+	{
+		double rateOff =
+			1.0/HeaterTemperatureModel.DEFAULT_INSULATION_TRANSFER_CONSTANT;
+		double rateOn = rateOff +
+				1.0/HeaterTemperatureModel.DEFAULT_HEATING_TRANSFER_CONSTANT;
+		double plate =
+			(HeaterTemperatureModel.DEFAULT_STANDARD_HEATING_TEMP/
+					HeaterTemperatureModel.DEFAULT_HEATING_TRANSFER_CONSTANT)/
+																		rateOn;
+		double power = HeaterElectricityModel.HEATING_POWER/1000.0;
+
+		Result r = new Result(name);
+		double temperature = HeaterTemperatureModel.INITIAL_TEMPERATURE;
+		boolean heating = false;
+		double integral = 0.0;
+		int periods = (int) Math.round(duration/CONTROL_PERIOD);
+		for (int i = 0 ; i < periods ; i++) {
+			double t = i*CONTROL_PERIOD;
+			boolean on = control.heat(t, temperature, heating);
+			if (on != heating) {
+				r.switches++;
+				heating = on;
+			}
+			double external = profile.temperatureAt(t);
+			double rate = heating ? rateOn : rateOff;
+			double equilibrium =
+					heating ? external*rateOff/rateOn + plate : external;
+			integral += NewtonCoolingSolver.integral(
+							temperature, equilibrium, rate, CONTROL_PERIOD);
+			temperature = NewtonCoolingSolver.valueAt(
+							temperature, equilibrium, rate, CONTROL_PERIOD);
+			if (heating) {
+				double price = prices[((int) t) % 24];
+				double e = power*CONTROL_PERIOD;
+				r.energy += e;
+				r.cost += e*price;
+				if (price > PredictiveHeatingPlanner.OFF_PEAK_PRICE) {
+					r.peakEnergy += e;
+				}
+			}
+			double gap = target - hysteresis - temperature;
+			if (gap > 0.0) {
+				r.discomfort += gap*CONTROL_PERIOD;
+			}
+		}
+		r.meanTemperature = integral/(periods*CONTROL_PERIOD);
+		return r;
+	}
+
+	public static void	main(String[] args)
+	{
+		double duration =
+				args.length > 0 ? Double.parseDouble(args[0]) : DEFAULT_DURATION;
+		double target = args.length > 1 ?
+							Double.parseDouble(args[1])
+						:	ThermostatedHeater.STANDARD_TARGET_TEMPERATURE;
+		double hysteresis = ThermostatedHeaterController.STANDARD_HYSTERESIS;
+		ExternalTemperatureProfileI profile =
+			new CosineTemperatureProfile(
+							ExternalTemperatureModel.MIN_EXTERNAL_TEMPERATURE,
+							ExternalTemperatureModel.MAX_EXTERNAL_TEMPERATURE,
+							ExternalTemperatureModel.PERIOD);
+		double[] prices = PredictiveHeatingPlanner.standardHourlyPrices();
+		PredictiveHeatingPlanner planner =
+				new PredictiveHeatingPlanner(profile, CONTROL_PERIOD);
+
+		List<Result> results = new ArrayList<>();
+		results.add(run("hysteresis",
+						(t, current, heating) ->
+							current < target - hysteresis
+							|| heating && current <= target + hysteresis,
+						profile, prices, duration, target, hysteresis));
+		results.add(run("predictive",
+						(t, current, heating) ->
+							planner.plan(t, t, current, target, hysteresis,
+										 heating),
+						profile, prices, duration, target, hysteresis));
+		for (Result r : results) {
+			System.out.println(r.printout());
+		}
+
+		double[] state = new double[]{target};
+		System.out.println(MicroBenchmark.run(
+						"PredictiveHeatingPlanner.plan",
+						null,
+						() -> {	state[0] = state[0] > target ?
+												target - 0.5 : state[0] + 0.01;
+								return planner.plan(6.0, 6.0, state[0], target,
+													hysteresis, false) ?
+											1.0 : 0.0;
+							  }).printout());
+	}
+}
+// -----------------------------------------------------------------------------
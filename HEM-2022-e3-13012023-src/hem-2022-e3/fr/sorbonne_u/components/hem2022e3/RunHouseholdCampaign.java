@@ -0,0 +1,328 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import fr.sorbonne_u.components.hem2022e2.HEM_CoupledModel.HEM_Report;
+import fr.sorbonne_u.components.hem2022e2.HEM_ReportI;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.HairDryerUserModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterElectricityModel.ElectricMeterElectricityReport;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationScenario;
+import fr.sorbonne_u.components.hem2022e3.utils.StreamingStatistics;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
+import fr.sorbonne_u.devs_simulation.simulators.SimulationEngine;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunHouseholdCampaign</code> runs a Monte-Carlo campaign of
+ * independent whole household MIL simulations in parallel and summarises
+ * their results.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * Each run constructs its own simulator from
+ * {@code RunHouseholdMILSimulation.createArchitecture}, hence the runs share
+ * no model and can execute concurrently. The random models are seeded through
+ * their simulation run parameters with a seed computed from the seed of the
+ * campaign and the index of the run, so that a campaign is reproducible
+ * whatever the number of threads. The runs are split in halves by a
+ * {@code RecursiveTask} executed on a {@code ForkJoinPool} using all of the
+ * processors by default.
+ * </p>
+ * <p>
+ * A run only keeps the totals of the electric meter report, which are added
+ * to a {@code Summary}; the summaries of the two halves are merged when
+ * both are done. The memory used by a campaign hence does not depend on its
+ * number of runs, and as the summaries merge in the same tree whatever the
+ * scheduling of the tasks, the printed statistics are reproducible too.
+ * </p>
+ * <p>
+ * Usage: {@code RunHouseholdCampaign [runs [duration [seed [threads]]]]},
+ * the duration being in hours. The simulation run parameters common to all
+ * of the runs can be given by the scenario file named by the system property
+ * {@code SimulationScenario.SCENARIO_FILE_PROPERTY}. The models log nothing
+ * unless the scenario or the system property
+ * {@code SimulationLog.LEVEL_PROPERTY} gives them a level.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			RunHouseholdCampaign
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Summary</code> gathers the statistics of the runs of a
+	 * campaign.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static class	Summary
+	{
+		/** total consumptions of the household in kwh.						*/
+		public final StreamingStatistics	consumption =
+												new StreamingStatistics();
+		/** total productions of the household in kwh.						*/
+		public final StreamingStatistics	production =
+												new StreamingStatistics();
+
+		/**
+		 * add the values of a final report of the household to the summary.
+		 *
+		 * @param r	final report of the household coupled model.
+		 */
+		public void		add(HEM_Report r)
+		{
+			for (HEM_ReportI s : r.getSubReports()) {
+				if (s instanceof ElectricMeterElectricityReport) {
+					ElectricMeterElectricityReport m =
+										(ElectricMeterElectricityReport) s;
+					this.consumption.add(m.getTotalConsumption());
+					this.production.add(m.getTotalProduction());
+				}
+			}
+		}
+
+		/**
+		 * merge the statistics of {@code other} into this summary.
+		 *
+		 * @param other	summary to be merged.
+		 * @return		this summary.
+		 */
+		public Summary	merge(Summary other)
+		{
+			this.consumption.merge(other.consumption);
+			this.production.merge(other.production);
+			return this;
+		}
+	}
+
+	/**
+	 * The class <code>CampaignTask</code> executes the runs of indexes in
+	 * [{@code from}, {@code to}), splitting them in halves down to one run.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	protected static class	CampaignTask
+	extends		RecursiveTask<Summary>
+	{
+		private static final long serialVersionUID = 1L;
+		protected final long	campaignSeed;
+		protected final double	duration;
+		protected final Map<String,Object>	runParameters;
+		protected final int		from;
+		protected final int		to;
+
+		protected			CampaignTask(
+			long campaignSeed,
+			double duration,
+			Map<String,Object> runParameters,
+			int from,
+			int to
+			)
+		{
+			this.campaignSeed = campaignSeed;
+			this.duration = duration;
+			this.runParameters = runParameters;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Summary	compute()
+		{
+			if (this.to - this.from == 1) {
+				Summary ret = new Summary();
+				ret.add(run(runSeed(this.campaignSeed, this.from),
+							this.duration, this.runParameters));
+				return ret;
+			}
+			int middle = (this.from + this.to) >>> 1;
+			CampaignTask left = new CampaignTask(this.campaignSeed,
+												 this.duration,
+												 this.runParameters,
+												 this.from, middle);
+			left.fork();
+			Summary right = new CampaignTask(this.campaignSeed,
+											 this.duration,
+											 this.runParameters,
+											 middle, this.to).compute();
+			return left.join().merge(right);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** default number of runs of a campaign.								*/
+	public static final int		DEFAULT_RUNS = 100;
+	/** default seed of a campaign.											*/
+	public static final long	DEFAULT_SEED = 0L;
+	/** increment of the state of {@code SplittableRandom} at each draw.	*/
+	protected static final long	GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the seed of the run {@code run} of the campaign seeded by
+	 * {@code campaignSeed}, that is the value of rank {@code run} in the
+	 * sequence of a {@code SplittableRandom} seeded by {@code campaignSeed},
+	 * computed directly as the generator adds {@code GOLDEN_GAMMA} to its
+	 * state before mixing it at each draw.
+	 *
+	 * @param campaignSeed	seed of the campaign.
+	 * @param run			index of the run.
+	 * @return				the seed of the run.
+	 */
+	public static long	runSeed(long campaignSeed, int run)
+	{
+		return new SplittableRandom(campaignSeed + run * GOLDEN_GAMMA).
+																nextLong();
+	}
+
+	/**
+	 * execute one run of {@code duration} hours of the household simulation
+	 * with the random models seeded from {@code seed} and the other run
+	 * parameters taken from {@code runParameters}, and return its final
+	 * report.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code duration > 0.0 && runParameters != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param seed			seed of the run.
+	 * @param duration		simulated duration of the run in hours.
+	 * @param runParameters	simulation run parameters common to all runs.
+	 * @return				the final report of the household coupled model.
+	 */
+	public static HEM_Report	run(
+		long seed,
+		double duration,
+		Map<String,Object> runParameters
+		)
+	{
+		assert	duration > 0.0 && runParameters != null;
+
+		try {
+			SimulationEngine se = RunHouseholdMILSimulation.createArchitecture().
+														constructSimulator();
+			Map<String, Object> simParams =
+								new HashMap<String, Object>(runParameters);
+			simParams.put(ModelI.createRunParameterName(
+									HairDryerUserModel.URI,
+									HairDryerUserModel.SEED_RPNAME),
+						  seed);
+			se.setSimulationRunParameters(simParams);
+			se.doStandAloneSimulation(0.0, duration);
+			return (HEM_Report) se.getFinalReport();
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * execute a campaign of {@code runs} runs of {@code duration} hours on
+	 * {@code threads} threads and return the summary of their results.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code runs > 0 && duration > 0.0 && threads > 0}
+	 * pre	{@code runParameters != null}
+	 * post	{@code return.consumption.getCount() <= runs}
+	 * </pre>
+	 *
+	 * @param runs			number of runs.
+	 * @param duration		simulated duration of each run in hours.
+	 * @param campaignSeed	seed of the campaign.
+	 * @param threads		number of threads executing the runs.
+	 * @param runParameters	simulation run parameters common to all runs.
+	 * @return				the summary of the results of the runs.
+	 */
+	public static Summary	campaign(
+		int runs,
+		double duration,
+		long campaignSeed,
+		int threads,
+		Map<String,Object> runParameters
+		)
+	{
+		assert	runs > 0 && duration > 0.0 && threads > 0;
+		assert	runParameters != null;
+
+		// no additional time at each simulation step
+		SimulationEngine.SIMULATION_STEP_SLEEP_TIME = 0L;
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			return pool.invoke(
+						new CampaignTask(campaignSeed, duration,
+										 runParameters, 0, runs));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	public static void	main(String[] args)
+	{
+		int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+		double duration = args.length > 1 ?
+								Double.parseDouble(args[1])
+							:	RunHouseholdMILSimulation.YEAR;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+		int threads = args.length > 3 ?
+								Integer.parseInt(args[3])
+							:	Runtime.getRuntime().availableProcessors();
+
+		// the runs are too many to log their messages, unless asked to
+		SimulationLog.quietUnlessConfigured();
+		Map<String,Object> runParameters;
+		try {
+			SimulationScenario scenario =
+									SimulationScenario.fromSystemProperty();
+			scenario.applyLogLevels();
+			runParameters = scenario.getRunParameters();
+		} catch (IOException e) {
+			throw new RuntimeException(e) ;
+		}
+
+		long start = System.currentTimeMillis();
+		Summary s = campaign(runs, duration, seed, threads, runParameters);
+		long end = System.currentTimeMillis();
+
+		System.out.println("campaign of " + runs + " runs of " + duration
+						   + " hours on " + threads + " threads in "
+						   + (end - start) + " ms.");
+		System.out.println("consumption in kwh: " + s.consumption.printout());
+		System.out.println("production in kwh: " + s.production.printout());
+		System.exit(0);
+	}
+}
+// -----------------------------------------------------------------------------
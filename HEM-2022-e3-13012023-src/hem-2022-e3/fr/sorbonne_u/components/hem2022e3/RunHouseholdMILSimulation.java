@@ -0,0 +1,415 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import fr.sorbonne_u.components.hem2022e2.HEM_ReportI;
+import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.AirConditionerElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.AirConditionerStateModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.AirConditionerTestModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.events.TurnOffAirConditioner;
+import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.events.TurnOnAirConditioner;
+import fr.sorbonne_u.components.hem2022e3.equipments.battery.sil.BatteryElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.ElectricBlanketElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.ElectricBlanketStateModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.ElectricBlanketTestModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.SetHighTemperature;
+import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.SetLowTemperature;
+import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.SwitchOffBlanket;
+import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.SwitchOnBlanket;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.HairDryerElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.HairDryerStateModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.HairDryerUserModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SetHighHairDryer;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SetLowHairDryer;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SwitchOffHairDryer;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SwitchOnHairDryer;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.ExternalTemperatureModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterStateModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterTemperatureModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterUnitUserModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.DoNotHeat;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.Heat;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.SwitchOffHeater;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.SwitchOnHeater;
+import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.IndoorGardenElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.IndoorGardenStateModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.IndoorGardenTestModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchLightOffIndoorGarden;
+import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchLightOnIndoorGarden;
+import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchOffIndoorGarden;
+import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchOnIndoorGarden;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.events.IntensityChanged;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.RefrigeratorElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.RefrigeratorStateModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.RefrigeratorTemperatureModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.RefrigeratorUnitUserModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.DoNotRun;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.Run;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.StartRefrigerator;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.StopRefrigerator;
+import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.SolarPanelElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.SolarPanelStateModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.SolarPanelTestModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.events.SolarNotProduce;
+import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.events.SolarProduce;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationScenario;
+import fr.sorbonne_u.devs_simulation.architectures.Architecture;
+import fr.sorbonne_u.devs_simulation.architectures.ArchitectureI;
+import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
+import fr.sorbonne_u.devs_simulation.hioa.architectures.AtomicHIOA_Descriptor;
+import fr.sorbonne_u.devs_simulation.hioa.architectures.CoupledHIOA_Descriptor;
+import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableSink;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableSource;
+import fr.sorbonne_u.devs_simulation.models.AtomicModel;
+import fr.sorbonne_u.devs_simulation.models.architectures.AbstractAtomicModelDescriptor;
+import fr.sorbonne_u.devs_simulation.models.architectures.AtomicModelDescriptor;
+import fr.sorbonne_u.devs_simulation.models.architectures.CoupledModelDescriptor;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.events.EventSink;
+import fr.sorbonne_u.devs_simulation.models.events.EventSource;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.simulators.SimulationEngine;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunHouseholdMILSimulation</code> creates a model-in-the-loop
+ * simulator for the whole household and runs it as fast as possible.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The architecture assembles the atomic models of all of the equipments,
+ * created with {@code SimulationEngineCreationMode.ATOMIC_ENGINE}, in a
+ * single {@code HouseholdCoupledModel}: for each appliance, its user or test
+ * model, its state model, its electricity model and, for the heater and the
+ * refrigerator, its temperature models; then the solar panel, the battery
+ * and the electric meter. The connections between the user, state and
+ * electricity models are the ones of the unitary simulations while the
+ * intensities of the appliances are bound to the electric meter and to the
+ * battery as in the SIL simulators, the electricity models notifying the
+ * meter of their changes of intensity. The electric blanket is not known to
+ * the meter, hence only its own report accounts for its consumption.
+ * </p>
+ * <p>
+ * The run does not follow the wall clock, hence a simulated year, which is
+ * the default duration, takes a few seconds; another duration in hours can
+ * be given as first argument or by the scenario file named by the system
+ * property {@code SimulationScenario.SCENARIO_FILE_PROPERTY}, which also
+ * gives the simulation run parameters of the models and may turn their
+ * messages on, the models logging nothing by default. Only the hair dryer
+ * user model generates activity for the whole run, the test models of the
+ * other appliances playing their scenario once at the beginning.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			RunHouseholdMILSimulation
+{
+	/** the heater and the electric blanket both define a
+	 *  {@code DoNotHeat} event.											*/
+	protected static final Class<? extends EventI>	BLANKET_DO_NOT_HEAT =
+		fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.DoNotHeat.class;
+	/** default duration of a run in hours: one year.						*/
+	public static final double	YEAR = 365.0 * 24.0;
+
+	/**
+	 * create the description of the whole household MIL simulation
+	 * architecture; each call returns a new architecture, hence several
+	 * independent simulators can be constructed from them.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return				the simulation architecture of the household.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	@SuppressWarnings("unchecked")
+	public static ArchitectureI	createArchitecture() throws Exception
+	{
+		// map that will contain the atomic model descriptors to construct
+		// the simulation architecture
+		Map<String,AbstractAtomicModelDescriptor> atomicModelDescriptors =
+															new HashMap<>();
+
+		// models exchanging variables are described by AtomicHIOA_Descriptor
+		for (Class<?> c : new Class<?>[]{HairDryerElectricityModel.class,
+										 HeaterElectricityModel.class,
+										 HeaterTemperatureModel.class,
+										 ExternalTemperatureModel.class,
+										 IndoorGardenElectricityModel.class,
+										 AirConditionerElectricityModel.class,
+										 RefrigeratorElectricityModel.class,
+										 RefrigeratorTemperatureModel.class,
+										 SolarPanelElectricityModel.class,
+										 ElectricBlanketElectricityModel.class,
+										 BatteryElectricityModel.class,
+										 ElectricMeterElectricityModel.class}) {
+			String uri = c.getSimpleName();
+			atomicModelDescriptors.put(
+					uri,
+					AtomicHIOA_Descriptor.create(
+							c.asSubclass(AtomicHIOA.class),
+							uri,
+							TimeUnit.HOURS,
+							null,
+							SimulationEngineCreationMode.ATOMIC_ENGINE));
+		}
+		// models only exchanging events are described by AtomicModelDescriptor
+		for (Class<?> c : new Class<?>[]{HairDryerStateModel.class,
+										 HairDryerUserModel.class,
+										 HeaterStateModel.class,
+										 HeaterUnitUserModel.class,
+										 IndoorGardenStateModel.class,
+										 IndoorGardenTestModel.class,
+										 AirConditionerStateModel.class,
+										 AirConditionerTestModel.class,
+										 RefrigeratorStateModel.class,
+										 RefrigeratorUnitUserModel.class,
+										 SolarPanelStateModel.class,
+										 SolarPanelTestModel.class,
+										 ElectricBlanketStateModel.class,
+										 ElectricBlanketTestModel.class}) {
+			String uri = c.getSimpleName();
+			atomicModelDescriptors.put(
+					uri,
+					AtomicModelDescriptor.create(
+							c.asSubclass(AtomicModel.class),
+							uri,
+							TimeUnit.HOURS,
+							null,
+							SimulationEngineCreationMode.ATOMIC_ENGINE));
+		}
+
+		// the set of submodels of the coupled model, given by their URIs
+		Set<String> submodels = new HashSet<String>(
+											atomicModelDescriptors.keySet());
+
+		// event exchanging connections between exporting and importing
+		// models: user or test model -> state model -> electricity model
+		Map<EventSource,EventSink[]> connections = new HashMap<>();
+
+		for (Class<? extends EventI> e :
+					new Class[]{SwitchOnHairDryer.class,
+								SwitchOffHairDryer.class,
+								SetLowHairDryer.class,
+								SetHighHairDryer.class}) {
+			connect(connections, HairDryerUserModel.URI, e,
+					HairDryerStateModel.URI);
+			connect(connections, HairDryerStateModel.URI, e,
+					HairDryerElectricityModel.URI);
+		}
+		for (Class<? extends EventI> e :
+					new Class[]{SwitchOnHeater.class, SwitchOffHeater.class}) {
+			connect(connections, HeaterUnitUserModel.URI, e,
+					HeaterStateModel.URI);
+			connect(connections, HeaterStateModel.URI, e,
+					HeaterElectricityModel.URI);
+		}
+		for (Class<? extends EventI> e :
+					new Class[]{Heat.class, DoNotHeat.class}) {
+			connect(connections, HeaterUnitUserModel.URI, e,
+					HeaterStateModel.URI);
+			connect(connections, HeaterStateModel.URI, e,
+					HeaterElectricityModel.URI, HeaterTemperatureModel.URI);
+		}
+		for (Class<? extends EventI> e :
+					new Class[]{SwitchOnIndoorGarden.class,
+								SwitchOffIndoorGarden.class,
+								SwitchLightOnIndoorGarden.class,
+								SwitchLightOffIndoorGarden.class}) {
+			connect(connections, IndoorGardenTestModel.URI, e,
+					IndoorGardenStateModel.URI);
+			connect(connections, IndoorGardenStateModel.URI, e,
+					IndoorGardenElectricityModel.URI);
+		}
+		for (Class<? extends EventI> e :
+					new Class[]{TurnOnAirConditioner.class,
+								TurnOffAirConditioner.class}) {
+			connect(connections, AirConditionerTestModel.URI, e,
+					AirConditionerStateModel.URI);
+			connect(connections, AirConditionerStateModel.URI, e,
+					AirConditionerElectricityModel.URI);
+		}
+		for (Class<? extends EventI> e :
+					new Class[]{StartRefrigerator.class,
+								StopRefrigerator.class}) {
+			connect(connections, RefrigeratorUnitUserModel.URI, e,
+					RefrigeratorStateModel.URI);
+			connect(connections, RefrigeratorStateModel.URI, e,
+					RefrigeratorElectricityModel.URI);
+		}
+		for (Class<? extends EventI> e :
+					new Class[]{Run.class, DoNotRun.class}) {
+			connect(connections, RefrigeratorUnitUserModel.URI, e,
+					RefrigeratorStateModel.URI);
+			connect(connections, RefrigeratorStateModel.URI, e,
+					RefrigeratorElectricityModel.URI,
+					RefrigeratorTemperatureModel.URI);
+		}
+		for (Class<? extends EventI> e :
+					new Class[]{SolarProduce.class, SolarNotProduce.class}) {
+			connect(connections, SolarPanelTestModel.URI, e,
+					SolarPanelStateModel.URI);
+			connect(connections, SolarPanelStateModel.URI, e,
+					SolarPanelElectricityModel.URI);
+		}
+		for (Class<? extends EventI> e :
+					new Class[]{SwitchOnBlanket.class,
+								SwitchOffBlanket.class,
+								SetHighTemperature.class,
+								SetLowTemperature.class,
+								BLANKET_DO_NOT_HEAT}) {
+			connect(connections, ElectricBlanketTestModel.URI, e,
+					ElectricBlanketStateModel.URI);
+			connect(connections, ElectricBlanketStateModel.URI, e,
+					ElectricBlanketElectricityModel.URI);
+		}
+
+		// variable bindings between exporting and importing models
+		Map<VariableSource,VariableSink[]> bindings =
+								new HashMap<VariableSource,VariableSink[]>();
+
+		bindings.put(
+			new VariableSource("externalTemperature", Double.class,
+							   ExternalTemperatureModel.URI),
+			new VariableSink[] {
+				new VariableSink("externalTemperature", Double.class,
+								 HeaterTemperatureModel.URI)
+			});
+
+		// the intensity of each appliance is imported by the electric meter
+		// and the battery under the same name, the appliance also telling
+		// the meter when it changes
+		String[][] intensities = new String[][] {
+			{HairDryerElectricityModel.URI, "currentHairDryerIntensity"},
+			{HeaterElectricityModel.URI, "currentHeaterIntensity"},
+			{IndoorGardenElectricityModel.URI, "currentIndoorGardenIntensity"},
+			{AirConditionerElectricityModel.URI,
+											"currentAirConditionerIntensity"},
+			{RefrigeratorElectricityModel.URI, "currentRefrigeratorIntensity"},
+			{SolarPanelElectricityModel.URI, "currentSolarPanelIntensity"}
+		};
+		for (String[] i : intensities) {
+			bindings.put(
+				new VariableSource("currentIntensity", Double.class, i[0]),
+				new VariableSink[] {
+					new VariableSink(i[1], Double.class,
+									 ElectricMeterElectricityModel.URI),
+					new VariableSink(i[1], Double.class,
+									 BatteryElectricityModel.URI)
+				});
+			connect(connections, i[0], IntensityChanged.class,
+					ElectricMeterElectricityModel.URI);
+		}
+
+		// map that will contain the coupled model descriptors to construct
+		// the simulation architecture
+		Map<String,CoupledModelDescriptor> coupledModelDescriptors =
+															new HashMap<>();
+		coupledModelDescriptors.put(
+				HouseholdCoupledModel.URI,
+				new CoupledHIOA_Descriptor(
+						HouseholdCoupledModel.class,
+						HouseholdCoupledModel.URI,
+						submodels,
+						null,
+						null,
+						connections,
+						null,
+						SimulationEngineCreationMode.COORDINATION_ENGINE,
+						null,
+						null,
+						bindings));
+
+		return new Architecture(
+						HouseholdCoupledModel.URI,
+						atomicModelDescriptors,
+						coupledModelDescriptors,
+						TimeUnit.HOURS);
+	}
+
+	/**
+	 * connect the events of type {@code e} exported by the model
+	 * {@code from} to the models {@code to}.
+	 *
+	 * @param connections	map of the connections to be completed.
+	 * @param from			URI of the exporting model.
+	 * @param e				type of the events.
+	 * @param to			URIs of the importing models.
+	 */
+	protected static void	connect(
+		Map<EventSource,EventSink[]> connections,
+		String from,
+		Class<? extends EventI> e,
+		String... to
+		)
+	{
+		EventSink[] sinks = new EventSink[to.length];
+		for (int i = 0 ; i < to.length ; i++) {
+			sinks[i] = new EventSink(to[i], e);
+		}
+		connections.put(new EventSource(from, e), sinks);
+	}
+
+	public static void	main(String[] args)
+	{
+		Time.setPrintPrecision(4);
+		Duration.setPrintPrecision(4);
+
+		try {
+			// the scenario of the run may change the duration and the run
+			// parameters of the models
+			SimulationScenario scenario =
+								SimulationScenario.fromSystemProperty();
+			double duration =
+				args.length > 0 ?
+					Double.parseDouble(args[0])
+				:	scenario.getDouble(
+							SimulationScenario.SIMULATION_DURATION_KEY, YEAR);
+			// the run is timed, so the models only log when asked to
+			SimulationLog.quietUnlessConfigured();
+			scenario.applyLogLevels();
+			// create the simulator from the simulation architecture
+			SimulationEngine se = createArchitecture().constructSimulator();
+			se.setSimulationRunParameters(scenario.getRunParameters());
+			// no additional time at each simulation step
+			SimulationEngine.SIMULATION_STEP_SLEEP_TIME = 0L;
+
+			long start = System.currentTimeMillis();
+			se.doStandAloneSimulation(0.0, duration);
+			long end = System.currentTimeMillis();
+
+			HEM_ReportI r = (HEM_ReportI) se.getFinalReport();
+			System.out.println(r.printout(""));
+			System.out.println("simulated " + duration + " hours in "
+							   + (end - start) + " ms.");
+			System.exit(0);
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,123 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import fr.sorbonne_u.components.hem2022e2.utils.Electricity;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.HairDryerUserModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.HairDryerUserModelBenchmark;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterTemperatureModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterTemperatureModelBenchmark;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterElectricityModelBenchmark;
+import fr.sorbonne_u.components.hem2022e3.utils.MicroBenchmark;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.simulators.SimulationEngine;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RunMicroBenchmarks</code> runs the micro benchmarks of the
+ * hot paths of the simulation models and prints their time and allocated
+ * memory per call.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The models are taken from a whole household MIL simulator, as created by
+ * {@code RunHouseholdMILSimulation}, after a run of
+ * {@code INITIALISATION_DURATION} hours has initialised their state and
+ * bound their variables. The benchmarks of each model are defined in the
+ * package of the model, as they call its protected methods; the conversions
+ * of {@code Electricity} are measured here. The printed measures can be
+ * compared from one version to the next to detect regressions or to justify
+ * optimisations. The models do not log their messages unless the system
+ * property {@code SimulationLog.LEVEL_PROPERTY} gives a level.
+ * </p>
+ * <p>
+ * Usage: {@code RunMicroBenchmarks [filter]}, only the benchmarks whose name
+ * contains the filter being printed when it is given.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			RunMicroBenchmarks
+{
+	/** simulated duration in hours of the run initialising the models.	*/
+	public static final double	INITIALISATION_DURATION = 24.0;
+
+	/**
+	 * run the benchmarks of the {@code Electricity} conversions.
+	 *
+	 * @return	the measures of the benchmarks.
+	 */
+	public static List<MicroBenchmark.Result>	runElectricity()
+	{
+		List<MicroBenchmark.Result> ret = new ArrayList<>();
+		Duration inHours = new Duration(0.5, TimeUnit.HOURS);
+		Duration inSeconds = new Duration(1800.0, TimeUnit.SECONDS);
+		ret.add(MicroBenchmark.run(
+					"Electricity.toHours(HOURS)", null,
+					() -> Electricity.toHours(inHours)));
+		ret.add(MicroBenchmark.run(
+					"Electricity.toHours(SECONDS)", null,
+					() -> Electricity.toHours(inSeconds)));
+		ret.add(MicroBenchmark.run(
+					"Electricity.computeConsumption", null,
+					() -> Electricity.computeConsumption(inSeconds, 1100.0)));
+		double hoursPerSecond = Electricity.hoursPerUnit(TimeUnit.SECONDS);
+		ret.add(MicroBenchmark.run(
+					"Electricity.computeConsumption(double)", null,
+					() -> Electricity.computeConsumption(1800.0, hoursPerSecond,
+														 1100.0)));
+		return ret;
+	}
+
+	public static void	main(String[] args)
+	{
+		String filter = args.length > 0 ? args[0] : "";
+		SimulationLog.quietUnlessConfigured();
+		try {
+			SimulationEngine se = RunHouseholdMILSimulation.
+										createArchitecture().
+										constructSimulator();
+			SimulationEngine.SIMULATION_STEP_SLEEP_TIME = 0L;
+			se.doStandAloneSimulation(0.0, INITIALISATION_DURATION);
+
+			List<MicroBenchmark.Result> results = new ArrayList<>();
+			results.addAll(runElectricity());
+			results.addAll(HeaterTemperatureModelBenchmark.run(
+							(HeaterTemperatureModel)
+								se.getDescendentModel(
+										HeaterTemperatureModel.URI)));
+			results.addAll(ElectricMeterElectricityModelBenchmark.run(
+							(ElectricMeterElectricityModel)
+								se.getDescendentModel(
+										ElectricMeterElectricityModel.URI)));
+			results.addAll(HairDryerUserModelBenchmark.run(
+							(HairDryerUserModel)
+								se.getDescendentModel(HairDryerUserModel.URI)));
+
+			for (MicroBenchmark.Result r : results) {
+				if (r.name.contains(filter)) {
+					System.out.println(r.printout());
+				}
+			}
+			System.exit(0);
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+}
+// -----------------------------------------------------------------------------
@@ -1,8 +1,6 @@
 package fr.sorbonne_u.components.hem2022e3.equipments.airconditioner;
 
 import java.time.Instant;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
 import fr.sorbonne_u.components.annotations.RequiredInterfaces;
@@ -20,6 +18,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.AirCondi
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.AirConditionerStateModel;
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.events.TurnOffAirConditioner;
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.events.TurnOnAirConditioner;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.utils.PlanScheduler;
 import fr.sorbonne_u.exceptions.PostconditionException;
 import fr.sorbonne_u.exceptions.PreconditionException;
 
@@ -33,7 +33,8 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  * @author	<p>Hongyu YAN & Liuyi CHEN</p>
  */
 //-----------------------------------------------------------------------------
-@OfferedInterfaces(offered = {AirConditionerCI.class})
+@OfferedInterfaces(offered = {AirConditionerCI.class,
+							   BatchedEquipmentControlCI.class})
 @RequiredInterfaces(required={ClockServerCI.class})
 //-----------------------------------------------------------------------------
 public class AirConditioner 
@@ -80,6 +81,10 @@ implements AirConditionerImplementationI
 	public static final String	REFLECTION_INBOUND_PORT_URI = "AC-RIP-URI";	
 	/** a convenient string to be used as inbound port URI prefix.			*/
 	public static final String	INBOUND_PORT_URI_PREFIX = "air-conditioner-ibp";
+	/** control adapter descriptor of the air conditioner, used by the
+	 *  household energy manager and by the inbound port.					*/
+	public static final String	CONTROL_ADAPTER_DESCRIPTOR =
+									"hem-adapter/air-conditioner-e3-descriptor.xml";
 	/** when true, methods trace their actions.								*/
 	public static final boolean	VERBOSE = true;
 	
@@ -116,6 +121,8 @@ implements AirConditionerImplementationI
 	protected final String							clockURI;
 	/** accelerated clock used to implement the simulation scenario.		*/
 	protected AcceleratedClock						clock;
+	/** scheduler of the plan shared with the other planning appliances.	*/
+	protected PlanScheduler							planScheduler;
 	
 	// -------------------------------------------------------------------------
 	// Constructors
@@ -214,11 +221,31 @@ implements AirConditionerImplementationI
 								+ this.clock.getAccelerationFactor()
 								+ "with predefined acceleration factor "
 								+ this.accFactor);
+			this.planScheduler =
+						PlanScheduler.acquire(this.clockURI, this.clock);
+			this.turnAirConditionerOnAction =
+				this.planScheduler.newAction(
+						this,
+						o -> ((AirConditioner)o).turnAirConditionerOnTask());
+			this.turnAirConditionerOffAction =
+				this.planScheduler.newAction(
+						this,
+						o -> {	AirConditioner ac = (AirConditioner)o;
+								ac.turnAirConditionerOffTask();
+								// schedule the next one
+								ac.movePlanToNextDay();
+								ac.schedulePlan();
+							 });
 		}
 	}
 	
 	@Override
 	public synchronized void finalise() throws Exception {
+		if (this.planScheduler != null) {
+			this.planScheduler.cancel(this.turnAirConditionerOnAction);
+			this.planScheduler.cancel(this.turnAirConditionerOffAction);
+			this.planScheduler.release();
+		}
 		this.doPortDisconnection(this.clockServerOBP.getPortURI());
 		super.finalise();
 	}
@@ -382,6 +409,16 @@ implements AirConditionerImplementationI
 										   State.DEACTIVATED_ON});
 	}
 
+	@Override
+	public boolean isPlanActive() throws Exception {
+		boolean ret = this.isAirConditionerPlanned() && this.currentPlanActive();
+		if (VERBOSE) {
+			this.traceMessage("is plan active? " + ret + ".\n");
+		}
+
+		return ret;
+	}
+
 	@Override
 	public void deactivate() throws Exception {
 		assert	isAirConditionerPlanned() : new PreconditionException("isAirConditionerPlanned()");
@@ -616,12 +653,11 @@ implements AirConditionerImplementationI
 		}
 	}
 	
-	/** future object providing a handle on the task that turns on
-	 *  the air conditioner.															*/
-	protected Future<?>	turnAirConditionerOnTaskRef;
-	/** future object providing a handle on the task that turns off
-	 *  the air conditioner.															*/
-	protected Future<?>	turnAirConditionerOffTaskRef;
+	/** action of the plan scheduler that turns on the air conditioner.	*/
+	protected PlanScheduler.Action	turnAirConditionerOnAction;
+	/** action of the plan scheduler that turns off the air conditioner and
+	 *  then schedules the plan of the next day.							*/
+	protected PlanScheduler.Action	turnAirConditionerOffAction;
 	
 	/**
 	 * perform the turn air conditioner on at the time given by the plan.
@@ -681,7 +717,10 @@ implements AirConditionerImplementationI
 	 */
 	protected boolean	isScheduled()
 	{
-		return this.turnAirConditionerOnTaskRef != null || this.turnAirConditionerOffTaskRef != null;
+		return this.planScheduler != null &&
+				(this.planScheduler.isPending(this.turnAirConditionerOnAction) ||
+					this.planScheduler.isPending(
+											this.turnAirConditionerOffAction));
 	}
 	
 	/**
@@ -701,63 +740,18 @@ implements AirConditionerImplementationI
 		assert	!this.isScheduled() :
 				new PreconditionException("!isScheduled()");
 
-		long delayInNanos;
+		// the actions are kept by the plan scheduler, which is given the
+		// instants of the plan and renews them in place each day
 		if (!this.currentPlanActive()) {
-			if (this.isUnderTest) {
-				delayInNanos = this.clock.delayToAcceleratedInstantInNanos(
-												this.timeToTurnOn);
-			} else {
-				delayInNanos =
-					(this.timeToTurnOn.toEpochMilli()
-										- System.currentTimeMillis()) * 1000000;
-			}
-			this.turnAirConditionerOnTaskRef = 
-				this.scheduleTaskOnComponent(
-					new AbstractTask() {
-						@Override
-						public void run() {
-							try {
-								((AirConditioner)this.getTaskOwner()).
-										turnAirConditionerOnTask();
-							} catch (Exception e) {
-								throw new RuntimeException(e) ;
-							}
-						}
-					},
-					delayInNanos,
-					TimeUnit.NANOSECONDS);
+			this.planScheduler.schedule(this.turnAirConditionerOnAction,
+										this.timeToTurnOn);
 		} else {
 			if (!this.isOn()) {
 				this.turnOn();
 			}
 		}
-		if (this.isUnderTest) {
-			delayInNanos = this.clock.delayToAcceleratedInstantInNanos(
-													this.timeToTurnOff);
-		} else {
-			delayInNanos =
-					(this.timeToTurnOff.toEpochMilli()
-										- System.currentTimeMillis()) * 1000000;
-		}
-		this.turnAirConditionerOffTaskRef =
-			this.scheduleTaskOnComponent(
-				new AbstractTask() {
-					@Override
-					public void run() {
-						try {
-							((AirConditioner)this.getTaskOwner()).
-														turnAirConditionerOffTask();
-							// schedule the next one
-							((AirConditioner)this.getTaskOwner()).
-														movePlanToNextDay();
-							((AirConditioner)this.getTaskOwner()).schedulePlan();
-						} catch (Exception e) {
-							throw new RuntimeException(e) ;
-						}
-					}
-				},
-				delayInNanos,
-				TimeUnit.NANOSECONDS);
+		this.planScheduler.schedule(this.turnAirConditionerOffAction,
+									this.timeToTurnOff);
 
 		assert	this.isScheduled() :
 				new PostconditionException("isScheduled()");
@@ -806,14 +800,8 @@ implements AirConditionerImplementationI
 		assert	this.isScheduled() :
 				new PreconditionException("isScheduled()");
 
-		if (this.turnAirConditionerOnTaskRef != null && !this.turnAirConditionerOnTaskRef.isCancelled()) {
-			this.turnAirConditionerOnTaskRef.cancel(false);
-			this.turnAirConditionerOnTaskRef = null;
-		}
-		if (this.turnAirConditionerOffTaskRef != null && !this.turnAirConditionerOffTaskRef.isCancelled()) {
-			this.turnAirConditionerOffTaskRef.cancel(false);
-			this.turnAirConditionerOffTaskRef = null;
-		}
+		this.planScheduler.cancel(this.turnAirConditionerOnAction);
+		this.planScheduler.cancel(this.turnAirConditionerOffAction);
 
 		if (this.isOn()) {
 			this.turnOff();
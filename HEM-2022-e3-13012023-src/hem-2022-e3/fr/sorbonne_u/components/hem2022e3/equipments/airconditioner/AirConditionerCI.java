@@ -48,6 +48,9 @@ extends OfferedCI,
 	@Override
 	public boolean isDeactivated() throws Exception;
 
+	@Override
+	public boolean isPlanActive() throws Exception;
+
 	@Override
 	public void deactivate() throws Exception;
 
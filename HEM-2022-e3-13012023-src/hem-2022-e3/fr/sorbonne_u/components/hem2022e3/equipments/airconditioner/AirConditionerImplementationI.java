@@ -156,6 +156,22 @@ public interface AirConditionerImplementationI {
 	 */
 	public boolean		isDeactivated() throws Exception;
 
+	/**
+	 * return true if the air conditioner is planned and the current instant
+	 * lies between the planned times to turn it on and off.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code !return || isAirConditionerPlanned()}
+	 * </pre>
+	 *
+	 * @return				true if the current plan is active now.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public boolean		isPlanActive() throws Exception;
+
 	/**
 	 * deactivate the program, turning the air conditioner off if it was on when the
 	 * call is made.
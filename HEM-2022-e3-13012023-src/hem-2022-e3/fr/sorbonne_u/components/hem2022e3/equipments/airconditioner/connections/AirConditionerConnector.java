@@ -67,6 +67,11 @@ implements AirConditionerCI
 		return ((AirConditionerCI)this.offering).isDeactivated();
 	}
 
+	@Override
+	public boolean isPlanActive() throws Exception {
+		return ((AirConditionerCI)this.offering).isPlanActive();
+	}
+
 	@Override
 	public void deactivate() throws Exception {
 		((AirConditionerCI)this.offering).deactivate();
@@ -3,16 +3,26 @@ package fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.connections
 import java.time.Instant;
 
 import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.AirConditioner;
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.AirConditionerCI;
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.AirConditionerImplementationI;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.adapter.ControlAdapterCompiler;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentCommand;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentStatus;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
 import fr.sorbonne_u.exceptions.PreconditionException;
 
 public class AirConditionerInboundPort 
 extends AbstractInboundPort 
-implements AirConditionerCI 
+implements AirConditionerCI, BatchedEquipmentControlCI
 {
 	private static final long serialVersionUID = 1L;
+
+	/** equipment-side control adapter running the bulk operations of
+	 *  {@code BatchedEquipmentControlCI} with local calls on this port,
+	 *  created upon the first bulk call.									*/
+	protected BatchedEquipmentControlCI	controlAdapter;
 	
 	/**
 	 * create an inbound port.
@@ -125,6 +135,12 @@ implements AirConditionerCI
 				o -> ((AirConditionerImplementationI)o).isDeactivated());
 	}
 
+	@Override
+	public boolean isPlanActive() throws Exception {
+		return this.getOwner().handleRequest(
+				o -> ((AirConditionerImplementationI)o).isPlanActive());
+	}
+
 	@Override
 	public void deactivate() throws Exception {
 		this.getOwner().handleRequest(
@@ -143,4 +159,26 @@ implements AirConditionerCI
 				});
 	}
 
+	protected synchronized BatchedEquipmentControlCI getControlAdapter()
+	throws Exception {
+		if (this.controlAdapter == null) {
+			this.controlAdapter =
+				ControlAdapterCompiler.newEquipmentAdapter(
+						AirConditioner.CONTROL_ADAPTER_DESCRIPTOR, this);
+		}
+		return this.controlAdapter;
+	}
+
+	@Override
+	public EquipmentStatus getStatus() throws Exception {
+		return this.getControlAdapter().getStatus();
+	}
+
+	@Override
+	public boolean[] execute(EquipmentCommand[] commands) throws Exception {
+		assert commands != null :
+				new PreconditionException("commands != null");
+		return this.getControlAdapter().execute(commands);
+	}
+
 }
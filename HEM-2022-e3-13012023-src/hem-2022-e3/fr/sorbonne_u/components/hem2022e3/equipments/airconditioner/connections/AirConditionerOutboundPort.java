@@ -78,6 +78,11 @@ implements AirConditionerCI
 		return ((AirConditionerCI)this.getConnector()).isDeactivated();
 	}
 
+	@Override
+	public boolean isPlanActive() throws Exception {
+		return ((AirConditionerCI)this.getConnector()).isPlanActive();
+	}
+
 	@Override
 	public void deactivate() throws Exception {
 		((AirConditionerCI)this.getConnector()).deactivate();		
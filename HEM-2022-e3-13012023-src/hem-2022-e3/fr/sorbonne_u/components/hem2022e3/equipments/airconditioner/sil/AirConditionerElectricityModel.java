@@ -13,6 +13,9 @@ import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterRTAt
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.AirConditionerStateModel.State;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.events.IntensityChanged;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -21,6 +24,7 @@ import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.Event;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
@@ -37,7 +41,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  */
 //-----------------------------------------------------------------------------
 @ModelExternalEvents(imported = {TurnOnAirConditioner.class,
-								 TurnOffAirConditioner.class})
+								 TurnOffAirConditioner.class},
+					 exported = {IntensityChanged.class})
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 //-----------------------------------------------------------------------------
 public class AirConditionerElectricityModel 
@@ -161,8 +166,8 @@ implements AirConditionerOperationI
 		this.currentState = State.OFF;
 		this.consumptionHasChanged = false;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	@Override
@@ -173,19 +178,23 @@ implements AirConditionerOperationI
 		// initially, the air conditioner is off, so its consumption is zero.
 		this.currentIntensity.initialise(0.0);
 
-		StringBuffer sb = new StringBuffer("new consumption: ");
-		sb.append(this.currentIntensity.getValue());
-		sb.append(" amperes at ");
-		sb.append(this.currentIntensity.getTime());
-		sb.append(" seconds.\n");
-		this.logMessage(sb.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer sb = new StringBuffer("new consumption: ");
+			sb.append(this.currentIntensity.getValue());
+			sb.append(" amperes at ");
+			sb.append(this.currentIntensity.getTime());
+			sb.append(" seconds.\n");
+			this.logMessage(sb.toString());
+		}
 	}
 	
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		// the model does not export events.
-		return null;
+		// notify the electric meter model of the intensity update.
+		ArrayList<EventI> ret = new ArrayList<EventI>();
+		ret.add(new IntensityChanged(this.getTimeOfNextEvent()));
+		return ret;
 	}
 	
 	@Override
@@ -220,14 +229,16 @@ implements AirConditionerOperationI
 		}
 
 		// Tracing
-		StringBuffer message =
-				new StringBuffer("executes an internal transition ");
-		message.append("with current consumption ");
-		message.append(this.currentIntensity.getValue());
-		message.append(" at ");
-		message.append(this.currentIntensity.getTime());
-		message.append(".\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an internal transition ");
+			message.append("with current consumption ");
+			message.append(this.currentIntensity.getValue());
+			message.append(" at ");
+			message.append(this.currentIntensity.getTime());
+			message.append(".\n");
+			this.logMessage(message.toString());
+		}
 	}
 	
 	@Override
@@ -245,11 +256,13 @@ implements AirConditionerOperationI
 		Event ce = (Event) currentEvents.get(0);
 		
 		// Tracing
-		StringBuffer message =
-				new StringBuffer("executes an external transition on event ");
-		message.append(ce.toString());
-		message.append(")\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an external transition on event ");
+			message.append(ce.toString());
+			message.append(")\n");
+			this.logMessage(message.toString());
+		}
 
 		// events have a method execute on to perform their effect on this
 		// model
@@ -259,7 +272,7 @@ implements AirConditionerOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 	
@@ -267,6 +280,11 @@ implements AirConditionerOperationI
 	// Optional DEVS simulation protocol: simulation run parameters
 	// -------------------------------------------------------------------------
 
+	/** run parameter name for {@code ON_CONSUMPTION}.						*/
+	public static final String	ON_CONSUMPTION_RPNAME = "ON_CONSUMPTION";
+	/** run parameter name for {@code TENSION}.								*/
+	public static final String	TENSION_RPNAME = "TENSION";
+
 	/**
 	 * @see fr.sorbonne_u.devs_simulation.models.Model#setSimulationRunParameters(java.util.Map)
 	 */
@@ -277,6 +295,17 @@ implements AirConditionerOperationI
 	{
 		super.setSimulationRunParameters(simParams);
 
+		String onName =
+				ModelI.createRunParameterName(getURI(), ON_CONSUMPTION_RPNAME);
+		if (simParams.containsKey(onName)) {
+			ON_CONSUMPTION = (double) simParams.get(onName);
+		}
+		String tensionName =
+				ModelI.createRunParameterName(getURI(), TENSION_RPNAME);
+		if (simParams.containsKey(tensionName)) {
+			TENSION = (double) simParams.get(tensionName);
+		}
+
 		// retrieve the reference to the owner component when passed as a
 		// simulation run parameter
 		if (simParams.containsKey(
@@ -11,6 +11,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.events.T
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.sil.events.TurnOffAirConditioner;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.Event;
@@ -143,8 +145,8 @@ implements AirConditionerOperationI
 		this.lastReceived = null;
 		super.initialiseState(initialTime);
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	/**
@@ -192,11 +194,13 @@ implements AirConditionerOperationI
 		this.lastReceived = (Event) currentEvents.get(0);
 
 		// Tracing
-		StringBuffer message =
-				new StringBuffer("executes an external transition on event ");
-		message.append(this.lastReceived.toString());
-		message.append(")\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an external transition on event ");
+			message.append(this.lastReceived.toString());
+			message.append(")\n");
+			this.logMessage(message.toString());
+		}
 
 		// events have a method execute on to perform their effect on this
 		// model
@@ -209,7 +213,7 @@ implements AirConditionerOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
@@ -3,14 +3,19 @@
  */
 package fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.test;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
 
+import fr.sorbonne_u.components.hem2022.interfaces.SuspensionAndPlanningEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.AirConditioner;
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.AirConditionerCI;
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.connections.AirConditionerConnector;
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.connections.AirConditionerOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.BatchedEquipmentControlOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.adapter.ControlAdapterCompiler;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.tools.aclocks.AcceleratedClock;
@@ -32,7 +37,8 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  * @author	<p>Hongyu YAN & Liuyi CHEN</p>
  */
 //-----------------------------------------------------------------------------
-@RequiredInterfaces(required={AirConditionerCI.class, ClockServerCI.class})
+@RequiredInterfaces(required={AirConditionerCI.class, ClockServerCI.class,
+							  SuspensionAndPlanningEquipmentControlCI.class})
 //-----------------------------------------------------------------------------
 public class AirConditionerTester 
 extends AbstractComponent {
@@ -46,6 +52,10 @@ extends AbstractComponent {
 	protected final String				inboundPortURI;
 	/** outbound port used to connect to the {@code AirConditioner} component.*/
 	protected AirConditionerOutboundPort	outboundPort;
+	/** outbound port connected to the {@code AirConditioner} component
+	 *  through the connector generated from its control adapter
+	 *  descriptor, as the household energy manager does.					*/
+	protected BatchedEquipmentControlOutboundPort	controlPort;
 
 	/** when true, the component executes in unit test mode.				*/
 	protected final boolean				isUnitTesting;
@@ -122,6 +132,19 @@ extends AbstractComponent {
 					this.outboundPort.getPortURI(),
 					inboundPortURI,
 					AirConditionerConnector.class.getCanonicalName());
+			ControlAdapterCompiler.CompiledAdapter a =
+					ControlAdapterCompiler.compile(
+								AirConditioner.CONTROL_ADAPTER_DESCRIPTOR);
+			this.controlPort =
+					new BatchedEquipmentControlOutboundPort(
+							ControlAdapterCompiler.requiredInterface(
+														a.getCategories()),
+							this);
+			this.controlPort.publishPort();
+			this.doPortConnection(
+					this.controlPort.getPortURI(),
+					inboundPortURI,
+					a.getConnectorClass().getName());
 			this.clockServerOBP = new ClockServerOutboundPort(this);
 			this.clockServerOBP.publishPort();
 			this.doPortConnection(
@@ -205,6 +228,7 @@ extends AbstractComponent {
 	public synchronized void	finalise() throws Exception
 	{
 		this.doPortDisconnection(this.outboundPort.getPortURI());
+		this.doPortDisconnection(this.controlPort.getPortURI());
 		this.doPortDisconnection(this.clockServerOBP.getPortURI());
 		super.finalise();
 	}
@@ -218,6 +242,7 @@ extends AbstractComponent {
 		this.traceMessage("shutdown.\n");
 		try {
 			this.outboundPort.unpublishPort();
+			this.controlPort.unpublishPort();
 			this.clockServerOBP.unpublishPort();
 		} catch (Exception e) {
 			throw new ComponentShutdownException(e) ;
@@ -240,8 +265,10 @@ extends AbstractComponent {
 	 * ------------------------------------------------------------------------------------------------
 	 * i1 = 04:30:00 | plan           | test isAirConditionerPlanned, isOn, cancelPlan
 	 * i2 = 05:00:00 | plan           | also test getPlannedAirConditionerOn, getPlannedAirConditionerOff
+	 *               | postpone       | postpone by one hour and back through the generated connector
 	 * 06:00:00      | turnOn         | planned turn air conditioner on
 	 * i3 = 07:00:00 | deactivate     | also test isAirConditionerPlanned, deactivate, reactivate, isDeactivated
+	 *               | postpone       | refused through the generated connector as the plan is running
 	 * 22:00:00      | turnOff        | planned turn air conditioner off
 	 * ------------------------------------------------------------------------------------------------
 	 * </pre>
@@ -264,6 +291,7 @@ extends AbstractComponent {
 		Instant i6 = i0.plusSeconds(24 * 3600);			// 24:00:00
 
 		final AirConditionerOutboundPort ac = this.outboundPort;
+		final BatchedEquipmentControlOutboundPort control = this.controlPort;
 		final AirConditionerTester tester = this;
 
 		tester.traceMessage("Simulated unit test begins...\n");
@@ -340,6 +368,26 @@ extends AbstractComponent {
 							Assertions.assertFalse(ac.isOn());
 							tester.traceMessage(
 									"!isOn() at " + i3 + ".\n");
+							Assertions.assertFalse(control.isPlanRunning());
+							tester.traceMessage(
+									"!isPlanRunning() at " + i3 + ".\n");
+							Assertions.assertTrue(
+									control.postpone(Duration.ofHours(1)));
+							Assertions.assertEquals(
+									turnOnInstant.plusSeconds(3600),
+									ac.getPlannedAirConditionerOn());
+							Assertions.assertEquals(
+									turnOffInstant.plusSeconds(3600),
+									ac.getPlannedAirConditionerOff());
+							tester.traceMessage(
+									"postpone(1h) at " + i3 + ".\n");
+							Assertions.assertTrue(
+									control.postpone(Duration.ofHours(-1)));
+							Assertions.assertEquals(
+									turnOnInstant,
+									ac.getPlannedAirConditionerOn());
+							tester.traceMessage(
+									"postpone(-1h) at " + i3 + ".\n");
 						} catch(Exception e) {
 							e.printStackTrace();
 						}
@@ -348,6 +396,16 @@ extends AbstractComponent {
 		long d4 = clock.delayToAcceleratedInstantInNanos(i4);
 		this.scheduleTask(
 				o -> {	try {
+							Assertions.assertTrue(control.isPlanRunning());
+							tester.traceMessage(
+									"isPlanRunning() at " + i4 + ".\n");
+							Assertions.assertFalse(
+									control.postpone(Duration.ofMinutes(15)));
+							Assertions.assertEquals(
+									turnOnInstant,
+									ac.getPlannedAirConditionerOn());
+							tester.traceMessage(
+									"postpone(15min) refused at " + i4 + ".\n");
 							Assertions.assertFalse(ac.isDeactivated());
 							tester.traceMessage(
 									"!isDeactivated() at " + i4 + ".\n");
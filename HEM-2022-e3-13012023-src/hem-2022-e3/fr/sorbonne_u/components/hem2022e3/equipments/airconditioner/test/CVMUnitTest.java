@@ -103,8 +103,8 @@ extends AbstractCVM
 
 		AbstractComponent.createComponent(
 				AirConditionerTester.class.getCanonicalName(),
-				new Object[]{AirConditioner.INBOUND_PORT_URI_PREFIX, false,
-							 CLOCK_URI});
+				new Object[]{AirConditioner.INBOUND_PORT_URI_PREFIX,
+							 isUnitTesting, CLOCK_URI});
 
 		if (isSimulated) {
 			AbstractComponent.createComponent(
@@ -9,6 +9,8 @@ import java.util.concurrent.TimeUnit;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.components.hem2022e2.utils.Electricity;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.InternalVariable;
@@ -68,6 +70,9 @@ extends AtomicHIOA {
 	protected final Duration		evaluationStep;
 	/** total storage capacity												*/
 	protected static final double	CAPACITY = 7000.0;	
+	/** duration of the simulated time unit in hours, computed once for
+	 *  the integration of the storage.										*/
+	protected final double			hoursPerUnit;
 
 	// -------------------------------------------------------------------------
 	// HIOA model variables
@@ -126,6 +131,7 @@ extends AtomicHIOA {
 		) throws Exception
 	{
 		super(uri, simulatedTimeUnit, simulationEngine);
+		this.hoursPerUnit = Electricity.hoursPerUnit(simulatedTimeUnit);
 		this.evaluationStep = new Duration(STEP, this.getSimulatedTimeUnit());
 		this.setLogger(new StandardLogger());
 	}
@@ -159,25 +165,26 @@ extends AtomicHIOA {
 	}
 	
 	/**
-	 * update the total electricity storage in kwh given the current
-	 * intensity has been constant for the duration {@code d}.
+	 * update the total electricity storage in kwh at time {@code t} given
+	 * the current intensity has been constant for the duration {@code d}.
 	 * 
 	 * <p><strong>Contract</strong></p>
 	 * 
 	 * <pre>
-	 * pre	{@code d != null}
+	 * pre	{@code d >= 0.0 && t != null}
 	 * post	{@code true}	// no postcondition.
 	 * </pre>
 	 *
-	 * @param d	duration for which the intensity has been maintained.
+	 * @param d	duration in the simulated time unit for which the intensity has been maintained.
+	 * @param t	time at the end of the duration.
 	 */
-	protected void		updateStorage(Duration d)
+	protected void		updateStorage(double d, Time t)
 	{
 		double c = this.currentStorage.getValue();
 		c += Electricity.computeConsumption(
-								d, TENSION*this.currentIntensity.getValue());
+						d, this.hoursPerUnit,
+						TENSION*this.currentIntensity.getValue());
 		if(c <= CAPACITY) {
-			Time t = this.currentStorage.getTime().add(d);
 			this.currentStorage.setNewValue(c, t);
 		}
 	}
@@ -194,8 +201,8 @@ extends AtomicHIOA {
 	{
 		super.initialiseState(initialTime);
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 	
 	/**
@@ -265,13 +272,15 @@ extends AtomicHIOA {
 
 		// update the current consumption since the last storage update.
 		// must be done before recomputing the instantaneous intensity.
-		this.updateStorage(elapsedTime);
+		this.updateStorage(elapsedTime.getSimulatedDuration(),
+						   this.getCurrentStateTime());
 		double old_cons = this.currentIntensity.getValue();
 		double ic = this.computeTotalIntensity();
 		this.currentIntensity.setNewValue(ic, this.getCurrentStateTime());
 		if (Math.abs(ic - old_cons) > 0.00000000000000001) {
-			this.logMessage("new electricity consumption: " +
-							this.currentIntensity + " amperes.\n");
+			SimulationLog.log(this, Level.FINE,
+								() -> "new electricity consumption: " +
+									  this.currentIntensity + " amperes.\n");
 		}
 	}
 	
@@ -282,8 +291,10 @@ extends AtomicHIOA {
 	public void			endSimulation(Time endTime) throws Exception
 	{
 		this.updateStorage(
-						endTime.subtract(this.currentStorage.getTime()));
-		this.logMessage("simulation ends.\n");
+				endTime.getSimulatedTime() -
+						this.currentStorage.getTime().getSimulatedTime(),
+				endTime);
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 	
@@ -352,5 +352,33 @@ implements ElectricBlanketImplementationI
 		return this.currentState == BlanketState.HIGHER_HEATING;
 	}
 
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.ElectricBlanketImplementationI#heat()
+	 */
+	@Override
+	public void heat() throws Exception {
+		if (ElectricBlanket.VERBOSE) {
+			this.traceMessage("Electric blanket heats.\n");
+		}
+		assert	this.internalIsRunning();
+
+		if (this.currentState == BlanketState.ON) {
+			this.currentState = BlanketState.LOWER_HEATING;
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.ElectricBlanketImplementationI#doNotHeat()
+	 */
+	@Override
+	public void doNotHeat() throws Exception {
+		if (ElectricBlanket.VERBOSE) {
+			this.traceMessage("Electric blanket stops heating.\n");
+		}
+		assert	this.internalIsRunning();
+
+		this.currentState = BlanketState.ON;
+	}
+
 }
 //-----------------------------------------------------------------------------
@@ -53,4 +53,16 @@ extends ElectricBlanketImplementationI,
 	 */
 	@Override
 	public double 		getCurrentTemperature() throws Exception;
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.ElectricBlanketImplementationI#heat()
+	 */
+	@Override
+	public void			heat() throws Exception;
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.ElectricBlanketImplementationI#doNotHeat()
+	 */
+	@Override
+	public void			doNotHeat() throws Exception;
 }
@@ -0,0 +1,253 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket;
+
+import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.connections.ElectricBlanketConnector;
+import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.connections.ElectricBlanketOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticControlEngine;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoopDescriptor;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>ElectricBlanketControlLoop</code> implements a control
+ * loop of the electric blanket executed by a
+ * {@code ThermostaticControlEngine}.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The electric blanket has no sensor data port, hence the loop polls it
+ * through its component interface: at each control period, when the
+ * blanket is on, the loop makes it heat with the low temperature when its
+ * current temperature is below the target temperature of the loop minus
+ * the hysteresis, or stop heating when it is above the target temperature
+ * plus the hysteresis. A blanket set to heat with the high temperature by
+ * its user is left so until it is too warm.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code targetTemperature >= ElectricBlanket.MIN_TEMPERATURE}
+ * invariant	{@code targetTemperature <= ElectricBlanket.MAX_TEMPERATURE}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			ElectricBlanketControlLoop
+extends		ThermostaticLoop
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Descriptor</code> describes an electric blanket
+	 * control loop.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static class	Descriptor
+	extends		ThermostaticLoopDescriptor
+	{
+		private static final long serialVersionUID = 1L;
+
+		/** name of the loop.												*/
+		protected final String	name;
+		/** URI of the inbound port on the electric blanket.				*/
+		protected final String	blanketIBP_URI;
+		/** target temperature of the blanket.								*/
+		protected final double	targetTemperature;
+		/** control hysteresis around the target temperature.				*/
+		protected final double	hysteresis;
+		/** control period in seconds.										*/
+		protected final double	controlPeriod;
+
+		/**
+		 * create a descriptor of an electric blanket control loop.
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 * pre	{@code name != null && !name.isEmpty()}
+		 * pre	{@code blanketIBP_URI != null && !blanketIBP_URI.isEmpty()}
+		 * pre	{@code targetTemperature >= ElectricBlanket.MIN_TEMPERATURE}
+		 * pre	{@code targetTemperature <= ElectricBlanket.MAX_TEMPERATURE}
+		 * pre	{@code hysteresis > 0.0}
+		 * pre	{@code controlPeriod > 0.0}
+		 * post	{@code true}	// no postcondition.
+		 * </pre>
+		 *
+		 * @param name				name of the loop.
+		 * @param blanketIBP_URI	URI of the electric blanket inbound port.
+		 * @param targetTemperature	target temperature of the blanket.
+		 * @param hysteresis		control hysteresis around the target temperature.
+		 * @param controlPeriod		control period in seconds.
+		 */
+		public			Descriptor(
+			String name,
+			String blanketIBP_URI,
+			double targetTemperature,
+			double hysteresis,
+			double controlPeriod
+			)
+		{
+			assert	blanketIBP_URI != null && !blanketIBP_URI.isEmpty() :
+					new PreconditionException(
+						"blanketIBP_URI != null && !blanketIBP_URI.isEmpty()");
+			assert	targetTemperature >= ElectricBlanket.MIN_TEMPERATURE &&
+						targetTemperature <= ElectricBlanket.MAX_TEMPERATURE :
+					new PreconditionException(
+						"targetTemperature >= ElectricBlanket.MIN_TEMPERATURE"
+						+ " && targetTemperature <= "
+						+ "ElectricBlanket.MAX_TEMPERATURE");
+
+			this.name = name;
+			this.blanketIBP_URI = blanketIBP_URI;
+			this.targetTemperature = targetTemperature;
+			this.hysteresis = hysteresis;
+			this.controlPeriod = controlPeriod;
+		}
+
+		/**
+		 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoopDescriptor#createLoop(fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticControlEngine)
+		 */
+		@Override
+		protected ThermostaticLoop	createLoop(ThermostaticControlEngine owner)
+		throws Exception
+		{
+			return new ElectricBlanketControlLoop(owner, this);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** URI of the inbound port on the electric blanket.					*/
+	protected final String						blanketIBP_URI;
+	/** target temperature of the blanket.									*/
+	protected final double						targetTemperature;
+	/** outbound port connected to the electric blanket.					*/
+	protected final ElectricBlanketOutboundPort	blanketOutboundPort;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create the loop described by {@code d}, creating and publishing its
+	 * outbound port.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code owner != null && d != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner			engine executing the loop.
+	 * @param d				descriptor of the loop.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected			ElectricBlanketControlLoop(
+		ThermostaticControlEngine owner,
+		Descriptor d
+		) throws Exception
+	{
+		super(owner, d.name, d.hysteresis, d.controlPeriod);
+
+		this.blanketIBP_URI = d.blanketIBP_URI;
+		this.targetTemperature = d.targetTemperature;
+		this.blanketOutboundPort = new ElectricBlanketOutboundPort(owner);
+		this.blanketOutboundPort.publishPort();
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#connect()
+	 */
+	@Override
+	protected void		connect() throws Exception
+	{
+		this.owner.doPortConnection(
+					this.blanketOutboundPort.getPortURI(),
+					this.blanketIBP_URI,
+					ElectricBlanketConnector.class.getCanonicalName());
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#disconnect()
+	 */
+	@Override
+	protected void		disconnect() throws Exception
+	{
+		this.owner.doPortDisconnection(this.blanketOutboundPort.getPortURI());
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#unpublish()
+	 */
+	@Override
+	protected void		unpublish() throws Exception
+	{
+		this.blanketOutboundPort.unpublishPort();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#isActive()
+	 */
+	@Override
+	protected boolean	isActive() throws Exception
+	{
+		return this.blanketOutboundPort.isRunning();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#control()
+	 */
+	@Override
+	protected void		control() throws Exception
+	{
+		double current = this.blanketOutboundPort.getCurrentTemperature();
+		boolean heating = this.blanketOutboundPort.lowHeating() ||
+										this.blanketOutboundPort.highHeating();
+
+		if (current < this.targetTemperature - this.hysteresis) {
+			// the blanket is too cold, start heating
+			if (!heating) {
+				if (SimulationLog.isLoggable(this.owner, Level.INFO)) {
+					this.owner.traceMessage(
+							this.name + " starts heating with " + current
+							+ " < " + this.targetTemperature + " - "
+							+ this.hysteresis + " at "
+							+ this.owner.currentInstant() + ".\n");
+				}
+				this.blanketOutboundPort.heat();
+			}
+		} else if (current > this.targetTemperature + this.hysteresis) {
+			// the blanket is warm enough, stop heating
+			if (heating) {
+				if (SimulationLog.isLoggable(this.owner, Level.INFO)) {
+					this.owner.traceMessage(
+							this.name + " stops heating with " + current
+							+ " > " + this.targetTemperature + " + "
+							+ this.hysteresis + " at "
+							+ this.owner.currentInstant() + ".\n");
+				}
+				this.blanketOutboundPort.doNotHeat();
+			}
+		}
+	}
+}
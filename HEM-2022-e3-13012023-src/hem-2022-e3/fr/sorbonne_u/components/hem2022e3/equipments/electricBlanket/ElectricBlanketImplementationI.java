@@ -81,5 +81,33 @@ public interface ElectricBlanketImplementationI
 	 * @throws Exception	<i>to do</i>.
 	 */
 	public double		getCurrentTemperature() throws Exception;
-	
+
+	/**
+	 * make the electric blanket heat with the low temperature, unless it is
+	 * already heating.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code isRunning()}
+	 * post	{@code lowHeating() || highHeating()}
+	 * </pre>
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public void			heat() throws Exception;
+
+	/**
+	 * make the electric blanket stop heating while staying on.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code isRunning()}
+	 * post	{@code isRunning() && !lowHeating() && !highHeating()}
+	 * </pre>
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public void			doNotHeat() throws Exception;
 }
@@ -43,4 +43,14 @@ implements ElectricBlanketCI
 		return ((ElectricBlanketCI)this.offering).getCurrentTemperature();
 	}
 
+	@Override
+	public void heat() throws Exception {
+		((ElectricBlanketCI)this.offering).heat();
+	}
+
+	@Override
+	public void doNotHeat() throws Exception {
+		((ElectricBlanketCI)this.offering).doNotHeat();
+	}
+
 }
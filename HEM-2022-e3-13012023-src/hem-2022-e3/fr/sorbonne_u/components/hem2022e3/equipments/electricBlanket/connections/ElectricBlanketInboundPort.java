@@ -68,4 +68,20 @@ implements ElectricBlanketCI
 				o -> ((ElectricBlanketImplementationI)o).getCurrentTemperature());
 	}
 
+	@Override
+	public void heat() throws Exception {
+		this.getOwner().handleRequest(
+				o -> {	((ElectricBlanketImplementationI)o).heat();
+						return null;
+					 });
+	}
+
+	@Override
+	public void doNotHeat() throws Exception {
+		this.getOwner().handleRequest(
+				o -> {	((ElectricBlanketImplementationI)o).doNotHeat();
+						return null;
+					 });
+	}
+
 }
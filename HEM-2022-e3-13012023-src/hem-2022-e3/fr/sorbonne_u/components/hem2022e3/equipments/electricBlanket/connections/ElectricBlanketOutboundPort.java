@@ -61,4 +61,14 @@ implements ElectricBlanketCI
 		return ((ElectricBlanketCI)this.getConnector()).getCurrentTemperature();
 	}
 
+	@Override
+	public void heat() throws Exception {
+		((ElectricBlanketCI)this.getConnector()).heat();
+	}
+
+	@Override
+	public void doNotHeat() throws Exception {
+		((ElectricBlanketCI)this.getConnector()).doNotHeat();
+	}
+
 }
@@ -15,6 +15,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.
 import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.SwitchOffBlanket;
 import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.SwitchOnBlanket;
 import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterRTAtomicSimulatorPlugin;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -90,6 +92,9 @@ implements ElectricBlanketOperationI
 	protected boolean				consumptionHasChanged = false;
 	/** total consumption of the electric blanket during the simulation in kwh.		*/
 	protected double				totalConsumption;
+	/** duration of the simulated time unit in hours, computed once for
+	 *  the integration of the consumption.								*/
+	protected final double			hoursPerUnit;
 	
 	// -------------------------------------------------------------------------
 	// HIOA model variables
@@ -125,6 +130,7 @@ implements ElectricBlanketOperationI
 		) throws Exception
 	{
 		super(uri, simulatedTimeUnit, simulationEngine);
+		this.hoursPerUnit = Electricity.hoursPerUnit(simulatedTimeUnit);
 		this.setLogger(new StandardLogger());
 	}
 	
@@ -198,8 +204,8 @@ implements ElectricBlanketOperationI
 		this.currentState = BlanketState.OFF;
 		this.consumptionHasChanged = false;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 	
 	/**
@@ -271,12 +277,14 @@ implements ElectricBlanketOperationI
 		}
 		
 		// Tracing
-		StringBuffer sb = new StringBuffer("new consumption: ");
-		sb.append(this.currentIntensity.getValue());
-		sb.append(" amperes at ");
-		sb.append(this.currentIntensity.getTime());
-		sb.append(" seconds.\n");
-		this.logMessage(sb.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer sb = new StringBuffer("new consumption: ");
+			sb.append(this.currentIntensity.getValue());
+			sb.append(" amperes at ");
+			sb.append(this.currentIntensity.getTime());
+			sb.append(" seconds.\n");
+			this.logMessage(sb.toString());
+		}
 	}
 	
 	/**
@@ -300,16 +308,19 @@ implements ElectricBlanketOperationI
 		// compute the total consumption for the simulation report.
 		this.totalConsumption +=
 				Electricity.computeConsumption(
-									elapsedTime,
+									elapsedTime.getSimulatedDuration(),
+									this.hoursPerUnit,
 									TENSION*this.currentIntensity.getValue());
 
 
 		// Tracing
-		StringBuffer message =
-				new StringBuffer("executes an external transition on event ");
-		message.append(ce.toString());
-		message.append(")\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an external transition on event ");
+			message.append(ce.toString());
+			message.append(")\n");
+			this.logMessage(message.toString());
+		}
 
 		// events have a method execute on to perform their effect on this
 		// model
@@ -322,13 +333,14 @@ implements ElectricBlanketOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		Duration d = endTime.subtract(this.getCurrentStateTime());
 		this.totalConsumption +=
 				Electricity.computeConsumption(
-									d,
-									TENSION*this.currentIntensity.getValue());
+							endTime.getSimulatedTime() -
+								this.getCurrentStateTime().getSimulatedTime(),
+							this.hoursPerUnit,
+							TENSION*this.currentIntensity.getValue());
 
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 	
@@ -12,6 +12,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.
 import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.SetLowTemperature;
 import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.SwitchOffBlanket;
 import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.sil.events.SwitchOnBlanket;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
@@ -152,8 +154,8 @@ implements ElectricBlanketOperationI
 		this.lastReceived = null;
 		super.initialiseState(initialTime);
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 	
 	@Override
@@ -196,11 +198,13 @@ implements ElectricBlanketOperationI
 		this.lastReceived = (BlanketEventI) currentEvents.get(0);
 
 		// Tracing
-		StringBuffer message =
-				new StringBuffer("executes an external transition on event ");
-		message.append(this.lastReceived.toString());
-		message.append(")\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an external transition on event ");
+			message.append(this.lastReceived.toString());
+			message.append(")\n");
+			this.logMessage(message.toString());
+		}
 
 		// events have a method execute on to perform their effect on this
 		// model
@@ -213,7 +217,7 @@ implements ElectricBlanketOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 	
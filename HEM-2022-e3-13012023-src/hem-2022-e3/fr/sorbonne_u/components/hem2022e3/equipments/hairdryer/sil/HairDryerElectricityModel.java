@@ -45,6 +45,9 @@ import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SetLow
 import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SwitchOffHairDryer;
 import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SwitchOnHairDryer;
 import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterRTAtomicSimulatorPlugin;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.events.IntensityChanged;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -105,7 +108,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 @ModelExternalEvents(imported = {SwitchOnHairDryer.class,
 								 SwitchOffHairDryer.class,
 								 SetLowHairDryer.class,
-								 SetHighHairDryer.class})
+								 SetHighHairDryer.class},
+					 exported = {IntensityChanged.class})
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 // -----------------------------------------------------------------------------
 public class			HairDryerElectricityModel
@@ -167,6 +171,9 @@ implements	HairDryerOperationI
 
 	/** total consumption of the hair dryer during the simulation in kwh.	*/
 	protected double			totalConsumption;
+	/** duration of the simulated time unit in hours, computed once for
+	 *  the integration of the consumption.								*/
+	protected final double		hoursPerUnit;
 
 	// -------------------------------------------------------------------------
 	// HIOA model variables
@@ -202,6 +209,7 @@ implements	HairDryerOperationI
 		) throws Exception
 	{
 		super(uri, simulatedTimeUnit, simulationEngine);
+		this.hoursPerUnit = Electricity.hoursPerUnit(simulatedTimeUnit);
 		// set the logger to a standard simulation logger
 		this.setLogger(new StandardLogger());
 	}
@@ -317,8 +325,8 @@ implements	HairDryerOperationI
 		this.consumptionHasChanged = false;
 		this.totalConsumption = 0.0;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	/**
@@ -339,8 +347,12 @@ implements	HairDryerOperationI
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		// the model does not export events.
-		return null;
+		// the only internal transitions are the immediate ones updating the
+		// intensity, which the electric meter model must then take into
+		// account.
+		ArrayList<EventI> ret = new ArrayList<EventI>();
+		ret.add(new IntensityChanged(this.getTimeOfNextEvent()));
+		return ret;
 	}
 
 	/**
@@ -384,14 +396,16 @@ implements	HairDryerOperationI
 		}
 
 		// tracing
-		StringBuffer message =
-				new StringBuffer("executes an internal transition ");
-		message.append("with current consumption ");
-		message.append(this.currentIntensity.getValue());
-		message.append(" at ");
-		message.append(this.currentIntensity.getTime());
-		message.append(".\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an internal transition ");
+			message.append("with current consumption ");
+			message.append(this.currentIntensity.getValue());
+			message.append(" at ");
+			message.append(this.currentIntensity.getTime());
+			message.append(".\n");
+			this.logMessage(message.toString());
+		}
 	}
 
 	/**
@@ -414,15 +428,18 @@ implements	HairDryerOperationI
 		// compute the total consumption (in kwh) for the simulation report.
 		this.totalConsumption +=
 				Electricity.computeConsumption(
-									elapsedTime,
+									elapsedTime.getSimulatedDuration(),
+									this.hoursPerUnit,
 									TENSION*this.currentIntensity.getValue());
 
 		// Tracing
-		StringBuffer message =
-				new StringBuffer("executes an external transition ");
-		message.append(ce.toString());
-		message.append(")\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an external transition ");
+			message.append(ce.toString());
+			message.append(")\n");
+			this.logMessage(message.toString());
+		}
 
 		assert	ce instanceof AbstractHairDryerEvent;
 		// events have a method execute on to perform their effect on this
@@ -436,13 +453,14 @@ implements	HairDryerOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		Duration d = endTime.subtract(this.getCurrentStateTime());
 		this.totalConsumption +=
 				Electricity.computeConsumption(
-									d,
-									TENSION*this.currentIntensity.getValue());
+							endTime.getSimulatedTime() -
+								this.getCurrentStateTime().getSimulatedTime(),
+							this.hoursPerUnit,
+							TENSION*this.currentIntensity.getValue());
 
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
@@ -45,6 +45,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SetLow
 import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SwitchOffHairDryer;
 import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SwitchOnHairDryer;
 import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.HairDryer;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
@@ -216,8 +218,8 @@ implements	HairDryerOperationI
 		this.lastReceived = null;
 		this.currentState = State.OFF;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	@Override
@@ -262,11 +264,13 @@ implements	HairDryerOperationI
 		this.lastReceived = (AbstractHairDryerEvent) currentEvents.get(0);
 
 		// tracing
-		StringBuffer message = new StringBuffer(this.uri);
-		message.append(" executes the external event ");
-		message.append(this.lastReceived);
-		message.append('\n');
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message = new StringBuffer(this.uri);
+			message.append(" executes the external event ");
+			message.append(this.lastReceived);
+			message.append('\n');
+			this.logMessage(message.toString());
+		}
 	}
 
 	/**
@@ -275,7 +279,7 @@ implements	HairDryerOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
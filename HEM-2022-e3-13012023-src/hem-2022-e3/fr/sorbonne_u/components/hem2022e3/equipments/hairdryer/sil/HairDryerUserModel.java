@@ -41,6 +41,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SetLow
 import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SwitchOffHairDryer;
 import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SwitchOnHairDryer;
 import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.test.HairDryerUser;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.es.events.ES_EventI;
 import fr.sorbonne_u.devs_simulation.es.models.AtomicES_Model;
 import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
@@ -133,13 +135,21 @@ implements	HairDryerOperationI
 	public static final String		URI = HairDryerUserModel.class.
 																getSimpleName();
 
-	/** time interval between event outputs in hours.						*/
-	protected static double			STEP_MEAN_DURATION = 5.0/60.0; // 5 minutes
-	/** time interval between hair dryer usages in hours.					*/
-	protected static double			DELAY_MEAN_DURATION = 4.0;
+	/** default time interval between event outputs in hours.				*/
+	protected static final double	STEP_MEAN_DURATION = 5.0/60.0; // 5 minutes
+	/** default time interval between hair dryer usages in hours.			*/
+	protected static final double	DELAY_MEAN_DURATION = 4.0;
 
+	/** time interval between event outputs in hours for this model; several
+	 *  simulators may run in the same JVM with different values.			*/
+	protected double				stepMeanDuration = STEP_MEAN_DURATION;
+	/** time interval between hair dryer usages in hours for this model.	*/
+	protected double				delayMeanDuration = DELAY_MEAN_DURATION;
 	/**	the random number generator from common math library.				*/
 	protected final RandomDataGenerator	rg ;
+	/** seed of the random number generator, or null to draw a new seed
+	 *  at each run.														*/
+	protected Long					seed;
 	/** component that owns this model.										*/
 	protected HairDryerUser			owner;
 
@@ -184,7 +194,8 @@ implements	HairDryerOperationI
 	@Override
 	public void			turnOn()
 	{
-		this.logMessage(this.uri + " turns on the hair dryer.\n");
+		SimulationLog.log(this, Level.FINE,
+						  () -> this.uri + " turns on the hair dryer.\n");
 		try {
 			if (this.owner != null) {
 				this.owner.turnOn();
@@ -200,7 +211,8 @@ implements	HairDryerOperationI
 	@Override
 	public void			turnOff()
 	{
-		this.logMessage(this.uri + " turns off the hair dryer.\n");
+		SimulationLog.log(this, Level.FINE,
+						  () -> this.uri + " turns off the hair dryer.\n");
 		try {
 			if (this.owner != null) {
 				this.owner.turnOff();
@@ -216,7 +228,8 @@ implements	HairDryerOperationI
 	@Override
 	public void			setHigh()
 	{
-		this.logMessage(this.uri + " sets the hair dryer HIGH.\n");
+		SimulationLog.log(this, Level.FINE,
+						  () -> this.uri + " sets the hair dryer HIGH.\n");
 		try {
 			if (this.owner != null) {
 				this.owner.setHigh();
@@ -232,7 +245,8 @@ implements	HairDryerOperationI
 	@Override
 	public void			setLow()
 	{
-		this.logMessage(this.uri + " sets the hair dryer LOW.\n");
+		SimulationLog.log(this, Level.FINE,
+						  () -> this.uri + " sets the hair dryer LOW.\n");
 		try {
 			if (this.owner != null) {
 				this.owner.setLow();
@@ -299,8 +313,8 @@ implements	HairDryerOperationI
 	{
 		// generate randomly the next time interval but force it to be
 		// greater than 0 by returning at least 0.1 
-		double delay = Math.max(this.rg.nextGaussian(STEP_MEAN_DURATION,
-													 STEP_MEAN_DURATION/2.0),
+		double delay = Math.max(this.rg.nextGaussian(this.stepMeanDuration,
+													 this.stepMeanDuration/2.0),
 								0.1);
 		// compute the new time by adding the delay to from
 		Time t = from.add(new Duration(delay, this.getSimulatedTimeUnit()));
@@ -327,8 +341,8 @@ implements	HairDryerOperationI
 
 		// generate randomly the next time interval but force it to be
 		// greater than 0 by returning at least 0.1 
-		double delay = Math.max(this.rg.nextGaussian(DELAY_MEAN_DURATION,
-													 DELAY_MEAN_DURATION/10.0),
+		double delay = Math.max(this.rg.nextGaussian(this.delayMeanDuration,
+													 this.delayMeanDuration/10.0),
 								0.1);
 		// compute the new time by adding the delay to from
 		Time t = from.add(new Duration(delay, this.getSimulatedTimeUnit()));
@@ -347,7 +361,12 @@ implements	HairDryerOperationI
 	{
 		super.initialiseState(initialTime);
 
-		this.rg.reSeedSecure();
+		// a given seed makes the run reproducible
+		if (this.seed != null) {
+			this.rg.reSeed(this.seed);
+		} else {
+			this.rg.reSeedSecure();
+		}
 
 		// compute the time of occurrence for the first event
 		Time t = this.computeTimeOfNextUsage(this.getCurrentStateTime());
@@ -359,8 +378,8 @@ implements	HairDryerOperationI
 		this.timeOfNextEvent =
 				this.getCurrentStateTime().add(this.getNextTimeAdvance());
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	/**
@@ -382,11 +401,13 @@ implements	HairDryerOperationI
 		}
 		if (e != null) {
 			// tracing
-			StringBuffer sb = new StringBuffer(this.uri);
-			sb.append(" executes the event ");
-			sb.append(e.eventAsString());
-			sb.append(".\n");
-			this.logMessage(sb.toString());
+			if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+				StringBuffer sb = new StringBuffer(this.uri);
+				sb.append(" executes the event ");
+				sb.append(e.eventAsString());
+				sb.append(".\n");
+				this.logMessage(sb.toString());
+			}
 
 			this.generateNextEvent(e);
 		}
@@ -399,7 +420,7 @@ implements	HairDryerOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
@@ -407,10 +428,12 @@ implements	HairDryerOperationI
 	// Optional DEVS simulation protocol: simulation run parameters
 	// -------------------------------------------------------------------------
 
-	/** run parameter name for {@code STEP_MEAN_DURATION}.					*/
+	/** run parameter name for {@code stepMeanDuration}.					*/
 	public static final String		MEAN_STEP_RPNAME = "STEP_MEAN_DURATION";
-	/** run parameter name for {@code STEP_MEAN_DURATION}.					*/
-	public static final String		MEAN_DELAY_RPNAME = "STEP_MEAN_DURATION";
+	/** run parameter name for {@code delayMeanDuration}.					*/
+	public static final String		MEAN_DELAY_RPNAME = "DELAY_MEAN_DURATION";
+	/** run parameter name for the seed of the random number generator.	*/
+	public static final String		SEED_RPNAME = "SEED";
 
 	/**
 	 * @see fr.sorbonne_u.devs_simulation.models.Model#setSimulationRunParameters(java.util.Map)
@@ -425,12 +448,16 @@ implements	HairDryerOperationI
 		String stepName =
 				ModelI.createRunParameterName(getURI(), MEAN_STEP_RPNAME);
 		if (simParams.containsKey(stepName)) {
-			STEP_MEAN_DURATION = (double) simParams.get(stepName);
+			this.stepMeanDuration = (double) simParams.get(stepName);
 		}
 		String delayName =
 				ModelI.createRunParameterName(getURI(), MEAN_DELAY_RPNAME);
 		if (simParams.containsKey(delayName)) {
-			DELAY_MEAN_DURATION = (double) simParams.get(delayName);
+			this.delayMeanDuration = (double) simParams.get(delayName);
+		}
+		String seedName = ModelI.createRunParameterName(getURI(), SEED_RPNAME);
+		if (simParams.containsKey(seedName)) {
+			this.seed = ((Number) simParams.get(seedName)).longValue();
 		}
 
 		if (simParams.containsKey(
@@ -0,0 +1,87 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil;
+
+import java.util.ArrayList;
+import java.util.List;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SetHighHairDryer;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SetLowHairDryer;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SwitchOffHairDryer;
+import fr.sorbonne_u.components.hem2022e3.equipments.hairdryer.sil.events.SwitchOnHairDryer;
+import fr.sorbonne_u.components.hem2022e3.utils.MicroBenchmark;
+import fr.sorbonne_u.devs_simulation.es.events.ES_EventI;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>HairDryerUserModelBenchmark</code> measures the generation
+ * of the events of the <code>HairDryerUserModel</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * Each call generates the successor of one of the four events of the usage
+ * cycle, in turn. As the generated events are added to the event list of the
+ * model, the state of the model is reinitialised before each iteration so
+ * that the list does not grow from one iteration to the next; the model is
+ * detached from its logger, so that reinitialisations print nothing.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			HairDryerUserModelBenchmark
+{
+	/** number of calls per iteration, kept small as the event list of the
+	 *  model grows with each call.											*/
+	protected static final int	OPERATIONS = 10000;
+
+	/**
+	 * run the benchmarks on {@code model}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code model != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param model	initialised model.
+	 * @return		the measures of the benchmarks.
+	 */
+	public static List<MicroBenchmark.Result>	run(HairDryerUserModel model)
+	{
+		assert	model != null;
+
+		model.setLogger(null);
+		Time t = model.getCurrentStateTime();
+		ES_EventI[] cycle = new ES_EventI[]{
+									new SwitchOnHairDryer(t),
+									new SetHighHairDryer(t),
+									new SetLowHairDryer(t),
+									new SwitchOffHairDryer(t)};
+		int[] next = new int[]{0};
+
+		List<MicroBenchmark.Result> ret = new ArrayList<>();
+		ret.add(MicroBenchmark.run(
+					HairDryerUserModel.URI + ".generateNextEvent",
+					() -> model.initialiseState(t),
+					() -> {	model.generateNextEvent(cycle[next[0]]);
+							next[0] = (next[0] + 1) % cycle.length;
+							return next[0];
+						  },
+					MicroBenchmark.DEFAULT_WARMUPS,
+					MicroBenchmark.DEFAULT_ITERATIONS,
+					OPERATIONS));
+		return ret;
+	}
+}
+// -----------------------------------------------------------------------------
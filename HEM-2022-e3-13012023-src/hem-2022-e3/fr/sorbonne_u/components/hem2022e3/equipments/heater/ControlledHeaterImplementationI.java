@@ -118,5 +118,29 @@ extends		HeaterImplementationI
 	 * @throws Exception	<i>to do</i>.
 	 */
 	public void			doNotHeat() throws Exception;
+
+	/**
+	 * ask the heater to push the current and target temperatures to the
+	 * sensor reader when the current temperature crosses the bound of the
+	 * hysteresis band that ends the current heating or non heating phase,
+	 * instead of waiting for periodic requests; a {@code hysteresis} of 0
+	 * stops the notifications.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code hysteresis >= 0.0}
+	 * pre	{@code maxPeriod > 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param hysteresis	control hysteresis around the target temperature.
+	 * @param maxPeriod		longest delay in seconds between two checks of the temperature.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public void			notifyTemperatureCrossings(
+		double hysteresis,
+		double maxPeriod
+		) throws Exception;
 }
 // -----------------------------------------------------------------------------
@@ -84,5 +84,10 @@ extends		RequiredCI,
 	 * @throws Exception	<i>to do</i>.
 	 */
 	public void			doNotHeat() throws Exception;
+
+	public void			notifyTemperatureCrossings(
+		double hysteresis,
+		double maxPeriod
+		) throws Exception;
 }
 // -----------------------------------------------------------------------------
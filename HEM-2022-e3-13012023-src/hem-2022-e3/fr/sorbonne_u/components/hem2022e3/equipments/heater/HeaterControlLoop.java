@@ -0,0 +1,275 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.heater;
+
+import java.util.concurrent.atomic.AtomicReference;
+import fr.sorbonne_u.components.connectors.DataConnector;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterSensorCI.StateDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterSensorCI.TemperatureDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeater.HeaterState;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.connections.HeaterActuatorConnector;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.connections.HeaterActuatorOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.connections.HeaterSensorDataOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticControlEngine;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoopDescriptor;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
+import fr.sorbonne_u.components.interfaces.DataRequiredCI.DataI;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>HeaterControlLoop</code> implements the control loop of
+ * the {@code ThermostatedHeaterController} as a loop executed by a
+ * {@code ThermostaticControlEngine}.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The heater pushes its state to the loop when it is switched on or off and
+ * when it starts or stops heating; at each control period when it is on,
+ * the loop requests its temperatures and starts heating when the current
+ * temperature is below the target one minus the hysteresis, or stops
+ * heating when it is above the target one plus the hysteresis.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			HeaterControlLoop
+extends		ThermostaticLoop
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Descriptor</code> describes a heater control loop.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static class	Descriptor
+	extends		ThermostaticLoopDescriptor
+	{
+		private static final long serialVersionUID = 1L;
+
+		/** name of the loop.												*/
+		protected final String	name;
+		/** URI of the sensor inbound port on the heater.					*/
+		protected final String	sensorIBP_URI;
+		/** URI of the actuator inbound port on the heater.				*/
+		protected final String	actuatorIBP_URI;
+		/** control hysteresis around the target temperature.				*/
+		protected final double	hysteresis;
+		/** control period in seconds.										*/
+		protected final double	controlPeriod;
+
+		/**
+		 * create a descriptor of a heater control loop.
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 * pre	{@code name != null && !name.isEmpty()}
+		 * pre	{@code sensorIBP_URI != null && !sensorIBP_URI.isEmpty()}
+		 * pre	{@code actuatorIBP_URI != null && !actuatorIBP_URI.isEmpty()}
+		 * pre	{@code hysteresis > 0.0}
+		 * pre	{@code controlPeriod > 0.0}
+		 * post	{@code true}	// no postcondition.
+		 * </pre>
+		 *
+		 * @param name				name of the loop.
+		 * @param sensorIBP_URI		URI of the heater sensor inbound port.
+		 * @param actuatorIBP_URI	URI of the heater actuator inbound port.
+		 * @param hysteresis		control hysteresis around the target temperature.
+		 * @param controlPeriod		control period in seconds.
+		 */
+		public			Descriptor(
+			String name,
+			String sensorIBP_URI,
+			String actuatorIBP_URI,
+			double hysteresis,
+			double controlPeriod
+			)
+		{
+			assert	sensorIBP_URI != null && !sensorIBP_URI.isEmpty() :
+					new PreconditionException(
+							"sensorIBP_URI != null && !sensorIBP_URI.isEmpty()");
+			assert	actuatorIBP_URI != null && !actuatorIBP_URI.isEmpty() :
+					new PreconditionException(
+						"actuatorIBP_URI != null && !actuatorIBP_URI.isEmpty()");
+
+			this.name = name;
+			this.sensorIBP_URI = sensorIBP_URI;
+			this.actuatorIBP_URI = actuatorIBP_URI;
+			this.hysteresis = hysteresis;
+			this.controlPeriod = controlPeriod;
+		}
+
+		/**
+		 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoopDescriptor#createLoop(fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticControlEngine)
+		 */
+		@Override
+		protected ThermostaticLoop	createLoop(ThermostaticControlEngine owner)
+		throws Exception
+		{
+			return new HeaterControlLoop(owner, this);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** URI of the sensor inbound port on the heater.						*/
+	protected final String							sensorIBP_URI;
+	/** URI of the actuator inbound port on the heater.					*/
+	protected final String							actuatorIBP_URI;
+	/** sensor data outbound port connected to the heater.					*/
+	protected final HeaterSensorDataOutboundPort	sensorOutboundPort;
+	/** actuator outbound port connected to the heater.					*/
+	protected final HeaterActuatorOutboundPort		actuatorOutboundPort;
+	/** the current state of the heater as pushed by the heater.			*/
+	protected final AtomicReference<HeaterState>	currentState;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create the loop described by {@code d}, creating and publishing its
+	 * outbound ports.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code owner != null && d != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner			engine executing the loop.
+	 * @param d				descriptor of the loop.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected			HeaterControlLoop(
+		ThermostaticControlEngine owner,
+		Descriptor d
+		) throws Exception
+	{
+		super(owner, d.name, d.hysteresis, d.controlPeriod);
+
+		this.sensorIBP_URI = d.sensorIBP_URI;
+		this.actuatorIBP_URI = d.actuatorIBP_URI;
+		this.currentState = new AtomicReference<>(HeaterState.OFF);
+		this.sensorOutboundPort = new HeaterSensorDataOutboundPort(owner);
+		this.sensorOutboundPort.publishPort();
+		this.actuatorOutboundPort = new HeaterActuatorOutboundPort(owner);
+		this.actuatorOutboundPort.publishPort();
+		owner.registerReceiver(this.sensorOutboundPort.getPortURI(), this);
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#connect()
+	 */
+	@Override
+	protected void		connect() throws Exception
+	{
+		this.owner.doPortConnection(this.sensorOutboundPort.getPortURI(),
+									this.sensorIBP_URI,
+									DataConnector.class.getCanonicalName());
+		this.owner.doPortConnection(
+					this.actuatorOutboundPort.getPortURI(),
+					this.actuatorIBP_URI,
+					HeaterActuatorConnector.class.getCanonicalName());
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#disconnect()
+	 */
+	@Override
+	protected void		disconnect() throws Exception
+	{
+		this.owner.doPortDisconnection(this.sensorOutboundPort.getPortURI());
+		this.owner.doPortDisconnection(this.actuatorOutboundPort.getPortURI());
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#unpublish()
+	 */
+	@Override
+	protected void		unpublish() throws Exception
+	{
+		this.sensorOutboundPort.unpublishPort();
+		this.actuatorOutboundPort.unpublishPort();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#receive(fr.sorbonne_u.components.interfaces.DataRequiredCI.DataI)
+	 */
+	@Override
+	protected void		receive(DataI d)
+	{
+		if (d instanceof StateDataI) {
+			this.currentState.set(((StateDataI) d).getState());
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#isActive()
+	 */
+	@Override
+	protected boolean	isActive() throws Exception
+	{
+		return this.currentState.get() != HeaterState.OFF;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#control()
+	 */
+	@Override
+	protected void		control() throws Exception
+	{
+		TemperatureDataI td =
+						(TemperatureDataI) this.sensorOutboundPort.request();
+
+		if (td.getCurrent() < td.getTarget() - this.hysteresis) {
+			// the current room temperature is too low, start heating
+			if (HeaterState.HEATING != this.currentState.get()) {
+				if (SimulationLog.isLoggable(this.owner, Level.INFO)) {
+					this.owner.traceMessage(
+							this.name + " starts heating with "
+							+ td.getCurrent() + " < " + td.getTarget()
+							+ " - " + this.hysteresis + " at "
+							+ this.owner.currentInstant() + ".\n");
+				}
+				this.actuatorOutboundPort.heat();
+			}
+		} else if (td.getCurrent() > td.getTarget() + this.hysteresis) {
+			// the current room temperature is high enough, stop heating
+			if (HeaterState.HEATING == this.currentState.get()) {
+				if (SimulationLog.isLoggable(this.owner, Level.INFO)) {
+					this.owner.traceMessage(
+							this.name + " stops heating with "
+							+ td.getCurrent() + " > " + td.getTarget()
+							+ " + " + this.hysteresis + " at "
+							+ this.owner.currentInstant() + ".\n");
+				}
+				this.actuatorOutboundPort.doNotHeat();
+			}
+		}
+	}
+}
@@ -0,0 +1,175 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.heater;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import fr.sorbonne_u.components.cyphy.tools.aclocks.AcceleratedClock;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterSensorCI.TemperatureDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeater.HeaterState;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.CosineTemperatureProfile;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.ExternalTemperatureModel;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>PredictiveHeaterController</code> implements a model
+ * predictive controller component for the thermostated heater.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The controller requests the temperatures from the heater at each control
+ * period like the {@code ThermostatedHeaterController} in pull mode, but
+ * decides to heat or not by planning the heating over the next hours with a
+ * {@code PredictiveHeatingPlanner} rather than by comparing the current
+ * temperature with the hysteresis band. The room is then preheated up to
+ * {@code PredictiveHeatingPlanner.STANDARD_PREHEAT_MARGIN} above the target
+ * before the peak hours and left to cool down during them, while the cost
+ * of the changes of state lengthens the heating cycles.
+ * </p>
+ * <p>
+ * The planner forecasts the external temperature with the default profile
+ * of the {@code ExternalTemperatureModel}, its time 0 being the start
+ * instant of the clock, and the hours of the prices are taken in UTC from
+ * the current instant of the clock. The clock being only available in test
+ * mode, the controller falls back on the hysteresis control otherwise.
+ * </p>
+ *
+ * <p><strong>White-box Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code planner != null}
+ * invariant	{@code !pushMode}
+ * </pre>
+ *
+ * <p><strong>Black-box Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			PredictiveHeaterController
+extends		ThermostatedHeaterController
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** planner of the heating, only used by the control loop.				*/
+	protected final PredictiveHeatingPlanner	planner;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create the controller component.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code sensorIBP_URI != null && !sensorIBP_URI.isEmpty()}
+	 * pre	{@code actuatorIBP_URI != null && !actuatorIBP_URI.isEmpty()}
+	 * pre	{@code hysteresis > 0.0}
+	 * pre	{@code controlPeriod > 0}
+	 * pre	{@code !isUnderTest || clockURI != null && !clockURI.isEmpty()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param sensorIBP_URI		URI of the heater sensor inbound port.
+	 * @param actuatorIBP_URI	URI of the heater actuator inbound port.
+	 * @param hysteresis		tolerance below the target temperature.
+	 * @param controlPeriod		control period in seconds, also the first step of the plans.
+	 * @param isUnderTest		when true, the component is executed in test mode.
+	 * @param clockURI			URI of the clock to be used to synchronise the test scenarios and the simulation.
+	 * @throws Exception 		<i>to do</i>.
+	 */
+	protected			PredictiveHeaterController(
+		String sensorIBP_URI,
+		String actuatorIBP_URI,
+		double hysteresis,
+		double controlPeriod,
+		boolean isUnderTest,
+		String clockURI
+		) throws Exception
+	{
+		super(sensorIBP_URI, actuatorIBP_URI, hysteresis, controlPeriod,
+			  isUnderTest, clockURI, false);
+
+		this.planner =
+			new PredictiveHeatingPlanner(
+					new CosineTemperatureProfile(
+							ExternalTemperatureModel.MIN_EXTERNAL_TEMPERATURE,
+							ExternalTemperatureModel.MAX_EXTERNAL_TEMPERATURE,
+							ExternalTemperatureModel.PERIOD),
+					controlPeriod/TimeUnit.HOURS.toSeconds(1));
+	}
+
+	// -------------------------------------------------------------------------
+	// Component internal methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * start or stop heating as planned by the {@code PredictiveHeatingPlanner}
+	 * for the next control period.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code td != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeaterController#control(fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterSensorCI.TemperatureDataI)
+	 */
+	@Override
+	protected void		control(TemperatureDataI td) throws Exception
+	{
+		AcceleratedClock c = this.clock.getNow(null);
+		if (c == null) {
+			super.control(td);
+			return;
+		}
+
+		Instant now = c.currentInstant();
+		double t = Duration.between(c.getStartInstant(), now).toMillis()/
+										(double) TimeUnit.HOURS.toMillis(1);
+		double hourOfDay =
+				(now.getEpochSecond() % TimeUnit.DAYS.toSeconds(1))/
+										(double) TimeUnit.HOURS.toSeconds(1);
+		boolean heating = HeaterState.HEATING == this.currentState.get();
+		boolean heat = this.planner.plan(Math.max(0.0, t), hourOfDay,
+										 td.getCurrent(), td.getTarget(),
+										 this.hysteresis, heating);
+
+		if (heat != heating) {
+			if (SimulationLog.isLoggable(this, Level.INFO)) {
+				StringBuffer sb = new StringBuffer(
+								heat ? "plan heating with " : "plan no heating with ");
+				sb.append(td.getCurrent());
+				sb.append(" for ");
+				sb.append(td.getTarget());
+				sb.append(" at a cost of ");
+				sb.append(this.planner.getPlanCost());
+				sb.append(" at ");
+				sb.append(now);
+				sb.append(".\n");
+				this.traceMessage(sb.toString());
+			}
+			if (heat) {
+				this.actuatorOutboundPort.heat();
+			} else {
+				this.actuatorOutboundPort.doNotHeat();
+			}
+		}
+	}
+}
+// -----------------------------------------------------------------------------
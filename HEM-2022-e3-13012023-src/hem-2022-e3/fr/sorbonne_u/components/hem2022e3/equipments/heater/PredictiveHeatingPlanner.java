@@ -0,0 +1,445 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.heater;
+
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.ExternalTemperatureProfileI;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterElectricityModel;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterTemperatureModel;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>PredictiveHeatingPlanner</code> computes the on/off
+ * schedule of the heater over a short horizon that keeps the room in its
+ * comfort band at the least cost, using the dynamics of the
+ * {@code HeaterTemperatureModel}.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The horizon is made of a first step, usually the control period, followed
+ * by {@code horizon - 1} steps of equal duration. Over a step, the room
+ * temperature follows {@code dT/dt = rate * (equilibrium - T)} with the
+ * external temperature taken at the middle of the step, so its value at the
+ * end of the step is {@code equilibrium + (T - equilibrium) * decay}; the
+ * decays of the heating and non heating states, which only depend on the
+ * durations of the steps, are computed once at creation. At each call,
+ * {@code plan} fills the external temperatures and the prices of the steps
+ * from the deterministic profile of the external temperature and the hourly
+ * prices, then finds the schedule of least cost by a depth-first search
+ * pruned by the best cost found so far, trying first to keep the current
+ * state; all of its arrays are allocated at creation, so that a plan does
+ * not allocate any memory.
+ * </p>
+ * <p>
+ * The cost of a schedule is the sum of:
+ * </p>
+ * <ul>
+ * <li>the energy consumed by the heating steps in kWh times the price of
+ *   their hour, so that heating is shifted out of the peak hours;</li>
+ * <li>{@code switchCost} for each change of state, including from the
+ *   current one, to avoid short cycles;</li>
+ * <li>{@code discomfortCost} times the number of degrees by which the
+ *   temperature at the end of each step is below the target minus the
+ *   hysteresis or above the target plus the preheating margin, times the
+ *   duration of the step.</li>
+ * </ul>
+ * <p>
+ * The controller applies the first decision of the plan and plans again at
+ * its next period, hence correcting the errors of the forecast.
+ * </p>
+ * <p>
+ * The horizon is a number of steps rather than a duration: with the
+ * standard settings and a control period of one minute, it covers
+ * 1 min + 11 * 15 min, i.e., 2 h 46 min, which is enough to preheat the
+ * room before a peak window. As the search is only pruned on the cost
+ * accumulated so far, its worst case is exponential in the number of steps
+ * and the horizon must stay short: a plan takes about 3 us with 12 steps,
+ * 48 us with 32 steps and does not complete in a usable time with the 48
+ * steps of a 12 h horizon, while longer horizons do not lower the cost of
+ * the closed loop.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code horizon > 0}
+ * invariant	{@code hourlyPrices.length == 24}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			PredictiveHeatingPlanner
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** standard number of steps of the horizon, i.e., 2 h 46 min with a one
+	 *  minute first step and {@code STANDARD_STEP}.						*/
+	public static final int		STANDARD_HORIZON = 12;
+	/** standard duration of the steps after the first one in hours.		*/
+	public static final double	STANDARD_STEP = 0.25;
+	/** standard margin above the target up to which the room may be
+	 *  preheated before the peak hours.									*/
+	public static final double	STANDARD_PREHEAT_MARGIN = 1.0;
+	/** standard cost of a change of state.									*/
+	public static final double	STANDARD_SWITCH_COST = 2.0;
+	/** standard cost of a degree hour out of the comfort band.			*/
+	public static final double	STANDARD_DISCOMFORT_COST = 50.0;
+	/** price of a kWh out of the peak hours.								*/
+	public static final double	OFF_PEAK_PRICE = 1.0;
+	/** price of a kWh during the peak hours.								*/
+	public static final double	PEAK_PRICE = 2.0;
+
+	/** profile of the external temperature.								*/
+	protected final ExternalTemperatureProfileI	profile;
+	/** price of a kWh for each hour of the day.							*/
+	protected final double[]					hourlyPrices;
+	/** number of steps of the horizon.										*/
+	protected final int							horizon;
+	/** durations of the steps in hours.									*/
+	protected final double[]					durations;
+	/** decays of the temperature over each step when not heating.		*/
+	protected final double[]					decaysOff;
+	/** decays of the temperature over each step when heating.				*/
+	protected final double[]					decaysOn;
+	/** energy in kWh consumed by heating over each step.					*/
+	protected final double[]					energies;
+	/** weight of the external temperature in the heating equilibrium.	*/
+	protected final double						externalWeightOn;
+	/** contribution of the heating plate to the heating equilibrium.		*/
+	protected final double						heatingEquilibrium;
+	/** cost of a change of state.											*/
+	protected final double						switchCost;
+	/** cost of a degree hour out of the comfort band.						*/
+	protected final double						discomfortCost;
+	/** margin above the target up to which the room may be preheated.		*/
+	protected final double						preheatMargin;
+
+	/** external temperatures at the middle of the steps of the plan.		*/
+	protected final double[]					externals;
+	/** heating equilibria of the steps of the plan.						*/
+	protected final double[]					equilibriaOn;
+	/** costs of heating over the steps of the plan.						*/
+	protected final double[]					heatingCosts;
+	/** schedule being explored by the search.								*/
+	protected final boolean[]					schedule;
+	/** best schedule found by the last plan.								*/
+	protected final boolean[]					best;
+	/** cost of the best schedule found so far.								*/
+	protected double							bestCost;
+	/** lower bound of the comfort band of the current plan.				*/
+	protected double							lower;
+	/** upper bound of the comfort band of the current plan.				*/
+	protected double							upper;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a planner with the default dynamics of the
+	 * {@code HeaterTemperatureModel}, the power of the
+	 * {@code HeaterElectricityModel} and the standard settings.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code profile != null}
+	 * pre	{@code firstStep > 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param profile	profile of the external temperature.
+	 * @param firstStep	duration of the first step in hours.
+	 */
+	public				PredictiveHeatingPlanner(
+		ExternalTemperatureProfileI profile,
+		double firstStep
+		)
+	{
+		this(profile,
+			 HeaterTemperatureModel.DEFAULT_INSULATION_TRANSFER_CONSTANT,
+			 HeaterTemperatureModel.DEFAULT_HEATING_TRANSFER_CONSTANT,
+			 HeaterTemperatureModel.DEFAULT_STANDARD_HEATING_TEMP,
+			 HeaterElectricityModel.HEATING_POWER,
+			 firstStep, STANDARD_STEP, STANDARD_HORIZON,
+			 standardHourlyPrices(),
+			 STANDARD_SWITCH_COST, STANDARD_DISCOMFORT_COST,
+			 STANDARD_PREHEAT_MARGIN);
+	}
+
+	/**
+	 * create a planner.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code profile != null}
+	 * pre	{@code insulationConstant > 0.0 && heatingConstant > 0.0}
+	 * pre	{@code heatingPower > 0.0}
+	 * pre	{@code firstStep > 0.0 && step > 0.0 && horizon > 0}
+	 * pre	{@code hourlyPrices != null && hourlyPrices.length == 24}
+	 * pre	{@code switchCost >= 0.0 && discomfortCost >= 0.0}
+	 * pre	{@code preheatMargin >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param profile				profile of the external temperature.
+	 * @param insulationConstant	wall insulation heat transfer constant.
+	 * @param heatingConstant		heating transfer constant.
+	 * @param heatingTemperature	temperature of the heating plate.
+	 * @param heatingPower			power of the heater when heating in watts.
+	 * @param firstStep				duration of the first step in hours.
+	 * @param step					duration of the other steps in hours.
+	 * @param horizon				number of steps of the horizon.
+	 * @param hourlyPrices			price of a kWh for each hour of the day.
+	 * @param switchCost			cost of a change of state.
+	 * @param discomfortCost		cost of a degree hour out of the comfort band.
+	 * @param preheatMargin			margin above the target up to which the room may be preheated.
+	 */
+	public				PredictiveHeatingPlanner(
+		ExternalTemperatureProfileI profile,
+		double insulationConstant,
+		double heatingConstant,
+		double heatingTemperature,
+		double heatingPower,
+		double firstStep,
+		double step,
+		int horizon,
+		double[] hourlyPrices,
+		double switchCost,
+		double discomfortCost,
+		double preheatMargin
+		)
+	{
+		assert	profile != null : new PreconditionException("profile != null");
+		assert	insulationConstant > 0.0 && heatingConstant > 0.0 :
+				new PreconditionException(
+						"insulationConstant > 0.0 && heatingConstant > 0.0");
+		assert	heatingPower > 0.0 :
+				new PreconditionException("heatingPower > 0.0");
+		assert	firstStep > 0.0 && step > 0.0 && horizon > 0 :
+				new PreconditionException(
+						"firstStep > 0.0 && step > 0.0 && horizon > 0");
+		assert	hourlyPrices != null && hourlyPrices.length == 24 :
+				new PreconditionException(
+						"hourlyPrices != null && hourlyPrices.length == 24");
+		assert	switchCost >= 0.0 && discomfortCost >= 0.0 :
+				new PreconditionException(
+						"switchCost >= 0.0 && discomfortCost >= 0.0");
+		assert	preheatMargin >= 0.0 :
+				new PreconditionException("preheatMargin >= 0.0");
+
+		this.profile = profile;
+		this.hourlyPrices = hourlyPrices.clone();
+		this.horizon = horizon;
+		this.switchCost = switchCost;
+		this.discomfortCost = discomfortCost;
+		this.preheatMargin = preheatMargin;
+
+		double rateOff = 1.0/insulationConstant;
+		double rateOn = rateOff + 1.0/heatingConstant;
+		this.externalWeightOn = rateOff/rateOn;
+		this.heatingEquilibrium = (heatingTemperature/heatingConstant)/rateOn;
+
+		this.durations = new double[horizon];
+		this.decaysOff = new double[horizon];
+		this.decaysOn = new double[horizon];
+		this.energies = new double[horizon];
+		for (int k = 0 ; k < horizon ; k++) {
+			double h = k == 0 ? firstStep : step;
+			this.durations[k] = h;
+			this.decaysOff[k] = Math.exp(-rateOff*h);
+			this.decaysOn[k] = Math.exp(-rateOn*h);
+			this.energies[k] = heatingPower*h/1000.0;
+		}
+
+		this.externals = new double[horizon];
+		this.equilibriaOn = new double[horizon];
+		this.heatingCosts = new double[horizon];
+		this.schedule = new boolean[horizon];
+		this.best = new boolean[horizon];
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the standard hourly prices, {@code PEAK_PRICE} from 7 to 10 and
+	 * from 17 to 21 and {@code OFF_PEAK_PRICE} otherwise.
+	 *
+	 * @return	a new array of the 24 standard hourly prices.
+	 */
+	public static double[]	standardHourlyPrices()
+	{
+		double[] ret = new double[24];
+		for (int h = 0 ; h < 24 ; h++) {
+			ret[h] = (h >= 7 && h < 10) || (h >= 17 && h < 21) ?
+												PEAK_PRICE : OFF_PEAK_PRICE;
+		}
+		return ret;
+	}
+
+	/**
+	 * return the price of a kWh at the hour of the day {@code hourOfDay}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code hourOfDay >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param hourOfDay	hour of the day, possibly beyond 24.
+	 * @return			the price of a kWh at this hour.
+	 */
+	public double		priceAt(double hourOfDay)
+	{
+		return this.hourlyPrices[((int) hourOfDay) % 24];
+	}
+
+	/**
+	 * compute the plan of least cost from the current temperature and return
+	 * true if the heater must heat during the first step.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code t >= 0.0 && hourOfDay >= 0.0}
+	 * pre	{@code hysteresis >= 0.0}
+	 * post	{@code return == isHeatingPlanned(0)}
+	 * </pre>
+	 *
+	 * @param t				time elapsed since the start of the profile in hours.
+	 * @param hourOfDay		current hour of the day.
+	 * @param current		current room temperature.
+	 * @param target		target room temperature.
+	 * @param hysteresis	tolerance below the target.
+	 * @param heating		true if the heater is currently heating.
+	 * @return				true if the heater must heat during the first step.
+	 */
+	public boolean		plan(
+		double t,
+		double hourOfDay,
+		double current,
+		double target,
+		double hysteresis,
+		boolean heating
+		)
+	{
+		assert	t >= 0.0 && hourOfDay >= 0.0;
+		assert	hysteresis >= 0.0;
+
+		double start = 0.0;
+		for (int k = 0 ; k < this.horizon ; k++) {
+			double middle = start + this.durations[k]/2.0;
+			double external = this.profile.temperatureAt(t + middle);
+			this.externals[k] = external;
+			this.equilibriaOn[k] =
+					this.externalWeightOn*external + this.heatingEquilibrium;
+			this.heatingCosts[k] =
+					this.energies[k]*this.priceAt(hourOfDay + middle);
+			start += this.durations[k];
+		}
+		this.lower = target - hysteresis;
+		this.upper = target + this.preheatMargin;
+		this.bestCost = Double.POSITIVE_INFINITY;
+		this.search(0, current, heating, 0.0);
+		return this.best[0];
+	}
+
+	/**
+	 * return true if the last plan heats during the step {@code k}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code k >= 0 && k < getHorizon()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param k	index of a step.
+	 * @return	true if the last plan heats during the step {@code k}.
+	 */
+	public boolean		isHeatingPlanned(int k)
+	{
+		return this.best[k];
+	}
+
+	/**
+	 * return the number of steps of the horizon.
+	 *
+	 * @return	the number of steps of the horizon.
+	 */
+	public int			getHorizon()
+	{
+		return this.horizon;
+	}
+
+	/**
+	 * return the cost of the last plan.
+	 *
+	 * @return	the cost of the last plan.
+	 */
+	public double		getPlanCost()
+	{
+		return this.bestCost;
+	}
+
+	/**
+	 * explore the schedules from the step {@code k}, the temperature at its
+	 * beginning being {@code temperature}, the heater being in the state
+	 * {@code heating} during the previous step and the cost of the steps
+	 * before being {@code cost}.
+	 *
+	 * @param k				index of the step.
+	 * @param temperature	temperature at the beginning of the step.
+	 * @param heating		state of the heater during the previous step.
+	 * @param cost			cost of the previous steps.
+	 */
+	protected void		search(
+		int k,
+		double temperature,
+		boolean heating,
+		double cost
+		)
+	{
+		if (cost >= this.bestCost) {
+			return;
+		}
+		if (k == this.horizon) {
+			this.bestCost = cost;
+			System.arraycopy(this.schedule, 0, this.best, 0, this.horizon);
+			return;
+		}
+		// keeping the current state first finds a good bound sooner
+		for (int i = 0 ; i < 2 ; i++) {
+			boolean on = (i == 0) == heating;
+			double next;
+			double c = cost;
+			if (on) {
+				double e = this.equilibriaOn[k];
+				next = e + (temperature - e)*this.decaysOn[k];
+				c += this.heatingCosts[k];
+			} else {
+				double e = this.externals[k];
+				next = e + (temperature - e)*this.decaysOff[k];
+			}
+			if (on != heating) {
+				c += this.switchCost;
+			}
+			if (next < this.lower) {
+				c += this.discomfortCost*(this.lower - next)*this.durations[k];
+			} else if (next > this.upper) {
+				c += this.discomfortCost*(next - this.upper)*this.durations[k];
+			}
+			this.schedule[k] = on;
+			this.search(k + 1, next, on, c);
+		}
+	}
+}
@@ -43,11 +43,10 @@ import fr.sorbonne_u.components.cyphy.tools.aclocks.ClockServerOutboundPort;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.components.hem2022e1.equipments.heater.HeaterCI;
-import fr.sorbonne_u.components.hem2022e1.equipments.heater.HeaterInboundPort;
-import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterTemperatureModel;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterSensorCI.StateDataI;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterSensorCI.SensorDataI;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterSensorCI.TemperatureDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.connections.BatchedHeaterInboundPort;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.connections.HeaterSensorDataInboundPort;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.connections.HeaterActuatorInboundPort;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.HeaterCoupledModel;
@@ -57,10 +56,14 @@ import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.DoNotHeat
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.Heat;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.SwitchOffHeater;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.SwitchOnHeater;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.utils.StateSnapshot;
 import fr.sorbonne_u.components.interfaces.DataOfferedCI;
 import fr.sorbonne_u.components.interfaces.DataRequiredCI;
 import fr.sorbonne_u.exceptions.PreconditionException;
 import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 // -----------------------------------------------------------------------------
 /**
@@ -94,6 +97,7 @@ import java.time.Instant;
  */
 //-----------------------------------------------------------------------------
 @OfferedInterfaces(offered={HeaterCI.class,
+							BatchedEquipmentControlCI.class,
 							DataOfferedCI.PullCI.class,
 							HeaterActuatorCI.class})
 @RequiredInterfaces(required={DataOfferedCI.PushCI.class,
@@ -358,6 +362,10 @@ implements	ControlledHeaterImplementationI
 	/** URI of the heater inbound port used in tests.						*/
 	public static final String	ACTUATOR_INBOUND_PORT_URI =
 											"HEATER-ACTUATOR-INBOUND-PORT-URI";
+	/** control adapter descriptor of the heater, used by the household
+	 *  energy manager and by the inbound port.							*/
+	public static final String	CONTROL_ADAPTER_DESCRIPTOR =
+									"hem-adapter/heater-e3-descriptor.xml";
 	/** when 0, no trace is produced, when 1 methods making state changes
 	 *  trace their actions and when 2 getter methods also trace their
 	 *  actions.															*/
@@ -373,8 +381,9 @@ implements	ControlledHeaterImplementationI
 	/** target temperature for the heating.									*/
 	protected double						targetTemperature;
 
-	/** inbound port offering the <code>HeaterCI</code> interface.			*/
-	protected HeaterInboundPort				hip;
+	/** inbound port offering the <code>HeaterCI</code> interface and the
+	 *  bulk control operations.											*/
+	protected BatchedHeaterInboundPort		hip;
 	/** inbound port offering the {@code ThermostatedHeaterSensorCI}
 	 *  interface.															*/
 	protected HeaterSensorDataInboundPort	hsip;
@@ -411,6 +420,21 @@ implements	ControlledHeaterImplementationI
 	/** accelerated clock used to implement the simulation scenario.		*/
 	protected AcceleratedClock				clock;
 
+	// Notifications of the temperature crossings
+
+	/** shortest delay in nanoseconds between two checks of the temperature
+	 *  crossings, as the Java scheduler is not more precise.				*/
+	protected static final long				MIN_CROSSING_CHECK_DELAY =
+											TimeUnit.MILLISECONDS.toNanos(10);
+	/** hysteresis of the notified crossings, 0 when they are not notified.	*/
+	protected volatile double				crossingHysteresis;
+	/** longest real delay in nanoseconds between two checks.				*/
+	protected volatile long					maxCrossingCheckDelay;
+	/** generation of the current chain of checks, incremented to cancel
+	 *  the pending check when the state or the target change.				*/
+	protected final AtomicLong				crossingGeneration =
+															new AtomicLong();
+
 	// -------------------------------------------------------------------------
 	// Constructors
 	// -------------------------------------------------------------------------
@@ -538,7 +562,9 @@ implements	ControlledHeaterImplementationI
 		String clockURI
 		) throws Exception
 	{
-		super(REFLECTION_INBOUND_PORT_URI, 1, 1);
+		// the second schedulable thread runs the checks of the temperature
+		// crossings beside the real time simulation
+		super(REFLECTION_INBOUND_PORT_URI, 1, 2);
 
 		assert	heaterInboundPortURI != null && !heaterInboundPortURI.isEmpty() :
 				new PreconditionException(
@@ -574,7 +600,7 @@ implements	ControlledHeaterImplementationI
 		this.clockURI = clockURI;
 		this.targetTemperature = STANDARD_TARGET_TEMPERATURE;
 
-		this.hip = new HeaterInboundPort(heaterInboundPortURI, this);
+		this.hip = new BatchedHeaterInboundPort(heaterInboundPortURI, this);
 		this.hip.publishPort();
 		this.hsip =
 			new HeaterSensorDataInboundPort(heaterSensorInboundPortURI, this);
@@ -704,6 +730,145 @@ implements	ControlledHeaterImplementationI
 									this.currentState == HeaterState.HEATING;
 	}
 
+	/**
+	 * return the instant used to timestamp the sensor data.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the current instant.
+	 */
+	protected Instant	currentInstant()
+	{
+		if (this.isSimulated) {
+			return this.simulatorPlugin.getCurrentInstant();
+		} else if (this.isUnderTest) {
+			return this.clock.currentInstant();
+		} else {
+			return Instant.now();
+		}
+	}
+
+	/**
+	 * cancel the pending check of the temperature crossings and, when they
+	 * are notified and the heater is running, check them again immediately.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 */
+	protected void		rearmCrossingChecks()
+	{
+		long generation = this.crossingGeneration.incrementAndGet();
+		if (this.crossingHysteresis > 0.0 && this.internalIsRunning()) {
+			this.scheduleCrossingCheck(generation, 0L);
+		}
+	}
+
+	/**
+	 * schedule a check of the temperature crossings of the chain
+	 * {@code generation} after {@code delay} nanoseconds.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code delay >= 0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param generation	generation of the chain of checks.
+	 * @param delay			delay in nanoseconds.
+	 */
+	protected void		scheduleCrossingCheck(long generation, long delay)
+	{
+		this.scheduleTask(
+				o -> ((ThermostatedHeater)o).
+									checkTemperatureCrossing(generation),
+				delay,
+				TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * push the temperatures to the controller if the current temperature
+	 * has crossed the bound ending the current phase, the upper one when
+	 * heating and the lower one otherwise, then schedule the next check.
+	 * 
+	 * <p><strong>Description</strong></p>
+	 * 
+	 * <p>
+	 * In SIL simulations, the next check is scheduled at the instant when
+	 * the room temperature, extrapolated with the derivative published by
+	 * the {@code HeaterTemperatureModel}, reaches the bound. As the room
+	 * temperature converges exponentially, the linear extrapolation never
+	 * overshoots the crossing and the successive checks get closer to it.
+	 * When the temperature moves away from the bound, or after a push in
+	 * case the controller does not react, the next check is done after the
+	 * longest delay given by the controller. A check whose chain has been
+	 * cancelled does nothing.
+	 * </p>
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param generation	generation of the chain of checks.
+	 */
+	protected void		checkTemperatureCrossing(long generation)
+	{
+		if (generation != this.crossingGeneration.get() ||
+				this.crossingHysteresis <= 0.0 || !this.internalIsRunning()) {
+			return;
+		}
+
+		try {
+			double target = this.targetTemperature;
+			boolean heating = this.currentState == HeaterState.HEATING;
+			double bound = heating ? target + this.crossingHysteresis
+								   : target - this.crossingHysteresis;
+			double current;
+			// in degrees per hour, the time unit of the heater models
+			double derivative = 0.0;
+			if (this.isSimulated) {
+				StateSnapshot s = this.simulatorPlugin.getTemperatureSnapshot();
+				if (s == null) {
+					// the simulation has not started yet
+					this.scheduleCrossingCheck(generation,
+											   this.maxCrossingCheckDelay);
+					return;
+				}
+				current = s.value;
+				derivative = s.derivative;
+			} else {
+				current = this.getCurrentTemperature();
+			}
+
+			long delay = this.maxCrossingCheckDelay;
+			if (heating ? current > bound : current < bound) {
+				this.hsip.send(new TemperatureData(current, target,
+												   this.currentInstant()));
+			} else if ((bound - current)*derivative > 0.0) {
+				double nanos = ((bound - current)/derivative)*
+									TimeUnit.HOURS.toNanos(1)/this.accFactor;
+				delay = Math.max(MIN_CROSSING_CHECK_DELAY,
+								 Math.min(delay, (long) nanos));
+			}
+			this.scheduleCrossingCheck(generation, delay);
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
 	// -------------------------------------------------------------------------
 	// Component services implementation
 	// -------------------------------------------------------------------------
@@ -769,6 +934,8 @@ implements	ControlledHeaterImplementationI
 		assert	this.internalIsRunning();
 
 		this.currentState = HeaterState.OFF;
+		// cancel the pending check of the temperature crossings
+		this.rearmCrossingChecks();
 
 		// When SIL simulated, actions that change the state of the heater must
 		// be transmitted to the simulation models in order to keep the
@@ -808,6 +975,8 @@ implements	ControlledHeaterImplementationI
 		assert	target >= -50.0 && target <= 50.0;
 
 		this.targetTemperature = target;
+		// the bounds of the hysteresis band have moved
+		this.rearmCrossingChecks();
 	}
 
 	/**
@@ -832,12 +1001,9 @@ implements	ControlledHeaterImplementationI
 	{
 		double currentTemperature = 0.0;
 		if (this.isSimulated) {
-			// use the simulated value access protocol to get the computed
-			// current room temperature
-			currentTemperature = (double)
-				this.simulatorPlugin.getModelStateValue(
-					HeaterTemperatureModel.URI,
-					HeaterRTAtomicSimulatorPlugin.CURRENT_ROOM_TERMPERATURE);
+			// read the room temperature last published by the simulation
+			// model, without synchronising with its thread
+			currentTemperature = this.simulatorPlugin.getCurrentTemperature();
 		} else {
 			// Temporary implementation; an operational implementation would
 			// need an access to an actual temperature sensor device.
@@ -858,14 +1024,7 @@ implements	ControlledHeaterImplementationI
 	@Override
 	public void			heaterStateSensor() throws Exception
 	{
-		Instant i = null;
-		if (this.isSimulated) {
-			i = this.simulatorPlugin.getCurrentInstant();
-		} else if (this.isUnderTest) {
-			i = this.clock.currentInstant();
-		} else {
-			i = Instant.now();
-		}
+		Instant i = this.currentInstant();
 
 		this.hsip.send(new StateData(this.currentState, i));
 	}
@@ -876,14 +1035,7 @@ implements	ControlledHeaterImplementationI
 	@Override
 	public TemperatureDataI	currentTemperaturesSensor() throws Exception
 	{
-		Instant i = null;
-		if (this.isSimulated) {
-			i = this.simulatorPlugin.getCurrentInstant();
-		} else if (this.isUnderTest) {
-			i = this.clock.currentInstant();
-		} else {
-			i = Instant.now();
-		}
+		Instant i = this.currentInstant();
 
 		return new TemperatureData(this.getCurrentTemperature(),
 								   this.getTargetTemperature(), i);
@@ -900,6 +1052,8 @@ implements	ControlledHeaterImplementationI
 		}
 
 		this.currentState = HeaterState.HEATING;
+		// now waiting for the crossing of the upper bound
+		this.rearmCrossingChecks();
 
 		// When SIL simulated, actions that change the state of the heater must
 		// be transmitted to the simulation models in order to keep the
@@ -944,6 +1098,8 @@ implements	ControlledHeaterImplementationI
 		}
 
 		this.currentState = HeaterState.ON;
+		// now waiting for the crossing of the lower bound
+		this.rearmCrossingChecks();
 
 		// When SIL simulated, actions that change the state of the heater must
 		// be transmitted to the simulation models in order to keep the
@@ -976,5 +1132,32 @@ implements	ControlledHeaterImplementationI
 			throw new RuntimeException(e1) ;
 		}
 	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.heater.ControlledHeaterImplementationI#notifyTemperatureCrossings(double, double)
+	 */
+	@Override
+	public void			notifyTemperatureCrossings(
+		double hysteresis,
+		double maxPeriod
+		) throws Exception
+	{
+		assert	hysteresis >= 0.0 :
+				new PreconditionException("hysteresis >= 0.0");
+		assert	maxPeriod > 0.0 : new PreconditionException("maxPeriod > 0.0");
+
+		if (VERBOSE > 0) {
+			this.traceMessage("notify the temperature crossings with "
+							  + "hysteresis " + hysteresis + ".\n");
+		}
+
+		// the period is in accelerated time like the control period
+		this.maxCrossingCheckDelay =
+			Math.max(MIN_CROSSING_CHECK_DELAY,
+					 (long)((maxPeriod*TimeUnit.SECONDS.toNanos(1))/
+															this.accFactor));
+		this.crossingHysteresis = hysteresis;
+		this.rearmCrossingChecks();
+	}
 }
 // -----------------------------------------------------------------------------
@@ -53,6 +53,9 @@ import fr.sorbonne_u.components.hem2022e3.equipments.heater.connections.HeaterSe
 import fr.sorbonne_u.components.interfaces.DataRequiredCI;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.connections.HeaterActuatorConnector;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.connections.HeaterActuatorOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.utils.RealTimeProbe;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.exceptions.PreconditionException;
 
 // -----------------------------------------------------------------------------
@@ -63,8 +66,14 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  * <p><strong>Description</strong></p>
  * 
  * <p>
- * The controller is a simple fixed period threshold-based controller with
- * hysteresis.
+ * The controller is a simple threshold-based controller with hysteresis. In
+ * the standard pull mode, it requests the temperatures from the heater at a
+ * fixed period. In push mode, it asks the heater to notify it when the
+ * current temperature crosses the bound of the hysteresis band ending the
+ * current heating or non heating phase and only reacts to these
+ * notifications, hence exchanging one message per phase rather than one per
+ * period, with a reaction delay that does not depend on the period, which
+ * then only bounds the delay between two checks made by the heater.
  * </p>
  * 
  * <p><strong>White-box Invariant</strong></p>
@@ -128,6 +137,12 @@ extends		AbstractComponent
 	 * or in accelerated time (under test), expressed in nanoseconds;
 	 * used for scheduling the control task.								*/
 	protected long									actualControlPeriod;
+	/** probe measuring the jitter of the control loop, null when the real
+	 *  time measures are not enabled.										*/
+	protected final RealTimeProbe					probe;
+	/** when true, the heater pushes the temperatures when they cross the
+	 *  hysteresis band instead of being polled at each control period.	*/
+	protected final boolean							pushMode;
 
 	/** when true, the run is done in test mode.							*/
 	protected boolean								isUnderTest;
@@ -232,6 +247,43 @@ extends		AbstractComponent
 		boolean isUnderTest,
 		String clockURI
 		) throws Exception
+	{
+		this(sensorIBP_URI, actuatorIBP_URI, hysteresis, controlPeriod,
+			 isUnderTest, clockURI, false);
+	}
+
+	/**
+	 * create the controller component.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code sensorIBP_URI != null && !sensorIBP_URI.isEmpty()}
+	 * pre	{@code actuatorIBP_URI != null && !actuatorIBP_URI.isEmpty()}
+	 * pre	{@code hysteresis > 0.0}
+	 * pre	{@code controlPeriod > 0}
+	 * pre	{@code !isUnderTest || clockURI != null && !clockURI.isEmpty()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param sensorIBP_URI		URI of the heater sensor inbound port.
+	 * @param actuatorIBP_URI	URI of the heater actuator inbound port.
+	 * @param hysteresis		control hysteresis around the target temperature.
+	 * @param controlPeriod		control period in seconds, the longest delay between two checks of the heater in push mode.
+	 * @param isUnderTest		when true, the component is executed in test mode.
+	 * @param clockURI			URI of the clock to be used to synchronise the test scenarios and the simulation.
+	 * @param pushMode			when true, the heater pushes the temperatures when they cross the hysteresis band.
+	 * @throws Exception 		<i>to do</i>.
+	 */
+	protected			ThermostatedHeaterController(
+		String sensorIBP_URI,
+		String actuatorIBP_URI,
+		double hysteresis,
+		double controlPeriod,
+		boolean isUnderTest,
+		String clockURI,
+		boolean pushMode
+		) throws Exception
 	{
 		// two standard threads in case the thread that runs the method execute
 		// can be prevented to run by the thread running receiveRunningState
@@ -259,7 +311,10 @@ extends		AbstractComponent
 		this.controlPeriod = controlPeriod;
 		this.isUnderTest = isUnderTest;
 		this.clockURI = clockURI;
+		this.pushMode = pushMode;
 		this.clock = new CompletableFuture<>();
+		this.probe = RealTimeProbe.forName(
+							ThermostatedHeaterController.class.getSimpleName());
 
 		// just a common initialisation; if the run is in test mode, the
 		// acceleration factor will be taken into account at start time
@@ -423,13 +478,143 @@ extends		AbstractComponent
 		// the temperature control
 		if (HeaterState.OFF == this.currentState.getAndSet(sd.getState())) {
 			this.traceMessage("start control.\n");
-			// if a state change has been detected from OFF to ON, schedule a
-			// first execution of the control loop, which in turn will schedule
-			// its next execution if needed
-			this.scheduleTask(
-				o -> ((ThermostatedHeaterController)o).controLoop(),
-				this.actualControlPeriod, 
-				TimeUnit.NANOSECONDS);
+			if (this.pushMode) {
+				// ask the heater to push the crossings of the hysteresis
+				// band; done in a task as the heater waits for the end of
+				// this call before serving its actuator
+				this.scheduleTask(
+					o -> ((ThermostatedHeaterController)o).
+												subscribeToCrossings(),
+					0L,
+					TimeUnit.NANOSECONDS);
+			} else {
+				if (this.probe != null) {
+					this.probe.restartActivations();
+				}
+				// if a state change has been detected from OFF to ON,
+				// schedule a first execution of the control loop, which in
+				// turn will schedule its next execution if needed
+				this.scheduleTask(
+					o -> ((ThermostatedHeaterController)o).controLoop(),
+					this.actualControlPeriod, 
+					TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	/**
+	 * ask the heater to push the temperatures when they cross the bounds of
+	 * the hysteresis band, checking them at least once per control period.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code pushMode}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 */
+	protected void		subscribeToCrossings()
+	{
+		assert	this.pushMode;
+
+		try {
+			if (this.currentState.get() != HeaterState.OFF) {
+				this.actuatorOutboundPort.notifyTemperatureCrossings(
+											this.hysteresis, this.controlPeriod);
+			}
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * receive the temperatures pushed by the heater when they cross a bound
+	 * of the hysteresis band and apply the control to them.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code td != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param td	temperatures pushed by the heater.
+	 */
+	public void			receiveTemperatures(TemperatureDataI td)
+	{
+		assert	td != null : new PreconditionException("td != null");
+
+		try {
+			// the heater may have been switched off since the push
+			if (this.currentState.get() != HeaterState.OFF) {
+				this.control(td);
+			}
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * start or stop heating when the current temperature is out of the
+	 * hysteresis band around the target one.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code td != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param td			current and target temperatures.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected void		control(TemperatureDataI td) throws Exception
+	{
+		if (DEBUG) {
+			this.traceMessage(td.toString() + "\n");
+		}
+
+		if (td.getCurrent() < td.getTarget() - this.hysteresis) {
+			// the current room temperature is too low, start heating
+			if (HeaterState.HEATING != this.currentState.get()) {
+				// tracing
+				if (SimulationLog.isLoggable(this, Level.INFO)) {
+					StringBuffer sb =
+							new StringBuffer("start heating with ");
+					sb.append(td.getCurrent());
+					sb.append(" < ");
+					sb.append(td.getTarget());
+					sb.append(" - ");
+					sb.append(this.hysteresis);
+					sb.append(" at ");
+					sb.append(this.clock.get().currentInstant());
+					sb.append(".\n");
+					this.traceMessage(sb.toString());
+				}
+				// actuate
+				this.actuatorOutboundPort.heat();
+			}
+		} else if (td.getCurrent() > td.getTarget() + this.hysteresis) {
+			// the current room temperature is high enough, stop heating
+			if (HeaterState.HEATING == this.currentState.get()) {
+				// tracing
+				if (SimulationLog.isLoggable(this, Level.INFO)) {
+					StringBuffer sb =
+							new StringBuffer("stop heating with ");
+					sb.append(td.getCurrent());
+					sb.append(" > ");
+					sb.append(td.getTarget());
+					sb.append(" + ");
+					sb.append(this.hysteresis);
+					sb.append(" at ");
+					sb.append(this.clock.get().currentInstant());
+					sb.append(".\n");
+					this.traceMessage(sb.toString());
+				}
+				// actuate
+				this.actuatorOutboundPort.doNotHeat();
+			}
 		}
 	}
 
@@ -449,51 +634,14 @@ extends		AbstractComponent
 		try {
 			// execute the control only of the heater is still ON
 			if (this.currentState.get() != HeaterState.OFF) {
+				if (this.probe != null) {
+					this.probe.recordActivation(this.actualControlPeriod);
+				}
 				// get the temperature data from the heater
 				TemperatureDataI td =
 						(TemperatureDataI) this.sensorOutboundPort.request();
 
-				if (DEBUG) {
-					this.traceMessage(td.toString() + "\n");
-				}
-
-				if (td.getCurrent() < td.getTarget() - this.hysteresis) {
-					// the current room temperature is too low, start heating
-					if (HeaterState.HEATING != this.currentState.get()) {
-						// tracing
-						StringBuffer sb =
-								new StringBuffer("start heating with ");
-						sb.append(td.getCurrent());
-						sb.append(" < ");
-						sb.append(td.getTarget());
-						sb.append(" - ");
-						sb.append(this.hysteresis);
-						sb.append(" at ");
-						sb.append(this.clock.get().currentInstant());
-						sb.append(".\n");
-						this.traceMessage(sb.toString());
-						// actuate
-						this.actuatorOutboundPort.heat();
-					}
-				} else if (td.getCurrent() > td.getTarget() + this.hysteresis) {
-					// the current room temperature is high enough, stop heating
-					if (HeaterState.HEATING == this.currentState.get()) {
-						// tracing
-						StringBuffer sb =
-								new StringBuffer("stop heating with ");
-						sb.append(td.getCurrent());
-						sb.append(" > ");
-						sb.append(td.getTarget());
-						sb.append(" + ");
-						sb.append(this.hysteresis);
-						sb.append(" at ");
-						sb.append(this.clock.get().currentInstant());
-						sb.append(".\n");
-						this.traceMessage(sb.toString());
-						// actuate
-						this.actuatorOutboundPort.doNotHeat();
-					}
-				}
+				this.control(td);
 
 				// schedule the next execution of the loop
 				this.scheduleTask(
@@ -0,0 +1,106 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.heater.connections;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022e1.equipments.heater.HeaterInboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeater;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.adapter.ControlAdapterCompiler;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentCommand;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentStatus;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>BatchedHeaterInboundPort</code> extends the inbound port
+ * for the component interface {@code HeaterCI} with the bulk operations of
+ * {@code BatchedEquipmentControlCI}.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The bulk operations are run by an adapter generated from the control
+ * adapter descriptor of the heater, created upon the first bulk call, which
+ * calls the operations of this port, hence locally; the household energy
+ * manager then pays a single remote call per control period.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			BatchedHeaterInboundPort
+extends		HeaterInboundPort
+implements	BatchedEquipmentControlCI
+{
+	private static final long serialVersionUID = 1L;
+
+	/** equipment-side control adapter, created upon the first bulk call.	*/
+	protected BatchedEquipmentControlCI	controlAdapter;
+
+	/**
+	 * create an inbound port.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no more precondition.
+	 * post	{@code true}	// no more postcondition.
+	 * </pre>
+	 *
+	 * @param uri			unique identifier of the port.
+	 * @param owner			component that owns this port.
+	 * @throws Exception	<i>to do.</i>
+	 */
+	public				BatchedHeaterInboundPort(String uri, ComponentI owner)
+	throws Exception
+	{
+		super(uri, owner);
+	}
+
+	/**
+	 * return the equipment-side control adapter, creating it if needed.
+	 *
+	 * @return				the equipment-side control adapter.
+	 * @throws Exception	if the control adapter descriptor cannot be compiled.
+	 */
+	protected synchronized BatchedEquipmentControlCI	getControlAdapter()
+	throws Exception
+	{
+		if (this.controlAdapter == null) {
+			this.controlAdapter =
+				ControlAdapterCompiler.newEquipmentAdapter(
+							ThermostatedHeater.CONTROL_ADAPTER_DESCRIPTOR, this);
+		}
+		return this.controlAdapter;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI#getStatus()
+	 */
+	@Override
+	public EquipmentStatus	getStatus() throws Exception
+	{
+		return this.getControlAdapter().getStatus();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI#execute(fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentCommand[])
+	 */
+	@Override
+	public boolean[]	execute(EquipmentCommand[] commands) throws Exception
+	{
+		assert	commands != null :
+				new PreconditionException("commands != null");
+		return this.getControlAdapter().execute(commands);
+	}
+}
+// -----------------------------------------------------------------------------
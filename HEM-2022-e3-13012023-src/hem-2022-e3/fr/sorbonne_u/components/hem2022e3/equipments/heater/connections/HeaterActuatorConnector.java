@@ -83,5 +83,18 @@ implements	HeaterActuatorCI
 	{
 		((HeaterActuatorCI)this.offering).doNotHeat();
 	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterActuatorCI#notifyTemperatureCrossings(double, double)
+	 */
+	@Override
+	public void			notifyTemperatureCrossings(
+		double hysteresis,
+		double maxPeriod
+		) throws Exception
+	{
+		((HeaterActuatorCI)this.offering).notifyTemperatureCrossings(
+														hysteresis, maxPeriod);
+	}
 }
 // -----------------------------------------------------------------------------
@@ -151,5 +151,21 @@ implements	HeaterActuatorCI
 					   return null;
 					 });
 	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterActuatorCI#notifyTemperatureCrossings(double, double)
+	 */
+	@Override
+	public void			notifyTemperatureCrossings(
+		double hysteresis,
+		double maxPeriod
+		) throws Exception
+	{
+		this.getOwner().handleRequest(
+				o -> { ((ControlledHeaterImplementationI)o).
+							notifyTemperatureCrossings(hysteresis, maxPeriod);
+					   return null;
+					 });
+	}
 }
 // -----------------------------------------------------------------------------
@@ -135,5 +135,18 @@ implements	HeaterActuatorCI
 	{
 		((HeaterActuatorCI)this.getConnector()).doNotHeat();;
 	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterActuatorCI#notifyTemperatureCrossings(double, double)
+	 */
+	@Override
+	public void			notifyTemperatureCrossings(
+		double hysteresis,
+		double maxPeriod
+		) throws Exception
+	{
+		((HeaterActuatorCI)this.getConnector()).notifyTemperatureCrossings(
+														hysteresis, maxPeriod);
+	}
 }
 // -----------------------------------------------------------------------------
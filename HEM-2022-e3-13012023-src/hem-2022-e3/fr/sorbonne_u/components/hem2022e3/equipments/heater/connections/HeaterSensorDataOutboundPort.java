@@ -35,6 +35,8 @@ package fr.sorbonne_u.components.hem2022e3.equipments.heater.connections;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeaterController;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterSensorCI.StateDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterSensorCI.TemperatureDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticControlEngine;
 import fr.sorbonne_u.components.interfaces.DataRequiredCI;
 import fr.sorbonne_u.components.interfaces.DataRequiredCI.DataI;
 import fr.sorbonne_u.components.ports.AbstractDataOutboundPort;
@@ -57,7 +59,7 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  * <p><strong>Black-box Invariant</strong></p>
  * 
  * <pre>
- * invariant	{@code getOwner() instanceof ThermostatedHeaterController}
+ * invariant	{@code getOwner() instanceof ThermostatedHeaterController || getOwner() instanceof ThermostaticControlEngine}
  * </pre>
  * 
  * <p>Created on : 2022-10-28</p>
@@ -83,7 +85,7 @@ extends		AbstractDataOutboundPort
 	 * <p><strong>Contract</strong></p>
 	 * 
 	 * <pre>
-	 * pre	{@code owner instanceof ThermostatedHeaterController}
+	 * pre	{@code owner instanceof ThermostatedHeaterController || owner instanceof ThermostaticControlEngine}
 	 * post	{@code true}	// no postcondition.
 	 * </pre>
 	 *
@@ -94,9 +96,11 @@ extends		AbstractDataOutboundPort
 	throws Exception
 	{
 		super(DataRequiredCI.PullCI.class, DataRequiredCI.PushCI.class, owner);
-		assert	owner instanceof ThermostatedHeaterController :
+		assert	owner instanceof ThermostatedHeaterController ||
+									owner instanceof ThermostaticControlEngine :
 				new PreconditionException(
-						"owner instanceof ThermostatedHeaterController");
+						"owner instanceof ThermostatedHeaterController || "
+						+ "owner instanceof ThermostaticControlEngine");
 	}
 
 	/**
@@ -120,9 +124,11 @@ extends		AbstractDataOutboundPort
 	{
 		super(uri, DataRequiredCI.PullCI.class, DataRequiredCI.PushCI.class,
 			  owner);
-		assert	owner instanceof ThermostatedHeaterController :
+		assert	owner instanceof ThermostatedHeaterController ||
+									owner instanceof ThermostaticControlEngine :
 				new PreconditionException(
-						"owner instanceof ThermostatedHeaterController");
+						"owner instanceof ThermostatedHeaterController || "
+						+ "owner instanceof ThermostaticControlEngine");
 	}
 
 	// -------------------------------------------------------------------------
@@ -130,7 +136,10 @@ extends		AbstractDataOutboundPort
 	// -------------------------------------------------------------------------
 
 	/**
-	 * receives the running state in push mode.
+	 * receives the running state or, when the controller has asked for the
+	 * notifications of the temperature crossings, the temperatures in push
+	 * mode; when the owner is a control engine, the data are passed to the
+	 * loop owning this port.
 	 * 
 	 * <p><strong>Contract</strong></p>
 	 * 
@@ -144,11 +153,26 @@ extends		AbstractDataOutboundPort
 	@Override
 	public void			receive(DataI d) throws Exception
 	{
-		this.getOwner().handleRequest(
-				o -> {	((ThermostatedHeaterController)o).
+		if (this.getOwner() instanceof ThermostaticControlEngine) {
+			String uri = this.getPortURI();
+			this.getOwner().handleRequest(
+					o -> {	((ThermostaticControlEngine)o).
+												receiveSensorData(uri, d);
+							return null;
+						 });
+		} else if (d instanceof TemperatureDataI) {
+			this.getOwner().handleRequest(
+					o -> {	((ThermostatedHeaterController)o).
+									receiveTemperatures((TemperatureDataI) d);
+							return null;
+						 });
+		} else {
+			this.getOwner().handleRequest(
+					o -> {	((ThermostatedHeaterController)o).
 									receiveRunningState((StateDataI) d);
-						return null;
-					 });
+							return null;
+						 });
+		}
 	}
 }
 // -----------------------------------------------------------------------------
@@ -0,0 +1,175 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.heater.sil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * The class <code>CSVTemperatureProfile</code> implements an external
+ * temperature profile read from a local CSV weather file and linearly
+ * interpolated between its rows.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Each row of the file gives a time in hours since the start of the
+ * simulation and the external temperature in Celsius at that time,
+ * separated by a comma or a semicolon. Blank lines, lines beginning with
+ * {@code #} and a header line are ignored. The times must be strictly
+ * increasing. Before the first row and after the last one, the temperature
+ * of the nearest row is used.
+ * </p>
+ * <p>
+ * The rows are kept in two primitive arrays, the interval of a query being
+ * found by a binary search, so that evaluating the profile does not
+ * allocate.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code times.length == temperatures.length && times.length > 0}
+ * invariant	{@code for all i in 1 .. times.length-1, times[i-1] < times[i]}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			CSVTemperatureProfile
+implements	ExternalTemperatureProfileI
+{
+	private static final long serialVersionUID = 1L;
+	/** times of the rows in hours since the start of the simulation.		*/
+	protected final double[]	times;
+	/** temperatures of the rows in Celsius.								*/
+	protected final double[]	temperatures;
+
+	/**
+	 * create a profile from the given rows.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code times != null && temperatures != null}
+	 * pre	{@code times.length == temperatures.length && times.length > 0}
+	 * pre	{@code for all i in 1 .. times.length-1, times[i-1] < times[i]}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param times			times of the rows in hours.
+	 * @param temperatures	temperatures of the rows in Celsius.
+	 */
+	public				CSVTemperatureProfile(
+		double[] times,
+		double[] temperatures
+		)
+	{
+		assert	times != null && temperatures != null;
+		assert	times.length == temperatures.length && times.length > 0;
+
+		for (int i = 1 ; i < times.length ; i++) {
+			if (times[i - 1] >= times[i]) {
+				throw new IllegalArgumentException(
+						"times are not strictly increasing at row " + i + ".");
+			}
+		}
+		this.times = times;
+		this.temperatures = temperatures;
+	}
+
+	/**
+	 * load a profile from a CSV weather file.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code path != null && !path.isEmpty()}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param path			path of the CSV file.
+	 * @return				the profile read from the file.
+	 * @throws IOException	if the file cannot be read or contains no row.
+	 */
+	public static CSVTemperatureProfile	load(String path) throws IOException
+	{
+		assert	path != null && !path.isEmpty();
+
+		double[] times = new double[256];
+		double[] temperatures = new double[256];
+		int n = 0;
+		int lineNumber = 0;
+		try (BufferedReader r = Files.newBufferedReader(
+									Paths.get(path), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = r.readLine()) != null) {
+				lineNumber++;
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				String[] fields = line.split("[,;]");
+				if (fields.length < 2) {
+					throw new IOException(path + ":" + lineNumber +
+										  ": two fields expected.");
+				}
+				double t;
+				double temperature;
+				try {
+					t = Double.parseDouble(fields[0].trim());
+					temperature = Double.parseDouble(fields[1].trim());
+				} catch (NumberFormatException e) {
+					if (n == 0) {
+						// header line
+						continue;
+					}
+					throw new IOException(path + ":" + lineNumber +
+										  ": " + e.getMessage());
+				}
+				if (n == times.length) {
+					times = Arrays.copyOf(times, 2*n);
+					temperatures = Arrays.copyOf(temperatures, 2*n);
+				}
+				times[n] = t;
+				temperatures[n] = temperature;
+				n++;
+			}
+		}
+		if (n == 0) {
+			throw new IOException(path + ": no temperature found.");
+		}
+		return new CSVTemperatureProfile(Arrays.copyOf(times, n),
+										 Arrays.copyOf(temperatures, n));
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.ExternalTemperatureProfileI#temperatureAt(double)
+	 */
+	@Override
+	public double		temperatureAt(double t)
+	{
+		int last = this.times.length - 1;
+		if (t <= this.times[0]) {
+			return this.temperatures[0];
+		}
+		if (t >= this.times[last]) {
+			return this.temperatures[last];
+		}
+		// times[i] < t < times[i + 1] or t == times[i]
+		int i = Arrays.binarySearch(this.times, t);
+		if (i >= 0) {
+			return this.temperatures[i];
+		}
+		i = -i - 2;
+		double w = (t - this.times[i])/(this.times[i + 1] - this.times[i]);
+		return this.temperatures[i] +
+					w*(this.temperatures[i + 1] - this.temperatures[i]);
+	}
+}
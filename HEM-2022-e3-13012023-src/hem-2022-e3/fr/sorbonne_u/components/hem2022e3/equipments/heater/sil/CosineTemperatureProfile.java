@@ -0,0 +1,82 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.heater.sil;
+
+/**
+ * The class <code>CosineTemperatureProfile</code> implements the daily
+ * external temperature profile varying as a cosine between a minimal and a
+ * maximal temperature.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The variation is taken as a cosine between {@code Math.PI} and
+ * {@code 3*Math.PI} over the period. The cosine (plus 1 and divided by 2 to
+ * vary between 0 and 1) is taken as a coefficient applied to the maximal
+ * variation over the period and then added to the minimal temperature, hence
+ * the cycle begins and ends at the minimal temperature.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code max > min}
+ * invariant	{@code period > 0.0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			CosineTemperatureProfile
+implements	ExternalTemperatureProfileI
+{
+	private static final long serialVersionUID = 1L;
+	/** minimal temperature in Celsius.										*/
+	protected final double	min;
+	/** maximal temperature in Celsius.										*/
+	protected final double	max;
+	/** period of the cycle in hours.										*/
+	protected final double	period;
+
+	/**
+	 * create a cosine profile.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code max > min}
+	 * pre	{@code period > 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param min		minimal temperature in Celsius.
+	 * @param max		maximal temperature in Celsius.
+	 * @param period	period of the cycle in hours.
+	 */
+	public				CosineTemperatureProfile(
+		double min,
+		double max,
+		double period
+		)
+	{
+		assert	max > min;
+		assert	period > 0.0;
+
+		this.min = min;
+		this.max = max;
+		this.period = period;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.ExternalTemperatureProfileI#temperatureAt(double)
+	 */
+	@Override
+	public double		temperatureAt(double t)
+	{
+		double cycleTime = t % this.period;
+		double c = Math.cos((1.0 + cycleTime/(this.period/2.0))*Math.PI);
+		return this.min + (this.max - this.min)*((1.0 + c)/2.0);
+	}
+}
@@ -39,11 +39,14 @@ import java.util.concurrent.TimeUnit;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeater;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
 import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
@@ -58,24 +61,25 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * <p><strong>Description</strong></p>
  * 
  * <p>
- * The model makes the temperature vary over some period representing typically
- * a day. The variation is taken as a cosine between {@code Math.PI} and
- * {@code 3*Math.PI}. The cosine (plus 1 and divided by 2 to vary between 0 and
- * 1) is taken as a coefficient applied to the maximal variation over a day and
- * then added to the minimal temperature to get the current temperature.
+ * The model makes the temperature vary according to a profile, a function of
+ * the time elapsed since the start of the simulation. By default, the profile
+ * is a {@code CosineTemperatureProfile} varying between
+ * {@code MIN_EXTERNAL_TEMPERATURE} and {@code MAX_EXTERNAL_TEMPERATURE} over
+ * {@code PERIOD}; when the run parameter {@code PROFILE_FILE_RPNAME} gives
+ * the path of a CSV weather file, a {@code CSVTemperatureProfile} replays it.
  * </p>
  * <p>
- * The model reevaluates the external temperature at some predefined rate i.e.,
- * the evaluation step. It exports this temperature in a variable called
- * {@code externalTemperature}.
+ * The model exports the temperature in a variable called
+ * {@code externalTemperature} whose {@code evaluateAt} method evaluates the
+ * profile at the queried time. The temperature is hence computed only when
+ * the importing models need it and the model never makes any internal
+ * transition.
  * </p>
  * 
  * <p><strong>White-box Invariant</strong></p>
  * 
  * <pre>
- * invariant	{@code STEP > 0.0}
- * invariant	{@code evaluationStep.greaterThan(Duration.zero(getSimulatedTimeUnit()))}
- * invariant	{@code cycleTime >= 0.0 && cycleTime <= PERIOD}
+ * invariant	{@code profile != null}
  * </pre>
  * 
  * <p><strong>Black-box Invariant</strong></p>
@@ -95,6 +99,42 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 public class			ExternalTemperatureModel
 extends		AtomicHIOA
 {
+	// -------------------------------------------------------------------------
+	// Inner classes and types
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>ProfileValue</code> implements the exported variable
+	 * holding the external temperature, evaluated from the profile at the
+	 * time it is queried.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 * 
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	protected static class	ProfileValue
+	extends		Value<Double>
+	{
+		private static final long serialVersionUID = 1L;
+		/** model owning the variable.										*/
+		protected final ExternalTemperatureModel	model;
+
+		protected			ProfileValue(ExternalTemperatureModel model)
+		{
+			super(model);
+			this.model = model;
+		}
+
+		/**
+		 * @see fr.sorbonne_u.devs_simulation.hioa.models.vars.Value#evaluateAt(fr.sorbonne_u.devs_simulation.models.time.Time)
+		 */
+		@Override
+		public Double		evaluateAt(Time t)
+		{
+			return this.model.temperatureAt(t);
+		}
+	}
+
 	// -------------------------------------------------------------------------
 	// Constants and variables
 	// -------------------------------------------------------------------------
@@ -112,12 +152,16 @@ extends		AtomicHIOA
 	 *  at the minimal temperature and ends at the same temperature.		*/
 	public static final double		PERIOD = 24.0;
 
-	/** evaluation step for the equation (assumed in hours).				*/
-	protected static final double	STEP = 60.0/3600.0;	// 60 seconds
-	/** evaluation step as a duration, including the time unit.				*/
-	protected final Duration		evaluationStep;
+	/** run parameter name for the path of a CSV weather file.				*/
+	public static final String		PROFILE_FILE_RPNAME = "PROFILE_FILE";
 
-	protected double				cycleTime;
+	/** profile giving the external temperature over time.					*/
+	protected ExternalTemperatureProfileI	profile =
+			new CosineTemperatureProfile(MIN_EXTERNAL_TEMPERATURE,
+										 MAX_EXTERNAL_TEMPERATURE,
+										 PERIOD);
+	/** simulated time of start of the current run.							*/
+	protected Time					start;
 
 	// -------------------------------------------------------------------------
 	// HIOA model variables
@@ -126,7 +170,7 @@ extends		AtomicHIOA
 	/** current external temperature in Celsius.							*/
 	@ExportedVariable(type = Double.class)
 	protected final Value<Double>	externalTemperature =
-												new Value<Double>(this);
+												new ProfileValue(this);
 
 	// -------------------------------------------------------------------------
 	// Constructors
@@ -154,10 +198,32 @@ extends		AtomicHIOA
 		) throws Exception
 	{
 		super(uri, simulatedTimeUnit, simulationEngine);
-		this.evaluationStep = new Duration(STEP, this.getSimulatedTimeUnit());
 		this.setLogger(new StandardLogger());
 	}
 
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the external temperature at {@code t} as given by the profile.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code t != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param t	time at which the temperature is required.
+	 * @return	the external temperature in Celsius at {@code t}.
+	 */
+	public double		temperatureAt(Time t)
+	{
+		return this.profile.temperatureAt(
+					t.getSimulatedTime() - this.start.getSimulatedTime());
+	}
+
 	// -------------------------------------------------------------------------
 	// DEVS simulation protocol
 	// -------------------------------------------------------------------------
@@ -170,7 +236,7 @@ extends		AtomicHIOA
 	{
 		super.initialiseState(initialTime);
 
-		this.cycleTime = 0.0;
+		this.start = initialTime;
 	}
 
 	/**
@@ -181,17 +247,20 @@ extends		AtomicHIOA
 	{
 		super.initialiseVariables();
 
-		this.externalTemperature.initialise(MIN_EXTERNAL_TEMPERATURE);
-
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
-		StringBuffer message =
-				new StringBuffer("current external temperature: ");
-		message.append(this.externalTemperature.getValue());
-		message.append(" at ");
-		message.append(this.getCurrentStateTime());
-		message.append("\n");
-		this.logMessage(message.toString());
+		this.externalTemperature.initialise(
+								this.temperatureAt(this.getCurrentStateTime()));
+
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("current external temperature: ");
+			message.append(this.externalTemperature.getValue());
+			message.append(" at ");
+			message.append(this.getCurrentStateTime());
+			message.append("\n");
+			this.logMessage(message.toString());
+		}
 	}
 
 	/**
@@ -210,41 +279,9 @@ extends		AtomicHIOA
 	@Override
 	public Duration		timeAdvance()
 	{
-		// the model makes an internal transition every evaluation step
-		// duration
-		return this.evaluationStep;
-	}
-
-	/**
-	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedInternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration)
-	 */
-	@Override
-	public void			userDefinedInternalTransition(Duration elapsedTime)
-	{
-		super.userDefinedInternalTransition(elapsedTime);
-
-		// compute the current time in the cycle
-		this.cycleTime += elapsedTime.getSimulatedDuration();
-		if (this.cycleTime > PERIOD) {
-			this.cycleTime -= PERIOD;
-		}
-		// compute the new temperature
-		double c = Math.cos((1.0 + this.cycleTime/(PERIOD/2.0))*Math.PI);
-		double newTemp =
-				MIN_EXTERNAL_TEMPERATURE +
-					(MAX_EXTERNAL_TEMPERATURE - MIN_EXTERNAL_TEMPERATURE)*
-																((1.0 + c)/2.0);
-		this.externalTemperature.setNewValue(newTemp,
-											 this.getCurrentStateTime());
-
-		// Tracing
-		StringBuffer message =
-				new StringBuffer("external temperature: ");
-		message.append(this.externalTemperature.getValue());
-		message.append(" at ");
-		message.append(this.getCurrentStateTime());
-		message.append("\n");
-		this.logMessage(message.toString());
+		// the temperature is evaluated when queried, hence the model never
+		// makes an internal transition
+		return Duration.INFINITY;
 	}
 
 	/**
@@ -253,7 +290,7 @@ extends		AtomicHIOA
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
@@ -280,6 +317,12 @@ extends		AtomicHIOA
 			// direct traces on the tracer of the owner component
 			this.setLogger(new StandardComponentLogger(owner));
 		}
+		String profileName =
+				ModelI.createRunParameterName(getURI(), PROFILE_FILE_RPNAME);
+		if (simParams.containsKey(profileName)) {
+			this.profile = CSVTemperatureProfile.load(
+										(String) simParams.get(profileName));
+		}
 	}
 
 	// -------------------------------------------------------------------------
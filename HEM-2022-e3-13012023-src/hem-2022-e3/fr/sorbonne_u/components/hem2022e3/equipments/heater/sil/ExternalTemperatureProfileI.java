@@ -0,0 +1,43 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.heater.sil;
+
+import java.io.Serializable;
+
+/**
+ * The interface <code>ExternalTemperatureProfileI</code> declares the
+ * function giving the external temperature of the house over time, as used
+ * by the {@code ExternalTemperatureModel}.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * A profile is a pure function of the time elapsed since the start of the
+ * simulation, hence the model evaluates it only when the temperature is
+ * queried instead of sampling it at a fixed rate.
+ * </p>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public interface		ExternalTemperatureProfileI
+extends		Serializable
+{
+	/**
+	 * return the external temperature in Celsius {@code t} hours after the
+	 * start of the simulation.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code t >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param t	time elapsed since the start of the simulation in hours.
+	 * @return	the external temperature in Celsius at {@code t}.
+	 */
+	public double		temperatureAt(double t);
+}
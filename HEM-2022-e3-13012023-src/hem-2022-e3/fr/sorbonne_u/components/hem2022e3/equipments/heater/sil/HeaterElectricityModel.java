@@ -45,6 +45,9 @@ import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.SwitchOff
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.Heat;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.HeaterEventI;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.DoNotHeat;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.events.IntensityChanged;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -103,7 +106,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 @ModelExternalEvents(imported = {SwitchOnHeater.class,
 								 SwitchOffHeater.class,
 								 Heat.class,
-								 DoNotHeat.class})
+								 DoNotHeat.class},
+					 exported = {IntensityChanged.class})
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 //-----------------------------------------------------------------------------
 public class			HeaterElectricityModel
@@ -158,6 +162,9 @@ implements	HeaterOperationI
 
 	/** total consumption of the heater during the simulation in kwh.		*/
 	protected double			totalConsumption;
+	/** duration of the simulated time unit in hours, computed once for
+	 *  the integration of the consumption.								*/
+	protected final double		hoursPerUnit;
 
 	// -------------------------------------------------------------------------
 	// HIOA model variables
@@ -193,6 +200,7 @@ implements	HeaterOperationI
 		) throws Exception
 	{
 		super(uri, simulatedTimeUnit, simulationEngine);
+		this.hoursPerUnit = Electricity.hoursPerUnit(simulatedTimeUnit);
 		this.setLogger(new StandardLogger());
 	}
 
@@ -265,8 +273,8 @@ implements	HeaterOperationI
 		this.consumptionHasChanged = false;
 		this.totalConsumption = 0.0;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	/**
@@ -280,12 +288,14 @@ implements	HeaterOperationI
 		// initially, the heater is off, so its consumption is zero.
 		this.currentIntensity.initialise(0.0);
 
-		StringBuffer sb = new StringBuffer("new consumption: ");
-		sb.append(this.currentIntensity.getValue());
-		sb.append(" amperes at ");
-		sb.append(this.currentIntensity.getTime());
-		sb.append(" seconds.\n");
-		this.logMessage(sb.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer sb = new StringBuffer("new consumption: ");
+			sb.append(this.currentIntensity.getValue());
+			sb.append(" amperes at ");
+			sb.append(this.currentIntensity.getTime());
+			sb.append(" seconds.\n");
+			this.logMessage(sb.toString());
+		}
 	}
 
 	/**
@@ -294,7 +304,12 @@ implements	HeaterOperationI
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		return null;
+		// internal transitions only occur to update the exported intensity,
+		// hence each of them tells the electric meter model to update its
+		// totals.
+		ArrayList<EventI> ret = new ArrayList<EventI>();
+		ret.add(new IntensityChanged(this.getTimeOfNextEvent()));
+		return ret;
 	}
 
 	/**
@@ -340,12 +355,14 @@ implements	HeaterOperationI
 			this.currentIntensity.setNewValue(0.0, t);
 		}
 
-		StringBuffer sb = new StringBuffer("new consumption: ");
-		sb.append(this.currentIntensity.getValue());
-		sb.append(" amperes at ");
-		sb.append(this.currentIntensity.getTime());
-		sb.append(" seconds.\n");
-		this.logMessage(sb.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer sb = new StringBuffer("new consumption: ");
+			sb.append(this.currentIntensity.getValue());
+			sb.append(" amperes at ");
+			sb.append(this.currentIntensity.getTime());
+			sb.append(" seconds.\n");
+			this.logMessage(sb.toString());
+		}
 	}
 
 	/**
@@ -369,13 +386,16 @@ implements	HeaterOperationI
 		// compute the total consumption for the simulation report.
 		this.totalConsumption +=
 				Electricity.computeConsumption(
-									elapsedTime,
+									elapsedTime.getSimulatedDuration(),
+									this.hoursPerUnit,
 									TENSION*this.currentIntensity.getValue());
 
-		StringBuffer sb = new StringBuffer("execute the external event: ");
-		sb.append(ce.eventAsString());
-		sb.append(".\n");
-		this.logMessage(sb.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer sb = new StringBuffer("execute the external event: ");
+			sb.append(ce.eventAsString());
+			sb.append(".\n");
+			this.logMessage(sb.toString());
+		}
 
 		// the next call will update the current state of the heater and if
 		// this state has changed, it put the boolean consumptionHasChanged
@@ -391,13 +411,14 @@ implements	HeaterOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		Duration d = endTime.subtract(this.getCurrentStateTime());
 		this.totalConsumption +=
 				Electricity.computeConsumption(
-									d,
-									TENSION*this.currentIntensity.getValue());
+							endTime.getSimulatedTime() -
+								this.getCurrentStateTime().getSimulatedTime(),
+							this.hoursPerUnit,
+							TENSION*this.currentIntensity.getValue());
 
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
@@ -43,13 +43,13 @@ import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.DoNotHeat
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.Heat;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.SwitchOffHeater;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.SwitchOnHeater;
+import fr.sorbonne_u.components.hem2022e3.utils.StateSnapshot;
 import fr.sorbonne_u.devs_simulation.architectures.RTArchitecture;
 import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
 import fr.sorbonne_u.devs_simulation.hioa.architectures.RTAtomicHIOA_Descriptor;
 import fr.sorbonne_u.devs_simulation.hioa.architectures.RTCoupledHIOA_Descriptor;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableSink;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableSource;
-import fr.sorbonne_u.devs_simulation.interfaces.ModelDescriptionI;
 import fr.sorbonne_u.devs_simulation.models.architectures.AbstractAtomicModelDescriptor;
 import fr.sorbonne_u.devs_simulation.models.architectures.CoupledModelDescriptor;
 import fr.sorbonne_u.devs_simulation.models.architectures.RTAtomicModelDescriptor;
@@ -57,7 +57,6 @@ import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.events.EventSink;
 import fr.sorbonne_u.devs_simulation.models.events.EventSource;
 import fr.sorbonne_u.devs_simulation.models.events.ReexportedEvent;
-import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.models.time.TimeUtils;
 import fr.sorbonne_u.exceptions.PreconditionException;
@@ -106,6 +105,8 @@ extends		RTAtomicSimulatorPlugin
 	protected Instant	localStartTime;
 	/** start time of the simulation in simulated time.						*/
 	protected Time		simulatedStartTime;
+	/** temperature model, looked up at the first access of a run.			*/
+	protected volatile HeaterTemperatureModel	temperatureModel;
 
 	// -------------------------------------------------------------------------
 	// DEVS simulation protocol
@@ -161,8 +162,7 @@ extends		RTAtomicSimulatorPlugin
 		assert	name != null && !name.isEmpty() :
 				new PreconditionException("name != null && !name.isEmpty()");
 
-		ModelDescriptionI m = this.simulator.getDescendentModel(modelURI);
-		assert	m instanceof HeaterTemperatureModel :
+		assert	modelURI.equals(HeaterTemperatureModel.URI) :
 				new AssertionError(modelURI + " is not the URI of a "
 						+ HeaterTemperatureModel.class.getSimpleName()
 						+ "model!");
@@ -170,7 +170,7 @@ extends		RTAtomicSimulatorPlugin
 		assert	name.equals(CURRENT_ROOM_TERMPERATURE) :
 				new AssertionError(name + " is an unknown variable name!");
 
-		return ((HeaterTemperatureModel)m).getCurrentTemperature();
+		return this.getCurrentTemperature();
 	}
 
 	/**
@@ -191,6 +191,8 @@ extends		RTAtomicSimulatorPlugin
 		this.simulatedStartTime =
 				new Time(simulationStartTime,
 						 this.localArchitecture.getSimulationTimeUnit());
+		// the model is looked up again in case the simulator has changed
+		this.temperatureModel = null;
 		// actually start the real time simulation
 		super.startRTSimulation(
 					realTimeOfStart, simulationStartTime, simulationDuration);
@@ -201,10 +203,84 @@ extends		RTAtomicSimulatorPlugin
 	// -------------------------------------------------------------------------
 
 	/**
-	 * compute the {@code Instant} corresponding to the current simulation time
-	 * of the {@code HeaterTemperatureModel}, assuming that the start time and
-	 * the start instant are known to interpret correctly the current simulation
-	 * time as an {@code Instant}.
+	 * return the temperature model, looked up once per simulation run.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code simulator != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the temperature model.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected HeaterTemperatureModel	temperatureModel() throws Exception
+	{
+		HeaterTemperatureModel m = this.temperatureModel;
+		if (m == null) {
+			m = (HeaterTemperatureModel)
+					this.simulator.getDescendentModel(HeaterTemperatureModel.URI);
+			assert	m != null :
+					new AssertionError(HeaterTemperatureModel.URI + " is not the URI of a model!");
+			this.temperatureModel = m;
+		}
+		return m;
+	}
+
+	/**
+	 * return the room temperature published at the last transition of the
+	 * temperature model, without synchronising with the simulation thread.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the current room temperature.
+	 */
+	public double		getCurrentTemperature()
+	{
+		try {
+			StateSnapshot s = this.temperatureModel().getTemperatureSnapshot();
+			assert	s != null :
+					new AssertionError("the temperature is not initialised!");
+			return s.value;
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * return the room temperature and its derivative published at the last
+	 * transition of the temperature model, or null before its
+	 * initialisation.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the last published room temperature or null.
+	 */
+	public StateSnapshot	getTemperatureSnapshot()
+	{
+		try {
+			return this.temperatureModel().getTemperatureSnapshot();
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * compute the {@code Instant} corresponding to the simulated time of the
+	 * last temperature published by the {@code HeaterTemperatureModel},
+	 * assuming that the start time and the start instant are known to
+	 * interpret correctly the simulated time as an {@code Instant}.
 	 * 
 	 * <p><strong>Contract</strong></p>
 	 * 
@@ -218,13 +294,14 @@ extends		RTAtomicSimulatorPlugin
 	public Instant		getCurrentInstant()
 	{
 		try {
-			HeaterTemperatureModel m =
-				(HeaterTemperatureModel)
-					this.simulator.getDescendentModel(HeaterTemperatureModel.URI);
-			Time t = m.getCurrentStateTime();
-			Duration d = t.subtract(this.simulatedStartTime);
-			long dInNanos =
-				TimeUtils.toNanos(d.getSimulatedDuration(), d.getTimeUnit());
+			StateSnapshot s = this.temperatureModel().getTemperatureSnapshot();
+			if (s == null || this.localStartTime == null) {
+				return this.localStartTime != null ?
+							this.localStartTime : Instant.now();
+			}
+			long dInNanos = TimeUtils.toNanos(
+						s.time - this.simulatedStartTime.getSimulatedTime(),
+						this.simulatedStartTime.getTimeUnit());
 			return this.localStartTime.plusNanos(dInNanos);
 		} catch (Exception e) {
 			throw new RuntimeException(e) ;
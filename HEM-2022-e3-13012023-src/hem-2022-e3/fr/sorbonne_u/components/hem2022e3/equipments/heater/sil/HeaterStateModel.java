@@ -42,6 +42,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.Heat;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.HeaterEventI;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.SwitchOnHeater;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.SwitchOffHeater;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
@@ -222,8 +224,8 @@ implements	HeaterOperationI
 		this.lastReceived = null;
 		this.currentState = State.OFF;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	/**
@@ -272,12 +274,14 @@ implements	HeaterOperationI
 
 		this.lastReceived = (HeaterEventI) currentEvents.get(0);
 
-		StringBuffer message = new StringBuffer("execute the external event ");
-		message.append(this.lastReceived);
-		message.append(" in state ");
-		message.append(this.currentState);
-		message.append('\n');
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message = new StringBuffer("execute the external event ");
+			message.append(this.lastReceived);
+			message.append(" in state ");
+			message.append(this.currentState);
+			message.append('\n');
+			this.logMessage(message.toString());
+		}
 
 		this.lastReceived.executeOn(this);
 	}
@@ -288,7 +292,7 @@ implements	HeaterOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
@@ -40,9 +40,16 @@ import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.components.hem2022e2.HEM_ReportI;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeater;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeaterController;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.DoNotHeat;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.Heat;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.HeaterEventI;
+import fr.sorbonne_u.components.hem2022e3.utils.BinaryTraceWriter;
+import fr.sorbonne_u.components.hem2022e3.utils.NewtonCoolingSolver;
+import fr.sorbonne_u.components.hem2022e3.utils.RealTimeProbe;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
+import fr.sorbonne_u.components.hem2022e3.utils.StateSnapshot;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.InternalVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelImportedVariable;
@@ -53,6 +60,7 @@ import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.Event;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
@@ -86,12 +94,29 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  *   ({@code HEATING_TRANSFER_CONSTANT}).</li>
  * </ol>
  * <p>
- * The resulting differential equation is integrated using the Euler method
- * with a predefined integration step. The initial state of the model is
+ * The resulting differential equation is linear, hence it is solved in
+ * closed form over each step, the external temperature being taken as
+ * constant over the step. The steps are adaptive: a step ends when the room
+ * temperature has changed by {@code TEMPERATURE_TOLERANCE}, when it crosses
+ * one of the thermostat levels {@code targetTemperature - hysteresis} and
+ * {@code targetTemperature + hysteresis}, or after {@code MAX_STEP}, so
+ * that the model takes long steps when the temperature is close to its
+ * equilibrium and puts an internal transition exactly at the instant the
+ * controller will switch the heater. As the temperature exposed between two
+ * transitions is the one of the last transition, the error of a reading is
+ * bounded by {@code TEMPERATURE_TOLERANCE}. The initial state of the model is
  * a state not heating and the initial temperature given by
  * {@code INITIAL_TEMPERATURE}.
  * </p>
  * <p>
+ * The thermostat levels are taken from the target temperature of the owner
+ * component when the model runs in SIL, and otherwise from the simulation
+ * run parameters {@code TARGET_TEMPERATURE_RPNAME} and
+ * {@code HYSTERESIS_RPNAME}, which default to the standard values of the
+ * heater and of its controller. The three constants of the equation can
+ * also be changed by run parameters named after them.
+ * </p>
+ * <p>
  * Whether the current temperature evolves under the influence of the outside
  * temperature only or also the heating temperature depends upon the state,
  * which in turn is modified through the reception of imported events
@@ -99,16 +124,26 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * from another model simulating the environment. The current temperature is
  * exported to be used by other models.
  * </p>
+ * <p>
+ * When the simulation run parameters give a binary trace file, the room
+ * temperature is appended to it at each step instead of being formatted in
+ * the textual log. In SIL simulations, the lag of the steps behind the
+ * accelerated clock is measured by a {@code RealTimeProbe} when the real time
+ * measures are enabled.
+ * </p>
  * 
  * <p><strong>White-box Invariant</strong></p>
  * 
  * <pre>
  * invariant	{@code STEP > 0.0}
+ * invariant	{@code MIN_STEP > 0.0 && MIN_STEP <= MAX_STEP}
+ * invariant	{@code TEMPERATURE_TOLERANCE > 0.0}
+ * invariant	{@code hysteresis > 0.0}
  * invariant	{@code INSULATION_TRANSFER_CONSTANT > 0.0}
  * invariant	{@code HEATING_TRANSFER_CONSTANT > 0.0}
  * invariant	{@code STANDARD_HEATING_TEMP > 0.0}
  * invariant	{@code INSULATION_TRANSFER_CONSTANT > 0.0}
- * invariant	{@code integrationStep.greaterThan(Duration.zero(getSimulatedTimeUnit()))}
+ * invariant	{@code nextStep.greaterThan(Duration.zero(getSimulatedTimeUnit()))}
  * </pre>
  * 
  * <p><strong>Black-box Invariant</strong></p>
@@ -158,16 +193,57 @@ implements	HeaterOperationI
 															getSimpleName();
 	public static final double		INITIAL_TEMPERATURE = 19.5;
 
+	/** default wall insulation heat transfer constant, also used by the
+	 *  predictive controllers to forecast the room temperature.			*/
+	public static final double		DEFAULT_INSULATION_TRANSFER_CONSTANT = 35.0;
+	/** default heating transfer constant.									*/
+	public static final double		DEFAULT_HEATING_TRANSFER_CONSTANT = 150.0;
+	/** default temperature of the heating plate in the heater.			*/
+	public static final double		DEFAULT_STANDARD_HEATING_TEMP = 300.0;
+
 	/** wall insulation heat transfer constant in the differential equation.*/
-	protected final double 			INSULATION_TRANSFER_CONSTANT = 35.0;
+	protected double 				INSULATION_TRANSFER_CONSTANT =
+										DEFAULT_INSULATION_TRANSFER_CONSTANT;
 	/** heating transfer constant in the differential equation.				*/
-	protected final double			HEATING_TRANSFER_CONSTANT = 150.0;
+	protected double				HEATING_TRANSFER_CONSTANT =
+										DEFAULT_HEATING_TRANSFER_CONSTANT;
 	/** temperature of the heating plate in the heater.						*/
-	protected final double			STANDARD_HEATING_TEMP = 300.0;
-	/** integration step for the differential equation(assumed in hours).	*/
+	protected double				STANDARD_HEATING_TEMP =
+										DEFAULT_STANDARD_HEATING_TEMP;
+	/** step used before the room temperature is initialised (assumed in
+	 *  hours).																*/
 	protected static final double	STEP = 60.0/3600.0;	// 60 seconds
-	/** integration step as a duration, including the time unit.			*/
-	protected final Duration		integrationStep;
+	/** shortest adaptive step (assumed in hours).							*/
+	protected static final double	MIN_STEP = 1.0/3600.0;	// 1 second
+	/** longest adaptive step (assumed in hours).							*/
+	protected static final double	MAX_STEP = 15.0/60.0;	// 15 minutes
+	/** largest change of the room temperature over one step in Celsius.	*/
+	protected static final double	TEMPERATURE_TOLERANCE = 0.05;
+	/** run parameter name for the target temperature of the thermostat.	*/
+	public static final String		TARGET_TEMPERATURE_RPNAME =
+														"TARGET_TEMPERATURE";
+	/** run parameter name for the hysteresis of the thermostat.			*/
+	public static final String		HYSTERESIS_RPNAME = "HYSTERESIS";
+	/** run parameter name for {@code INSULATION_TRANSFER_CONSTANT}.		*/
+	public static final String		INSULATION_TRANSFER_CONSTANT_RPNAME =
+											"INSULATION_TRANSFER_CONSTANT";
+	/** run parameter name for {@code HEATING_TRANSFER_CONSTANT}.			*/
+	public static final String		HEATING_TRANSFER_CONSTANT_RPNAME =
+											"HEATING_TRANSFER_CONSTANT";
+	/** run parameter name for {@code STANDARD_HEATING_TEMP}.				*/
+	public static final String		STANDARD_HEATING_TEMP_RPNAME =
+											"STANDARD_HEATING_TEMP";
+	/** duration of the next step, including the time unit.					*/
+	protected Duration				nextStep;
+
+	/** target temperature of the thermostat when no owner gives it.		*/
+	protected double				targetTemperature =
+							ThermostatedHeater.STANDARD_TARGET_TEMPERATURE;
+	/** hysteresis of the thermostat.										*/
+	protected double				hysteresis =
+							ThermostatedHeaterController.STANDARD_HYSTERESIS;
+	/** owner component giving the target temperature in SIL or null.		*/
+	protected ThermostatedHeater	owner;
 
 	/** current external temperature in Celsius.							*/
 	/** current state of the heater.										*/
@@ -181,6 +257,17 @@ implements	HeaterOperationI
 	/** the mean temperature over the simulation duration for the simulation
 	 *  report.																*/
 	protected double				meanTemperature;
+	/** binary trace writer or null if the model traces in its log.			*/
+	protected BinaryTraceWriter		trace;
+	/** identifier of the room temperature in the binary trace.				*/
+	protected int					temperatureTraceId;
+	/** probe measuring the lag of the transitions in SIL simulations, null
+	 *  when the measures are not enabled.									*/
+	protected RealTimeProbe			probe;
+	/** room temperature published at the end of the last transition for
+	 *  the threads of the owner component, null before the initialisation
+	 *  of the variables.													*/
+	protected volatile StateSnapshot	temperatureSnapshot;
 
 	// -------------------------------------------------------------------------
 	// HIOA model variables
@@ -220,7 +307,7 @@ implements	HeaterOperationI
 		) throws Exception
 	{
 		super(uri, simulatedTimeUnit, simulationEngine);
-		this.integrationStep = new Duration(STEP, simulatedTimeUnit);
+		this.nextStep = new Duration(STEP, simulatedTimeUnit);
 		this.setLogger(new StandardLogger());
 	}
 
@@ -263,6 +350,25 @@ implements	HeaterOperationI
 		return this.currentTemperature.evaluateAt(this.getCurrentStateTime());
 	}
 
+	/**
+	 * return the room temperature published at the end of the last
+	 * transition, which may be called from any thread without
+	 * synchronisation.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the last published room temperature or null if none yet.
+	 */
+	public StateSnapshot	getTemperatureSnapshot()
+	{
+		return this.temperatureSnapshot;
+	}
+
 	// -------------------------------------------------------------------------
 	// DEVS simulation protocol
 	// -------------------------------------------------------------------------
@@ -276,9 +382,10 @@ implements	HeaterOperationI
 		this.temperatureAcc = 0.0;
 		this.start = initialTime;
 		this.currentState = State.NOT_HEATING;
+		this.nextStep = new Duration(STEP, this.getSimulatedTimeUnit());
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 
 		super.initialiseState(initialTime);
 	}
@@ -308,6 +415,9 @@ implements	HeaterOperationI
 			double derivative = this.computeDerivatives(INITIAL_TEMPERATURE);
 			// initialise the model exported variable
 			this.currentTemperature.initialise(INITIAL_TEMPERATURE, derivative);
+			this.temperatureSnapshot = new StateSnapshot(
+							this.getCurrentStateTime().getSimulatedTime(),
+							INITIAL_TEMPERATURE, derivative);
 			// one model variable has been initialised (over one existing)
 			justInitialised++;
 		} else if (!this.currentTemperature.isInitialised()) {
@@ -335,7 +445,142 @@ implements	HeaterOperationI
 	@Override
 	public Duration		timeAdvance()
 	{
-		return this.integrationStep;
+		return this.nextStep;
+	}
+
+	/**
+	 * return the rate of the linear differential equation in the current
+	 * state, {@code dT/dt = rate * (equilibrium - T)}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return > 0.0}
+	 * </pre>
+	 *
+	 * @return	the rate of the differential equation in the current state.
+	 */
+	protected double	rate()
+	{
+		double rate = 1.0/INSULATION_TRANSFER_CONSTANT;
+		if (this.currentState == State.HEATING) {
+			rate += 1.0/HEATING_TRANSFER_CONSTANT;
+		}
+		return rate;
+	}
+
+	/**
+	 * return the temperature towards which the room temperature tends in the
+	 * current state given the external temperature.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param external	external temperature.
+	 * @return			the equilibrium temperature in the current state.
+	 */
+	protected double	equilibrium(double external)
+	{
+		double weighted = external/INSULATION_TRANSFER_CONSTANT;
+		if (this.currentState == State.HEATING) {
+			weighted += STANDARD_HEATING_TEMP/HEATING_TRANSFER_CONSTANT;
+		}
+		return weighted/this.rate();
+	}
+
+	/**
+	 * return the current target temperature of the thermostat.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the current target temperature of the thermostat.
+	 */
+	protected double	currentTargetTemperature()
+	{
+		if (this.owner != null) {
+			try {
+				return this.owner.getTargetTemperature();
+			} catch (Exception e) {
+				throw new RuntimeException(e) ;
+			}
+		}
+		return this.targetTemperature;
+	}
+
+	/**
+	 * compute the duration of the next step from the current room
+	 * temperature, stopping at the first thermostat level crossed.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code currentTemperature.isInitialised()}
+	 * post	{@code return >= MIN_STEP && return <= MAX_STEP}
+	 * </pre>
+	 *
+	 * @param current	current room temperature.
+	 * @return			the duration of the next step in hours.
+	 */
+	protected double	computeStep(double current)
+	{
+		double rate = this.rate();
+		double equilibrium = this.equilibrium(
+				this.externalTemperature.evaluateAt(this.getCurrentStateTime()));
+		double target = this.currentTargetTemperature();
+
+		double h = NewtonCoolingSolver.toleranceStep(
+							current, equilibrium, rate, TEMPERATURE_TOLERANCE);
+		h = Math.min(h, NewtonCoolingSolver.timeToReach(
+					current, equilibrium, rate, target - this.hysteresis));
+		h = Math.min(h, NewtonCoolingSolver.timeToReach(
+					current, equilibrium, rate, target + this.hysteresis));
+		return Math.max(MIN_STEP, Math.min(MAX_STEP, h));
+	}
+
+	/**
+	 * bring the room temperature up to date after {@code elapsedTime} in the
+	 * current state, accumulating its exact integral for the mean.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code elapsedTime != null}
+	 * post	{@code currentTemperature.getTime().equals(getCurrentStateTime())}
+	 * </pre>
+	 *
+	 * @param elapsedTime	time elapsed since the last update.
+	 * @return				the new room temperature.
+	 */
+	protected double	advanceTemperature(Duration elapsedTime)
+	{
+		Time t = this.currentTemperature.getTime();
+		double oldTemp = this.currentTemperature.evaluateAt(t);
+		double h = elapsedTime.getSimulatedDuration();
+		double rate = this.rate();
+		double equilibrium =
+						this.equilibrium(this.externalTemperature.evaluateAt(t));
+
+		// accumulate the integral of the temperature to compute the mean
+		this.temperatureAcc +=
+				NewtonCoolingSolver.integral(oldTemp, equilibrium, rate, h);
+		double newTemp =
+				NewtonCoolingSolver.valueAt(oldTemp, equilibrium, rate, h);
+		double derivative = this.computeDerivatives(newTemp);
+		Time now = this.getCurrentStateTime();
+		this.currentTemperature.setNewValue(newTemp, derivative, now);
+		this.temperatureSnapshot =
+				new StateSnapshot(now.getSimulatedTime(), newTemp, derivative);
+		return newTemp;
 	}
 
 	/**
@@ -379,29 +624,38 @@ implements	HeaterOperationI
 	@Override
 	public void			userDefinedInternalTransition(Duration elapsedTime)
 	{
-		Time t = this.currentTemperature.getTime();
-		double oldTemp = this.currentTemperature.evaluateAt(t);
-		// accumulate the temperature*time to compute the mean temperature
-		this.temperatureAcc += oldTemp * elapsedTime.getSimulatedDuration();
-
-		// update the room temperature using the Euler integration of the
-		// differential equation
-		double oldDerivative = this.currentTemperature.getFirstDerivative();
-		double newTemp = oldTemp + oldDerivative*STEP;
-		double newDerivative = this.computeDerivatives(newTemp);
-		this.currentTemperature.setNewValue(newTemp,
-											newDerivative,
-											this.getCurrentStateTime());
+		if (this.probe != null) {
+			this.probe.recordTransition(
+							this.getCurrentStateTime().getSimulatedTime());
+		}
+
+		// update the room temperature using the closed-form solution of the
+		// differential equation and plan the next step from it
+		double newTemp = this.advanceTemperature(elapsedTime);
+		this.nextStep = new Duration(this.computeStep(newTemp),
+									 this.getSimulatedTimeUnit());
 
 		// Tracing
-		String mark = (this.currentState == State.HEATING ? " (h)" : " (-)");
-		StringBuffer message = new StringBuffer(mark);
-		message.append(" room temperature: ");
-		message.append(this.currentTemperature.getValue());
-		message.append(" at ");
-		message.append(this.currentTemperature.getTime());
-		message.append('\n');
-		this.logMessage(message.toString());
+		if (this.trace != null) {
+			try {
+				this.trace.append(
+					this.currentTemperature.getTime().getSimulatedTime(),
+					this.temperatureTraceId,
+					newTemp);
+			} catch (Exception e) {
+				throw new RuntimeException(e) ;
+			}
+		} else if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			String mark =
+					(this.currentState == State.HEATING ? " (h)" : " (-)");
+			StringBuffer message = new StringBuffer(mark);
+			message.append(" room temperature: ");
+			message.append(this.currentTemperature.getValue());
+			message.append(" at ");
+			message.append(this.currentTemperature.getTime());
+			message.append('\n');
+			this.logMessage(message.toString());
+		}
 
 		super.userDefinedInternalTransition(elapsedTime);
 	}
@@ -423,17 +677,24 @@ implements	HeaterOperationI
 		assert	ce instanceof HeaterEventI;
 		assert	ce instanceof Heat || ce instanceof DoNotHeat;
 
-		StringBuffer sb = new StringBuffer("executing the external event: ");
-		sb.append(ce.eventAsString());
-		sb.append(".\n");
-		this.logMessage(sb.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer sb = new StringBuffer("executing the external event: ");
+			sb.append(ce.eventAsString());
+			sb.append(".\n");
+			this.logMessage(sb.toString());
+		}
 
 		// the next call will update the current state of the heater and if
 		// this state has changed, it will toggle the boolean
 		// consumptionHasChanged, which in turn will trigger an immediate
 		// internal transition to update the current intensity of the
 		// heater electricity consumption.
+		// The room temperature is first brought up to date in the state
+		// before the event and the next step is then planned in the new one.
+		double newTemp = this.advanceTemperature(elapsedTime);
 		ce.executeOn(this);
+		this.nextStep = new Duration(this.computeStep(newTemp),
+									 this.getSimulatedTimeUnit());
 
 		super.userDefinedExternalTransition(elapsedTime);
 	}
@@ -448,7 +709,10 @@ implements	HeaterOperationI
 				this.temperatureAcc/
 						endTime.subtract(this.start).getSimulatedDuration();
 
-		this.logMessage("simulation ends.\n");
+		if (this.trace != null) {
+			this.trace.flush();
+		}
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
@@ -474,6 +738,45 @@ implements	HeaterOperationI
 								HeaterRTAtomicSimulatorPlugin.OWNER_RPNAME);
 			// direct traces on the tracer of the owner component
 			this.setLogger(new StandardComponentLogger(owner));
+			// the target temperature is then read from the owner component
+			this.owner = (ThermostatedHeater) owner;
+			this.probe = RealTimeProbe.forName(URI);
+		}
+		String targetName =
+				ModelI.createRunParameterName(getURI(),
+											  TARGET_TEMPERATURE_RPNAME);
+		if (simParams.containsKey(targetName)) {
+			this.targetTemperature = (double) simParams.get(targetName);
+		}
+		String hysteresisName =
+				ModelI.createRunParameterName(getURI(), HYSTERESIS_RPNAME);
+		if (simParams.containsKey(hysteresisName)) {
+			this.hysteresis = (double) simParams.get(hysteresisName);
+		}
+		String insulationName =
+				ModelI.createRunParameterName(
+								getURI(), INSULATION_TRANSFER_CONSTANT_RPNAME);
+		if (simParams.containsKey(insulationName)) {
+			this.INSULATION_TRANSFER_CONSTANT =
+								(double) simParams.get(insulationName);
+		}
+		String heatingName =
+				ModelI.createRunParameterName(
+								getURI(), HEATING_TRANSFER_CONSTANT_RPNAME);
+		if (simParams.containsKey(heatingName)) {
+			this.HEATING_TRANSFER_CONSTANT = (double) simParams.get(heatingName);
+		}
+		String plateName =
+				ModelI.createRunParameterName(
+								getURI(), STANDARD_HEATING_TEMP_RPNAME);
+		if (simParams.containsKey(plateName)) {
+			this.STANDARD_HEATING_TEMP = (double) simParams.get(plateName);
+		}
+		// per step values go to the binary trace file when one is given
+		this.trace = BinaryTraceWriter.fromRunParameters(simParams);
+		if (this.trace != null) {
+			this.temperatureTraceId =
+						this.trace.register(URI + ".currentTemperature");
 		}
 	}
 
@@ -0,0 +1,90 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.heater.sil;
+
+import java.util.ArrayList;
+import java.util.List;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.DoNotHeat;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.Heat;
+import fr.sorbonne_u.components.hem2022e3.utils.MicroBenchmark;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>HeaterTemperatureModelBenchmark</code> measures the hot
+ * paths of the <code>HeaterTemperatureModel</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The model must have been initialised by a simulation run, so that its
+ * external temperature is bound and its room temperature has a value. The
+ * benchmarks call the internal transition with a step of
+ * {@code STEP}, the computation of the derivative of the room temperature
+ * and the dispatch of the {@code Heat} and {@code DoNotHeat} events through
+ * {@code executeOn}. The model is detached from its logger, so that the
+ * transitions are measured without printing their trace.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			HeaterTemperatureModelBenchmark
+{
+	/**
+	 * run the benchmarks on {@code model}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code model != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param model	initialised model.
+	 * @return		the measures of the benchmarks.
+	 */
+	public static List<MicroBenchmark.Result>	run(
+		HeaterTemperatureModel model
+		)
+	{
+		assert	model != null;
+
+		model.setLogger(null);
+		List<MicroBenchmark.Result> ret = new ArrayList<>();
+		Duration step = new Duration(HeaterTemperatureModel.STEP,
+									 model.getSimulatedTimeUnit());
+
+		ret.add(MicroBenchmark.run(
+					HeaterTemperatureModel.URI + ".userDefinedInternalTransition",
+					null,
+					() -> {	model.userDefinedInternalTransition(step);
+							return model.getCurrentTemperature();
+						  }));
+		ret.add(MicroBenchmark.run(
+					HeaterTemperatureModel.URI + ".computeDerivatives",
+					null,
+					() -> model.computeDerivatives(
+									HeaterTemperatureModel.INITIAL_TEMPERATURE)));
+
+		Heat heat = new Heat(model.getCurrentStateTime());
+		DoNotHeat doNotHeat = new DoNotHeat(model.getCurrentStateTime());
+		ret.add(MicroBenchmark.run(
+					HeaterTemperatureModel.URI + ".executeOn(Heat|DoNotHeat)",
+					null,
+					() -> {	heat.executeOn(model);
+							doNotHeat.executeOn(model);
+							return 0.0;
+						  }));
+		return ret;
+	}
+}
+// -----------------------------------------------------------------------------
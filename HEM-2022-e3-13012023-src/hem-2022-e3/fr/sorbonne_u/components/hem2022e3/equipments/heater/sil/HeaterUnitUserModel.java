@@ -42,6 +42,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.heater.sil.events.DoNotHeat
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeater;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -141,8 +143,8 @@ extends		AtomicModel
 	{
 		super.initialiseState(initialTime);
 		this.step = 1;
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	/**
@@ -157,23 +159,27 @@ extends		AtomicModel
 			ArrayList<EventI> ret = new ArrayList<EventI>();
 			switch (this.step) {
 			case 1:
-				this.logMessage(this.uri + " switches on the heater at " +
-								this.getTimeOfNextEvent() + ".\n");
+				SimulationLog.log(this, Level.FINE,
+									() -> this.uri + " switches on the heater at " +
+										  this.getTimeOfNextEvent() + ".\n");
 				ret.add(new SwitchOnHeater(this.getTimeOfNextEvent()));
 				break;
 			case 2:
-				this.logMessage(this.uri + " starts heating at " +
-								this.getTimeOfNextEvent() + ".\n");
+				SimulationLog.log(this, Level.FINE,
+									() -> this.uri + " starts heating at " +
+										  this.getTimeOfNextEvent() + ".\n");
 				ret.add(new Heat(this.getTimeOfNextEvent()));
 				break;
 			case 3:
-				this.logMessage(this.uri + " stops heating at " +
-								this.getTimeOfNextEvent() + ".\n");
+				SimulationLog.log(this, Level.FINE,
+									() -> this.uri + " stops heating at " +
+										  this.getTimeOfNextEvent() + ".\n");
 				ret.add(new DoNotHeat(this.getTimeOfNextEvent()));
 				break;
 			case 4:
-				this.logMessage(this.uri + " switches off the heater at " +
-								this.getTimeOfNextEvent() + ".\n");
+				SimulationLog.log(this, Level.FINE,
+									() -> this.uri + " switches off the heater at " +
+										  this.getTimeOfNextEvent() + ".\n");
 				ret.add(new SwitchOffHeater(this.getTimeOfNextEvent()));
 				break;
 			}
@@ -217,7 +223,7 @@ extends		AtomicModel
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
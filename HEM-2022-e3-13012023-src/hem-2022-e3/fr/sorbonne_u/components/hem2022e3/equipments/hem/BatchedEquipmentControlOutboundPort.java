@@ -0,0 +1,311 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.SuspensionAndPlanningEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentCommand;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentStatus;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>BatchedEquipmentControlOutboundPort</code> implements the
+ * outbound port through which the household energy manager controls a
+ * consuming equipment, whatever its control categories.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The port implements all of the standard, suspension and planning control
+ * interfaces as well as {@code BatchedEquipmentControlCI}, but is created
+ * with the control interface of the categories of the equipment as
+ * implemented interface, so that it is connected through the connector
+ * generated for them; only the operations of this interface and the bulk
+ * operations may then be called. All operations are forwarded as is to the
+ * connector: the preconditions are not checked here as this would cost
+ * additional calls, the bulk operations checking them on the equipment
+ * side.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code StandardEquipmentControlCI.class.isAssignableFrom(getImplementedInterface())}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			BatchedEquipmentControlOutboundPort
+extends		AbstractOutboundPort
+implements	SuspensionAndPlanningEquipmentControlCI,
+			BatchedEquipmentControlCI
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * create a port.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code StandardEquipmentControlCI.class.isAssignableFrom(implementedInterface)}
+	 * pre	{@code owner != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param implementedInterface	control interface of the categories of the equipment.
+	 * @param owner					component owning this port.
+	 * @throws Exception			<i>to do</i>.
+	 */
+	public				BatchedEquipmentControlOutboundPort(
+		Class<? extends RequiredCI> implementedInterface,
+		ComponentI owner
+		) throws Exception
+	{
+		super(implementedInterface, owner);
+		assert	StandardEquipmentControlCI.class.
+									isAssignableFrom(implementedInterface) :
+				new PreconditionException(
+						"StandardEquipmentControlCI.class."
+						+ "isAssignableFrom(implementedInterface)");
+	}
+
+	/**
+	 * create a port.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code StandardEquipmentControlCI.class.isAssignableFrom(implementedInterface)}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param uri					URI of the port.
+	 * @param implementedInterface	control interface of the categories of the equipment.
+	 * @param owner					component owning this port.
+	 * @throws Exception			<i>to do</i>.
+	 */
+	public				BatchedEquipmentControlOutboundPort(
+		String uri,
+		Class<? extends RequiredCI> implementedInterface,
+		ComponentI owner
+		) throws Exception
+	{
+		super(uri, implementedInterface, owner);
+		assert	StandardEquipmentControlCI.class.
+									isAssignableFrom(implementedInterface) :
+				new PreconditionException(
+						"StandardEquipmentControlCI.class."
+						+ "isAssignableFrom(implementedInterface)");
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI#getStatus()
+	 */
+	@Override
+	public EquipmentStatus	getStatus() throws Exception
+	{
+		EquipmentStatus ret =
+				((BatchedEquipmentControlCI)this.getConnector()).getStatus();
+		assert	ret != null;
+		return ret;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI#execute(fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentCommand[])
+	 */
+	@Override
+	public boolean[]	execute(EquipmentCommand[] commands) throws Exception
+	{
+		assert	commands != null;
+		boolean[] ret =
+			((BatchedEquipmentControlCI)this.getConnector()).execute(commands);
+		assert	ret != null && ret.length == commands.length;
+		return ret;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI#on()
+	 */
+	@Override
+	public boolean		on() throws Exception
+	{
+		return ((StandardEquipmentControlCI)this.getConnector()).on();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI#switchOn()
+	 */
+	@Override
+	public boolean		switchOn() throws Exception
+	{
+		return ((StandardEquipmentControlCI)this.getConnector()).switchOn();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI#switchOff()
+	 */
+	@Override
+	public boolean		switchOff() throws Exception
+	{
+		return ((StandardEquipmentControlCI)this.getConnector()).switchOff();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI#maxMode()
+	 */
+	@Override
+	public int			maxMode() throws Exception
+	{
+		return ((StandardEquipmentControlCI)this.getConnector()).maxMode();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI#upMode()
+	 */
+	@Override
+	public boolean		upMode() throws Exception
+	{
+		return ((StandardEquipmentControlCI)this.getConnector()).upMode();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI#downMode()
+	 */
+	@Override
+	public boolean		downMode() throws Exception
+	{
+		return ((StandardEquipmentControlCI)this.getConnector()).downMode();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI#setMode(int)
+	 */
+	@Override
+	public boolean		setMode(int modeIndex) throws Exception
+	{
+		return ((StandardEquipmentControlCI)this.getConnector()).
+															setMode(modeIndex);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI#currentMode()
+	 */
+	@Override
+	public int			currentMode() throws Exception
+	{
+		return ((StandardEquipmentControlCI)this.getConnector()).currentMode();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI#suspended()
+	 */
+	@Override
+	public boolean		suspended() throws Exception
+	{
+		return ((SuspensionEquipmentControlCI)this.getConnector()).suspended();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI#suspend()
+	 */
+	@Override
+	public boolean		suspend() throws Exception
+	{
+		return ((SuspensionEquipmentControlCI)this.getConnector()).suspend();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI#resume()
+	 */
+	@Override
+	public boolean		resume() throws Exception
+	{
+		return ((SuspensionEquipmentControlCI)this.getConnector()).resume();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI#emergency()
+	 */
+	@Override
+	public double		emergency() throws Exception
+	{
+		return ((SuspensionEquipmentControlCI)this.getConnector()).emergency();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI#hasPlan()
+	 */
+	@Override
+	public boolean		hasPlan() throws Exception
+	{
+		return ((PlanningEquipmentControlCI)this.getConnector()).hasPlan();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI#isPlanRunning()
+	 */
+	@Override
+	public boolean		isPlanRunning() throws Exception
+	{
+		return ((PlanningEquipmentControlCI)this.getConnector()).
+																isPlanRunning();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI#startTime()
+	 */
+	@Override
+	public Instant		startTime() throws Exception
+	{
+		return ((PlanningEquipmentControlCI)this.getConnector()).startTime();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI#duration()
+	 */
+	@Override
+	public Duration		duration() throws Exception
+	{
+		return ((PlanningEquipmentControlCI)this.getConnector()).duration();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI#deadline()
+	 */
+	@Override
+	public Instant		deadline() throws Exception
+	{
+		return ((PlanningEquipmentControlCI)this.getConnector()).deadline();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI#postpone(java.time.Duration)
+	 */
+	@Override
+	public boolean		postpone(Duration d) throws Exception
+	{
+		return ((PlanningEquipmentControlCI)this.getConnector()).postpone(d);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI#cancel()
+	 */
+	@Override
+	public boolean		cancel() throws Exception
+	{
+		return ((PlanningEquipmentControlCI)this.getConnector()).cancel();
+	}
+}
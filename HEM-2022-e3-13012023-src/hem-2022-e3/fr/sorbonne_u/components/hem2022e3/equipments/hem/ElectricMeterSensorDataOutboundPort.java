@@ -0,0 +1,108 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterSensorCI.MeterReadingDataI;
+import fr.sorbonne_u.components.interfaces.DataRequiredCI;
+import fr.sorbonne_u.components.interfaces.DataRequiredCI.DataI;
+import fr.sorbonne_u.components.ports.AbstractDataOutboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>ElectricMeterSensorDataOutboundPort</code> implements the
+ * data outbound port through which the household energy manager receives
+ * the readings pushed by the electric meter.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Black-box Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code getOwner() instanceof HEM}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			ElectricMeterSensorDataOutboundPort
+extends		AbstractDataOutboundPort
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * create the data outbound port.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code owner instanceof HEM}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner			component that owns this port.
+	 * @throws Exception 	<i>to do</i>.
+	 */
+	public				ElectricMeterSensorDataOutboundPort(ComponentI owner)
+	throws Exception
+	{
+		super(DataRequiredCI.PullCI.class, DataRequiredCI.PushCI.class, owner);
+
+		assert	owner instanceof HEM :
+				new PreconditionException("owner instanceof HEM");
+	}
+
+	/**
+	 * create the data outbound port.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code owner instanceof HEM}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param uri			unique identifier of the port.
+	 * @param owner			component that owns this port.
+	 * @throws Exception 	<i>to do</i>.
+	 */
+	public				ElectricMeterSensorDataOutboundPort(
+		String uri,
+		ComponentI owner
+		) throws Exception
+	{
+		super(uri, DataRequiredCI.PullCI.class, DataRequiredCI.PushCI.class,
+			  owner);
+
+		assert	owner instanceof HEM :
+				new PreconditionException("owner instanceof HEM");
+	}
+
+	/**
+	 * receive a meter reading in push mode, handing it to the owner as a
+	 * task so that the meter does not wait for the load shedding it may
+	 * trigger.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code d instanceof MeterReadingDataI}
+	 * post	{@code true}	// no more postconditions.
+	 * </pre>
+	 * 
+	 * @see fr.sorbonne_u.components.interfaces.DataRequiredCI.PushCI#receive(fr.sorbonne_u.components.interfaces.DataRequiredCI.DataI)
+	 */
+	@Override
+	public void			receive(DataI d) throws Exception
+	{
+		this.getOwner().runTask(
+				o -> {	try {
+							((HEM)o).receiveMeterReading((MeterReadingDataI) d);
+						} catch (Exception e) {
+							throw new RuntimeException(e) ;
+						}
+					 });
+	}
+}
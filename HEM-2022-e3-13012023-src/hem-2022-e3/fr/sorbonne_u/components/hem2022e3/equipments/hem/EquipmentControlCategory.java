@@ -0,0 +1,76 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem;
+
+import java.util.EnumSet;
+
+/**
+ * The enumeration <code>EquipmentControlCategory</code> lists the categories
+ * of control that the household energy manager can exert on a registered
+ * equipment.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The categories follow the {@code type} attribute of the control adapter
+ * XML descriptors: {@code standard}, {@code suspension}, {@code planning}
+ * and {@code suspension-and-planning}, to which the production equipments
+ * specific to this project are added. As every consuming equipment can be
+ * switched on and off, any non production equipment belongs to the
+ * {@code STANDARD} category, and a {@code suspension-and-planning} one
+ * belongs to both {@code SUSPENSION} and {@code PLANNING}.
+ * </p>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public enum EquipmentControlCategory
+{
+	/** equipment offering {@code StandardEquipmentControlCI}.				*/
+	STANDARD,
+	/** equipment offering {@code SuspensionEquipmentControlCI}.			*/
+	SUSPENSION,
+	/** equipment offering {@code PlanningEquipmentControlCI}.				*/
+	PLANNING,
+	/** equipment offering {@code ProductionEquipmentControlCI}.			*/
+	PRODUCTION;
+
+	/**
+	 * return the set of categories corresponding to the value of the
+	 * {@code type} attribute of a control adapter descriptor.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code type != null}
+	 * post	{@code return != null && !return.isEmpty()}
+	 * </pre>
+	 *
+	 * @param type	value of the {@code type} attribute of a control adapter descriptor.
+	 * @return		the set of categories corresponding to {@code type}.
+	 */
+	public static EnumSet<EquipmentControlCategory>	fromAdapterType(
+		String type
+		)
+	{
+		assert	type != null;
+
+		switch (type) {
+		case "standard":
+			return EnumSet.of(STANDARD);
+		case "suspension":
+			return EnumSet.of(STANDARD, SUSPENSION);
+		case "planning":
+			return EnumSet.of(STANDARD, PLANNING);
+		case "suspension-and-planning":
+			return EnumSet.of(STANDARD, SUSPENSION, PLANNING);
+		case "production":
+			return EnumSet.of(PRODUCTION);
+		default:
+			throw new IllegalArgumentException(
+							"unknown control adapter type: " + type);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem;
+
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.components.hem2022.interfaces.EquipmentRegistrationCI;
+
+/**
+ * The class <code>EquipmentRegistrationConnector</code> implements the
+ * connector between an equipment and the household energy manager for the
+ * {@code EquipmentRegistrationCI} component interface.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class EquipmentRegistrationConnector
+extends AbstractConnector
+implements EquipmentRegistrationCI
+{
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.EquipmentRegistrationCI#register(java.lang.String, java.lang.String, java.lang.String)
+	 */
+	@Override
+	public boolean		register(
+		String uid,
+		String controlPortURI,
+		String path2xmlControlAdapter
+		) throws Exception
+	{
+		return ((EquipmentRegistrationCI)this.offering).
+							register(uid, controlPortURI, path2xmlControlAdapter);
+	}
+}
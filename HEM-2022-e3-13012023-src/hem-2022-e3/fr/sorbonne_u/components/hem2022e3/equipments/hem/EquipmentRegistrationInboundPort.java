@@ -0,0 +1,88 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022.interfaces.EquipmentRegistrationCI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+
+/**
+ * The class <code>EquipmentRegistrationInboundPort</code> implements the
+ * inbound port through which equipments register on the household energy
+ * manager.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class EquipmentRegistrationInboundPort
+extends AbstractInboundPort
+implements EquipmentRegistrationCI
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * create an inbound port.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code owner instanceof HEM}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner			component owning the port.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public EquipmentRegistrationInboundPort(ComponentI owner) throws Exception
+	{
+		super(EquipmentRegistrationCI.class, owner);
+		assert	owner instanceof HEM;
+	}
+
+	/**
+	 * create an inbound port.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code uri != null && !uri.isEmpty()}
+	 * pre	{@code owner instanceof HEM}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param uri			unique identifier of the port.
+	 * @param owner			component owning the port.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public EquipmentRegistrationInboundPort(String uri, ComponentI owner)
+	throws Exception
+	{
+		super(uri, EquipmentRegistrationCI.class, owner);
+		assert	owner instanceof HEM;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.EquipmentRegistrationCI#register(java.lang.String, java.lang.String, java.lang.String)
+	 */
+	@Override
+	public boolean		register(
+		String uid,
+		String controlPortURI,
+		String path2xmlControlAdapter
+		) throws Exception
+	{
+		return this.getOwner().handleRequest(
+					o -> ((HEM)o).register(uid, controlPortURI,
+										   path2xmlControlAdapter));
+	}
+}
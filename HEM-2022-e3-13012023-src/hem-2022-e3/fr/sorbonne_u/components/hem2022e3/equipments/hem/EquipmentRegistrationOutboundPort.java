@@ -0,0 +1,90 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022.interfaces.EquipmentRegistrationCI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * The class <code>EquipmentRegistrationOutboundPort</code> implements the
+ * outbound port used by equipments to register on the household energy
+ * manager.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class EquipmentRegistrationOutboundPort
+extends AbstractOutboundPort
+implements EquipmentRegistrationCI
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * create an outbound port.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code owner != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner			component owning the port.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public EquipmentRegistrationOutboundPort(ComponentI owner) throws Exception
+	{
+		super(EquipmentRegistrationCI.class, owner);
+	}
+
+	/**
+	 * create an outbound port.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code uri != null && !uri.isEmpty()}
+	 * pre	{@code owner != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param uri			unique identifier of the port.
+	 * @param owner			component owning the port.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public EquipmentRegistrationOutboundPort(String uri, ComponentI owner)
+	throws Exception
+	{
+		super(uri, EquipmentRegistrationCI.class, owner);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.EquipmentRegistrationCI#register(java.lang.String, java.lang.String, java.lang.String)
+	 */
+	@Override
+	public boolean		register(
+		String uid,
+		String controlPortURI,
+		String path2xmlControlAdapter
+		) throws Exception
+	{
+		assert	uid != null && !uid.isEmpty();
+		assert	controlPortURI != null && !controlPortURI.isEmpty();
+		assert	path2xmlControlAdapter != null &&
+										!path2xmlControlAdapter.isEmpty();
+
+		return ((EquipmentRegistrationCI)this.getConnector()).
+							register(uid, controlPortURI, path2xmlControlAdapter);
+	}
+}
@@ -0,0 +1,215 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The class <code>EquipmentRegistry</code> indexes the equipments registered
+ * on the household energy manager by unique identifier and by control
+ * category.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * Registrations arrive on the thread handling the requests of the
+ * registration inbound port while the control loop iterates on the
+ * equipments from the schedulable thread, hence both indexes are concurrent
+ * maps: lookups by identifier are constant time and iterations over a
+ * category are weakly consistent, never throwing a
+ * {@code ConcurrentModificationException}. The category index is created
+ * once with one map per category and never structurally modified afterwards.
+ * Additions and removals are serialised so that both indexes stay coherent.
+ * The registry holds at most {@code capacity} equipments, so that its users
+ * can size their resources once.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code capacity > 0 && size() <= capacity}
+ * invariant	{@code byCategory.keySet().equals(EnumSet.allOf(EquipmentControlCategory.class))}
+ * invariant	{@code byUid.values().stream().allMatch(e -> e.getCategories().stream().allMatch(c -> byCategory.get(c).get(e.getUid()) == e))}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class EquipmentRegistry
+{
+	/** maximal number of registered equipments.							*/
+	protected final int												capacity;
+	/** registered equipments indexed by unique identifier.					*/
+	protected final ConcurrentHashMap<String,RegisteredEquipment>	byUid;
+	/** registered equipments indexed by control category and then by
+	 *  unique identifier.													*/
+	protected final EnumMap<EquipmentControlCategory,
+							ConcurrentHashMap<String,RegisteredEquipment>>
+																byCategory;
+
+	/**
+	 * create an empty registry.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code capacity > 0}
+	 * post	{@code size() == 0}
+	 * post	{@code getCapacity() == capacity}
+	 * </pre>
+	 *
+	 * @param capacity	maximal number of registered equipments.
+	 */
+	public EquipmentRegistry(int capacity)
+	{
+		assert	capacity > 0;
+
+		this.capacity = capacity;
+		this.byUid = new ConcurrentHashMap<>();
+		this.byCategory = new EnumMap<>(EquipmentControlCategory.class);
+		for (EquipmentControlCategory c : EquipmentControlCategory.values()) {
+			this.byCategory.put(c, new ConcurrentHashMap<>());
+		}
+	}
+
+	/**
+	 * add an equipment to the registry, returning false if an equipment with
+	 * the same identifier is already registered or if the registry is full.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code e != null}
+	 * post	{@code !return || get(e.getUid()) == e}
+	 * </pre>
+	 *
+	 * @param e	the equipment to be added.
+	 * @return	true if the equipment has been added, false otherwise.
+	 */
+	public synchronized boolean	add(RegisteredEquipment e)
+	{
+		assert	e != null;
+
+		if (this.byUid.size() >= this.capacity ||
+							this.byUid.putIfAbsent(e.getUid(), e) != null) {
+			return false;
+		}
+		for (EquipmentControlCategory c : e.getCategories()) {
+			this.byCategory.get(c).put(e.getUid(), e);
+		}
+		return true;
+	}
+
+	/**
+	 * remove the equipment with the given identifier from the registry and
+	 * return it, or null if none is registered.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code uid != null}
+	 * post	{@code get(uid) == null}
+	 * </pre>
+	 *
+	 * @param uid	unique identifier of the equipment to be removed.
+	 * @return		the removed equipment or null if none.
+	 */
+	public synchronized RegisteredEquipment	remove(String uid)
+	{
+		assert	uid != null;
+
+		RegisteredEquipment e = this.byUid.remove(uid);
+		if (e != null) {
+			for (EquipmentControlCategory c : e.getCategories()) {
+				this.byCategory.get(c).remove(uid);
+			}
+		}
+		return e;
+	}
+
+	/**
+	 * return the equipment with the given identifier or null if none.
+	 *
+	 * @param uid	unique identifier of an equipment.
+	 * @return		the equipment with the given identifier or null if none.
+	 */
+	public RegisteredEquipment	get(String uid)
+	{
+		assert	uid != null;
+		return this.byUid.get(uid);
+	}
+
+	/**
+	 * return true if an equipment with the given identifier is registered.
+	 *
+	 * @param uid	unique identifier of an equipment.
+	 * @return		true if an equipment with the given identifier is registered.
+	 */
+	public boolean		isRegistered(String uid)
+	{
+		assert	uid != null;
+		return this.byUid.containsKey(uid);
+	}
+
+	/**
+	 * return a live, unmodifiable and weakly consistent view of all the
+	 * registered equipments.
+	 *
+	 * @return	a view of all the registered equipments.
+	 */
+	public Collection<RegisteredEquipment>	all()
+	{
+		return Collections.unmodifiableCollection(this.byUid.values());
+	}
+
+	/**
+	 * return a live, unmodifiable and weakly consistent view of the
+	 * registered equipments of the given category.
+	 *
+	 * @param c	a control category.
+	 * @return	a view of the registered equipments of category {@code c}.
+	 */
+	public Collection<RegisteredEquipment>	ofCategory(
+		EquipmentControlCategory c
+		)
+	{
+		assert	c != null;
+		return Collections.unmodifiableCollection(
+											this.byCategory.get(c).values());
+	}
+
+	/**
+	 * return the maximal number of registered equipments.
+	 *
+	 * @return	the maximal number of registered equipments.
+	 */
+	public int			getCapacity()
+	{
+		return this.capacity;
+	}
+
+	/**
+	 * return true if no more equipment can be registered.
+	 *
+	 * @return	true if no more equipment can be registered.
+	 */
+	public boolean		isFull()
+	{
+		return this.byUid.size() >= this.capacity;
+	}
+
+	/**
+	 * return the number of registered equipments.
+	 *
+	 * @return	the number of registered equipments.
+	 */
+	public int			size()
+	{
+		return this.byUid.size();
+	}
+}
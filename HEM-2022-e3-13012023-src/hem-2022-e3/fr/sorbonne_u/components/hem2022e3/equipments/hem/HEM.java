@@ -33,7 +33,9 @@ package fr.sorbonne_u.components.hem2022e3.equipments.hem;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.annotations.OfferedInterfaces;
 import fr.sorbonne_u.components.annotations.RequiredInterfaces;
+import fr.sorbonne_u.components.connectors.DataConnector;
 import fr.sorbonne_u.components.cyphy.tools.aclocks.AcceleratedClock;
 import fr.sorbonne_u.components.cyphy.tools.aclocks.ClockServer;
 import fr.sorbonne_u.components.cyphy.tools.aclocks.ClockServerCI;
@@ -41,39 +43,99 @@ import fr.sorbonne_u.components.cyphy.tools.aclocks.ClockServerConnector;
 import fr.sorbonne_u.components.cyphy.tools.aclocks.ClockServerOutboundPort;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
+import fr.sorbonne_u.components.hem2022.interfaces.EquipmentRegistrationCI;
+import fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI;
 import fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI;
 import fr.sorbonne_u.components.hem2022.interfaces.SuspensionAndPlanningEquipmentControlCI;
 import fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI;
-import fr.sorbonne_u.components.hem2022e1.equipments.hem.HeaterConnector;
-import fr.sorbonne_u.components.hem2022e1.equipments.hem.SuspensionAndPlanningEquipmentControlOutboundPort;
-import fr.sorbonne_u.components.hem2022e1.equipments.hem.SuspensionEquipmentControlOutboundPort;
-import fr.sorbonne_u.components.hem2022e1.equipments.meter.ElectricMeterCI;
-import fr.sorbonne_u.components.hem2022e1.equipments.meter.ElectricMeterConnector;
-import fr.sorbonne_u.components.hem2022e1.equipments.meter.ElectricMeterOutboundPort;
 import fr.sorbonne_u.components.hem2022e3.equipments.airconditioner.AirConditioner;
-import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.Refrigerator;
-import fr.sorbonne_u.components.hem2022e3.equipments.solar.SolarPanel;
-import fr.sorbonne_u.components.hem2022e3.interfaces.ProductionEquipmentControlCI;
-import fr.sorbonne_u.components.hem2022e3.production.ProductionEquipmentControlOutboundPort;
 import fr.sorbonne_u.components.hem2022e3.equipments.heater.ThermostatedHeater;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.adapter.ControlAdapterCompiler;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.planning.PlanningOptimizer;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.planning.SolarProductionForecast;
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.IndoorGarden;
 import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeter;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerImplementationI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterSensorCI.MeterReadingDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.solar.SolarPanel;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentCommand;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentStatus;
+import fr.sorbonne_u.components.hem2022e3.interfaces.ProductionEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.production.ProductionEquipmentControlOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.utils.RealTimeProbe;
+import fr.sorbonne_u.components.interfaces.DataRequiredCI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 import fr.sorbonne_u.exceptions.PreconditionException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 // -----------------------------------------------------------------------------
 /**
- * The class <code>HEM</code> implements the basis for a household energy
- * management component.
+ * The class <code>HEM</code> implements the household energy management
+ * component, which registers the appliances, keeps the power drawn from the
+ * grid under the contracted power and shifts the planned programs towards
+ * the solar production.
  *
  * <p><strong>Description</strong></p>
  * 
  * <p>
- * As is, this component is only a very limited starting point for the actual
- * component. The given code is there only to ease the understanding of the
- * objectives, but most of it must be replaced to get the correct code.
- * Especially, no registration of the components representing the appliances
- * is given.
+ * The component receives the readings of the electric meter, periodically
+ * queries the state of the registered appliances, sheds and restores load
+ * through the suspension control and optimises the programs of the
+ * appliances offering the planning control, as detailed below.
+ * </p>
+ * <p>
+ * Appliances are controlled through outbound ports created at run-time when
+ * they register, either through the {@code EquipmentRegistrationCI} inbound
+ * port offered by the component or, for the appliances of the integration
+ * test, by the component itself when it starts. Registered appliances are
+ * kept in an {@code EquipmentRegistry} indexed by unique identifier and by
+ * control category, so that the control loop only iterates over the
+ * appliances actually connected. The outbound ports of consuming appliances
+ * implement {@code BatchedEquipmentControlCI}, so that the control loop reads
+ * the whole state of an appliance in a single call, which crosses the
+ * connector as is when the appliance offers this interface too.
+ * </p>
+ * <p>
+ * The electric meter is not polled: it pushes its readings through the
+ * {@code ElectricMeterSensorCI} data interface whenever the consumption or
+ * the production intensity changes significantly, and at least once per
+ * heartbeat period. Each reading carries the instantaneous power of the
+ * house and of each appliance, on which the load shedding is decided; a
+ * significant change triggers the load shedding immediately upon reception,
+ * so that the reaction to a consumption spike does not wait for the next
+ * control period.
+ * </p>
+ * <p>
+ * At each control period, the queries to the appliances are submitted
+ * together to a dedicated executor service and then joined against a
+ * common deadline set to a fraction of the control period. The executor
+ * service is created once with one thread per equipment the registry can
+ * hold, registrations beyond {@code MAX_EQUIPMENTS} being refused, so that
+ * there is always at least one thread per consuming appliance and the latency of
+ * the loop is bounded by the slowest answer or by the deadline rather than
+ * by the sum of all of the calls. Appliances which have not answered in
+ * time are reported in the trace and keep their last known status in
+ * {@code statuses}; they are not queried again until their pending query
+ * terminates, so that a hung appliance holds at most one thread.
+ * </p>
+ * <p>
+ * From the last readings, a {@code LoadShedder} decides which suspendable
+ * appliances must be suspended so that the power drawn from the grid stays
+ * under the contracted power, and which ones can be resumed when the
+ * headroom allows it; the control loop then applies these decisions.
+ * Finally, the programs of the appliances offering the planning control
+ * are given to a {@code PlanningOptimizer} which postpones or advances the
+ * new ones to maximise the self-consumption of the solar production.
  * </p>
  * 
  * <p><strong>White-box Invariant</strong></p>
@@ -82,12 +144,21 @@ import java.util.concurrent.TimeUnit;
  * invariant	{@code STANDARD_CONTROL_PERIOD > 0.0}
  * invariant	{@code controlPeriod > 0L}
  * invariant	{@code !isUnderTest || clockURI != null && !clockURI.isEmpty()}
+ * invariant	{@code registry != null}
+ * invariant	{@code MAX_EQUIPMENTS > 0}
+ * invariant	{@code registry.getCapacity() == MAX_EQUIPMENTS}
+ * invariant	{@code QUERY_DEADLINE_FRACTION > 0.0 && QUERY_DEADLINE_FRACTION <= 1.0}
+ * invariant	{@code queryDeadline > 0L && queryDeadline <= controlPeriod}
+ * invariant	{@code STANDARD_CONTRACTED_POWER > 0.0}
+ * invariant	{@code STANDARD_SHEDDING_HYSTERESIS >= 0.0}
+ * invariant	{@code loadShedder != null}
+ * invariant	{@code planningOptimizer != null}
  * </pre>
  * 
  * <p><strong>Black-box Invariant</strong></p>
  * 
  * <pre>
- * invariant	{@code true}	// no more invariant
+ * invariant	{@code REGISTRATION_INBOUND_PORT_URI != null && !REGISTRATION_INBOUND_PORT_URI.isEmpty()}
  * </pre>
  * 
  * <p>Created on : 2021-09-09</p>
@@ -95,12 +166,16 @@ import java.util.concurrent.TimeUnit;
  * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
  */
 //-----------------------------------------------------------------------------
+@OfferedInterfaces(offered = {EquipmentRegistrationCI.class,
+							   DataRequiredCI.PushCI.class})
 @RequiredInterfaces(required = {StandardEquipmentControlCI.class,
 								SuspensionEquipmentControlCI.class,
+								PlanningEquipmentControlCI.class,
 								SuspensionAndPlanningEquipmentControlCI.class,
-								ElectricMeterCI.class,
+								DataRequiredCI.PullCI.class,
 								ClockServerCI.class,
-								ProductionEquipmentControlCI.class})
+								ProductionEquipmentControlCI.class,
+								BatchedEquipmentControlCI.class})
 //-----------------------------------------------------------------------------
 public class			HEM
 extends		AbstractComponent
@@ -109,24 +184,100 @@ extends		AbstractComponent
 	// Constants and variables
 	// -------------------------------------------------------------------------
 
-	/** outbound port connecting to to the electric meter component.		*/
-	protected ElectricMeterOutboundPort							meterop;
-	/** outbound port connecting to to the thermostated heater component.	*/
-	protected SuspensionEquipmentControlOutboundPort			heaterop;
-	/** outbound port connecting to to the refrigerator component.	*/
-	protected SuspensionEquipmentControlOutboundPort			refrigeratorop;
-	/** outbound port connecting to to the indoor garden component.			*/
-	protected SuspensionAndPlanningEquipmentControlOutboundPort	indoorGardenop;
-	/** outbound port connecting to to the air conditioner component.			*/
-	protected SuspensionAndPlanningEquipmentControlOutboundPort	airConditionerop;
-	/** outbound port connecting to to the solar panel component.			*/
-	protected ProductionEquipmentControlOutboundPort	solarPanelop;
+	/** URI of the inbound port offering the registration service.		*/
+	public static final String	REGISTRATION_INBOUND_PORT_URI =
+											"HEM-REGISTRATION-INBOUND-PORT-URI";
+	/** unique identifier of the thermostated heater of the integration
+	 *  test.																*/
+	public static final String	HEATER_UID = "HEATER-UID";
+	/** unique identifier of the refrigerator of the integration test.		*/
+	public static final String	REFRIGERATOR_UID = "REFRIGERATOR-UID";
+	/** unique identifier of the indoor garden of the integration test.	*/
+	public static final String	INDOOR_GARDEN_UID = "INDOOR-GARDEN-UID";
+	/** unique identifier of the air conditioner of the integration test.	*/
+	public static final String	AIR_CONDITIONER_UID = "AIR-CONDITIONER-UID";
+	/** unique identifier of the solar panel of the integration test.		*/
+	public static final String	SOLAR_PANEL_UID = "SOLAR-PANEL-UID";
+
+	/** control adapter descriptor of the thermostated heater.			*/
+	public static final String	HEATER_DESCRIPTOR =
+									ThermostatedHeater.CONTROL_ADAPTER_DESCRIPTOR;
+	/** control adapter descriptor of the refrigerator.					*/
+	public static final String	REFRIGERATOR_DESCRIPTOR =
+									"hem-adapter/refrigerator-e3-descriptor.xml";
+	/** control adapter descriptor of the indoor garden.					*/
+	public static final String	INDOOR_GARDEN_DESCRIPTOR =
+									IndoorGarden.CONTROL_ADAPTER_DESCRIPTOR;
+	/** control adapter descriptor of the air conditioner.					*/
+	public static final String	AIR_CONDITIONER_DESCRIPTOR =
+									AirConditioner.CONTROL_ADAPTER_DESCRIPTOR;
+	/** control adapter descriptor of the solar panel.						*/
+	public static final String	SOLAR_PANEL_DESCRIPTOR =
+									"hem-adapter/solar-panel-e3-descriptor.xml";
+
+	/** data outbound port receiving the readings pushed by the electric
+	 *  meter component.													*/
+	protected ElectricMeterSensorDataOutboundPort				meterSensorop;
+	/** inbound port offering the registration service.					*/
+	protected EquipmentRegistrationInboundPort					registrationip;
+	/** registered equipments and their control outbound ports.			*/
+	protected final EquipmentRegistry							registry;
 
 	/** standard control period in seconds.									*/
 	protected static final double		STANDARD_CONTROL_PERIOD = 60.0;
 
 	/** control period in nanoseconds.										*/
 	protected long						controlPeriod;
+
+	/** URI of the executor service used to query the equipments.			*/
+	protected static final String		QUERY_EXECUTOR_URI =
+														"HEM-QUERY-EXECUTOR";
+	/** maximal number of registered equipments, which is also the number
+	 *  of threads used to query them in parallel.							*/
+	protected static final int			MAX_EQUIPMENTS = 16;
+	/** fraction of the control period after which the queries not yet
+	 *  answered are considered as late.									*/
+	protected static final double		QUERY_DEADLINE_FRACTION = 0.5;
+	/** index of the executor service used to query the equipments.		*/
+	protected final int					queryExecutorIndex;
+	/** delay in nanoseconds given to the queries of one control period.	*/
+	protected long						queryDeadline;
+	/** last known status of the consuming equipments by identifier.		*/
+	protected final ConcurrentHashMap<String,EquipmentStatus>	statuses;
+	/** time in nanoseconds at which each status of {@code statuses} has
+	 *  been requested or, when it has been forgotten after a command, at
+	 *  which it has been; answers to queries requested before are ignored.	*/
+	protected final ConcurrentHashMap<String,Long>	statusTimes;
+	/** last consumed power in watts pushed by the electric meter.		*/
+	protected volatile double			currentConsumption;
+	/** last produced power in watts pushed by the electric meter.			*/
+	protected volatile double			currentProduction;
+	/** equipments queried during the current control period, reused
+	 *  from one period to the next.										*/
+	protected final ArrayList<RegisteredEquipment>			queried;
+	/** queries submitted during the current control period, in the same
+	 *  order as {@code queried}.											*/
+	protected final ArrayList<Future<EquipmentStatus>>		submitted;
+	/** queries not answered yet by identifier of the queried equipment.	*/
+	protected final ConcurrentHashMap<String,Future<EquipmentStatus>>
+															pendingQueries;
+
+	/** standard contracted power in watts.									*/
+	public static final double			STANDARD_CONTRACTED_POWER = 3000.0;
+	/** standard margin in watts required to resume a shed equipment.		*/
+	public static final double			STANDARD_SHEDDING_HYSTERESIS = 200.0;
+	/** commands used to suspend an equipment.								*/
+	protected static final EquipmentCommand[]	SUSPEND_COMMANDS =
+										new EquipmentCommand[]{
+											EquipmentCommand.SUSPEND};
+	/** commands used to resume an equipment.								*/
+	protected static final EquipmentCommand[]	RESUME_COMMANDS =
+										new EquipmentCommand[]{
+											EquipmentCommand.RESUME};
+	/** decides the suspensions and resumptions of the equipments.			*/
+	protected final LoadShedder			loadShedder;
+	/** shifts the planned programs of the equipments.						*/
+	protected final PlanningOptimizer	planningOptimizer;
 	/** when true, the component executes in test mode.						*/
 	protected final boolean				isUnderTest;
 	/** outbound port to connect to the centralised clock server.			*/
@@ -136,6 +287,9 @@ extends		AbstractComponent
 	protected final String				clockURI;
 	/** accelerated clock used to implement the simulation scenario.		*/
 	protected AcceleratedClock			clock;
+	/** probe measuring the jitter of the control loop, null when the real
+	 *  time measures are not enabled.										*/
+	protected final RealTimeProbe		probe;
 
 	// -------------------------------------------------------------------------
 	// Constructors
@@ -158,6 +312,35 @@ extends		AbstractComponent
 		boolean isUnderTest,
 		String clockURI
 		)
+	{
+		this(isUnderTest, clockURI,
+			 STANDARD_CONTRACTED_POWER, STANDARD_SHEDDING_HYSTERESIS);
+	}
+
+	/**
+	 * create a household energy manager component with the given contracted
+	 * power and load shedding hysteresis.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code !isUnderTest || clockURI != null && !clockURI.isEmpty()}
+	 * pre	{@code contractedPower > 0.0}
+	 * pre	{@code hysteresis >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param isUnderTest		if true, execute the component in unit testing mode.
+	 * @param clockURI			URI of the clock to be used to synchronise the test scenarios and the simulation.
+	 * @param contractedPower	contracted power in watts.
+	 * @param hysteresis		margin in watts required to resume a shed equipment.
+	 */
+	protected 			HEM(
+		boolean isUnderTest,
+		String clockURI,
+		double contractedPower,
+		double hysteresis
+		)
 	{
 		// 1 standard thread to execute the method execute and 1 schedulable
 		// thread that is used to perform the tests
@@ -168,9 +351,37 @@ extends		AbstractComponent
 						"!isUnderTest || "
 						+ "clockURI != null && !clockURI.isEmpty()");
 
+		assert	contractedPower > 0.0 :
+				new PreconditionException("contractedPower > 0.0");
+		assert	hysteresis >= 0.0 :
+				new PreconditionException("hysteresis >= 0.0");
+
 		this.isUnderTest = isUnderTest;
 		this.clockURI = clockURI;
-		
+		this.probe = RealTimeProbe.forName(HEM.class.getSimpleName());
+		this.loadShedder = new LoadShedder(contractedPower, hysteresis);
+		this.planningOptimizer =
+					new PlanningOptimizer(new SolarProductionForecast());
+		this.registry = new EquipmentRegistry(MAX_EQUIPMENTS);
+		this.statuses = new ConcurrentHashMap<>();
+		this.statusTimes = new ConcurrentHashMap<>();
+		this.queried = new ArrayList<>();
+		this.submitted = new ArrayList<>();
+		this.pendingQueries = new ConcurrentHashMap<>();
+
+		try {
+			this.queryExecutorIndex =
+					this.createNewExecutorService(QUERY_EXECUTOR_URI,
+												  MAX_EQUIPMENTS,
+												  false);
+			this.registrationip =
+				new EquipmentRegistrationInboundPort(
+										REGISTRATION_INBOUND_PORT_URI, this);
+			this.registrationip.publishPort();
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+
 		this.tracer.get().setTitle("Home Energy Manager component");
 		this.tracer.get().setRelativePosition(1, 4);
 		this.toggleTracing();		
@@ -186,50 +397,28 @@ extends		AbstractComponent
 		super.start();
 
 		try {
-			this.meterop = new ElectricMeterOutboundPort(this);
-			this.meterop.publishPort();
+			this.meterSensorop = new ElectricMeterSensorDataOutboundPort(this);
+			this.meterSensorop.publishPort();
 			this.doPortConnection(
-					this.meterop.getPortURI(),
-					ElectricMeter.ELECTRIC_METER_INBOUND_PORT_URI,
-					ElectricMeterConnector.class.getCanonicalName());
+					this.meterSensorop.getPortURI(),
+					ElectricMeter.ELECTRIC_METER_SENSOR_INBOUND_PORT_URI,
+					DataConnector.class.getCanonicalName());
 
-			this.heaterop = new SuspensionEquipmentControlOutboundPort(this);
-			this.heaterop.publishPort();
-			this.doPortConnection(
-					this.heaterop.getPortURI(),
-					ThermostatedHeater.INBOUND_PORT_URI,
-					HeaterConnector.class.getCanonicalName());
-			
-			/*
-			 * this.refrigeratorop = new SuspensionEquipmentControlOutboundPort(this);
-			 * this.refrigeratorop.publishPort(); this.doPortConnection(
-			 * this.refrigeratorop.getPortURI(), Refrigerator.INBOUND_PORT_URI,
-			 * RefrigeratorConnector.class.getCanonicalName());
-			 */
-
-			this.indoorGardenop =
-					new SuspensionAndPlanningEquipmentControlOutboundPort(this);
-			this.indoorGardenop.publishPort();
-			this.doPortConnection(
-					this.indoorGardenop.getPortURI(),
-					IndoorGarden.INBOUND_PORT_URI_PREFIX,
-					IndoorGardenConnector.class.getCanonicalName());
-			
-			this.airConditionerop =
-					new SuspensionAndPlanningEquipmentControlOutboundPort(this);
-			this.airConditionerop.publishPort();
-			this.doPortConnection(
-					this.airConditionerop.getPortURI(),
-					AirConditioner.INBOUND_PORT_URI_PREFIX,
-					AirConditionerConnector.class.getCanonicalName());
-			
-			this.solarPanelop =
-					new ProductionEquipmentControlOutboundPort(this);
-			this.solarPanelop.publishPort();
-			this.doPortConnection(
-					this.solarPanelop.getPortURI(),
-					SolarPanel.INBOUND_PORT_URI_PREFIX,
-					SolarPanelConnector.class.getCanonicalName());
+			// the appliances of the integration test do not register
+			// themselves, so the HEM registers them on their behalf; the
+			// refrigerator is not part of the integration test yet.
+			this.register(HEATER_UID,
+						  ThermostatedHeater.INBOUND_PORT_URI,
+						  HEATER_DESCRIPTOR);
+			this.register(INDOOR_GARDEN_UID,
+						  IndoorGarden.INBOUND_PORT_URI_PREFIX,
+						  INDOOR_GARDEN_DESCRIPTOR);
+			this.register(AIR_CONDITIONER_UID,
+						  AirConditioner.INBOUND_PORT_URI_PREFIX,
+						  AIR_CONDITIONER_DESCRIPTOR);
+			this.register(SOLAR_PANEL_UID,
+						  SolarPanel.INBOUND_PORT_URI_PREFIX,
+						  SOLAR_PANEL_DESCRIPTOR);
 
 			if (this.isUnderTest) {
 				this.clockServerOBP = new ClockServerOutboundPort(this);
@@ -261,7 +450,12 @@ extends		AbstractComponent
 					(long) (STANDARD_CONTROL_PERIOD *
 												TimeUnit.SECONDS.toNanos(1));
 		}
+		this.queryDeadline =
+					(long) (this.controlPeriod * QUERY_DEADLINE_FRACTION);
 
+		if (this.probe != null) {
+			this.probe.restartActivations();
+		}
 		this.scheduleTask(
 				o -> ((HEM)o).controlLoop(),
 				this.controlPeriod,
@@ -271,12 +465,10 @@ extends		AbstractComponent
 	@Override
 	public synchronized void	finalise() throws Exception
 	{
-		this.doPortDisconnection(this.meterop.getPortURI());
-		this.doPortDisconnection(this.heaterop.getPortURI());
-//		this.doPortDisconnection(this.refrigeratorop.getPortURI());
-		this.doPortDisconnection(this.indoorGardenop.getPortURI());
-		this.doPortDisconnection(this.airConditionerop.getPortURI());
-		this.doPortDisconnection(this.solarPanelop.getPortURI());
+		this.doPortDisconnection(this.meterSensorop.getPortURI());
+		for (RegisteredEquipment e : this.registry.all()) {
+			this.doPortDisconnection(e.getPort().getPortURI());
+		}
 		super.finalise();
 	}
 
@@ -284,24 +476,475 @@ extends		AbstractComponent
 	public synchronized void	shutdown() throws ComponentShutdownException
 	{
 		try {
-			this.meterop.unpublishPort();
-			this.heaterop.unpublishPort();
-//			this.refrigeratorop.unpublishPort();
-			this.indoorGardenop.unpublishPort();
-			this.airConditionerop.unpublishPort();
-			this.solarPanelop.unpublishPort();
+			this.meterSensorop.unpublishPort();
+			for (RegisteredEquipment e : this.registry.all()) {
+				e.getPort().unpublishPort();
+			}
+			this.registrationip.unpublishPort();
 		} catch (Exception e) {
 			throw new ComponentShutdownException(e) ;
 		}
 		super.shutdown();
 	}
 
+	// -------------------------------------------------------------------------
+	// Component services implementation
+	// -------------------------------------------------------------------------
+
+	/**
+	 * register an equipment and connect to its control inbound port using
+	 * the connector generated from its control adapter descriptor; the
+	 * connector class is generated only once per descriptor.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && !uid.isEmpty()}
+	 * pre	{@code controlPortURI != null && !controlPortURI.isEmpty()}
+	 * pre	{@code path2xmlControlAdapter != null && !path2xmlControlAdapter.isEmpty()}
+	 * post	{@code !return || registry.isRegistered(uid)}
+	 * </pre>
+	 *
+	 * @see fr.sorbonne_u.components.hem2022.interfaces.EquipmentRegistrationCI#register(java.lang.String, java.lang.String, java.lang.String)
+	 * 
+	 * @param uid						unique identifier of the equipment.
+	 * @param controlPortURI			URI of the control inbound port of the equipment.
+	 * @param path2xmlControlAdapter	path to the control adapter descriptor of the equipment.
+	 * @return							true if the registration succeeded, false otherwise.
+	 * @throws Exception				<i>to do</i>.
+	 */
+	public boolean		register(
+		String uid,
+		String controlPortURI,
+		String path2xmlControlAdapter
+		) throws Exception
+	{
+		assert	uid != null && !uid.isEmpty() :
+				new PreconditionException("uid != null && !uid.isEmpty()");
+		assert	controlPortURI != null && !controlPortURI.isEmpty() :
+				new PreconditionException(
+						"controlPortURI != null && !controlPortURI.isEmpty()");
+		assert	path2xmlControlAdapter != null &&
+										!path2xmlControlAdapter.isEmpty() :
+				new PreconditionException(
+						"path2xmlControlAdapter != null && "
+						+ "!path2xmlControlAdapter.isEmpty()");
+
+		if (this.registry.isRegistered(uid) || this.registry.isFull()) {
+			return false;
+		}
+
+		ControlAdapterCompiler.CompiledAdapter a =
+						ControlAdapterCompiler.compile(path2xmlControlAdapter);
+		return this.registerEquipment(uid, controlPortURI, a.getCategories(),
+									  a.getNominalConsumption(),
+									  a.getConnectorClass().getName());
+	}
+
+	/**
+	 * unregister an equipment, disconnecting and unpublishing its control
+	 * outbound port; return false if the equipment was not registered.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && !uid.isEmpty()}
+	 * post	{@code !registry.isRegistered(uid)}
+	 * </pre>
+	 *
+	 * @param uid			unique identifier of the equipment.
+	 * @return				true if the equipment was registered, false otherwise.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public boolean		unregister(String uid) throws Exception
+	{
+		assert	uid != null && !uid.isEmpty() :
+				new PreconditionException("uid != null && !uid.isEmpty()");
+
+		RegisteredEquipment e = this.registry.remove(uid);
+		if (e == null) {
+			return false;
+		}
+		this.statuses.remove(uid);
+		this.statusTimes.remove(uid);
+		this.pendingQueries.remove(uid);
+		this.loadShedder.remove(uid);
+		this.planningOptimizer.remove(uid);
+		this.doPortDisconnection(e.getPort().getPortURI());
+		e.getPort().unpublishPort();
+		this.traceMessage("equipment " + uid + " unregistered.\n");
+		return true;
+	}
+
 	// -------------------------------------------------------------------------
 	// Component internal methods
 	// -------------------------------------------------------------------------
 
 	/**
-	 * control loop of the household energy manager; to be completed.
+	 * create an outbound port for the given control categories, connect it
+	 * to {@code controlPortURI} with the given connector and register the
+	 * equipment; return false if {@code uid} is already registered or if
+	 * {@code MAX_EQUIPMENTS} equipments are already registered.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && !uid.isEmpty()}
+	 * pre	{@code controlPortURI != null && !controlPortURI.isEmpty()}
+	 * pre	{@code categories != null && !categories.isEmpty()}
+	 * pre	{@code nominalConsumption >= 0.0}
+	 * pre	{@code connectorClassName != null && !connectorClassName.isEmpty()}
+	 * post	{@code !return || registry.isRegistered(uid)}
+	 * </pre>
+	 *
+	 * @param uid					unique identifier of the equipment.
+	 * @param controlPortURI		URI of the control inbound port of the equipment.
+	 * @param categories			control categories of the equipment.
+	 * @param nominalConsumption	nominal consumption of the equipment in watts.
+	 * @param connectorClassName	canonical name of the connector class to be used.
+	 * @return						true if the registration succeeded, false otherwise.
+	 * @throws Exception			<i>to do</i>.
+	 */
+	protected boolean	registerEquipment(
+		String uid,
+		String controlPortURI,
+		EnumSet<EquipmentControlCategory> categories,
+		double nominalConsumption,
+		String connectorClassName
+		) throws Exception
+	{
+		assert	connectorClassName != null && !connectorClassName.isEmpty();
+
+		if (this.registry.isRegistered(uid) || this.registry.isFull()) {
+			return false;
+		}
+
+		AbstractOutboundPort p = this.createControlPort(categories);
+		p.publishPort();
+		this.doPortConnection(p.getPortURI(), controlPortURI,
+							  connectorClassName);
+		RegisteredEquipment e =
+				new RegisteredEquipment(uid, controlPortURI, categories,
+										nominalConsumption, p);
+		if (!this.registry.add(e)) {
+			// concurrently registered in the meantime or registry full
+			this.doPortDisconnection(p.getPortURI());
+			p.unpublishPort();
+			return false;
+		}
+		if (e.isOfCategory(EquipmentControlCategory.SUSPENSION)) {
+			this.loadShedder.add(e);
+		}
+		this.traceMessage("equipment " + uid + " registered as "
+						  + categories + ".\n");
+		return true;
+	}
+
+	/**
+	 * create the outbound port matching the given control categories.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code categories != null && !categories.isEmpty()}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param categories	control categories of an equipment.
+	 * @return				a new, unpublished outbound port.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected AbstractOutboundPort	createControlPort(
+		EnumSet<EquipmentControlCategory> categories
+		) throws Exception
+	{
+		assert	categories != null && !categories.isEmpty();
+
+		if (categories.contains(EquipmentControlCategory.PRODUCTION)) {
+			return new ProductionEquipmentControlOutboundPort(this);
+		}
+		return new BatchedEquipmentControlOutboundPort(
+						ControlAdapterCompiler.requiredInterface(categories),
+						this);
+	}
+
+	/**
+	 * wait for the result of {@code f} until {@code deadline}, returning
+	 * null if it is not available by then.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code f != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param <T>			type of the result.
+	 * @param f				future result of a query.
+	 * @param deadline		deadline as given by {@code System.nanoTime()}.
+	 * @return				the result or null if late.
+	 * @throws Exception	if the query has failed.
+	 */
+	protected static <T> T	awaitQuery(Future<T> f, long deadline)
+	throws Exception
+	{
+		try {
+			return f.get(Math.max(deadline - System.nanoTime(), 0L),
+						 TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			return null;
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof Exception ?
+						(Exception) e.getCause() : e;
+		}
+	}
+
+	/**
+	 * query the consuming equipments in parallel, update {@code statuses}
+	 * with the answers received before the deadline and append the
+	 * equipments which have not answered in time to {@code late}; the
+	 * equipments which have not yet answered a query of a previous period
+	 * are not queried again and are appended to {@code late} at once.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code late != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param late			buffer receiving the identifiers of the late equipments.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected void		queryEquipments(StringBuffer late) throws Exception
+	{
+		long queryTime = System.nanoTime();
+		long deadline = queryTime + this.queryDeadline;
+
+		this.queried.clear();
+		this.submitted.clear();
+		for (RegisteredEquipment e :
+					this.registry.ofCategory(EquipmentControlCategory.STANDARD)) {
+			Future<EquipmentStatus> f = this.pendingQueries.get(e.getUid());
+			if (f != null && !f.isDone()) {
+				// still blocked on the query of a previous period
+				late.append(' ');
+				late.append(e.getUid());
+				continue;
+			}
+			f = this.handleRequest(this.queryExecutorIndex,
+								   o -> e.batchedControl().getStatus());
+			this.pendingQueries.put(e.getUid(), f);
+			this.queried.add(e);
+			this.submitted.add(f);
+		}
+
+		for (int i = 0 ; i < this.queried.size() ; i++) {
+			RegisteredEquipment e = this.queried.get(i);
+			Future<EquipmentStatus> f = this.submitted.get(i);
+			EquipmentStatus status;
+			try {
+				status = awaitQuery(f, deadline);
+			} catch (Exception ex) {
+				this.pendingQueries.remove(e.getUid(), f);
+				this.traceMessage("query of " + e.getUid() + " failed: "
+								  + ex + "\n");
+				continue;
+			}
+			if (status != null) {
+				this.pendingQueries.remove(e.getUid(), f);
+				// the equipment may have been unregistered in between
+				if (this.registry.isRegistered(e.getUid())) {
+					// a status and its time are seen together by the shedder
+					synchronized (this.loadShedder) {
+						Long t = this.statusTimes.get(e.getUid());
+						if (t == null || queryTime > t) {
+							this.statuses.put(e.getUid(), status);
+							this.statusTimes.put(e.getUid(), queryTime);
+						}
+					}
+				}
+			} else {
+				late.append(' ');
+				late.append(e.getUid());
+			}
+		}
+	}
+
+	/**
+	 * record a reading pushed by the electric meter and, when it reports a
+	 * significant change rather than a mere heartbeat, run the load shedding
+	 * at once.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code d != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param d				reading pushed by the electric meter.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public void			receiveMeterReading(MeterReadingDataI d)
+	throws Exception
+	{
+		assert	d != null : new PreconditionException("d != null");
+
+		this.currentConsumption =
+			d.getPower(ElectricMeterPowerImplementationI.TOTAL_CONSUMPTION);
+		this.currentProduction =
+			d.getPower(ElectricMeterPowerImplementationI.TOTAL_PRODUCTION);
+		if (!d.isHeartbeat()) {
+			StringBuffer sb = new StringBuffer("meter reading ");
+			sb.append(d);
+			sb.append(".\n");
+			this.shedLoad(sb);
+			this.traceMessage(sb.toString());
+		}
+	}
+
+	/**
+	 * run the load shedding decision step on the last known readings and
+	 * statuses, then apply its decisions to the equipments. As it is run
+	 * both by the control loop and upon the reception of meter readings,
+	 * the decision is taken under the lock of the shedder, which keeps the
+	 * equipments being suspended or resumed out of a concurrent decision,
+	 * but the commands are sent without it so that a slow equipment does
+	 * not block the other decisions and the queries; the lock is taken
+	 * again to acknowledge each command. The statuses of the equipments
+	 * suspended or resumed are forgotten until their next answer, so that
+	 * a decision taken before then, e.g., upon the meter reading caused by
+	 * the suspension itself, does not rely on them.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code sb != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param sb			buffer receiving the trace of the decisions.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected void		shedLoad(StringBuffer sb) throws Exception
+	{
+		RegisteredEquipment[] toSuspend;
+		RegisteredEquipment[] toResume;
+		synchronized (this.loadShedder) {
+			this.loadShedder.decide(this.currentConsumption,
+									this.currentProduction,
+									this.statuses,
+									this.statusTimes);
+			if (this.loadShedder.getNbToSuspend() == 0 &&
+									this.loadShedder.getNbToResume() == 0) {
+				return;
+			}
+			// the next decision overwrites the arrays of the shedder
+			toSuspend = Arrays.copyOf(this.loadShedder.getToSuspend(),
+									  this.loadShedder.getNbToSuspend());
+			toResume = Arrays.copyOf(this.loadShedder.getToResume(),
+									 this.loadShedder.getNbToResume());
+		}
+
+		for (int i = 0 ; i < toSuspend.length ; i++) {
+			boolean done = toSuspend[i].batchedControl().
+												execute(SUSPEND_COMMANDS)[0];
+			synchronized (this.loadShedder) {
+				long t = System.nanoTime();
+				this.loadShedder.acknowledgeSuspension(toSuspend[i], done, t);
+				if (done) {
+					this.forgetStatus(toSuspend[i].getUid(), t);
+				}
+			}
+			sb.append(toSuspend[i].getUid());
+			sb.append(done ? " suspended.\n" : " could not be suspended.\n");
+		}
+		for (int i = 0 ; i < toResume.length ; i++) {
+			boolean done = toResume[i].batchedControl().
+												execute(RESUME_COMMANDS)[0];
+			if (done) {
+				this.forgetStatus(toResume[i].getUid(), System.nanoTime());
+			}
+			sb.append(toResume[i].getUid());
+			sb.append(done ? " resumed.\n" : " could not be resumed.\n");
+		}
+	}
+
+	/**
+	 * forget the known status of the equipment {@code uid}, which is stale
+	 * after a command, so that only the answer to a query requested after
+	 * {@code time} replaces it.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null}
+	 * post	{@code !statuses.containsKey(uid)}
+	 * </pre>
+	 *
+	 * @param uid	unique identifier of the equipment.
+	 * @param time	time in nanoseconds at which the command has been applied.
+	 */
+	protected void		forgetStatus(String uid, long time)
+	{
+		synchronized (this.loadShedder) {
+			this.statuses.remove(uid);
+			this.statusTimes.put(uid, time);
+		}
+	}
+
+	/**
+	 * give the last known statuses of the planning equipments to the
+	 * planning optimizer and apply the shifts it decides.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code sb != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param sb			buffer receiving the trace of the decisions.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected void		optimisePlans(StringBuffer sb) throws Exception
+	{
+		Instant now = this.clock != null ?
+							this.clock.currentInstant() : Instant.now();
+		for (RegisteredEquipment e :
+					this.registry.ofCategory(EquipmentControlCategory.PLANNING)) {
+			EquipmentStatus status = this.statuses.get(e.getUid());
+			if (status == null) {
+				continue;
+			}
+			Duration shift =
+				this.planningOptimizer.plan(e.getUid(),
+											e.getNominalConsumption(),
+											status, now);
+			if (shift != null) {
+				boolean done = e.batchedControl().execute(
+							new EquipmentCommand[]{
+									EquipmentCommand.postpone(shift)})[0];
+				if (done) {
+					// the known status is stale until the next answer
+					this.statuses.remove(e.getUid(), status);
+				} else {
+					this.planningOptimizer.notApplied(e.getUid(),
+													  status.getStartTime());
+				}
+				sb.append(e.getUid());
+				sb.append(done ? " plan shifted by " : " plan not shifted by ");
+				sb.append(shift);
+				sb.append(".\n");
+			}
+		}
+	}
+
+	/**
+	 * control loop of the household energy manager: query the equipments,
+	 * shed or restore load given the last meter readings, then optimise the
+	 * plans.
 	 * 
 	 * <p><strong>Contract</strong></p>
 	 * 
@@ -313,12 +956,32 @@ extends		AbstractComponent
 	 */
 	protected void		controlLoop()
 	{
+		if (this.probe != null) {
+			this.probe.recordActivation(this.controlPeriod);
+		}
 		try {
+			StringBuffer late = new StringBuffer();
+			this.queryEquipments(late);
+
 			StringBuffer sb = new StringBuffer("consumption = ");
-			sb.append(this.meterop.getCurrentConsumption());
-			sb.append(" production = ");
-			sb.append(this.meterop.getCurrentProduction());
-			sb.append(".\n");
+			sb.append(this.currentConsumption);
+			sb.append(" W production = ");
+			sb.append(this.currentProduction);
+			sb.append(" W.\n");
+			for (RegisteredEquipment e :
+					this.registry.ofCategory(EquipmentControlCategory.STANDARD)) {
+				sb.append(e.getUid());
+				sb.append(": ");
+				sb.append(this.statuses.get(e.getUid()));
+				sb.append('\n');
+			}
+			if (late.length() > 0) {
+				sb.append("late:");
+				sb.append(late);
+				sb.append(".\n");
+			}
+			this.shedLoad(sb);
+			this.optimisePlans(sb);
 			this.traceMessage(sb.toString());
 		} catch (Exception e) {
 			throw new RuntimeException(e) ;
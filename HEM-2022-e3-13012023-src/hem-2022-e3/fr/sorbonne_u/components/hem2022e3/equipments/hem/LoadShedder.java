@@ -0,0 +1,436 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentStatus;
+
+/**
+ * The class <code>LoadShedder</code> decides which suspendable equipments
+ * must be suspended or resumed so that the power drawn from the grid stays
+ * under the contracted power.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * When the consumption minus the production exceeds the contracted power,
+ * the running suspendable equipments are ranked by the emergency of their
+ * resumption, lowest first, using a binary heap, and suspended one after the
+ * other until the sum of their nominal consumptions covers the excess. As
+ * {@code emergency()} can only be called on a suspended equipment, the rank
+ * of an equipment is the last emergency observed while it was suspended,
+ * 0.0 if it has never been. Equipments suspended by the shedder are kept on
+ * a stack and resumed in the reverse order of their suspension, one at a
+ * time, when the headroom exceeds the nominal consumption of the top one
+ * plus a hysteresis, so that an equipment is not resumed only to be
+ * suspended again at the next period. An equipment which emergency reaches
+ * {@code MAX_EMERGENCY} is resumed whatever the headroom.
+ * </p>
+ * <p>
+ * An equipment leaves the stack without being resumed by the shedder when
+ * a status shows that it is no longer suspended, e.g., because its user
+ * resumed or switched it off. As a status may have been requested before
+ * the suspension and received after it, the caller gives the time at which
+ * each status has been requested and acknowledges each suspension with the
+ * time at which it has been applied; only a status requested after this
+ * acknowledgement may remove an equipment from the stack.
+ * </p>
+ * <p>
+ * The decision step allocates nothing: equipments are kept in arrays sized
+ * when they are added, and the decisions are written into the arrays
+ * returned by {@code getToSuspend()} and {@code getToResume()}, the caller
+ * being responsible for the actual calls to the equipments. Additions and
+ * removals come from the registration thread while decisions are taken on
+ * the control loop thread, hence all of the methods are synchronised.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code contractedPower > 0.0}
+ * invariant	{@code hysteresis >= 0.0}
+ * invariant	{@code nbEquipments >= 0 && nbEquipments <= equipments.length}
+ * invariant	{@code nbShed >= 0 && nbShed <= nbEquipments}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class LoadShedder
+{
+	/** emergency from which a shed equipment is resumed unconditionally.	*/
+	public static final double		MAX_EMERGENCY = 1.0;
+	/** initial capacity of the arrays.										*/
+	protected static final int		INITIAL_CAPACITY = 8;
+
+	/** contracted power in watts.											*/
+	protected final double			contractedPower;
+	/** margin in watts over the nominal consumption of an equipment that
+	 *  the headroom must exceed before resuming it.						*/
+	protected final double			hysteresis;
+
+	/** suspendable equipments known by the shedder.						*/
+	protected RegisteredEquipment[]	equipments;
+	/** last emergency observed for each equipment of {@code equipments}.	*/
+	protected double[]				lastEmergency;
+	/** number of equipments in {@code equipments}.						*/
+	protected int					nbEquipments;
+
+	/** indexes in {@code equipments} of the equipments suspended by the
+	 *  shedder, in the order of their suspension.							*/
+	protected int[]					shed;
+	/** number of equipments suspended by the shedder.						*/
+	protected int					nbShed;
+	/** for each equipment of {@code equipments} on the stack, time in
+	 *  nanoseconds at which its suspension has been acknowledged, or
+	 *  {@code Long.MAX_VALUE} while it has not.							*/
+	protected long[]				shedTime;
+
+	/** binary min-heap of indexes in {@code equipments} ordered by
+	 *  {@code lastEmergency}.												*/
+	protected int[]					heap;
+	/** number of elements in {@code heap}.									*/
+	protected int					heapSize;
+
+	/** equipments to be suspended as decided by the last step.			*/
+	protected RegisteredEquipment[]	toSuspend;
+	/** number of equipments to be suspended.								*/
+	protected int					nbToSuspend;
+	/** equipments to be resumed as decided by the last step.				*/
+	protected RegisteredEquipment[]	toResume;
+	/** number of equipments to be resumed.									*/
+	protected int					nbToResume;
+
+	/**
+	 * create a load shedder.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code contractedPower > 0.0}
+	 * pre	{@code hysteresis >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param contractedPower	contracted power in watts.
+	 * @param hysteresis		margin in watts required to resume an equipment.
+	 */
+	public LoadShedder(double contractedPower, double hysteresis)
+	{
+		assert	contractedPower > 0.0;
+		assert	hysteresis >= 0.0;
+
+		this.contractedPower = contractedPower;
+		this.hysteresis = hysteresis;
+		this.equipments = new RegisteredEquipment[INITIAL_CAPACITY];
+		this.lastEmergency = new double[INITIAL_CAPACITY];
+		this.shed = new int[INITIAL_CAPACITY];
+		this.shedTime = new long[INITIAL_CAPACITY];
+		this.heap = new int[INITIAL_CAPACITY];
+		this.toSuspend = new RegisteredEquipment[INITIAL_CAPACITY];
+		this.toResume = new RegisteredEquipment[INITIAL_CAPACITY];
+	}
+
+	/** @return	the contracted power in watts.								*/
+	public double		getContractedPower()	{ return this.contractedPower; }
+
+	/**
+	 * add a suspendable equipment to the ones managed by the shedder.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code e != null && e.isOfCategory(EquipmentControlCategory.SUSPENSION)}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param e	the equipment to be added.
+	 */
+	public synchronized void	add(RegisteredEquipment e)
+	{
+		assert	e != null && e.isOfCategory(EquipmentControlCategory.SUSPENSION);
+
+		if (this.nbEquipments == this.equipments.length) {
+			int n = 2*this.equipments.length;
+			this.equipments = Arrays.copyOf(this.equipments, n);
+			this.lastEmergency = Arrays.copyOf(this.lastEmergency, n);
+			this.shed = Arrays.copyOf(this.shed, n);
+			this.shedTime = Arrays.copyOf(this.shedTime, n);
+			this.heap = new int[n];
+			this.toSuspend = new RegisteredEquipment[n];
+			this.toResume = new RegisteredEquipment[n];
+		}
+		this.equipments[this.nbEquipments] = e;
+		this.lastEmergency[this.nbEquipments] = 0.0;
+		this.nbEquipments++;
+	}
+
+	/**
+	 * remove the equipment with the given identifier, if managed by the
+	 * shedder, forgetting that it has been suspended by it.
+	 *
+	 * @param uid	unique identifier of the equipment to be removed.
+	 */
+	public synchronized void	remove(String uid)
+	{
+		assert	uid != null;
+
+		for (int i = 0 ; i < this.nbEquipments ; i++) {
+			if (this.equipments[i].getUid().equals(uid)) {
+				this.removeShed(i);
+				int last = --this.nbEquipments;
+				this.equipments[i] = this.equipments[last];
+				this.lastEmergency[i] = this.lastEmergency[last];
+				this.shedTime[i] = this.shedTime[last];
+				this.equipments[last] = null;
+				// the equipment moved from last to i may be on the stack
+				for (int j = 0 ; j < this.nbShed ; j++) {
+					if (this.shed[j] == last) {
+						this.shed[j] = i;
+					}
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * decide which equipments must be suspended or resumed given the current
+	 * consumption and production and the last known statuses; the decisions
+	 * are then available through {@code getToSuspend()} and
+	 * {@code getToResume()}, and each suspension must then be acknowledged
+	 * through {@code acknowledgeSuspension}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code consumption >= 0.0 && production >= 0.0}
+	 * pre	{@code statuses != null && statusTimes != null}
+	 * post	{@code getNbToSuspend() == 0 || getNbToResume() == 0}
+	 * </pre>
+	 *
+	 * @param consumption	current consumption in watts.
+	 * @param production	current production in watts.
+	 * @param statuses		last known statuses of the equipments by identifier.
+	 * @param statusTimes	time in nanoseconds at which each status of {@code statuses} has been requested, by identifier.
+	 */
+	public synchronized void	decide(
+		double consumption,
+		double production,
+		Map<String,EquipmentStatus> statuses,
+		Map<String,Long> statusTimes
+		)
+	{
+		assert	consumption >= 0.0 && production >= 0.0;
+		assert	statuses != null && statusTimes != null;
+
+		this.nbToSuspend = 0;
+		this.nbToResume = 0;
+
+		// refresh the emergencies and forget the equipments which are no
+		// longer suspended, e.g., resumed or switched off by their users,
+		// provided that the status has been requested after the suspension.
+		for (int i = 0 ; i < this.nbEquipments ; i++) {
+			String uid = this.equipments[i].getUid();
+			EquipmentStatus s = statuses.get(uid);
+			if (s != null) {
+				if (s.isSuspended()) {
+					this.lastEmergency[i] = s.getEmergency();
+				} else {
+					Long t = statusTimes.get(uid);
+					if (t != null && t > this.shedTime[i]) {
+						this.removeShed(i);
+					}
+				}
+			}
+		}
+
+		double excess = consumption - production - this.contractedPower;
+		if (excess > 0.0) {
+			this.heapSize = 0;
+			for (int i = 0 ; i < this.nbEquipments ; i++) {
+				EquipmentStatus s = statuses.get(this.equipments[i].getUid());
+				if (s != null && s.isOn() && !s.isSuspended()
+												&& !this.isShed(i)) {
+					this.heapPush(i);
+				}
+			}
+			while (excess > 0.0 && this.heapSize > 0) {
+				int i = this.heapPop();
+				this.toSuspend[this.nbToSuspend++] = this.equipments[i];
+				this.shed[this.nbShed++] = i;
+				this.shedTime[i] = Long.MAX_VALUE;
+				excess -= this.equipments[i].getNominalConsumption();
+			}
+		} else {
+			double headroom = -excess;
+			// unconditional resumptions first, from anywhere in the stack
+			for (int j = this.nbShed - 1 ; j >= 0 ; j--) {
+				int i = this.shed[j];
+				if (this.lastEmergency[i] >= MAX_EMERGENCY) {
+					this.toResume[this.nbToResume++] = this.equipments[i];
+					headroom -= this.equipments[i].getNominalConsumption();
+					this.removeShedAt(j);
+				}
+			}
+			while (this.nbShed > 0) {
+				int i = this.shed[this.nbShed - 1];
+				double p = this.equipments[i].getNominalConsumption();
+				if (headroom < p + this.hysteresis) {
+					break;
+				}
+				this.toResume[this.nbToResume++] = this.equipments[i];
+				headroom -= p;
+				this.nbShed--;
+			}
+		}
+	}
+
+	/**
+	 * acknowledge the suspension of {@code e} decided by the last step: when
+	 * it has been applied, the statuses requested after {@code time} may
+	 * remove it from the stack; otherwise, it is removed at once.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code e != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param e		equipment which suspension has been decided.
+	 * @param done	true if the equipment has actually been suspended.
+	 * @param time	time in nanoseconds at which the suspension has been applied.
+	 */
+	public synchronized void	acknowledgeSuspension(
+		RegisteredEquipment e,
+		boolean done,
+		long time
+		)
+	{
+		assert	e != null;
+
+		for (int i = 0 ; i < this.nbEquipments ; i++) {
+			if (this.equipments[i] == e) {
+				if (done) {
+					this.shedTime[i] = time;
+				} else {
+					this.removeShed(i);
+				}
+				return;
+			}
+		}
+	}
+
+	/** @return	the number of equipments to be suspended.					*/
+	public int			getNbToSuspend()	{ return this.nbToSuspend; }
+	/** @return	the equipments to be suspended, valid up to {@code getNbToSuspend()}. */
+	public RegisteredEquipment[]	getToSuspend()	{ return this.toSuspend; }
+	/** @return	the number of equipments to be resumed.						*/
+	public int			getNbToResume()		{ return this.nbToResume; }
+	/** @return	the equipments to be resumed, valid up to {@code getNbToResume()}. */
+	public RegisteredEquipment[]	getToResume()	{ return this.toResume; }
+	/** @return	the number of equipments currently suspended by the shedder. */
+	public synchronized int	getNbShed()		{ return this.nbShed; }
+
+	// -------------------------------------------------------------------------
+	// Internal methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return true if the equipment at index {@code i} is on the stack.
+	 *
+	 * @param i	index of an equipment.
+	 * @return	true if the equipment at index {@code i} is on the stack.
+	 */
+	protected boolean	isShed(int i)
+	{
+		for (int j = 0 ; j < this.nbShed ; j++) {
+			if (this.shed[j] == i) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * remove the equipment at index {@code i} from the stack if present.
+	 *
+	 * @param i	index of an equipment.
+	 */
+	protected void		removeShed(int i)
+	{
+		for (int j = 0 ; j < this.nbShed ; j++) {
+			if (this.shed[j] == i) {
+				this.removeShedAt(j);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * remove the element at position {@code j} of the stack, keeping the
+	 * order of the others.
+	 *
+	 * @param j	position in the stack.
+	 */
+	protected void		removeShedAt(int j)
+	{
+		System.arraycopy(this.shed, j + 1, this.shed, j, this.nbShed - j - 1);
+		this.nbShed--;
+	}
+
+	/**
+	 * push the equipment index {@code i} on the heap.
+	 *
+	 * @param i	index of an equipment.
+	 */
+	protected void		heapPush(int i)
+	{
+		int k = this.heapSize++;
+		while (k > 0) {
+			int parent = (k - 1) >>> 1;
+			if (this.lastEmergency[this.heap[parent]] <= this.lastEmergency[i]) {
+				break;
+			}
+			this.heap[k] = this.heap[parent];
+			k = parent;
+		}
+		this.heap[k] = i;
+	}
+
+	/**
+	 * pop the equipment index with the lowest emergency from the heap.
+	 *
+	 * @return	the index of the equipment with the lowest emergency.
+	 */
+	protected int		heapPop()
+	{
+		assert	this.heapSize > 0;
+
+		int ret = this.heap[0];
+		int last = this.heap[--this.heapSize];
+		int k = 0;
+		int half = this.heapSize >>> 1;
+		while (k < half) {
+			int child = 2*k + 1;
+			int right = child + 1;
+			if (right < this.heapSize &&
+					this.lastEmergency[this.heap[right]] <
+									this.lastEmergency[this.heap[child]]) {
+				child = right;
+			}
+			if (this.lastEmergency[last] <= this.lastEmergency[this.heap[child]]) {
+				break;
+			}
+			this.heap[k] = this.heap[child];
+			k = child;
+		}
+		this.heap[k] = last;
+		return ret;
+	}
+}
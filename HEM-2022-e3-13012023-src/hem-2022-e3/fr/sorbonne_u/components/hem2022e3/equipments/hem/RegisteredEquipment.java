@@ -0,0 +1,251 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.ProductionEquipmentControlCI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * The class <code>RegisteredEquipment</code> describes an equipment that has
+ * been registered on the household energy manager and the outbound port
+ * through which it is controlled.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * Instances are immutable once created; the outbound port is published and
+ * connected by the household energy manager before the instance is put in
+ * the {@code EquipmentRegistry}, and disconnected after it has been removed.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code uid != null && !uid.isEmpty()}
+ * invariant	{@code controlPortURI != null && !controlPortURI.isEmpty()}
+ * invariant	{@code categories != null && !categories.isEmpty()}
+ * invariant	{@code nominalConsumption >= 0.0}
+ * invariant	{@code port != null}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class RegisteredEquipment
+{
+	/** unique identifier of the equipment.									*/
+	protected final String							uid;
+	/** URI of the control inbound port of the equipment.					*/
+	protected final String							controlPortURI;
+	/** categories of control applicable to the equipment.					*/
+	protected final Set<EquipmentControlCategory>	categories;
+	/** nominal consumption of the equipment in watts.						*/
+	protected final double							nominalConsumption;
+	/** outbound port of the household energy manager connected to the
+	 *  equipment.															*/
+	protected final AbstractOutboundPort			port;
+
+	/**
+	 * create a registered equipment descriptor.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code uid != null && !uid.isEmpty()}
+	 * pre	{@code controlPortURI != null && !controlPortURI.isEmpty()}
+	 * pre	{@code categories != null && !categories.isEmpty()}
+	 * pre	{@code nominalConsumption >= 0.0}
+	 * pre	{@code port != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param uid				unique identifier of the equipment.
+	 * @param controlPortURI	URI of the control inbound port of the equipment.
+	 * @param categories		categories of control applicable to the equipment.
+	 * @param nominalConsumption	nominal consumption of the equipment in watts.
+	 * @param port				outbound port connected to the equipment.
+	 */
+	public RegisteredEquipment(
+		String uid,
+		String controlPortURI,
+		EnumSet<EquipmentControlCategory> categories,
+		double nominalConsumption,
+		AbstractOutboundPort port
+		)
+	{
+		assert	uid != null && !uid.isEmpty();
+		assert	controlPortURI != null && !controlPortURI.isEmpty();
+		assert	categories != null && !categories.isEmpty();
+		assert	nominalConsumption >= 0.0;
+		assert	port != null;
+
+		this.uid = uid;
+		this.controlPortURI = controlPortURI;
+		this.categories = Collections.unmodifiableSet(categories.clone());
+		this.nominalConsumption = nominalConsumption;
+		this.port = port;
+	}
+
+	/**
+	 * return the unique identifier of the equipment.
+	 *
+	 * @return	the unique identifier of the equipment.
+	 */
+	public String		getUid()
+	{
+		return this.uid;
+	}
+
+	/**
+	 * return the URI of the control inbound port of the equipment.
+	 *
+	 * @return	the URI of the control inbound port of the equipment.
+	 */
+	public String		getControlPortURI()
+	{
+		return this.controlPortURI;
+	}
+
+	/**
+	 * return the categories of control applicable to the equipment.
+	 *
+	 * @return	the unmodifiable set of categories of the equipment.
+	 */
+	public Set<EquipmentControlCategory>	getCategories()
+	{
+		return this.categories;
+	}
+
+	/**
+	 * return true if the equipment belongs to the given category.
+	 *
+	 * @param c	a control category.
+	 * @return	true if the equipment belongs to {@code c}.
+	 */
+	public boolean		isOfCategory(EquipmentControlCategory c)
+	{
+		return this.categories.contains(c);
+	}
+
+	/**
+	 * return the nominal consumption of the equipment in watts, as given by
+	 * its control adapter descriptor.
+	 *
+	 * @return	the nominal consumption of the equipment in watts.
+	 */
+	public double		getNominalConsumption()
+	{
+		return this.nominalConsumption;
+	}
+
+	/**
+	 * return the outbound port connected to the equipment.
+	 *
+	 * @return	the outbound port connected to the equipment.
+	 */
+	public AbstractOutboundPort	getPort()
+	{
+		return this.port;
+	}
+
+	/**
+	 * return the port as a standard control interface.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code isOfCategory(EquipmentControlCategory.STANDARD)}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the port as a standard control interface.
+	 */
+	public StandardEquipmentControlCI	standardControl()
+	{
+		assert	this.isOfCategory(EquipmentControlCategory.STANDARD);
+		return (StandardEquipmentControlCI) this.port;
+	}
+
+	/**
+	 * return the port as a suspension control interface.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code isOfCategory(EquipmentControlCategory.SUSPENSION)}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the port as a suspension control interface.
+	 */
+	public SuspensionEquipmentControlCI	suspensionControl()
+	{
+		assert	this.isOfCategory(EquipmentControlCategory.SUSPENSION);
+		return (SuspensionEquipmentControlCI) this.port;
+	}
+
+	/**
+	 * return the port as a planning control interface.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code isOfCategory(EquipmentControlCategory.PLANNING)}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the port as a planning control interface.
+	 */
+	public PlanningEquipmentControlCI	planningControl()
+	{
+		assert	this.isOfCategory(EquipmentControlCategory.PLANNING);
+		return (PlanningEquipmentControlCI) this.port;
+	}
+
+	/**
+	 * return the port as a bulk control interface, through which the whole
+	 * state of the equipment is read in a single call.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code isOfCategory(EquipmentControlCategory.STANDARD)}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the port as a bulk control interface.
+	 */
+	public BatchedEquipmentControlCI	batchedControl()
+	{
+		assert	this.isOfCategory(EquipmentControlCategory.STANDARD);
+		return (BatchedEquipmentControlCI) this.port;
+	}
+
+	/**
+	 * return the port as a production control interface.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code isOfCategory(EquipmentControlCategory.PRODUCTION)}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the port as a production control interface.
+	 */
+	public ProductionEquipmentControlCI	productionControl()
+	{
+		assert	this.isOfCategory(EquipmentControlCategory.PRODUCTION);
+		return (ProductionEquipmentControlCI) this.port;
+	}
+}
@@ -0,0 +1,586 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem.adapter;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import com.thaiopensource.validate.ValidationDriver;
+import com.thaiopensource.validate.rng.CompactSchemaReader;
+
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.SuspensionAndPlanningEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.EquipmentControlCategory;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentCommand;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentStatus;
+import fr.sorbonne_u.components.hem2022e3.interfaces.ProductionEquipmentControlCI;
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+
+/**
+ * The class <code>ControlAdapterCompiler</code> generates at run-time the
+ * connector described by a control adapter XML descriptor.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * A descriptor is first validated against the schema
+ * {@code hem-adapter/control-adapter-e3.rnc} using jing, then a connector
+ * class extending {@code AbstractConnector} and implementing the control
+ * interface corresponding to the descriptor type is generated with
+ * javassist: the instance variables of the descriptor become fields and
+ * each operation of the control interface becomes a method which body is
+ * the code given in the descriptor, preceded by the declaration of the
+ * variable named by {@code equipmentRef} and referencing the offered
+ * interface of the equipment. Calls through the generated connector are
+ * hence plain interface calls, without any reflection.
+ * </p>
+ * <p>
+ * For consuming equipments, a second class implementing the same
+ * operations over an offered interface given to its constructor is
+ * generated; the inbound port of the equipment creates an instance of it
+ * to offer the bulk operations of {@code BatchedEquipmentControlCI}, which
+ * then run on the equipment side. The generated connector also implements
+ * {@code BatchedEquipmentControlCI}, forwarding the bulk operations in a
+ * single call when the equipment offers them and composing its own
+ * operations otherwise. The instance variables of the descriptor being
+ * duplicated in both classes, an equipment offering the bulk operations
+ * must be controlled only through them.
+ * </p>
+ * <p>
+ * Generated classes are defined in the package of this class and cached by
+ * descriptor path, so that the registration of many equipments sharing the
+ * same descriptor compiles it only once; the generated class name is then
+ * passed to {@code doPortConnection} as for any hand-written connector.
+ * </p>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class ControlAdapterCompiler
+{
+	// -------------------------------------------------------------------------
+	// Inner types
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>CompiledAdapter</code> holds the result of the
+	 * compilation of a control adapter descriptor.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static class	CompiledAdapter
+	{
+		/** canonical name of the interface offered by the equipment.		*/
+		protected final String							offered;
+		/** control categories of the equipment.							*/
+		protected final Set<EquipmentControlCategory>	categories;
+		/** nominal consumption of the equipment in watts.					*/
+		protected final double							nominalConsumption;
+		/** generated connector class.										*/
+		protected final Class<?>						connectorClass;
+		/** generated equipment-side adapter class, null for producing
+		 *  equipments.														*/
+		protected final Class<?>						equipmentAdapterClass;
+
+		public CompiledAdapter(
+			ControlAdapterDescriptor d,
+			Class<?> connectorClass,
+			Class<?> equipmentAdapterClass
+			)
+		{
+			this.offered = d.getOffered();
+			this.categories = Collections.unmodifiableSet(d.getCategories());
+			this.nominalConsumption = d.getNominalConsumption();
+			this.connectorClass = connectorClass;
+			this.equipmentAdapterClass = equipmentAdapterClass;
+		}
+
+		/** @return	the canonical name of the offered interface.			*/
+		public String		getOffered()			{ return this.offered; }
+		/** @return	the nominal consumption in watts.						*/
+		public double		getNominalConsumption()	{ return this.nominalConsumption; }
+		/** @return	the generated connector class.							*/
+		public Class<?>		getConnectorClass()		{ return this.connectorClass; }
+		/** @return	the generated equipment-side adapter class, or null.	*/
+		public Class<?>		getEquipmentAdapterClass()
+		{
+			return this.equipmentAdapterClass;
+		}
+
+		/**
+		 * return the control categories of the equipment.
+		 *
+		 * @return	a fresh set of the control categories of the equipment.
+		 */
+		public EnumSet<EquipmentControlCategory>	getCategories()
+		{
+			return EnumSet.copyOf(this.categories);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** class path resource of the schema of the descriptors.				*/
+	public static final String		SCHEMA_RESOURCE =
+										"hem-adapter/control-adapter-e3.rnc";
+	/** prefix of the simple names of the generated connector classes.		*/
+	protected static final String	GENERATED_PREFIX = "Generated";
+
+	/** compiled adapters indexed by descriptor path.						*/
+	protected static final ConcurrentHashMap<String,CompiledAdapter>	CACHE =
+													new ConcurrentHashMap<>();
+	/** counter used to make the generated class names unique.				*/
+	protected static final AtomicInteger	COUNTER = new AtomicInteger(0);
+	/** validation driver with the schema loaded, created lazily and only
+	 *  used under the class lock.											*/
+	protected static ValidationDriver		validator;
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the compiled adapter for the descriptor at the given path,
+	 * validating and compiling it if this has not been done before.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code path != null && !path.isEmpty()}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param path			path to the descriptor, either a file or a class path resource.
+	 * @return				the compiled adapter.
+	 * @throws Exception	if the descriptor is invalid or cannot be compiled.
+	 */
+	public static CompiledAdapter	compile(String path) throws Exception
+	{
+		assert	path != null && !path.isEmpty();
+
+		CompiledAdapter ret = CACHE.get(path);
+		if (ret == null) {
+			ret = compileAndCache(path);
+		}
+		return ret;
+	}
+
+	/**
+	 * return a new equipment-side adapter for the descriptor at the given
+	 * path, calling the operations of {@code offering}; the inbound port of
+	 * an equipment uses it to implement the bulk operations of
+	 * {@code BatchedEquipmentControlCI} with local calls only.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code path != null && !path.isEmpty()}
+	 * pre	{@code offering != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param path			path to the descriptor of a consuming equipment.
+	 * @param offering		offered interface of the equipment, usually its inbound port.
+	 * @return				a new equipment-side adapter.
+	 * @throws Exception	if the descriptor is invalid or describes a producing equipment.
+	 */
+	public static BatchedEquipmentControlCI	newEquipmentAdapter(
+		String path,
+		OfferedCI offering
+		) throws Exception
+	{
+		assert	offering != null;
+
+		Class<?> c = compile(path).getEquipmentAdapterClass();
+		if (c == null) {
+			throw new Exception("no equipment-side adapter for " + path);
+		}
+		return (BatchedEquipmentControlCI)
+						c.getConstructor(OfferedCI.class).newInstance(offering);
+	}
+
+	/**
+	 * validate and compile the descriptor at the given path and put the
+	 * result in the cache, unless another thread did it in the meantime.
+	 *
+	 * @param path			path to the descriptor.
+	 * @return				the compiled adapter.
+	 * @throws Exception	if the descriptor is invalid or cannot be compiled.
+	 */
+	protected static synchronized CompiledAdapter	compileAndCache(
+		String path
+		) throws Exception
+	{
+		CompiledAdapter ret = CACHE.get(path);
+		if (ret == null) {
+			validate(path);
+			ControlAdapterDescriptor d = ControlAdapterDescriptor.load(path);
+			Class<?> adapter = null;
+			if (!d.getCategories().contains(
+									EquipmentControlCategory.PRODUCTION)) {
+				adapter = generateEquipmentAdapter(d);
+			}
+			ret = new CompiledAdapter(d, generate(d), adapter);
+			CACHE.put(path, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * validate the descriptor at the given path against the schema.
+	 *
+	 * @param path			path to the descriptor.
+	 * @throws Exception	if the descriptor is not valid.
+	 */
+	protected static synchronized void	validate(String path) throws Exception
+	{
+		if (validator == null) {
+			ValidationDriver v =
+						new ValidationDriver(CompactSchemaReader.getInstance());
+			if (!v.loadSchema(new InputSource(
+					ControlAdapterDescriptor.locate(SCHEMA_RESOURCE).
+														toExternalForm()))) {
+				throw new Exception("cannot load the schema "
+									+ SCHEMA_RESOURCE);
+			}
+			validator = v;
+		}
+		if (!validator.validate(new InputSource(
+						ControlAdapterDescriptor.locate(path).
+														toExternalForm()))) {
+			throw new Exception("invalid control adapter descriptor: " + path);
+		}
+	}
+
+	/**
+	 * return the control interface that the generated connector must
+	 * implement for the given control categories.
+	 *
+	 * @param categories	control categories of an equipment.
+	 * @return				the corresponding control interface.
+	 */
+	public static Class<? extends RequiredCI>	requiredInterface(
+		Set<EquipmentControlCategory> categories
+		)
+	{
+		if (categories.contains(EquipmentControlCategory.PRODUCTION)) {
+			return ProductionEquipmentControlCI.class;
+		}
+		boolean s = categories.contains(EquipmentControlCategory.SUSPENSION);
+		boolean p = categories.contains(EquipmentControlCategory.PLANNING);
+		if (s && p) {
+			return SuspensionAndPlanningEquipmentControlCI.class;
+		} else if (s) {
+			return SuspensionEquipmentControlCI.class;
+		} else if (p) {
+			return PlanningEquipmentControlCI.class;
+		} else {
+			return StandardEquipmentControlCI.class;
+		}
+	}
+
+	/**
+	 * generate and load the connector class described by {@code d}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code d != null}
+	 * post	{@code AbstractConnector.class.isAssignableFrom(return)}
+	 * </pre>
+	 *
+	 * @param d				a parsed and validated descriptor.
+	 * @return				the generated connector class.
+	 * @throws Exception	if the code of the descriptor cannot be compiled.
+	 */
+	protected static Class<?>	generate(ControlAdapterDescriptor d)
+	throws Exception
+	{
+		Class<?> required = requiredInterface(d.getCategories());
+		ClassPool pool = newPool(d);
+		CtClass cc = pool.makeClass(
+						generatedName(d, "Connector"),
+						pool.get(AbstractConnector.class.getName()));
+		cc.addConstructor(CtNewConstructor.defaultConstructor(cc));
+		addOperations(d, required, cc);
+
+		if (!required.equals(ProductionEquipmentControlCI.class)) {
+			// when the equipment offers the bulk operations, they are
+			// forwarded in a single call and run on the equipment side;
+			// otherwise, they are composed here from the operations
+			// generated above.
+			String batched = BatchedEquipmentControlCI.class.getName();
+			cc.addInterface(pool.get(batched));
+			cc.addMethod(CtNewMethod.make(
+				"public " + EquipmentStatus.class.getName() + " getStatus()"
+				+ " throws java.lang.Exception {\n"
+				+ "if (this.offering instanceof " + batched + ") {\n"
+				+ "return ((" + batched + ") this.offering).getStatus();\n"
+				+ "}\n"
+				+ "return " + EquipmentStatus.class.getName()
+				+ ".snapshot(this);\n}",
+				cc));
+			cc.addMethod(CtNewMethod.make(
+				"public boolean[] execute(" + EquipmentCommand.class.getName()
+				+ "[] commands) throws java.lang.Exception {\n"
+				+ "if (this.offering instanceof " + batched + ") {\n"
+				+ "return ((" + batched + ") this.offering).execute(commands);\n"
+				+ "}\n"
+				+ "return " + EquipmentCommand.class.getName()
+				+ ".executeAll(this, commands);\n}",
+				cc));
+		}
+
+		Class<?> ret = cc.toClass(ControlAdapterCompiler.class);
+		cc.detach();
+		return ret;
+	}
+
+	/**
+	 * generate and load the equipment-side adapter class described by
+	 * {@code d}, a plain class implementing the control interface with the
+	 * operations of the descriptor over the offered interface given to its
+	 * constructor, and the bulk operations by composing them.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code d != null}
+	 * pre	{@code !d.getCategories().contains(EquipmentControlCategory.PRODUCTION)}
+	 * post	{@code BatchedEquipmentControlCI.class.isAssignableFrom(return)}
+	 * </pre>
+	 *
+	 * @param d				a parsed and validated descriptor.
+	 * @return				the generated adapter class.
+	 * @throws Exception	if the code of the descriptor cannot be compiled.
+	 */
+	protected static Class<?>	generateEquipmentAdapter(
+		ControlAdapterDescriptor d
+		) throws Exception
+	{
+		Class<?> required = requiredInterface(d.getCategories());
+		ClassPool pool = newPool(d);
+		CtClass cc = pool.makeClass(generatedName(d, "Adapter"));
+		cc.addField(CtField.make(
+						"protected " + OfferedCI.class.getName()
+						+ " offering;", cc));
+		cc.addConstructor(CtNewConstructor.make(
+						"public " + cc.getSimpleName() + "("
+						+ OfferedCI.class.getName() + " offering) {\n"
+						+ "this.offering = offering;\n}",
+						cc));
+		addOperations(d, required, cc);
+
+		// the bulk operations may be called concurrently by the threads of
+		// the inbound port, hence they are serialised on the adapter.
+		cc.addInterface(pool.get(BatchedEquipmentControlCI.class.getName()));
+		cc.addMethod(CtNewMethod.make(
+			"public synchronized " + EquipmentStatus.class.getName()
+			+ " getStatus() throws java.lang.Exception {\n"
+			+ "return " + EquipmentStatus.class.getName()
+			+ ".snapshot(this);\n}",
+			cc));
+		cc.addMethod(CtNewMethod.make(
+			"public synchronized boolean[] execute("
+			+ EquipmentCommand.class.getName()
+			+ "[] commands) throws java.lang.Exception {\n"
+			+ "return " + EquipmentCommand.class.getName()
+			+ ".executeAll(this, commands);\n}",
+			cc));
+
+		Class<?> ret = cc.toClass(ControlAdapterCompiler.class);
+		cc.detach();
+		return ret;
+	}
+
+	/**
+	 * return a class pool importing the packages required by {@code d}.
+	 *
+	 * @param d	a parsed and validated descriptor.
+	 * @return	a new class pool.
+	 */
+	protected static ClassPool	newPool(ControlAdapterDescriptor d)
+	{
+		ClassPool pool = new ClassPool(true);
+		pool.appendClassPath(new LoaderClassPath(
+							ControlAdapterCompiler.class.getClassLoader()));
+		for (Element r : children(d.getDocument().getDocumentElement(),
+								  "required")) {
+			pool.importPackage(r.getTextContent().trim());
+		}
+		return pool;
+	}
+
+	/**
+	 * return a unique name for a class generated from {@code d}.
+	 *
+	 * @param d			a parsed and validated descriptor.
+	 * @param suffix	suffix of the simple name of the class.
+	 * @return			the fully qualified name of the class.
+	 */
+	protected static String	generatedName(
+		ControlAdapterDescriptor d,
+		String suffix
+		)
+	{
+		String offered = d.getOffered();
+		return ControlAdapterCompiler.class.getPackage().getName()
+				+ "." + GENERATED_PREFIX
+				+ offered.substring(offered.lastIndexOf('.') + 1) + suffix
+				+ COUNTER.incrementAndGet();
+	}
+
+	/**
+	 * add to {@code cc} the instance variables of {@code d} and the
+	 * operations of the control interface {@code required}, which bodies
+	 * reference the offered interface through the field {@code offering}.
+	 *
+	 * @param d				a parsed and validated descriptor.
+	 * @param required		control interface to be implemented.
+	 * @param cc			class being generated.
+	 * @throws Exception	if the code of the descriptor cannot be compiled.
+	 */
+	protected static void	addOperations(
+		ControlAdapterDescriptor d,
+		Class<?> required,
+		CtClass cc
+		) throws Exception
+	{
+		Element root = d.getDocument().getDocumentElement();
+		cc.addInterface(cc.getClassPool().get(required.getName()));
+
+		for (Element v : children(root, "instance-var")) {
+			StringBuffer sb = new StringBuffer("protected ");
+			sb.append(v.getAttribute("type"));
+			sb.append(' ');
+			sb.append(v.getAttribute("name"));
+			if (v.hasAttribute("static-init")) {
+				sb.append(" = ");
+				sb.append(v.getAttribute("static-init"));
+			}
+			sb.append(';');
+			cc.addField(CtField.make(sb.toString(), cc));
+		}
+
+		for (Method m : required.getMethods()) {
+			NodeList l = root.getElementsByTagNameNS(
+								ControlAdapterDescriptor.NAMESPACE, m.getName());
+			if (l.getLength() == 0) {
+				throw new Exception("operation " + m.getName()
+									+ " missing in " + d.getPath());
+			}
+			cc.addMethod(CtNewMethod.make(
+							methodSource(m, d.getOffered(), (Element) l.item(0)),
+							cc));
+		}
+	}
+
+	/**
+	 * return the Java source of the method implementing {@code m} from the
+	 * description {@code op} of the operation.
+	 *
+	 * @param m				the method of the control interface.
+	 * @param offered		canonical name of the interface offered by the equipment.
+	 * @param op			the element describing the operation.
+	 * @return				the Java source of the method.
+	 * @throws Exception	if the parameters of the operation do not match the method.
+	 */
+	protected static String	methodSource(
+		Method m,
+		String offered,
+		Element op
+		) throws Exception
+	{
+		List<Element> params = children(op, "parameter");
+		Class<?>[] types = m.getParameterTypes();
+		if (params.size() != types.length) {
+			throw new Exception("wrong number of parameters for operation "
+								+ m.getName());
+		}
+		Element body = children(op, "body").get(0);
+
+		StringBuffer sb = new StringBuffer("public ");
+		sb.append(m.getReturnType().getTypeName());
+		sb.append(' ');
+		sb.append(m.getName());
+		sb.append('(');
+		for (int i = 0 ; i < types.length ; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(types[i].getTypeName());
+			sb.append(' ');
+			sb.append(params.get(i).getAttribute("name"));
+		}
+		sb.append(") throws java.lang.Exception {\n");
+		if (body.hasAttribute("equipmentRef")) {
+			String ref = body.getAttribute("equipmentRef");
+			sb.append(offered);
+			sb.append(' ');
+			sb.append(ref);
+			sb.append(" = (");
+			sb.append(offered);
+			sb.append(") this.offering;\n");
+		}
+		NodeList code = body.getChildNodes();
+		for (int i = 0 ; i < code.getLength() ; i++) {
+			Node n = code.item(i);
+			if (n.getNodeType() == Node.TEXT_NODE ||
+									n.getNodeType() == Node.CDATA_SECTION_NODE) {
+				sb.append(n.getNodeValue());
+			}
+		}
+		sb.append("\n}");
+		return sb.toString();
+	}
+
+	/**
+	 * return the child elements of {@code e} in the descriptor namespace
+	 * having the given local name.
+	 *
+	 * @param e			a parent element.
+	 * @param localName	local name of the children to be returned.
+	 * @return			the list of matching children, in document order.
+	 */
+	protected static List<Element>	children(Element e, String localName)
+	{
+		List<Element> ret = new ArrayList<>();
+		for (Node n = e.getFirstChild() ; n != null ; n = n.getNextSibling()) {
+			if (n.getNodeType() == Node.ELEMENT_NODE &&
+					ControlAdapterDescriptor.NAMESPACE.equals(
+												n.getNamespaceURI()) &&
+					localName.equals(n.getLocalName())) {
+				ret.add((Element) n);
+			}
+		}
+		return ret;
+	}
+}
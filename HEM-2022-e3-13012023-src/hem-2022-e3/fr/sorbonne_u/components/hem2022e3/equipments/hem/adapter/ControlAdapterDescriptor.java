@@ -0,0 +1,182 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem.adapter;
+
+import java.io.File;
+import java.net.URL;
+import java.util.EnumSet;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.EquipmentControlCategory;
+
+/**
+ * The class <code>ControlAdapterDescriptor</code> holds the identification
+ * part of a control adapter XML descriptor, as defined by the schema
+ * {@code hem-adapter/control-adapter.rnc}.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The household energy manager only needs the offered interface, the type
+ * of control and the nominal consumption to decide how to connect to an
+ * equipment at registration time; the operation bodies are left in the DOM
+ * document for the tools that need them.
+ * </p>
+ * <p>
+ * Descriptors are looked up first as files, then as resources on the class
+ * path, the {@code hem-adapter} directories being copied at the root of the
+ * compiled classes.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code uid != null && !uid.isEmpty()}
+ * invariant	{@code offered != null && !offered.isEmpty()}
+ * invariant	{@code type != null && !type.isEmpty()}
+ * invariant	{@code document != null}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class ControlAdapterDescriptor
+{
+	/** XML namespace of the control adapter descriptors.					*/
+	public static final String	NAMESPACE =
+			"http://www.sorbonne-universite.fr/alasca/control-adapter";
+
+	/** path used to load the descriptor.									*/
+	protected final String		path;
+	/** unique identifier of the equipment given in the descriptor.			*/
+	protected final String		uid;
+	/** canonical name of the interface offered by the equipment.			*/
+	protected final String		offered;
+	/** type of control, the {@code type} attribute of the descriptor.		*/
+	protected final String		type;
+	/** nominal consumption of the equipment in watts.						*/
+	protected final double		nominalConsumption;
+	/** DOM document of the descriptor.										*/
+	protected final Document	document;
+
+	/**
+	 * create a descriptor from its parsed DOM document.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code path != null && !path.isEmpty()}
+	 * pre	{@code document != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param path		path used to load the descriptor.
+	 * @param document	DOM document of the descriptor.
+	 */
+	protected ControlAdapterDescriptor(String path, Document document)
+	{
+		assert	path != null && !path.isEmpty();
+		assert	document != null;
+
+		this.path = path;
+		this.document = document;
+		Element root = document.getDocumentElement();
+		this.uid = root.getAttribute("uid");
+		this.offered = root.getAttribute("offered");
+		this.type = root.getAttribute("type");
+		NodeList l = root.getElementsByTagNameNS(NAMESPACE, "consumption");
+		this.nominalConsumption =
+			l.getLength() > 0 ?
+				Double.parseDouble(
+						((Element)l.item(0)).getAttribute("nominal"))
+			:	0.0;
+	}
+
+	/**
+	 * load and parse the descriptor found at the given path.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code path != null && !path.isEmpty()}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param path			path to the descriptor, either a file or a class path resource.
+	 * @return				the parsed descriptor.
+	 * @throws Exception	if the descriptor cannot be found or parsed.
+	 */
+	public static ControlAdapterDescriptor	load(String path) throws Exception
+	{
+		assert	path != null && !path.isEmpty();
+
+		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+		dbf.setNamespaceAware(true);
+		DocumentBuilder db = dbf.newDocumentBuilder();
+		Document d = db.parse(locate(path).toExternalForm());
+		return new ControlAdapterDescriptor(path, d);
+	}
+
+	/**
+	 * return the URL of the file or, if no such file exists, of the class
+	 * path resource designated by {@code path}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code path != null && !path.isEmpty()}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param path			path to a file or a class path resource.
+	 * @return				the URL of the file or resource.
+	 * @throws Exception	if neither a file nor a resource exist.
+	 */
+	public static URL	locate(String path) throws Exception
+	{
+		assert	path != null && !path.isEmpty();
+
+		File f = new File(path);
+		if (f.exists()) {
+			return f.toURI().toURL();
+		}
+		String r = path.startsWith("/") ? path.substring(1) : path;
+		URL url = ControlAdapterDescriptor.class.getClassLoader().
+																getResource(r);
+		if (url == null) {
+			throw new Exception("control adapter file not found: " + path);
+		}
+		return url;
+	}
+
+	/** @return	the path used to load the descriptor.						*/
+	public String		getPath()				{ return this.path; }
+	/** @return	the unique identifier given in the descriptor.				*/
+	public String		getUid()				{ return this.uid; }
+	/** @return	the canonical name of the offered interface.				*/
+	public String		getOffered()			{ return this.offered; }
+	/** @return	the type of control.										*/
+	public String		getType()				{ return this.type; }
+	/** @return	the nominal consumption in watts.							*/
+	public double		getNominalConsumption()	{ return this.nominalConsumption; }
+	/** @return	the DOM document of the descriptor.							*/
+	public Document		getDocument()			{ return this.document; }
+
+	/**
+	 * return the control categories corresponding to the type of control.
+	 *
+	 * @return	the control categories corresponding to the type of control.
+	 */
+	public EnumSet<EquipmentControlCategory>	getCategories()
+	{
+		return EquipmentControlCategory.fromAdapterType(this.type);
+	}
+}
@@ -0,0 +1,464 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem.planning;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentStatus;
+
+/**
+ * The class <code>PlanningOptimizer</code> shifts the planned programs of
+ * the equipments offering the planning control so as to maximise the
+ * self-consumption of the solar production and to flatten the peaks of
+ * the planned load.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The optimizer keeps, over a sliding horizon of {@code nbSlots} time slots,
+ * the load of the planned programs it knows about and the production
+ * forecast by a {@code SolarProductionForecast}. Each time a new program
+ * appears, or an existing one is changed by its user, only this program is
+ * placed: its contribution is removed from the load and it is shifted by a
+ * whole number of slots to the start minimising the power imported from the
+ * grid, then the highest planned load, then the size of the shift, the
+ * other programs staying where they are. A program can neither start
+ * before the current instant nor end after the deadline it had when it was
+ * first seen, which is recorded as the postponements move the deadline
+ * given by the equipment; programs already running, i.e., the current
+ * instant being between their start and their end, or about to start are
+ * never moved. A program is never postponed by its duration or more, which
+ * the equipments refuse.
+ * </p>
+ * <p>
+ * The optimizer only decides; the caller applies the returned shifts with
+ * {@code PlanningEquipmentControlCI#postpone(Duration)} and reports the
+ * shifts that the equipment refused through {@code notApplied}.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code slotSeconds > 0 && nbSlots > 0}
+ * invariant	{@code load.length == nbSlots && solar.length == nbSlots}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class PlanningOptimizer
+{
+	// -------------------------------------------------------------------------
+	// Inner classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>PlannedRun</code> records the placement of one planned
+	 * program.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 * 
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	protected static class	PlannedRun
+	{
+		/** power drawn by the equipment while running in watts.			*/
+		protected final double		power;
+		/** duration of the program.										*/
+		protected final Duration	duration;
+		/** number of slots covered by the program.							*/
+		protected final int			nbSlots;
+		/** deadline of the program when it was first seen, or null if none.	*/
+		protected final Instant		deadline;
+		/** start of the program as placed by the optimizer.				*/
+		protected Instant			start;
+		/** index of the slot in which the program starts.					*/
+		protected long				startSlot;
+
+		protected				PlannedRun(
+			double power,
+			Duration duration,
+			int nbSlots,
+			Instant deadline,
+			Instant start,
+			long startSlot
+			)
+		{
+			this.power = power;
+			this.duration = duration;
+			this.nbSlots = nbSlots;
+			this.deadline = deadline;
+			this.start = start;
+			this.startSlot = startSlot;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** standard duration of a slot.										*/
+	public static final Duration	STANDARD_SLOT = Duration.ofMinutes(15);
+	/** standard number of slots in the horizon, i.e., one day.				*/
+	public static final int			STANDARD_NB_SLOTS = 96;
+	/** tolerance used when comparing costs.								*/
+	protected static final double	EPSILON = 1.0e-9;
+
+	/** forecast of the solar production.									*/
+	protected final SolarProductionForecast		forecast;
+	/** duration of a slot.													*/
+	protected final Duration					slot;
+	/** duration of a slot in seconds.										*/
+	protected final long						slotSeconds;
+	/** number of slots in the horizon.										*/
+	protected final int							nbSlots;
+	/** planned load in watts, indexed by slot modulo {@code nbSlots}.		*/
+	protected final double[]					load;
+	/** forecast production in watts, indexed by slot modulo
+	 *  {@code nbSlots}.													*/
+	protected final double[]					solar;
+	/** index of the first slot of the horizon, {@code Long.MIN_VALUE}
+	 *  before the first call.												*/
+	protected long								firstSlot;
+	/** known planned programs by equipment identifier.					*/
+	protected final HashMap<String,PlannedRun>	runs;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an optimizer with the standard slot and horizon.
+	 *
+	 * @param forecast	forecast of the solar production.
+	 */
+	public				PlanningOptimizer(SolarProductionForecast forecast)
+	{
+		this(forecast, STANDARD_SLOT, STANDARD_NB_SLOTS);
+	}
+
+	/**
+	 * create an optimizer.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code forecast != null}
+	 * pre	{@code slot != null && slot.getSeconds() > 0}
+	 * pre	{@code nbSlots > 0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param forecast	forecast of the solar production.
+	 * @param slot		duration of a slot.
+	 * @param nbSlots	number of slots in the horizon.
+	 */
+	public				PlanningOptimizer(
+		SolarProductionForecast forecast,
+		Duration slot,
+		int nbSlots
+		)
+	{
+		assert	forecast != null;
+		assert	slot != null && slot.getSeconds() > 0;
+		assert	nbSlots > 0;
+
+		this.forecast = forecast;
+		this.slot = slot;
+		this.slotSeconds = slot.getSeconds();
+		this.nbSlots = nbSlots;
+		this.load = new double[nbSlots];
+		this.solar = new double[nbSlots];
+		this.firstSlot = Long.MIN_VALUE;
+		this.runs = new HashMap<>();
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * update the optimizer with the last known status of a planning
+	 * equipment and return the shift to be applied to its program, or null
+	 * if it must not be moved.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && power >= 0.0}
+	 * pre	{@code status != null && status.isPlannable()}
+	 * pre	{@code now != null}
+	 * post	{@code return == null || !return.isZero()}
+	 * </pre>
+	 *
+	 * @param uid		unique identifier of the equipment.
+	 * @param power		power drawn by the equipment while running in watts.
+	 * @param status	last known status of the equipment.
+	 * @param now		current instant.
+	 * @return			the shift to be applied to the program or null if none.
+	 */
+	public synchronized Duration	plan(
+		String uid,
+		double power,
+		EquipmentStatus status,
+		Instant now
+		)
+	{
+		assert	uid != null && power >= 0.0;
+		assert	status != null && status.isPlannable();
+		assert	now != null;
+
+		this.advance(now);
+
+		PlannedRun r = this.runs.get(uid);
+		if (!status.hasPlan()) {
+			if (r != null) {
+				this.contribute(r, -1.0);
+				this.runs.remove(uid);
+			}
+			return null;
+		}
+		Instant start = status.getStartTime();
+		Duration duration = status.getDuration();
+		if (r != null && r.start.equals(start) &&
+										r.duration.equals(duration)) {
+			// unchanged since the last placement
+			return null;
+		}
+
+		// a new program or one changed by its user: place only this one,
+		// keeping the earliest of the deadline first seen and the current
+		// one, as the latter is moved by the postponements
+		Instant deadline = status.getDeadline();
+		if (r != null) {
+			this.contribute(r, -1.0);
+			if (deadline == null ||
+						r.deadline != null && r.deadline.isBefore(deadline)) {
+				deadline = r.deadline;
+			}
+		}
+		long s0 = this.slotOf(start);
+		int n = (int) Math.max(1L,
+					(duration.getSeconds() + this.slotSeconds - 1)
+														/ this.slotSeconds);
+		r = new PlannedRun(power, duration, n, deadline, start, s0);
+		this.runs.put(uid, r);
+
+		// running or already started
+		if (!start.isAfter(now)) {
+			this.contribute(r, 1.0);
+			return null;
+		}
+
+		long startSeconds = start.getEpochSecond();
+		long kMin = -((startSeconds - now.getEpochSecond())
+														/ this.slotSeconds);
+		long kMax = 0L;
+		if (deadline != null) {
+			long latestStart = deadline.minus(duration).getEpochSecond();
+			if (latestStart > startSeconds) {
+				kMax = (latestStart - startSeconds) / this.slotSeconds;
+			}
+		}
+		// a postponement must be shorter than the duration of the program
+		kMax = Math.min(kMax, (duration.getSeconds() - 1) / this.slotSeconds);
+		kMax = Math.max(0L,
+						Math.min(kMax, this.firstSlot + this.nbSlots - n - s0));
+		kMin = Math.max(kMin, this.firstSlot - s0);
+
+		long bestK = 0L;
+		double bestImport = this.importCost(s0, n, power);
+		double bestPeak = this.peak(s0, n, power);
+		for (long k = kMin ; k <= kMax ; k++) {
+			if (k == 0L) {
+				continue;
+			}
+			double imp = this.importCost(s0 + k, n, power);
+			double peak = this.peak(s0 + k, n, power);
+			if (imp < bestImport - EPSILON ||
+					imp <= bestImport + EPSILON &&
+						(peak < bestPeak - EPSILON ||
+							peak <= bestPeak + EPSILON &&
+										Math.abs(k) < Math.abs(bestK))) {
+				bestK = k;
+				bestImport = imp;
+				bestPeak = peak;
+			}
+		}
+
+		r.startSlot = s0 + bestK;
+		r.start = start.plus(this.slot.multipliedBy(bestK));
+		this.contribute(r, 1.0);
+		return bestK == 0L ? null : this.slot.multipliedBy(bestK);
+	}
+
+	/**
+	 * record that the shift returned by the last call to {@code plan} for
+	 * {@code uid} could not be applied, the program staying at {@code start}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && start != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param uid	unique identifier of the equipment.
+	 * @param start	actual start of the program.
+	 */
+	public synchronized void	notApplied(String uid, Instant start)
+	{
+		assert	uid != null && start != null;
+
+		PlannedRun r = this.runs.get(uid);
+		if (r != null) {
+			this.contribute(r, -1.0);
+			r.start = start;
+			r.startSlot = this.slotOf(start);
+			this.contribute(r, 1.0);
+		}
+	}
+
+	/**
+	 * forget the program of the given equipment, if any.
+	 *
+	 * @param uid	unique identifier of the equipment.
+	 */
+	public synchronized void	remove(String uid)
+	{
+		assert	uid != null;
+
+		PlannedRun r = this.runs.remove(uid);
+		if (r != null && this.firstSlot != Long.MIN_VALUE) {
+			this.contribute(r, -1.0);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Internal methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the index of the slot containing {@code t}.
+	 *
+	 * @param t	an instant.
+	 * @return	the index of the slot containing {@code t}.
+	 */
+	protected long		slotOf(Instant t)
+	{
+		return Math.floorDiv(t.getEpochSecond(), this.slotSeconds);
+	}
+
+	/**
+	 * return the position in the arrays of the slot {@code s}.
+	 *
+	 * @param s	index of a slot.
+	 * @return	the position in the arrays of the slot {@code s}.
+	 */
+	protected int		index(long s)
+	{
+		return (int) Math.floorMod(s, (long) this.nbSlots);
+	}
+
+	/**
+	 * slide the horizon so that it starts at the slot containing
+	 * {@code now}, initialising the slots entering it and forgetting the
+	 * programs that have ended.
+	 *
+	 * @param now	current instant.
+	 */
+	protected void		advance(Instant now)
+	{
+		long nowSlot = this.slotOf(now);
+		if (this.firstSlot != Long.MIN_VALUE && nowSlot <= this.firstSlot) {
+			return;
+		}
+		long from = this.firstSlot == Long.MIN_VALUE ||
+							nowSlot - this.firstSlot >= this.nbSlots ?
+										nowSlot : this.firstSlot + this.nbSlots;
+		long to = nowSlot + this.nbSlots;
+		this.firstSlot = nowSlot;
+
+		Iterator<PlannedRun> iter = this.runs.values().iterator();
+		while (iter.hasNext()) {
+			PlannedRun r = iter.next();
+			if (r.startSlot + r.nbSlots <= nowSlot) {
+				iter.remove();
+			}
+		}
+		for (long s = from ; s < to ; s++) {
+			int i = this.index(s);
+			this.load[i] = 0.0;
+			this.solar[i] = this.forecast.powerAt(Instant.ofEpochSecond(
+							s*this.slotSeconds + this.slotSeconds/2));
+			for (PlannedRun r : this.runs.values()) {
+				if (s >= r.startSlot && s < r.startSlot + r.nbSlots) {
+					this.load[i] += r.power;
+				}
+			}
+		}
+	}
+
+	/**
+	 * add {@code sign} times the power of {@code r} to the slots of the
+	 * horizon it covers.
+	 *
+	 * @param r		a planned program.
+	 * @param sign	1.0 to add the program, -1.0 to remove it.
+	 */
+	protected void		contribute(PlannedRun r, double sign)
+	{
+		long from = Math.max(r.startSlot, this.firstSlot);
+		long to = Math.min(r.startSlot + r.nbSlots,
+						   this.firstSlot + this.nbSlots);
+		for (long s = from ; s < to ; s++) {
+			this.load[this.index(s)] += sign * r.power;
+		}
+	}
+
+	/**
+	 * return the additional power imported from the grid, summed over the
+	 * slots, if a program of {@code power} watts covered {@code n} slots
+	 * from {@code s0}.
+	 *
+	 * @param s0	first slot covered.
+	 * @param n		number of slots covered.
+	 * @param power	power of the program in watts.
+	 * @return		the additional imported power summed over the slots.
+	 */
+	protected double	importCost(long s0, int n, double power)
+	{
+		double ret = 0.0;
+		long to = Math.min(s0 + n, this.firstSlot + this.nbSlots);
+		for (long s = Math.max(s0, this.firstSlot) ; s < to ; s++) {
+			int i = this.index(s);
+			ret += Math.max(0.0, this.load[i] + power - this.solar[i])
+							- Math.max(0.0, this.load[i] - this.solar[i]);
+		}
+		return ret;
+	}
+
+	/**
+	 * return the highest planned load over the slots if a program of
+	 * {@code power} watts covered {@code n} slots from {@code s0}.
+	 *
+	 * @param s0	first slot covered.
+	 * @param n		number of slots covered.
+	 * @param power	power of the program in watts.
+	 * @return		the highest planned load over the covered slots.
+	 */
+	protected double	peak(long s0, int n, double power)
+	{
+		double ret = 0.0;
+		long to = Math.min(s0 + n, this.firstSlot + this.nbSlots);
+		for (long s = Math.max(s0, this.firstSlot) ; s < to ; s++) {
+			ret = Math.max(ret, this.load[this.index(s)] + power);
+		}
+		return ret;
+	}
+}
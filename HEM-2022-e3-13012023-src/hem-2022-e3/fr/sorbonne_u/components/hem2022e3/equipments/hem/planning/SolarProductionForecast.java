@@ -0,0 +1,119 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem.planning;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.SolarPanelElectricityModel;
+
+/**
+ * The class <code>SolarProductionForecast</code> gives the expected power
+ * produced by the solar panel at a given instant.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The forecast follows a clear sky day: the production is null before
+ * sunrise and after sunset and follows a half sine in between, which
+ * maximum is the power of the solar panel simulation model, i.e.,
+ * {@code SolarPanelElectricityModel.SCOLAR_POWER} times
+ * {@code SolarPanelElectricityModel.SCOLAR_EFFICIENCY}. Hours are taken in
+ * UTC, as are the instants of the accelerated clocks used in the tests.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code peakPower >= 0.0}
+ * invariant	{@code sunriseHour >= 0.0 && sunriseHour < sunsetHour && sunsetHour <= 24.0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class SolarProductionForecast
+{
+	/** standard hour of the sunrise.										*/
+	public static final double	STANDARD_SUNRISE_HOUR = 7.0;
+	/** standard hour of the sunset.										*/
+	public static final double	STANDARD_SUNSET_HOUR = 19.0;
+
+	/** maximal power produced at solar noon in watts.						*/
+	protected final double		peakPower;
+	/** hour of the sunrise.												*/
+	protected final double		sunriseHour;
+	/** hour of the sunset.													*/
+	protected final double		sunsetHour;
+
+	/**
+	 * create a forecast for the simulated solar panel with the standard
+	 * sunrise and sunset hours.
+	 */
+	public SolarProductionForecast()
+	{
+		this(SolarPanelElectricityModel.SCOLAR_POWER *
+								SolarPanelElectricityModel.SCOLAR_EFFICIENCY,
+			 STANDARD_SUNRISE_HOUR,
+			 STANDARD_SUNSET_HOUR);
+	}
+
+	/**
+	 * create a forecast.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code peakPower >= 0.0}
+	 * pre	{@code sunriseHour >= 0.0 && sunriseHour < sunsetHour && sunsetHour <= 24.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param peakPower		maximal power produced at solar noon in watts.
+	 * @param sunriseHour	hour of the sunrise.
+	 * @param sunsetHour	hour of the sunset.
+	 */
+	public SolarProductionForecast(
+		double peakPower,
+		double sunriseHour,
+		double sunsetHour
+		)
+	{
+		assert	peakPower >= 0.0;
+		assert	sunriseHour >= 0.0 && sunriseHour < sunsetHour &&
+														sunsetHour <= 24.0;
+
+		this.peakPower = peakPower;
+		this.sunriseHour = sunriseHour;
+		this.sunsetHour = sunsetHour;
+	}
+
+	/**
+	 * return the expected power produced at instant {@code t} in watts.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code t != null}
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @param t	an instant.
+	 * @return	the expected power produced at {@code t} in watts.
+	 */
+	public double		powerAt(Instant t)
+	{
+		assert	t != null;
+
+		double hour = t.atOffset(ZoneOffset.UTC).toLocalTime().toSecondOfDay()
+																	/ 3600.0;
+		if (hour <= this.sunriseHour || hour >= this.sunsetHour) {
+			return 0.0;
+		}
+		return this.peakPower *
+				Math.sin(Math.PI * (hour - this.sunriseHour) /
+										(this.sunsetHour - this.sunriseHour));
+	}
+}
@@ -0,0 +1,58 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem.test;
+
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.cvm.AbstractCVM;
+
+/**
+ * The class <code>CVMUnitTest</code> deploys the {@code LoadShedderTester}
+ * and {@code PlanningOptimizerTester} components to unit test the
+ * {@code LoadShedder} and the {@code PlanningOptimizer} of the household
+ * energy manager.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			CVMUnitTest
+extends		AbstractCVM
+{
+	/** duration of the execution in milliseconds.							*/
+	public static final long	EXECUTION_DURATION = 2000L;
+
+	public				CVMUnitTest() throws Exception
+	{
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.cvm.AbstractCVM#deploy()
+	 */
+	@Override
+	public void			deploy() throws Exception
+	{
+		AbstractComponent.createComponent(
+				LoadShedderTester.class.getCanonicalName(),
+				new Object[]{});
+		AbstractComponent.createComponent(
+				PlanningOptimizerTester.class.getCanonicalName(),
+				new Object[]{});
+
+		super.deploy();
+	}
+
+	public static void	main(String[] args)
+	{
+		try {
+			CVMUnitTest cvm = new CVMUnitTest();
+			cvm.startStandardLifeCycle(EXECUTION_DURATION);
+			Thread.sleep(5000L);
+			System.exit(0);
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+}
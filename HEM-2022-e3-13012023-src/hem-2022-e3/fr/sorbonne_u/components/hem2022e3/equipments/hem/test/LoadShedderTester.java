@@ -0,0 +1,207 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem.test;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
+import fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.BatchedEquipmentControlOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.EquipmentControlCategory;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.LoadShedder;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.RegisteredEquipment;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentStatus;
+
+/**
+ * The class <code>LoadShedderTester</code> tests the decisions of the
+ * {@code LoadShedder} on two suspendable equipments.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The equipments are given outbound ports that are never connected, as the
+ * shedder only decides and never calls them. The scenario checks that a
+ * status requested before a suspension but seen after it does not remove
+ * the equipment from the stack, that a status requested after it does, and
+ * that a shed equipment is resumed when the headroom allows it.
+ * </p>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+//-----------------------------------------------------------------------------
+@RequiredInterfaces(required={SuspensionEquipmentControlCI.class,
+							  BatchedEquipmentControlCI.class})
+//-----------------------------------------------------------------------------
+public class			LoadShedderTester
+extends		AbstractComponent
+{
+	/** contracted power in watts used by the test.							*/
+	protected static final double	CONTRACTED_POWER = 3000.0;
+	/** hysteresis in watts used by the test.								*/
+	protected static final double	HYSTERESIS = 100.0;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create the component.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 */
+	protected			LoadShedderTester()
+	{
+		super(1, 0);
+
+		this.tracer.get().setTitle("Load shedder tester component");
+		this.tracer.get().setRelativePosition(0, 0);
+		this.toggleTracing();
+	}
+
+	// -------------------------------------------------------------------------
+	// Component life-cycle
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#execute()
+	 */
+	@Override
+	public void			execute() throws Exception
+	{
+		RegisteredEquipment ac = this.newEquipment("air-conditioner", 1000.0);
+		RegisteredEquipment fridge = this.newEquipment("refrigerator", 500.0);
+		LoadShedder shedder = new LoadShedder(CONTRACTED_POWER, HYSTERESIS);
+		shedder.add(ac);
+		shedder.add(fridge);
+
+		Map<String,EquipmentStatus> statuses = new HashMap<>();
+		Map<String,Long> statusTimes = new HashMap<>();
+		long t0 = System.nanoTime();
+		statuses.put(ac.getUid(), status(false, 0.0));
+		statusTimes.put(ac.getUid(), t0);
+		statuses.put(fridge.getUid(), status(false, 0.0));
+		statusTimes.put(fridge.getUid(), t0);
+
+		// an excess of 800 W sheds a single equipment
+		shedder.decide(3800.0, 0.0, statuses, statusTimes);
+		check(shedder.getNbToSuspend() == 1 && shedder.getNbToResume() == 0,
+			  "one equipment suspended upon an excess of 800 W");
+		RegisteredEquipment e = shedder.getToSuspend()[0];
+		long t1 = System.nanoTime();
+		shedder.acknowledgeSuspension(e, true, t1);
+		this.traceMessage(e.getUid() + " suspended.\n");
+
+		// the status requested before the suspension still shows the
+		// equipment as running: it must stay shed
+		shedder.decide(2950.0, 0.0, statuses, statusTimes);
+		check(shedder.getNbShed() == 1,
+			  "a stale status does not remove the equipment from the stack");
+		check(shedder.getNbToSuspend() == 0 && shedder.getNbToResume() == 0,
+			  "nothing decided within the contracted power");
+		this.traceMessage("stale status ignored.\n");
+
+		// a status requested after the suspension confirms it; the
+		// equipment is then resumed when the headroom allows it
+		statuses.put(e.getUid(), status(true, 0.5));
+		statusTimes.put(e.getUid(), System.nanoTime());
+		shedder.decide(1000.0, 0.0, statuses, statusTimes);
+		check(shedder.getNbToResume() == 1 && shedder.getToResume()[0] == e,
+			  "the shed equipment is resumed given a headroom of 2000 W");
+		check(shedder.getNbShed() == 0, "the stack is empty after resumption");
+		this.traceMessage(e.getUid() + " resumed.\n");
+
+		// shed one equipment again, then resumed by its user, as shown by
+		// a fresh status
+		statuses.put(e.getUid(), status(false, 0.0));
+		statusTimes.put(e.getUid(), System.nanoTime());
+		shedder.decide(3400.0, 0.0, statuses, statusTimes);
+		check(shedder.getNbToSuspend() == 1, "one equipment suspended again");
+		e = shedder.getToSuspend()[0];
+		shedder.acknowledgeSuspension(e, true, System.nanoTime());
+		statuses.put(e.getUid(), status(false, 0.0));
+		statusTimes.put(e.getUid(), System.nanoTime());
+		shedder.decide(2950.0, 0.0, statuses, statusTimes);
+		check(shedder.getNbShed() == 0,
+			  "a fresh status removes the equipment from the stack");
+		this.traceMessage("fresh status taken into account.\n");
+
+		// a suspension that failed is forgotten at once
+		shedder.decide(3400.0, 0.0, statuses, statusTimes);
+		check(shedder.getNbToSuspend() == 1, "one equipment to be suspended");
+		shedder.acknowledgeSuspension(shedder.getToSuspend()[0], false,
+									  System.nanoTime());
+		check(shedder.getNbShed() == 0,
+			  "a failed suspension is removed from the stack");
+
+		this.traceMessage("load shedder tests passed.\n");
+	}
+
+	// -------------------------------------------------------------------------
+	// Internal methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a suspendable equipment with an unconnected outbound port.
+	 *
+	 * @param uid				unique identifier of the equipment.
+	 * @param nominalConsumption	nominal consumption in watts.
+	 * @return					the registered equipment.
+	 * @throws Exception		<i>to do</i>.
+	 */
+	protected RegisteredEquipment	newEquipment(
+		String uid,
+		double nominalConsumption
+		) throws Exception
+	{
+		return new RegisteredEquipment(
+					uid, uid + "-control",
+					EnumSet.of(EquipmentControlCategory.STANDARD,
+							   EquipmentControlCategory.SUSPENSION),
+					nominalConsumption,
+					new BatchedEquipmentControlOutboundPort(
+								SuspensionEquipmentControlCI.class, this));
+	}
+
+	/**
+	 * return the status of a running suspendable equipment.
+	 *
+	 * @param suspended	true if the equipment is suspended.
+	 * @param emergency	emergency of the resumption if suspended.
+	 * @return			the status.
+	 */
+	protected static EquipmentStatus	status(
+		boolean suspended,
+		double emergency
+		)
+	{
+		return new EquipmentStatus(true, 1, 1, true, suspended, emergency,
+								   false, false, false, null, null, null);
+	}
+
+	/**
+	 * throw an {@code AssertionError} if {@code condition} is false.
+	 *
+	 * @param condition	condition that must hold.
+	 * @param message	description of the condition.
+	 */
+	protected static void	check(boolean condition, String message)
+	{
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,164 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.hem.test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.planning.PlanningOptimizer;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.planning.SolarProductionForecast;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentStatus;
+
+/**
+ * The class <code>PlanningOptimizerTester</code> tests the shifts decided
+ * by the {@code PlanningOptimizer} towards the forecast solar production.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The forecast produces up to 2000 W between 07:00 and 19:00, so that a
+ * program of 1000 W is fully covered between 09:00 and 17:00. At 06:00, a
+ * first program planned from 19:00 to 21:00 is advanced to 15:00, the latest
+ * start covered by the production. Once the shift is applied, the same
+ * program is left in place. A second program planned from 19:00 to 21:00 is
+ * then advanced to 13:00, so that it does not overlap the first one.
+ * </p>
+ * <p>
+ * The statuses follow the control adapter descriptors of the planning
+ * equipments, which set the deadline at the middle of the program and move
+ * it with the postponements.
+ * </p>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			PlanningOptimizerTester
+extends		AbstractComponent
+{
+	/** maximal solar production in watts used by the test.				*/
+	protected static final double	PEAK_POWER = 2000.0;
+	/** power of the planned programs in watts used by the test.			*/
+	protected static final double	POWER = 1000.0;
+	/** day of the test.													*/
+	protected static final String	DAY = "2022-11-22T";
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create the component.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 */
+	protected			PlanningOptimizerTester()
+	{
+		super(1, 0);
+
+		this.tracer.get().setTitle("Planning optimizer tester component");
+		this.tracer.get().setRelativePosition(0, 1);
+		this.toggleTracing();
+	}
+
+	// -------------------------------------------------------------------------
+	// Component life-cycle
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#execute()
+	 */
+	@Override
+	public void			execute() throws Exception
+	{
+		PlanningOptimizer optimizer =
+				new PlanningOptimizer(
+						new SolarProductionForecast(PEAK_POWER, 7.0, 19.0));
+		Instant now = at("06:00");
+		Instant start = at("19:00");
+		Duration duration = Duration.ofHours(2);
+
+		// an evening program is advanced into the production window
+		Duration shift = optimizer.plan("garden", POWER,
+										status(start, duration), now);
+		check(Duration.ofHours(-4).equals(shift),
+			  "the evening program is advanced to 15:00");
+		this.traceMessage("garden plan shifted by " + shift + ".\n");
+
+		// once applied, the program is left where it is
+		check(optimizer.plan("garden", POWER,
+							 status(start.plus(shift), duration), now) == null,
+			  "an applied shift is not shifted again");
+		this.traceMessage("garden plan left at " + start.plus(shift) + ".\n");
+
+		// a second program is placed before the first one
+		shift = optimizer.plan("air-conditioner", POWER,
+							   status(start, duration), now);
+		check(Duration.ofHours(-6).equals(shift),
+			  "the second program is advanced to 13:00");
+		this.traceMessage("air-conditioner plan shifted by " + shift + ".\n");
+
+		// a refused shift leaves the program at its start
+		optimizer.notApplied("air-conditioner", start);
+		check(optimizer.plan("air-conditioner", POWER,
+							 status(start, duration), now) == null,
+			  "a refused shift is not retried on an unchanged program");
+
+		this.traceMessage("planning optimizer tests passed.\n");
+	}
+
+	// -------------------------------------------------------------------------
+	// Internal methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the instant at {@code time} on the day of the test.
+	 *
+	 * @param time	time of the day as hh:mm.
+	 * @return		the corresponding instant.
+	 */
+	protected static Instant	at(String time)
+	{
+		return Instant.parse(DAY + time + ":00Z");
+	}
+
+	/**
+	 * return the status of a planning equipment with a program that is not
+	 * running, its deadline being at the middle of the program.
+	 *
+	 * @param start		start of the program.
+	 * @param duration	duration of the program.
+	 * @return			the status.
+	 */
+	protected static EquipmentStatus	status(
+		Instant start,
+		Duration duration
+		)
+	{
+		return new EquipmentStatus(true, 1, 1, false, false, Double.NaN,
+								   true, true, false, start, duration,
+								   start.plus(duration.dividedBy(2L)));
+	}
+
+	/**
+	 * throw an {@code AssertionError} if {@code condition} is false.
+	 *
+	 * @param condition	condition that must hold.
+	 * @param message	description of the condition.
+	 */
+	protected static void	check(boolean condition, String message)
+	{
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
+// -----------------------------------------------------------------------------
@@ -34,8 +34,6 @@ package fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import java.time.Instant;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
 import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
@@ -54,6 +52,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.Swi
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchLightOnIndoorGarden;
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchOffIndoorGarden;
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchOnIndoorGarden;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.utils.PlanScheduler;
 import fr.sorbonne_u.exceptions.PostconditionException;
 import fr.sorbonne_u.exceptions.PreconditionException;
 
@@ -108,7 +108,8 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
  */
 //-----------------------------------------------------------------------------
-@OfferedInterfaces(offered = {IndoorGardenCI.class})
+@OfferedInterfaces(offered = {IndoorGardenCI.class,
+							   BatchedEquipmentControlCI.class})
 @RequiredInterfaces(required={ClockServerCI.class})
 //-----------------------------------------------------------------------------
 public class			IndoorGarden
@@ -158,6 +159,10 @@ implements	IndoorGardenImplementationI
 	public static final String	REFLECTION_INBOUND_PORT_URI = "IG-RIP-URI";	
 	/** a convenient string to be used as inbound port URI prefix.			*/
 	public static final String	INBOUND_PORT_URI_PREFIX = "indoor-garden-ibp";
+	/** control adapter descriptor of the indoor garden, used by the
+	 *  household energy manager and by the inbound port.					*/
+	public static final String	CONTROL_ADAPTER_DESCRIPTOR =
+									"hem-adapter/indoor-garden-e3-descriptor.xml";
 	/** when true, methods trace their actions.								*/
 	public static final boolean	VERBOSE = true;
 
@@ -194,6 +199,8 @@ implements	IndoorGardenImplementationI
 	protected final String							clockURI;
 	/** accelerated clock used to implement the simulation scenario.		*/
 	protected AcceleratedClock						clock;
+	/** scheduler of the plan shared with the other planning appliances.	*/
+	protected PlanScheduler							planScheduler;
 
 	// -------------------------------------------------------------------------
 	// Constructors
@@ -320,6 +327,21 @@ implements	IndoorGardenImplementationI
 								+ this.clock.getAccelerationFactor()
 								+ "with predefined acceleration factor "
 								+ this.accFactor);
+			this.planScheduler =
+						PlanScheduler.acquire(this.clockURI, this.clock);
+			this.switchLightOnAction =
+				this.planScheduler.newAction(
+						this,
+						o -> ((IndoorGarden)o).switchLightOnTask());
+			this.switchLightOffAction =
+				this.planScheduler.newAction(
+						this,
+						o -> {	IndoorGarden ig = (IndoorGarden)o;
+								ig.switchLightOffTask();
+								// schedule the next lighting
+								ig.movePlanToNextDay();
+								ig.schedulePlan();
+							 });
 		}
 	}
 
@@ -329,6 +351,11 @@ implements	IndoorGardenImplementationI
 	@Override
 	public synchronized void	finalise() throws Exception
 	{
+		if (this.planScheduler != null) {
+			this.planScheduler.cancel(this.switchLightOnAction);
+			this.planScheduler.cancel(this.switchLightOffAction);
+			this.planScheduler.release();
+		}
 		this.doPortDisconnection(this.clockServerOBP.getPortURI());
 		super.finalise();
 	}
@@ -552,6 +579,20 @@ implements	IndoorGardenImplementationI
 										   State.DEACTIVATED_LIGHT_ON});
 	}
 
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.IndoorGardenImplementationI#isPlanActive()
+	 */
+	@Override
+	public boolean		isPlanActive() throws Exception
+	{
+		boolean ret = this.isLightPlanned() && this.currentPlanActive();
+		if (VERBOSE) {
+			this.traceMessage("is plan active? " + ret + ".\n");
+		}
+
+		return ret;
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.hem2022e1.equipments.indoorgarden.IndoorGardenImplementationI#deactivate()
 	 */
@@ -876,12 +917,11 @@ implements	IndoorGardenImplementationI
 		}
 	}
 
-	/** future object providing a handle on the task that switches on
-	 *  the light.															*/
-	protected Future<?>	switchLightOnTaskRef;
-	/** future object providing a handle on the task that switches off
-	 *  the light.															*/
-	protected Future<?>	switchLightOffTaskRef;
+	/** action of the plan scheduler that switches on the light.			*/
+	protected PlanScheduler.Action	switchLightOnAction;
+	/** action of the plan scheduler that switches off the light and then
+	 *  schedules the plan of the next day.									*/
+	protected PlanScheduler.Action	switchLightOffAction;
 
 	/**
 	 * perform the switch light on at the time given by the plan.
@@ -941,7 +981,9 @@ implements	IndoorGardenImplementationI
 	 */
 	protected boolean	isScheduled()
 	{
-		return this.switchLightOnTaskRef != null || this.switchLightOffTaskRef != null;
+		return this.planScheduler != null &&
+				(this.planScheduler.isPending(this.switchLightOnAction) ||
+					this.planScheduler.isPending(this.switchLightOffAction));
 	}
 
 	/**
@@ -961,63 +1003,18 @@ implements	IndoorGardenImplementationI
 		assert	!this.isScheduled() :
 				new PreconditionException("!isScheduled()");
 
-		long delayInNanos;
+		// the actions are kept by the plan scheduler, which is given the
+		// instants of the plan and renews them in place each day
 		if (!this.currentPlanActive()) {
-			if (this.isUnderTest) {
-				delayInNanos = this.clock.delayToAcceleratedInstantInNanos(
-												this.timeToSwitchLightOn);
-			} else {
-				delayInNanos =
-					(this.timeToSwitchLightOn.toEpochMilli()
-										- System.currentTimeMillis()) * 1000000;
-			}
-			this.switchLightOnTaskRef = 
-				this.scheduleTaskOnComponent(
-					new AbstractTask() {
-						@Override
-						public void run() {
-							try {
-								((IndoorGarden)this.getTaskOwner()).
-														switchLightOnTask();
-							} catch (Exception e) {
-								throw new RuntimeException(e) ;
-							}
-						}
-					},
-					delayInNanos,
-					TimeUnit.NANOSECONDS);
+			this.planScheduler.schedule(this.switchLightOnAction,
+										this.timeToSwitchLightOn);
 		} else {
 			if (!this.isLightOn()) {
 				this.switchLightOn();
 			}
 		}
-		if (this.isUnderTest) {
-			delayInNanos = this.clock.delayToAcceleratedInstantInNanos(
-													this.timeToSwitchLightOff);
-		} else {
-			delayInNanos =
-					(this.timeToSwitchLightOff.toEpochMilli()
-										- System.currentTimeMillis()) * 1000000;
-		}
-		this.switchLightOffTaskRef =
-			this.scheduleTaskOnComponent(
-				new AbstractTask() {
-					@Override
-					public void run() {
-						try {
-							((IndoorGarden)this.getTaskOwner()).
-														switchLightOffTask();
-							// schedule the next lighting
-							((IndoorGarden)this.getTaskOwner()).
-														movePlanToNextDay();
-							((IndoorGarden)this.getTaskOwner()).schedulePlan();
-						} catch (Exception e) {
-							throw new RuntimeException(e) ;
-						}
-					}
-				},
-				delayInNanos,
-				TimeUnit.NANOSECONDS);
+		this.planScheduler.schedule(this.switchLightOffAction,
+									this.timeToSwitchLightOff);
 
 		assert	this.isScheduled() :
 				new PostconditionException("isScheduled()");
@@ -1066,14 +1063,8 @@ implements	IndoorGardenImplementationI
 		assert	this.isScheduled() :
 				new PreconditionException("isScheduled()");
 
-		if (this.switchLightOnTaskRef != null && !this.switchLightOnTaskRef.isCancelled()) {
-			this.switchLightOnTaskRef.cancel(false);
-			this.switchLightOnTaskRef = null;
-		}
-		if (this.switchLightOffTaskRef != null && !this.switchLightOffTaskRef.isCancelled()) {
-			this.switchLightOffTaskRef.cancel(false);
-			this.switchLightOffTaskRef = null;
-		}
+		this.planScheduler.cancel(this.switchLightOnAction);
+		this.planScheduler.cancel(this.switchLightOffAction);
 
 		if (this.isLightOn()) {
 			this.switchLightOff();
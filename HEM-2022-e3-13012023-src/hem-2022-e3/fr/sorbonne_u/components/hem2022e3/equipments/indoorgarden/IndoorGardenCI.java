@@ -119,6 +119,12 @@ extends		OfferedCI,
 	@Override
 	public boolean		isDeactivated() throws Exception;
 
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.IndoorGardenImplementationI#isPlanActive()
+	 */
+	@Override
+	public boolean		isPlanActive() throws Exception;
+
 	/**
 	 * @see fr.sorbonne_u.components.hem2022e1.equipments.indoorgarden.IndoorGardenImplementationI#deactivate()
 	 */
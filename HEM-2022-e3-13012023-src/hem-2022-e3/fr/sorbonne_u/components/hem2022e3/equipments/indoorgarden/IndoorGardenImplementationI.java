@@ -214,6 +214,22 @@ public interface		IndoorGardenImplementationI
 	 */
 	public boolean		isDeactivated() throws Exception;
 
+	/**
+	 * return true if the lighting is planned and the current instant lies
+	 * between the planned times to switch the light on and off.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code !return || isLightPlanned()}
+	 * </pre>
+	 *
+	 * @return				true if the current plan is active now.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public boolean		isPlanActive() throws Exception;
+
 	/**
 	 * deactivate the program, switching the light off if it was on when the
 	 * call is made.
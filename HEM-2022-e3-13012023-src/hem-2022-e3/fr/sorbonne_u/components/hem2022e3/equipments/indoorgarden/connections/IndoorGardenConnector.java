@@ -148,6 +148,15 @@ implements	IndoorGardenCI
 		return ((IndoorGardenCI)this.offering).isDeactivated();
 	}
 
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.IndoorGardenCI#isPlanActive()
+	 */
+	@Override
+	public boolean		isPlanActive() throws Exception
+	{
+		return ((IndoorGardenCI)this.offering).isPlanActive();
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.hem2022e1.equipments.indoorgarden.IndoorGardenCI#deactivate()
 	 */
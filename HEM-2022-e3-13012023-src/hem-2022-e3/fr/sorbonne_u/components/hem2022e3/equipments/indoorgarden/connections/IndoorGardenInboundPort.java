@@ -33,8 +33,13 @@ package fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.connections;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022e3.equipments.hem.adapter.ControlAdapterCompiler;
+import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.IndoorGarden;
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.IndoorGardenCI;
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.IndoorGardenImplementationI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentCommand;
+import fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentStatus;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
 import fr.sorbonne_u.exceptions.PreconditionException;
 import java.time.Instant;
@@ -46,6 +51,14 @@ import java.time.Instant;
  *
  * <p><strong>Description</strong></p>
  * 
+ * <p>
+ * The port also offers the bulk operations of
+ * {@code BatchedEquipmentControlCI} to the household energy manager; they
+ * are run by an adapter generated from the control adapter descriptor of
+ * the indoor garden, created upon the first bulk call, which calls the
+ * operations of this port, hence locally.
+ * </p>
+ * 
  * <p><strong>Invariant</strong></p>
  * 
  * <pre>
@@ -58,10 +71,14 @@ import java.time.Instant;
  */
 public class			IndoorGardenInboundPort
 extends		AbstractInboundPort
-implements	IndoorGardenCI
+implements	IndoorGardenCI,
+			BatchedEquipmentControlCI
 {
 	private static final long serialVersionUID = 1L;
 
+	/** equipment-side control adapter, created upon the first bulk call.	*/
+	protected BatchedEquipmentControlCI	controlAdapter;
+
 	/**
 	 * create an inbound port.
 	 * 
@@ -210,6 +227,16 @@ implements	IndoorGardenCI
 
 	}
 
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.IndoorGardenCI#isPlanActive()
+	 */
+	@Override
+	public boolean		isPlanActive() throws Exception
+	{
+		return this.getOwner().handleRequest(
+					o -> ((IndoorGardenImplementationI)o).isPlanActive());
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.hem2022e1.equipments.indoorgarden.IndoorGardenCI#deactivate()
 	 */
@@ -233,5 +260,42 @@ implements	IndoorGardenCI
 							return null;
 						 });
 	}
+
+	/**
+	 * return the equipment-side control adapter, creating it if needed.
+	 *
+	 * @return				the equipment-side control adapter.
+	 * @throws Exception	if the control adapter descriptor cannot be compiled.
+	 */
+	protected synchronized BatchedEquipmentControlCI	getControlAdapter()
+	throws Exception
+	{
+		if (this.controlAdapter == null) {
+			this.controlAdapter =
+				ControlAdapterCompiler.newEquipmentAdapter(
+							IndoorGarden.CONTROL_ADAPTER_DESCRIPTOR, this);
+		}
+		return this.controlAdapter;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI#getStatus()
+	 */
+	@Override
+	public EquipmentStatus	getStatus() throws Exception
+	{
+		return this.getControlAdapter().getStatus();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.interfaces.BatchedEquipmentControlCI#execute(fr.sorbonne_u.components.hem2022e3.interfaces.EquipmentCommand[])
+	 */
+	@Override
+	public boolean[]	execute(EquipmentCommand[] commands) throws Exception
+	{
+		assert	commands != null :
+				new PreconditionException("commands != null");
+		return this.getControlAdapter().execute(commands);
+	}
 }
 // -----------------------------------------------------------------------------
@@ -195,6 +195,15 @@ implements	IndoorGardenCI
 
 	}
 
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.IndoorGardenCI#isPlanActive()
+	 */
+	@Override
+	public boolean		isPlanActive() throws Exception
+	{
+		return ((IndoorGardenCI)this.getConnector()).isPlanActive();
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.hem2022e1.equipments.indoorgarden.IndoorGardenCI#deactivate()
 	 */
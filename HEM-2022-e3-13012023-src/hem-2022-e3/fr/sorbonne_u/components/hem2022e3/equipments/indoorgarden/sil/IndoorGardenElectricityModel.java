@@ -42,6 +42,9 @@ import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.Swi
 import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterRTAtomicSimulatorPlugin;
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchLightOnIndoorGarden;
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchLightOffIndoorGarden;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.events.IntensityChanged;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -113,7 +116,8 @@ import java.util.Map;
 @ModelExternalEvents(imported = {SwitchOnIndoorGarden.class,
 								 SwitchOffIndoorGarden.class,
 								 SwitchLightOnIndoorGarden.class,
-								 SwitchLightOffIndoorGarden.class})
+								 SwitchLightOffIndoorGarden.class},
+					 exported = {IntensityChanged.class})
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 //-----------------------------------------------------------------------------
 public class			IndoorGardenElectricityModel
@@ -285,8 +289,8 @@ implements	IndoorGardenOperationI
 		this.currentState = State.OFF;
 		this.consumptionHasChanged = false;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	/**
@@ -305,8 +309,11 @@ implements	IndoorGardenOperationI
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		// the model does not export events.
-		return null;
+		// the electric meter model is told each time the intensity is
+		// updated.
+		ArrayList<EventI> ret = new ArrayList<EventI>();
+		ret.add(new IntensityChanged(this.getTimeOfNextEvent()));
+		return ret;
 	}
 
 	/**
@@ -351,14 +358,16 @@ implements	IndoorGardenOperationI
 		}
 
 		// Tracing
-		StringBuffer message =
-				new StringBuffer("executes an internal transition ");
-		message.append("with current consumption ");
-		message.append(this.currentIntensity.getValue());
-		message.append(" at ");
-		message.append(this.currentIntensity.getTime());
-		message.append(".\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an internal transition ");
+			message.append("with current consumption ");
+			message.append(this.currentIntensity.getValue());
+			message.append(" at ");
+			message.append(this.currentIntensity.getTime());
+			message.append(".\n");
+			this.logMessage(message.toString());
+		}
 	}
 
 	/**
@@ -379,11 +388,13 @@ implements	IndoorGardenOperationI
 		Event ce = (Event) currentEvents.get(0);
 
 		// Tracing
-		StringBuffer message =
-				new StringBuffer("executes an external transition on event ");
-		message.append(ce.toString());
-		message.append(")\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an external transition on event ");
+			message.append(ce.toString());
+			message.append(")\n");
+			this.logMessage(message.toString());
+		}
 
 		// events have a method execute on to perform their effect on this
 		// model
@@ -396,7 +407,7 @@ implements	IndoorGardenOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
@@ -32,16 +32,29 @@ package fr.sorbonne_u.components.hem2022e3.equipments.meter;
 // The fact that you are presently reading this means that you have had
 // knowledge of the CeCILL-C license and that you accept its terms.
 
+import java.time.Duration;
+import java.time.Instant;
+
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.components.hem2022e1.equipments.meter.ElectricMeterCI;
 import fr.sorbonne_u.components.hem2022e1.equipments.meter.ElectricMeterImplementationI;
 import fr.sorbonne_u.components.hem2022e1.equipments.meter.ElectricMeterInboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterSensorCI.MeterReadingDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.connections.ElectricMeterHistoryInboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.connections.ElectricMeterPowerInboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistory;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistorySeries;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.connections.ElectricMeterSensorDataInboundPort;
 import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterCoupledModel;
 import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterElectricityModel;
 import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterRTAtomicSimulatorPlugin;
+import fr.sorbonne_u.components.interfaces.DataOfferedCI;
+import fr.sorbonne_u.components.interfaces.DataRequiredCI;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelImportedVariable;
@@ -58,6 +71,31 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  *
  * <p><strong>Description</strong></p>
  * 
+ * <p>
+ * Besides the pull interface {@code ElectricMeterCI}, the meter offers its
+ * readings through the data interface {@code ElectricMeterSensorCI}. In SIL
+ * simulation, the electricity model calls {@code readingsUpdated} each time
+ * an appliance intensity changes and at least every
+ * {@code HEARTBEAT_PERIOD}, and the meter pushes a reading only when the
+ * consumption or the production intensity has changed by more than
+ * {@code PUSH_THRESHOLD} since the last pushed one, or when
+ * {@code HEARTBEAT_PERIOD} has elapsed since then, so that the subscriber
+ * learns about a spike as soon as it occurs while idle periods generate
+ * almost no traffic.
+ * </p>
+ * <p>
+ * The meter also offers {@code ElectricMeterPowerCI}, giving the power
+ * currently drawn and produced by the house and by each appliance in a
+ * single array of watts, the same snapshot being carried by the pushed
+ * readings.
+ * </p>
+ * <p>
+ * Every power snapshot given by the electricity model, pushed or not, is
+ * recorded in a {@code MeterHistory} which keeps it at the resolutions of
+ * {@code MeterHistoryResolution}; {@code ElectricMeterHistoryCI} gives
+ * access to ranges of this history.
+ * </p>
+ * 
  * <p><strong>White-box Invariant</strong></p>
  * 
  * <pre>
@@ -70,6 +108,11 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  * <pre>
  * invariant	{@code REFLECTION_INBOUND_PORT_URI != null && !REFLECTION_INBOUND_PORT_URI.isEmpty()}
  * invariant	{@code ELECTRIC_METER_INBOUND_PORT_URI != null && !ELECTRIC_METER_INBOUND_PORT_URI.isEmpty()}
+ * invariant	{@code ELECTRIC_METER_SENSOR_INBOUND_PORT_URI != null && !ELECTRIC_METER_SENSOR_INBOUND_PORT_URI.isEmpty()}
+ * invariant	{@code ELECTRIC_METER_POWER_INBOUND_PORT_URI != null && !ELECTRIC_METER_POWER_INBOUND_PORT_URI.isEmpty()}
+ * invariant	{@code ELECTRIC_METER_HISTORY_INBOUND_PORT_URI != null && !ELECTRIC_METER_HISTORY_INBOUND_PORT_URI.isEmpty()}
+ * invariant	{@code PUSH_THRESHOLD > 0.0}
+ * invariant	{@code HEARTBEAT_PERIOD != null && !HEARTBEAT_PERIOD.isNegative() && !HEARTBEAT_PERIOD.isZero()}
  * </pre>
  * 
  * <p>Created on : 2021-09-13</p>
@@ -77,12 +120,143 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
  */
 //-----------------------------------------------------------------------------
-@OfferedInterfaces(offered={ElectricMeterCI.class})
+@OfferedInterfaces(offered={ElectricMeterCI.class,
+							 ElectricMeterPowerCI.class,
+							 ElectricMeterHistoryCI.class,
+							 DataOfferedCI.PullCI.class})
+@RequiredInterfaces(required={DataOfferedCI.PushCI.class})
 //-----------------------------------------------------------------------------
 public class			ElectricMeter
 extends		AbstractCyPhyComponent
-implements	ElectricMeterImplementationI
+implements	ElectricMeterImplementationI,
+			ElectricMeterPowerImplementationI,
+			ElectricMeterHistoryImplementationI
 {
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>MeterReading</code> implements the readings pushed by
+	 * the electric meter.
+	 *
+	 * <p><strong>Description</strong></p>
+	 * 
+	 * <p><strong>Black-box Invariant</strong></p>
+	 * 
+	 * <pre>
+	 * invariant	{@code getTime() != null}
+	 * </pre>
+	 * 
+	 * <p>Created on : 2026-10-18</p>
+	 * 
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static class		MeterReading
+	implements	MeterReadingDataI
+	{
+		private static final long serialVersionUID = 1L;
+		protected final Instant	time;
+		protected final double	consumptionIntensity;
+		protected final double	productionIntensity;
+		protected final double	consumptionDelta;
+		protected final double	productionDelta;
+		protected final double	consumedEnergy;
+		protected final double	producedEnergy;
+		protected final double[]	power;
+		protected final boolean	heartbeat;
+
+		/**
+		 * create a meter reading.
+		 * 
+		 * <p><strong>Contract</strong></p>
+		 * 
+		 * <pre>
+		 * pre	{@code time != null}
+		 * pre	{@code power != null && power.length == SNAPSHOT_SIZE}
+		 * post	{@code true}	// no postcondition.
+		 * </pre>
+		 *
+		 * @param time					instant of the reading.
+		 * @param consumptionIntensity	current consumption intensity in amperes.
+		 * @param productionIntensity	current production intensity in amperes.
+		 * @param consumptionDelta		change of the consumption intensity since the previous reading.
+		 * @param productionDelta		change of the production intensity since the previous reading.
+		 * @param power					current total and per appliance powers in watts, copied.
+		 * @param consumedEnergy		total consumption in kWh.
+		 * @param producedEnergy		total production in kWh.
+		 * @param heartbeat				true if the changes are under the threshold.
+		 */
+		public				MeterReading(
+			Instant time,
+			double consumptionIntensity,
+			double productionIntensity,
+			double consumptionDelta,
+			double productionDelta,
+			double[] power,
+			double consumedEnergy,
+			double producedEnergy,
+			boolean heartbeat
+			)
+		{
+			assert	time != null : new PreconditionException("time != null");
+			assert	power != null && power.length == SNAPSHOT_SIZE :
+					new PreconditionException(
+							"power != null && power.length == SNAPSHOT_SIZE");
+
+			this.time = time;
+			this.consumptionIntensity = consumptionIntensity;
+			this.productionIntensity = productionIntensity;
+			this.consumptionDelta = consumptionDelta;
+			this.productionDelta = productionDelta;
+			this.power = power.clone();
+			this.consumedEnergy = consumedEnergy;
+			this.producedEnergy = producedEnergy;
+			this.heartbeat = heartbeat;
+		}
+
+		@Override
+		public Instant		getTime()					{ return this.time; }
+		@Override
+		public double		getConsumptionIntensity()	{ return this.consumptionIntensity; }
+		@Override
+		public double		getProductionIntensity()	{ return this.productionIntensity; }
+		@Override
+		public double		getConsumptionDelta()		{ return this.consumptionDelta; }
+		@Override
+		public double		getProductionDelta()		{ return this.productionDelta; }
+		@Override
+		public double		getPower(int index)			{ return this.power[index]; }
+		@Override
+		public double[]		getPowerSnapshot()			{ return this.power.clone(); }
+		@Override
+		public double		getConsumedEnergy()			{ return this.consumedEnergy; }
+		@Override
+		public double		getProducedEnergy()			{ return this.producedEnergy; }
+		@Override
+		public boolean		isHeartbeat()				{ return this.heartbeat; }
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String		toString()
+		{
+			StringBuffer sb = new StringBuffer(this.getClass().getSimpleName());
+			sb.append('[');
+			sb.append(this.consumptionIntensity);
+			sb.append(", ");
+			sb.append(this.productionIntensity);
+			sb.append(", ");
+			sb.append(this.time);
+			if (this.heartbeat) {
+				sb.append(", heartbeat");
+			}
+			sb.append(']');
+			return sb.toString();
+		}
+	}
+
 	// -------------------------------------------------------------------------
 	// Constants and variables
 	// -------------------------------------------------------------------------
@@ -93,11 +267,37 @@ implements	ElectricMeterImplementationI
 	/** URI of the electric meter inbound port used in tests.				*/
 	public static final String		ELECTRIC_METER_INBOUND_PORT_URI =
 															"ELECTRIC-METER";
+	/** URI of the electric meter sensor inbound port used in tests.		*/
+	public static final String		ELECTRIC_METER_SENSOR_INBOUND_PORT_URI =
+													"ELECTRIC-METER-SENSOR";
+	/** URI of the electric meter power inbound port used in tests.		*/
+	public static final String		ELECTRIC_METER_POWER_INBOUND_PORT_URI =
+													"ELECTRIC-METER-POWER";
+	/** URI of the electric meter history inbound port used in tests.		*/
+	public static final String		ELECTRIC_METER_HISTORY_INBOUND_PORT_URI =
+													"ELECTRIC-METER-HISTORY";
 	/** when true, methods trace their actions.								*/
 	public static final boolean		VERBOSE = true;
+	/** change of intensity in amperes above which a reading is pushed.	*/
+	public static final double		PUSH_THRESHOLD = 0.5;
+	/** maximal delay between two pushed readings.							*/
+	public static final Duration	HEARTBEAT_PERIOD = Duration.ofMinutes(15);
 
 	/** inbound port offering the <code>ElectricMeterCI</code> interface.	*/
 	protected ElectricMeterInboundPort	emip;
+	/** inbound port offering the <code>ElectricMeterSensorCI</code>
+	 *  interface.															*/
+	protected ElectricMeterSensorDataInboundPort	emsip;
+	/** inbound port offering the <code>ElectricMeterPowerCI</code>
+	 *  interface.															*/
+	protected ElectricMeterPowerInboundPort			empip;
+	/** inbound port offering the <code>ElectricMeterHistoryCI</code>
+	 *  interface.															*/
+	protected ElectricMeterHistoryInboundPort		emhip;
+	/** history of the power snapshots.										*/
+	protected final MeterHistory	history = new MeterHistory(SNAPSHOT_SIZE);
+	/** last pushed reading or null if none yet.							*/
+	protected volatile MeterReading		lastReading;
 
 	/** when true, the component executes in test mode.						*/
 	protected final boolean							isUnderTest;
@@ -227,6 +427,18 @@ implements	ElectricMeterImplementationI
 		this.emip =
 				new ElectricMeterInboundPort(electricMeterInboundPortURI, this);
 		this.emip.publishPort();
+		this.emsip =
+			new ElectricMeterSensorDataInboundPort(
+								ELECTRIC_METER_SENSOR_INBOUND_PORT_URI, this);
+		this.emsip.publishPort();
+		this.empip =
+			new ElectricMeterPowerInboundPort(
+								ELECTRIC_METER_POWER_INBOUND_PORT_URI, this);
+		this.empip.publishPort();
+		this.emhip =
+			new ElectricMeterHistoryInboundPort(
+								ELECTRIC_METER_HISTORY_INBOUND_PORT_URI, this);
+		this.emhip.publishPort();
 
 		if (VERBOSE) {
 			this.tracer.get().setTitle("Electric meter component");
@@ -271,6 +483,9 @@ implements	ElectricMeterImplementationI
 	{
 		try {
 			this.emip.unpublishPort();
+			this.emsip.unpublishPort();
+			this.empip.unpublishPort();
+			this.emhip.unpublishPort();
 		} catch (Exception e) {
 			throw new ComponentShutdownException(e) ;
 		}
@@ -298,5 +513,123 @@ implements	ElectricMeterImplementationI
 	{
 		return this.simulatorPlugin.getTotalProduction();
 	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerImplementationI#getCurrentPower()
+	 */
+	@Override
+	public double		getCurrentPower() throws Exception
+	{
+		return this.simulatorPlugin.getPower(TOTAL_CONSUMPTION);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerImplementationI#getPowerSnapshot()
+	 */
+	@Override
+	public double[]		getPowerSnapshot() throws Exception
+	{
+		return this.simulatorPlugin.getPowerSnapshot();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterHistoryImplementationI#getHistory(fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution, java.time.Instant, java.time.Instant)
+	 */
+	@Override
+	public MeterHistorySeries	getHistory(
+		MeterHistoryResolution resolution,
+		Instant from,
+		Instant to
+		) throws Exception
+	{
+		return this.history.query(resolution, from, to);
+	}
+
+	/**
+	 * return the last pushed reading, or null if none has been made yet.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the last pushed reading or null if none.
+	 */
+	public MeterReadingDataI	lastReading()
+	{
+		return this.lastReading;
+	}
+
+	/**
+	 * take into account new values computed by the electricity model, record
+	 * them in the history and push them to the subscriber if they differ enough from the last pushed
+	 * ones or if the heartbeat period has elapsed; the push is run as a task
+	 * of the component so that the simulation does not wait for it.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code isSimulated}
+	 * pre	{@code power != null && power.length == SNAPSHOT_SIZE}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param consumptionIntensity	current consumption intensity in amperes.
+	 * @param productionIntensity	current production intensity in amperes.
+	 * @param power					current total and per appliance powers in watts.
+	 * @param consumedEnergy		total consumption in kWh.
+	 * @param producedEnergy		total production in kWh.
+	 * @throws Exception			<i>to do</i>.
+	 */
+	public void			readingsUpdated(
+		double consumptionIntensity,
+		double productionIntensity,
+		double[] power,
+		double consumedEnergy,
+		double producedEnergy
+		) throws Exception
+	{
+		assert	this.isSimulated : new PreconditionException("isSimulated");
+
+		Instant now = this.simulatorPlugin.getCurrentInstant();
+		this.history.record(now, power);
+
+		MeterReading last = this.lastReading;
+		double dc = consumptionIntensity;
+		double dp = productionIntensity;
+		boolean heartbeat = false;
+		if (last != null) {
+			dc -= last.getConsumptionIntensity();
+			dp -= last.getProductionIntensity();
+			if (Math.abs(dc) <= PUSH_THRESHOLD &&
+											Math.abs(dp) <= PUSH_THRESHOLD) {
+				if (Duration.between(last.getTime(), now).
+											compareTo(HEARTBEAT_PERIOD) < 0) {
+					return;
+				}
+				heartbeat = true;
+			}
+		}
+
+		MeterReading r = new MeterReading(now, consumptionIntensity,
+										  productionIntensity, dc, dp, power,
+										  consumedEnergy, producedEnergy,
+										  heartbeat);
+		this.lastReading = r;
+		if (this.emsip.connected()) {
+			// called on the simulation thread, which must not wait for the
+			// subscriber; the single thread of the component keeps the
+			// readings in order
+			this.runTask(
+				o -> {	try {
+							((ElectricMeter)o).emsip.send(r);
+						} catch (Exception e) {
+							throw new RuntimeException(e) ;
+						}
+					 });
+		}
+	}
 }
 // -----------------------------------------------------------------------------
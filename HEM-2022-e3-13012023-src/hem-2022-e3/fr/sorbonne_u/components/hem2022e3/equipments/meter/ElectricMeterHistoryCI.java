@@ -0,0 +1,44 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter;
+
+import java.time.Instant;
+
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistorySeries;
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+
+/**
+ * The interface <code>ElectricMeterHistoryCI</code> defines the history
+ * services offered by and that can be required from an electric meter
+ * component.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public interface		ElectricMeterHistoryCI
+extends		ElectricMeterHistoryImplementationI,
+			RequiredCI,
+			OfferedCI
+{
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterHistoryImplementationI#getHistory(fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution, java.time.Instant, java.time.Instant)
+	 */
+	@Override
+	public MeterHistorySeries	getHistory(
+		MeterHistoryResolution resolution,
+		Instant from,
+		Instant to
+		) throws Exception;
+}
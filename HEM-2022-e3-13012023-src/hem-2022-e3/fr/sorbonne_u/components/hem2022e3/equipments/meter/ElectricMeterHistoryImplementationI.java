@@ -0,0 +1,60 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter;
+
+import java.time.Instant;
+
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistorySeries;
+
+/**
+ * The interface <code>ElectricMeterHistoryImplementationI</code> defines the
+ * services giving access to the history of the readings of an electric meter
+ * component.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The history is a series of buckets at one of the resolutions of
+ * {@code MeterHistoryResolution}, each bucket giving the mean powers in
+ * watts over its duration indexed as defined by
+ * {@code ElectricMeterPowerImplementationI}.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public interface		ElectricMeterHistoryImplementationI
+{
+	/**
+	 * return the buckets of the given resolution starting in
+	 * [{@code from}, {@code to}).
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code resolution != null}
+	 * pre	{@code from != null && to != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param resolution	resolution of the requested series.
+	 * @param from			lower bound of the range, included.
+	 * @param to			upper bound of the range, excluded.
+	 * @return				the series of the buckets in the range.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public MeterHistorySeries	getHistory(
+		MeterHistoryResolution resolution,
+		Instant from,
+		Instant to
+		) throws Exception;
+}
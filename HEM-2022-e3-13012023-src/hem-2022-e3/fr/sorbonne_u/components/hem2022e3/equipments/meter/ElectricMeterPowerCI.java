@@ -0,0 +1,42 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter;
+
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+
+/**
+ * The interface <code>ElectricMeterPowerCI</code> defines the instantaneous
+ * power services offered by and that can be required from an electric meter
+ * component.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public interface		ElectricMeterPowerCI
+extends		ElectricMeterPowerImplementationI,
+			RequiredCI,
+			OfferedCI
+{
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerImplementationI#getCurrentPower()
+	 */
+	@Override
+	public double		getCurrentPower() throws Exception;
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerImplementationI#getPowerSnapshot()
+	 */
+	@Override
+	public double[]		getPowerSnapshot() throws Exception;
+}
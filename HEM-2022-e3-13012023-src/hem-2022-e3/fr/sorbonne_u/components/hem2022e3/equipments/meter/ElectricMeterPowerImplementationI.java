@@ -0,0 +1,83 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter;
+
+/**
+ * The interface <code>ElectricMeterPowerImplementationI</code> defines the
+ * services returning the instantaneous electric power measured by an electric
+ * meter component.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Where {@code ElectricMeterImplementationI} gives the energy consumed and
+ * produced since the start of the meter, these services give the power drawn
+ * or produced at the current instant, in watts. The snapshot is a single
+ * array of primitive values indexed by the constants of this interface: the
+ * two totals first, then one entry per appliance, so that a client gets a
+ * coherent view of the house in one call and without boxing.
+ * </p>
+ * 
+ * <p><strong>Black-box Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code SNAPSHOT_SIZE == SOLAR_PANEL + 1}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public interface		ElectricMeterPowerImplementationI
+{
+	/** index of the total power consumed by the house.					*/
+	public static final int		TOTAL_CONSUMPTION = 0;
+	/** index of the total power produced by the house.					*/
+	public static final int		TOTAL_PRODUCTION = 1;
+	/** index of the power consumed by the heater.							*/
+	public static final int		HEATER = 2;
+	/** index of the power consumed by the hair dryer.						*/
+	public static final int		HAIR_DRYER = 3;
+	/** index of the power consumed by the indoor garden.					*/
+	public static final int		INDOOR_GARDEN = 4;
+	/** index of the power consumed by the air conditioner.				*/
+	public static final int		AIR_CONDITIONER = 5;
+	/** index of the power consumed by the refrigerator.					*/
+	public static final int		REFRIGERATOR = 6;
+	/** index of the power produced by the solar panel.					*/
+	public static final int		SOLAR_PANEL = 7;
+	/** number of entries of a power snapshot.								*/
+	public static final int		SNAPSHOT_SIZE = 8;
+
+	/**
+	 * return the power currently drawn by the house in watts.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @return				the power currently drawn by the house in watts.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public double		getCurrentPower() throws Exception;
+
+	/**
+	 * return the current total and per appliance powers in watts, indexed
+	 * by the constants of this interface.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null && return.length == SNAPSHOT_SIZE}
+	 * </pre>
+	 *
+	 * @return				the current total and per appliance powers in watts.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public double[]		getPowerSnapshot() throws Exception;
+}
@@ -0,0 +1,102 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter;
+
+import java.time.Instant;
+
+import fr.sorbonne_u.components.interfaces.DataOfferedCI;
+import fr.sorbonne_u.components.interfaces.DataRequiredCI;
+
+/**
+ * The component interface <code>ElectricMeterSensorCI</code> declares the
+ * interface that the meter readings exchanged through it must implement.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * As for the heater sensor, this interface extends the BCM4Java data
+ * interfaces: the electric meter pushes its readings to the household
+ * energy manager when the consumption or the production intensity changes
+ * by more than a threshold, and at least once per heartbeat period, while
+ * the household energy manager can also pull the last reading at any time.
+ * </p>
+ * 
+ * <p><strong>Black-box Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public interface ElectricMeterSensorCI
+extends		DataRequiredCI,
+			DataOfferedCI
+{
+	/**
+	 * The interface <code>MeterReadingDataI</code> declares the methods to
+	 * access a reading of the electric meter.
+	 *
+	 * <p><strong>Description</strong></p>
+	 * 
+	 * <p>
+	 * Intensities are the instantaneous ones in amperes, energies are the
+	 * totals since the start of the meter in kWh; deltas are the changes of
+	 * the intensities since the previous pushed reading. Powers are the
+	 * instantaneous ones in watts, indexed as defined by
+	 * {@code ElectricMeterPowerImplementationI}.
+	 * </p>
+	 * 
+	 * <p><strong>Black-box Invariant</strong></p>
+	 * 
+	 * <pre>
+	 * invariant	{@code getTime() != null}
+	 * invariant	{@code getConsumptionIntensity() >= 0.0 && getProductionIntensity() >= 0.0}
+	 * </pre>
+	 * 
+	 * <p>Created on : 2026-10-18</p>
+	 * 
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static interface	MeterReadingDataI
+	extends		DataRequiredCI.DataI,
+				DataOfferedCI.DataI
+	{
+		/** @return	the instant at which the reading has been made.		*/
+		public Instant	getTime();
+		/** @return	the current consumption intensity in amperes.			*/
+		public double	getConsumptionIntensity();
+		/** @return	the current production intensity in amperes.			*/
+		public double	getProductionIntensity();
+		/** @return	the change of the consumption intensity in amperes.	*/
+		public double	getConsumptionDelta();
+		/** @return	the change of the production intensity in amperes.		*/
+		public double	getProductionDelta();
+		/**
+		 * return the power in watts of the given index.
+		 * 
+		 * <p><strong>Contract</strong></p>
+		 * 
+		 * <pre>
+		 * pre	{@code index >= 0 && index < ElectricMeterPowerImplementationI.SNAPSHOT_SIZE}
+		 * post	{@code true}	// no postcondition.
+		 * </pre>
+		 *
+		 * @param index	index of a total or of an appliance.
+		 * @return		the power in watts of the given index.
+		 */
+		public double	getPower(int index);
+		/** @return	a copy of the total and per appliance powers in watts.	*/
+		public double[]	getPowerSnapshot();
+		/** @return	the total consumption in kWh.							*/
+		public double	getConsumedEnergy();
+		/** @return	the total production in kWh.							*/
+		public double	getProducedEnergy();
+		/** @return	true if the reading is only a heartbeat, the changes
+		 *  being under the threshold.										*/
+		public boolean	isHeartbeat();
+	}
+}
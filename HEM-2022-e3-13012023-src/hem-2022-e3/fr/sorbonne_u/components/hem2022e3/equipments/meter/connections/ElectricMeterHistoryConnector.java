@@ -0,0 +1,46 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.connections;
+
+import java.time.Instant;
+
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterHistoryCI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistorySeries;
+
+/**
+ * The class <code>ElectricMeterHistoryConnector</code> implements a connector
+ * for the {@code ElectricMeterHistoryCI} component interface.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			ElectricMeterHistoryConnector
+extends		AbstractConnector
+implements	ElectricMeterHistoryCI
+{
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterHistoryCI#getHistory(fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution, java.time.Instant, java.time.Instant)
+	 */
+	@Override
+	public MeterHistorySeries	getHistory(
+		MeterHistoryResolution resolution,
+		Instant from,
+		Instant to
+		) throws Exception
+	{
+		return ((ElectricMeterHistoryCI)this.offering).
+											getHistory(resolution, from, to);
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.connections;
+
+import java.time.Instant;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterHistoryCI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterHistoryImplementationI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistorySeries;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>ElectricMeterHistoryInboundPort</code> implements an
+ * inbound port for the {@code ElectricMeterHistoryCI} component interface.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code getOwner() instanceof ElectricMeterHistoryImplementationI}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			ElectricMeterHistoryInboundPort
+extends		AbstractInboundPort
+implements	ElectricMeterHistoryCI
+{
+	private static final long serialVersionUID = 1L;
+
+	public				ElectricMeterHistoryInboundPort(ComponentI owner)
+	throws Exception
+	{
+		super(ElectricMeterHistoryCI.class, owner);
+
+		assert	owner instanceof ElectricMeterHistoryImplementationI :
+				new PreconditionException(
+						"owner instanceof ElectricMeterHistoryImplementationI");
+	}
+
+	public				ElectricMeterHistoryInboundPort(
+		String uri,
+		ComponentI owner
+		) throws Exception
+	{
+		super(uri, ElectricMeterHistoryCI.class, owner);
+
+		assert	owner instanceof ElectricMeterHistoryImplementationI :
+				new PreconditionException(
+						"owner instanceof ElectricMeterHistoryImplementationI");
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterHistoryCI#getHistory(fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution, java.time.Instant, java.time.Instant)
+	 */
+	@Override
+	public MeterHistorySeries	getHistory(
+		MeterHistoryResolution resolution,
+		Instant from,
+		Instant to
+		) throws Exception
+	{
+		return this.getOwner().handleRequest(
+				o -> ((ElectricMeterHistoryImplementationI)o).
+											getHistory(resolution, from, to));
+	}
+}
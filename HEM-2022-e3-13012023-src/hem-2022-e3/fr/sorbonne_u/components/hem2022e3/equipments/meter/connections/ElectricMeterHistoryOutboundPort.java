@@ -0,0 +1,63 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.connections;
+
+import java.time.Instant;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterHistoryCI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistorySeries;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * The class <code>ElectricMeterHistoryOutboundPort</code> implements an
+ * outbound port for the {@code ElectricMeterHistoryCI} component interface.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			ElectricMeterHistoryOutboundPort
+extends		AbstractOutboundPort
+implements	ElectricMeterHistoryCI
+{
+	private static final long serialVersionUID = 1L;
+
+	public				ElectricMeterHistoryOutboundPort(ComponentI owner)
+	throws Exception
+	{
+		super(ElectricMeterHistoryCI.class, owner);
+	}
+
+	public				ElectricMeterHistoryOutboundPort(
+		String uri,
+		ComponentI owner
+		) throws Exception
+	{
+		super(uri, ElectricMeterHistoryCI.class, owner);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterHistoryCI#getHistory(fr.sorbonne_u.components.hem2022e3.equipments.meter.history.MeterHistoryResolution, java.time.Instant, java.time.Instant)
+	 */
+	@Override
+	public MeterHistorySeries	getHistory(
+		MeterHistoryResolution resolution,
+		Instant from,
+		Instant to
+		) throws Exception
+	{
+		return ((ElectricMeterHistoryCI)this.getConnector()).
+											getHistory(resolution, from, to);
+	}
+}
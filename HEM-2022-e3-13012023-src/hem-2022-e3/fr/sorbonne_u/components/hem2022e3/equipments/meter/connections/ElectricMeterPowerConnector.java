@@ -0,0 +1,46 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.connections;
+
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerCI;
+
+/**
+ * The class <code>ElectricMeterPowerConnector</code> implements a connector
+ * for the {@code ElectricMeterPowerCI} component interface.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			ElectricMeterPowerConnector
+extends		AbstractConnector
+implements	ElectricMeterPowerCI
+{
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerCI#getCurrentPower()
+	 */
+	@Override
+	public double		getCurrentPower() throws Exception
+	{
+		return ((ElectricMeterPowerCI)this.offering).getCurrentPower();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerCI#getPowerSnapshot()
+	 */
+	@Override
+	public double[]		getPowerSnapshot() throws Exception
+	{
+		return ((ElectricMeterPowerCI)this.offering).getPowerSnapshot();
+	}
+}
@@ -0,0 +1,75 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.connections;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerCI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerImplementationI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>ElectricMeterPowerInboundPort</code> implements an inbound
+ * port for the {@code ElectricMeterPowerCI} component interface.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code getOwner() instanceof ElectricMeterPowerImplementationI}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			ElectricMeterPowerInboundPort
+extends		AbstractInboundPort
+implements	ElectricMeterPowerCI
+{
+	private static final long serialVersionUID = 1L;
+
+	public				ElectricMeterPowerInboundPort(ComponentI owner)
+	throws Exception
+	{
+		super(ElectricMeterPowerCI.class, owner);
+
+		assert	owner instanceof ElectricMeterPowerImplementationI :
+				new PreconditionException(
+						"owner instanceof ElectricMeterPowerImplementationI");
+	}
+
+	public				ElectricMeterPowerInboundPort(
+		String uri,
+		ComponentI owner
+		) throws Exception
+	{
+		super(uri, ElectricMeterPowerCI.class, owner);
+
+		assert	owner instanceof ElectricMeterPowerImplementationI :
+				new PreconditionException(
+						"owner instanceof ElectricMeterPowerImplementationI");
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerCI#getCurrentPower()
+	 */
+	@Override
+	public double		getCurrentPower() throws Exception
+	{
+		return this.getOwner().handleRequest(
+				o -> ((ElectricMeterPowerImplementationI)o).getCurrentPower());
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerCI#getPowerSnapshot()
+	 */
+	@Override
+	public double[]		getPowerSnapshot() throws Exception
+	{
+		return this.getOwner().handleRequest(
+				o -> ((ElectricMeterPowerImplementationI)o).getPowerSnapshot());
+	}
+}
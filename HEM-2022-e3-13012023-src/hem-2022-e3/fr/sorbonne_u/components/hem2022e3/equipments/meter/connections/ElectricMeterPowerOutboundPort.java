@@ -0,0 +1,63 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.connections;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerCI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * The class <code>ElectricMeterPowerOutboundPort</code> implements an
+ * outbound port for the {@code ElectricMeterPowerCI} component interface.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			ElectricMeterPowerOutboundPort
+extends		AbstractOutboundPort
+implements	ElectricMeterPowerCI
+{
+	private static final long serialVersionUID = 1L;
+
+	public				ElectricMeterPowerOutboundPort(ComponentI owner)
+	throws Exception
+	{
+		super(ElectricMeterPowerCI.class, owner);
+	}
+
+	public				ElectricMeterPowerOutboundPort(
+		String uri,
+		ComponentI owner
+		) throws Exception
+	{
+		super(uri, ElectricMeterPowerCI.class, owner);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerCI#getCurrentPower()
+	 */
+	@Override
+	public double		getCurrentPower() throws Exception
+	{
+		return ((ElectricMeterPowerCI)this.getConnector()).getCurrentPower();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerCI#getPowerSnapshot()
+	 */
+	@Override
+	public double[]		getPowerSnapshot() throws Exception
+	{
+		return ((ElectricMeterPowerCI)this.getConnector()).getPowerSnapshot();
+	}
+}
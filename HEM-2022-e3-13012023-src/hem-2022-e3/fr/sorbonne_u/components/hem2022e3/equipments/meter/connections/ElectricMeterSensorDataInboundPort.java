@@ -0,0 +1,101 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.connections;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeter;
+import fr.sorbonne_u.components.interfaces.DataOfferedCI;
+import fr.sorbonne_u.components.interfaces.DataOfferedCI.DataI;
+import fr.sorbonne_u.components.ports.AbstractDataInboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>ElectricMeterSensorDataInboundPort</code> implements the
+ * data inbound port for the component interface {@code DataOfferedCI}
+ * extended by the component interface {@code ElectricMeterSensorCI}.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Black-box Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code getOwner() instanceof ElectricMeter}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			ElectricMeterSensorDataInboundPort
+extends		AbstractDataInboundPort
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * create the data inbound port.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code owner instanceof ElectricMeter}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner			component that owns this port.
+	 * @throws Exception 	<i>to do</i>.
+	 */
+	public				ElectricMeterSensorDataInboundPort(ComponentI owner)
+	throws Exception
+	{
+		super(DataOfferedCI.PullCI.class, DataOfferedCI.PushCI.class, owner);
+
+		assert	owner instanceof ElectricMeter :
+				new PreconditionException("owner instanceof ElectricMeter");
+	}
+
+	/**
+	 * create the data inbound port.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code owner instanceof ElectricMeter}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param uri			unique identifier of the port.
+	 * @param owner			component that owns this port.
+	 * @throws Exception 	<i>to do</i>.
+	 */
+	public				ElectricMeterSensorDataInboundPort(
+		String uri,
+		ComponentI owner
+		) throws Exception
+	{
+		super(uri, DataOfferedCI.PullCI.class, DataOfferedCI.PushCI.class,
+			  owner);
+
+		assert	owner instanceof ElectricMeter :
+				new PreconditionException("owner instanceof ElectricMeter");
+	}
+
+	/**
+	 * return the last reading of the meter.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no more preconditions.
+	 * post	{@code true}	// no more postconditions.
+	 * </pre>
+	 * 
+	 * @see fr.sorbonne_u.components.interfaces.DataOfferedCI.PullCI#get()
+	 */
+	@Override
+	public DataI		get() throws Exception
+	{
+		return this.getOwner().handleRequest(
+						o -> ((ElectricMeter)o).lastReading());
+	}
+}
@@ -0,0 +1,371 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.history;
+
+import java.time.Instant;
+
+/**
+ * The class <code>MeterHistory</code> keeps the history of the readings of
+ * the electric meter at several resolutions.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Each sample is a vector of {@code width} channels, typically a power
+ * snapshot indexed as defined by {@code ElectricMeterPowerImplementationI}.
+ * A sample is added to one ring buffer per {@code MeterHistoryResolution}.
+ * As the meter only records a sample when the readings change or for its
+ * heartbeat, a sample holds until the next one: the ring integrates this
+ * piecewise constant signal over its current bucket, buckets being aligned
+ * on multiples of their duration since the epoch, and stores its time
+ * weighted mean when a sample falls in a later bucket, the buckets entirely
+ * covered by the held sample being stored with its value. The rollups are
+ * hence computed on the fly without ever rereading the finer resolutions, and
+ * the oldest bucket is overwritten when a ring is full.
+ * </p>
+ * <p>
+ * The buckets and their values are kept in primitive arrays allocated once,
+ * the values of a bucket being contiguous, so that recording a sample does
+ * not allocate and a range query copies contiguous slices of the arrays.
+ * Only the closed buckets are returned by the queries. A sample older than
+ * the last one, as when a new simulation run starts, clears the rings.
+ * Methods are synchronised as the samples are recorded by the simulation
+ * thread while the queries come from the component threads.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code width > 0}
+ * invariant	{@code rings.length == MeterHistoryResolution.values().length}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			MeterHistory
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Ring</code> implements the ring buffer keeping the
+	 * history at one resolution.
+	 *
+	 * <p><strong>Invariant</strong></p>
+	 * 
+	 * <pre>
+	 * invariant	{@code size >= 0 && size <= capacity}
+	 * invariant	{@code head >= 0 && head < capacity}
+	 * invariant	{@code !started || openStart % bucket == 0}
+	 * invariant	{@code !started || lastTime >= openStart && lastTime < openStart + bucket}
+	 * </pre>
+	 * 
+	 * <p>Created on : 2026-10-18</p>
+	 * 
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	protected static class	Ring
+	{
+		/** resolution of the ring.											*/
+		protected final MeterHistoryResolution	resolution;
+		/** duration of a bucket in milliseconds.							*/
+		protected final long		bucket;
+		/** number of buckets kept.											*/
+		protected final int			capacity;
+		/** number of channels per bucket.									*/
+		protected final int			width;
+		/** start of the closed buckets in milliseconds since the epoch.	*/
+		protected final long[]		times;
+		/** mean values of the closed buckets, bucket after bucket.		*/
+		protected final double[]	values;
+		/** index of the oldest closed bucket.								*/
+		protected int				head;
+		/** number of closed buckets.										*/
+		protected int				size;
+		/** start of the open bucket in milliseconds since the epoch.		*/
+		protected long				openStart;
+		/** integrals of the channels over the open bucket, in value times
+		 *  milliseconds.													*/
+		protected final double[]	sums;
+		/** duration of the open bucket covered by samples in milliseconds.	*/
+		protected long				covered;
+		/** values of the channels of the last sample, held until the next.	*/
+		protected final double[]	held;
+		/** time of the last sample in milliseconds since the epoch, or end
+		 *  of the last whole bucket skipped.								*/
+		protected long				lastTime;
+		/** true if a sample has been added since the last clear.			*/
+		protected boolean			started;
+
+		protected			Ring(MeterHistoryResolution resolution, int width)
+		{
+			this.resolution = resolution;
+			this.bucket = resolution.getBucket().toMillis();
+			this.capacity = resolution.getCapacity();
+			this.width = width;
+			this.times = new long[this.capacity];
+			this.values = new double[this.capacity * width];
+			this.sums = new double[width];
+			this.held = new double[width];
+		}
+
+		/**
+		 * add a sample taken at {@code t} milliseconds since the epoch.
+		 *
+		 * @param t			time of the sample in milliseconds since the epoch.
+		 * @param sample	values of the channels.
+		 */
+		protected void		add(long t, double[] sample)
+		{
+			if (this.started) {
+				if (t < this.lastTime) {
+					this.clear();
+				} else {
+					this.accumulate(t);
+				}
+			}
+			if (!this.started) {
+				this.openStart = Math.floorDiv(t, this.bucket) * this.bucket;
+				this.lastTime = t;
+				this.started = true;
+			}
+			System.arraycopy(sample, 0, this.held, 0, this.width);
+		}
+
+		/**
+		 * integrate the held sample up to {@code t}, closing the buckets
+		 * ending before {@code t}.
+		 *
+		 * @param t	time in milliseconds since the epoch.
+		 */
+		protected void		accumulate(long t)
+		{
+			while (this.lastTime < t) {
+				long end = this.openStart + this.bucket;
+				long upTo = Math.min(t, end);
+				long d = upTo - this.lastTime;
+				for (int c = 0 ; c < this.width ; c++) {
+					this.sums[c] += this.held[c] * d;
+				}
+				this.covered += d;
+				this.lastTime = upTo;
+				if (upTo == end) {
+					this.close();
+					this.openStart = end;
+					// buckets beyond the capacity would be overwritten anyway
+					long whole = (t - end)/this.bucket;
+					if (whole > this.capacity) {
+						this.openStart += (whole - this.capacity)*this.bucket;
+						this.lastTime = this.openStart;
+					}
+				}
+			}
+		}
+
+		/**
+		 * store the time weighted mean of the open bucket, overwriting the
+		 * oldest closed bucket if the ring is full, and empty the open bucket.
+		 */
+		protected void		close()
+		{
+			int slot;
+			if (this.size < this.capacity) {
+				slot = (this.head + this.size) % this.capacity;
+				this.size++;
+			} else {
+				slot = this.head;
+				this.head = (this.head + 1) % this.capacity;
+			}
+			this.times[slot] = this.openStart;
+			int base = slot * this.width;
+			for (int c = 0 ; c < this.width ; c++) {
+				this.values[base + c] = this.sums[c] / this.covered;
+				this.sums[c] = 0.0;
+			}
+			this.covered = 0L;
+		}
+
+		/**
+		 * remove all of the buckets, closed or open.
+		 */
+		protected void		clear()
+		{
+			this.head = 0;
+			this.size = 0;
+			for (int c = 0 ; c < this.width ; c++) {
+				this.sums[c] = 0.0;
+			}
+			this.covered = 0L;
+			this.started = false;
+		}
+
+		/**
+		 * return the logical index, from the oldest closed bucket, of the
+		 * first closed bucket starting at or after {@code t}, or {@code size}
+		 * if none.
+		 *
+		 * @param t	time in milliseconds since the epoch.
+		 * @return	the logical index of the first bucket starting at or after {@code t}.
+		 */
+		protected int		firstAtOrAfter(long t)
+		{
+			int lo = 0;
+			int hi = this.size;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (this.times[(this.head + mid) % this.capacity] < t) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			return lo;
+		}
+
+		/**
+		 * return the closed buckets starting in [{@code from}, {@code to}).
+		 *
+		 * @param from	lower bound in milliseconds since the epoch, included.
+		 * @param to	upper bound in milliseconds since the epoch, excluded.
+		 * @return		the series of the closed buckets in the range.
+		 */
+		protected MeterHistorySeries	query(long from, long to)
+		{
+			int first = this.firstAtOrAfter(from);
+			int n = Math.max(this.firstAtOrAfter(to) - first, 0);
+			long[] t = new long[n];
+			double[] v = new double[n * this.width];
+			int copied = 0;
+			while (copied < n) {
+				int slot = (this.head + first + copied) % this.capacity;
+				// copy up to the end of the arrays, then wrap around
+				int run = Math.min(n - copied, this.capacity - slot);
+				System.arraycopy(this.times, slot, t, copied, run);
+				System.arraycopy(this.values, slot * this.width,
+								 v, copied * this.width, run * this.width);
+				copied += run;
+			}
+			return new MeterHistorySeries(this.resolution, this.width, t, v);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** number of channels per sample.										*/
+	protected final int		width;
+	/** ring buffers indexed by the ordinal of their resolution.			*/
+	protected final Ring[]	rings;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an empty history for samples of {@code width} channels.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code width > 0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param width	number of channels per sample.
+	 */
+	public				MeterHistory(int width)
+	{
+		assert	width > 0;
+
+		this.width = width;
+		MeterHistoryResolution[] resolutions = MeterHistoryResolution.values();
+		this.rings = new Ring[resolutions.length];
+		for (MeterHistoryResolution r : resolutions) {
+			this.rings[r.ordinal()] = new Ring(r, width);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the number of channels per sample.
+	 *
+	 * @return	the number of channels per sample.
+	 */
+	public int			getWidth()
+	{
+		return this.width;
+	}
+
+	/**
+	 * record a sample taken at {@code time} at all of the resolutions.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code time != null}
+	 * pre	{@code sample != null && sample.length >= getWidth()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param time		time at which the sample has been taken.
+	 * @param sample	values of the channels.
+	 */
+	public synchronized void	record(Instant time, double[] sample)
+	{
+		assert	time != null;
+		assert	sample != null && sample.length >= this.width;
+
+		long t = time.toEpochMilli();
+		for (int i = 0 ; i < this.rings.length ; i++) {
+			this.rings[i].add(t, sample);
+		}
+	}
+
+	/**
+	 * return the closed buckets of the given resolution starting in
+	 * [{@code from}, {@code to}).
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code resolution != null}
+	 * pre	{@code from != null && to != null}
+	 * post	{@code return != null && return.getWidth() == getWidth()}
+	 * </pre>
+	 *
+	 * @param resolution	resolution of the requested series.
+	 * @param from			lower bound of the range, included.
+	 * @param to			upper bound of the range, excluded.
+	 * @return				the series of the closed buckets in the range.
+	 */
+	public synchronized MeterHistorySeries	query(
+		MeterHistoryResolution resolution,
+		Instant from,
+		Instant to
+		)
+	{
+		assert	resolution != null;
+		assert	from != null && to != null;
+
+		return this.rings[resolution.ordinal()].query(from.toEpochMilli(),
+													  to.toEpochMilli());
+	}
+
+	/**
+	 * remove all of the recorded samples.
+	 */
+	public synchronized void	clear()
+	{
+		for (int i = 0 ; i < this.rings.length ; i++) {
+			this.rings[i].clear();
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.history;
+
+import java.time.Duration;
+
+/**
+ * The enumeration <code>MeterHistoryResolution</code> lists the resolutions
+ * at which the electric meter keeps its history.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Each resolution gives the duration of its buckets and the number of
+ * buckets kept, hence the depth of the history: one day at one minute, one
+ * week at fifteen minutes and thirty days at one hour.
+ * </p>
+ * 
+ * <p><strong>Black-box Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code getBucket() != null && !getBucket().isNegative() && !getBucket().isZero()}
+ * invariant	{@code getCapacity() > 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public enum				MeterHistoryResolution
+{
+	/** one minute buckets over one day.									*/
+	ONE_MINUTE(Duration.ofMinutes(1), 24*60),
+	/** fifteen minutes buckets over one week.								*/
+	FIFTEEN_MINUTES(Duration.ofMinutes(15), 7*24*4),
+	/** one hour buckets over thirty days.									*/
+	ONE_HOUR(Duration.ofHours(1), 30*24);
+
+	/** duration of a bucket.												*/
+	private final Duration	bucket;
+	/** number of buckets kept.												*/
+	private final int		capacity;
+
+	private				MeterHistoryResolution(Duration bucket, int capacity)
+	{
+		this.bucket = bucket;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * return the duration of a bucket.
+	 *
+	 * @return	the duration of a bucket.
+	 */
+	public Duration		getBucket()
+	{
+		return this.bucket;
+	}
+
+	/**
+	 * return the number of buckets kept at this resolution.
+	 *
+	 * @return	the number of buckets kept at this resolution.
+	 */
+	public int			getCapacity()
+	{
+		return this.capacity;
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.history;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The class <code>MeterHistorySeries</code> holds the result of a range query
+ * on the history of the electric meter.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The series is kept in two primitive arrays so that a day of data is
+ * transferred without boxing: {@code times} gives the start of each bucket
+ * in milliseconds since the epoch and {@code values} gives, bucket after
+ * bucket, the mean over the bucket of each of the {@code width} channels,
+ * indexed as defined by {@code ElectricMeterPowerImplementationI}.
+ * </p>
+ * 
+ * <p><strong>Black-box Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code size() >= 0 && getWidth() > 0}
+ * invariant	{@code for all i in 1 .. size()-1, getTime(i-1).isBefore(getTime(i))}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			MeterHistorySeries
+implements	Serializable
+{
+	private static final long serialVersionUID = 1L;
+	/** resolution of the series.											*/
+	protected final MeterHistoryResolution	resolution;
+	/** number of channels per bucket.										*/
+	protected final int						width;
+	/** start of the buckets in milliseconds since the epoch.				*/
+	protected final long[]					times;
+	/** mean values of the channels, bucket after bucket.					*/
+	protected final double[]				values;
+
+	/**
+	 * create a series; the arrays are not copied.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code resolution != null && width > 0}
+	 * pre	{@code times != null && values != null && values.length == times.length * width}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param resolution	resolution of the series.
+	 * @param width			number of channels per bucket.
+	 * @param times			start of the buckets in milliseconds since the epoch.
+	 * @param values		mean values of the channels, bucket after bucket.
+	 */
+	public				MeterHistorySeries(
+		MeterHistoryResolution resolution,
+		int width,
+		long[] times,
+		double[] values
+		)
+	{
+		assert	resolution != null && width > 0;
+		assert	times != null && values != null &&
+									values.length == times.length * width;
+
+		this.resolution = resolution;
+		this.width = width;
+		this.times = times;
+		this.values = values;
+	}
+
+	/** @return	the resolution of the series.								*/
+	public MeterHistoryResolution	getResolution()	{ return this.resolution; }
+	/** @return	the number of channels per bucket.							*/
+	public int			getWidth()					{ return this.width; }
+	/** @return	the number of buckets in the series.						*/
+	public int			size()						{ return this.times.length; }
+
+	/**
+	 * return the start of the bucket at index {@code i}.
+	 *
+	 * @param i	index of a bucket.
+	 * @return	the start of the bucket at index {@code i}.
+	 */
+	public Instant		getTime(int i)
+	{
+		return Instant.ofEpochMilli(this.times[i]);
+	}
+
+	/**
+	 * return the mean value of a channel over the bucket at index {@code i}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code i >= 0 && i < size()}
+	 * pre	{@code channel >= 0 && channel < getWidth()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param i			index of a bucket.
+	 * @param channel	index of a channel.
+	 * @return			the mean value of the channel over the bucket.
+	 */
+	public double		getValue(int i, int channel)
+	{
+		assert	channel >= 0 && channel < this.width;
+		return this.values[i*this.width + channel];
+	}
+}
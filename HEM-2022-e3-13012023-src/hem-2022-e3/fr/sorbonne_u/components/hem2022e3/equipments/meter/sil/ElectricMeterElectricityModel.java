@@ -39,6 +39,14 @@ import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.components.hem2022e2.HEM_ReportI;
 import fr.sorbonne_u.components.hem2022e2.utils.Electricity;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeter;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerImplementationI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.events.IntensityChanged;
+import fr.sorbonne_u.components.hem2022e3.utils.BinaryTraceWriter;
+import fr.sorbonne_u.components.hem2022e3.utils.RealTimeProbe;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
+import fr.sorbonne_u.components.hem2022e3.utils.StateSnapshot;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.InternalVariable;
@@ -47,6 +55,7 @@ import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
 import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
+import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
@@ -65,12 +74,24 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * This model is an HIOA model that imports variables, hence shows how this kind
  * of models are programmed.
  * </p>
+ * <p>
+ * The imported intensities are piecewise constant, changing only when an
+ * appliance electricity model makes a transition, which then sends an
+ * {@code IntensityChanged} event. The model is hence event-driven: it makes
+ * an immediate internal transition after each of these events and
+ * otherwise stays passive, the energy consumed or produced since the last
+ * update being computed exactly from the constant intensity over the elapsed
+ * interval. Queries between two transitions extrapolate the energies in the
+ * same way. In SIL simulations, the model also wakes up every
+ * {@code IDLE_STEP} so that its owner component can send its heartbeat
+ * readings, and its internal transitions feed a {@code RealTimeProbe} when
+ * the real time measures are enabled.
+ * </p>
  * 
  * <p><strong>White-box Invariant</strong></p>
  * 
  * <pre>
- * invariant	{@code STEP > 0.0}
- * invariant	{@code evaluationStep.greaterThan(Duration.zero(getSimulatedTimeUnit()))}
+ * invariant	{@code IDLE_STEP > 0.0}
  * </pre>
  * 
  * <p><strong>Black-box Invariant</strong></p>
@@ -85,6 +106,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  * @author	<a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
  */
 //-----------------------------------------------------------------------------
+@ModelExternalEvents(imported = {IntensityChanged.class})
 @ModelImportedVariable(name = "currentHeaterIntensity",
 					   type = Double.class)
 @ModelImportedVariable(name = "currentHairDryerIntensity",
@@ -112,13 +134,39 @@ extends		AtomicHIOA
 	/** tension of electric circuit for appliances in volts.			 	*/
 	public static final double		TENSION = 220.0;
 
-	/** evaluation step for the equation (assumed in hours).				*/
-	protected static final double	STEP = 60.0/3600.0;	// 60 seconds
-	/** evaluation step as a duration, including the time unit.				*/
-	protected final Duration		evaluationStep;
+	/** delay after which the model wakes up in SIL simulations when no
+	 *  intensity changes (assumed in hours).								*/
+	protected static final double	IDLE_STEP =
+					ElectricMeter.HEARTBEAT_PERIOD.toMillis()/3600000.0;
+	/** idle step as a duration, including the time unit.					*/
+	protected final Duration		idleStep;
+	/** duration of the simulated time unit in hours, computed once for
+	 *  the integration of the energies.									*/
+	protected final double			hoursPerUnit;
+	/** true when an imported intensity has changed since the last internal
+	 *  transition.															*/
+	protected boolean				intensityHasChanged = false;
 
 	/** final report of the simulation run.									*/
 	protected ElectricMeterElectricityReport	finalReport;
+	/** owner electric meter component in SIL simulations, null otherwise.	*/
+	protected ElectricMeter			owner;
+	/** powers published at the last transition in SIL simulations, a new
+	 *  array each time that is never modified once published.				*/
+	protected volatile double[]		powers;
+	/** total consumption published at the last transition.				*/
+	protected volatile StateSnapshot	consumptionSnapshot;
+	/** total production published at the last transition.				*/
+	protected volatile StateSnapshot	productionSnapshot;
+	/** binary trace writer or null if the model traces in its log.			*/
+	protected BinaryTraceWriter		trace;
+	/** identifier of the consumption intensity in the binary trace.		*/
+	protected int					consIntensityTraceId;
+	/** identifier of the production intensity in the binary trace.		*/
+	protected int					prodIntensityTraceId;
+	/** probe measuring the lag of the transitions in SIL simulations, null
+	 *  when the measures are not enabled.									*/
+	protected RealTimeProbe			probe;
 
 	// -------------------------------------------------------------------------
 	// HIOA model variables
@@ -185,7 +233,8 @@ extends		AtomicHIOA
 		) throws Exception
 	{
 		super(uri, simulatedTimeUnit, simulationEngine);
-		this.evaluationStep = new Duration(STEP, this.getSimulatedTimeUnit());
+		this.hoursPerUnit = Electricity.hoursPerUnit(simulatedTimeUnit);
+		this.idleStep = new Duration(IDLE_STEP, this.getSimulatedTimeUnit());
 		this.setLogger(new StandardLogger());
 	}
 
@@ -197,37 +246,226 @@ extends		AtomicHIOA
 	 * Calculate the total electricity consumption at the current time
 	 * */
 	public double computeTotalConsumption() {
-		return this.currentConsumption.evaluateAt(this.getCurrentStateTime());
+		return this.computeTotalConsumption(this.getCurrentStateTime());
 	}
 	
 	/**
 	 * Calculate the total electricity production at the current time
 	 * */
 	public double computeTotalProduction() {
-		return this.currentProduction.evaluateAt(this.getCurrentStateTime());
+		return this.computeTotalProduction(this.getCurrentStateTime());
+	}
+
+	/**
+	 * return the total electricity consumption in kwh at {@code t}, given the
+	 * consumption intensity stays constant until then.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code t != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param t	time at which the consumption is required.
+	 * @return	the total electricity consumption in kwh at {@code t}.
+	 */
+	public double		computeTotalConsumption(Time t)
+	{
+		double c = this.currentConsumption.getValue();
+		double d = t.getSimulatedTime() -
+							this.currentConsumption.getTime().getSimulatedTime();
+		if (d > 0.0) {
+			c += Electricity.computeConsumption(
+						d, this.hoursPerUnit,
+						TENSION*this.currentConsIntensity.getValue());
+		}
+		return c;
+	}
+
+	/**
+	 * return the total electricity production in kwh at {@code t}, given the
+	 * production intensity stays constant until then.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code t != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param t	time at which the production is required.
+	 * @return	the total electricity production in kwh at {@code t}.
+	 */
+	public double		computeTotalProduction(Time t)
+	{
+		double c = this.currentProduction.getValue();
+		double d = t.getSimulatedTime() -
+							this.currentProduction.getTime().getSimulatedTime();
+		if (d > 0.0) {
+			c += Electricity.computeConsumption(
+						d, this.hoursPerUnit,
+						TENSION*this.currentProdIntensity.getValue());
+		}
+		return c;
+	}
+
+	/**
+	 * record that at least one imported intensity has changed, hence an
+	 * immediate internal transition must update the totals.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 */
+	public void			intensityChanged()
+	{
+		this.intensityHasChanged = true;
 	}
 	
 	
 	/**
-	 * update the total electricity production in kwh given the current
-	 * intensity has been constant for the duration {@code d}.
+	 * fill {@code snapshot} with the current total and per appliance powers
+	 * in watts, indexed as defined by {@code ElectricMeterPowerImplementationI}.
 	 * 
 	 * <p><strong>Contract</strong></p>
 	 * 
 	 * <pre>
-	 * pre	{@code d != null}
+	 * pre	{@code snapshot != null && snapshot.length >= ElectricMeterPowerImplementationI.SNAPSHOT_SIZE}
 	 * post	{@code true}	// no postcondition.
 	 * </pre>
 	 *
-	 * @param d	duration for which the intensity has been maintained.
+	 * @param snapshot	array to be filled with the current powers.
 	 */
-	protected void		updateProduction(Duration d)
+	public void			fillPowerSnapshot(double[] snapshot)
 	{
-		double c = this.currentProduction.getValue();
-		c += Electricity.computeConsumption(
-								d, TENSION*this.currentProdIntensity.getValue());
-		Time t = this.currentProduction.getTime().add(d);
-		this.currentProduction.setNewValue(c, t);
+		assert	snapshot != null && snapshot.length >=
+							ElectricMeterPowerImplementationI.SNAPSHOT_SIZE;
+
+		double heater = TENSION*this.currentHeaterIntensity.getValue();
+		double hairDryer = TENSION*this.currentHairDryerIntensity.getValue();
+		double indoorGarden =
+					TENSION*this.currentIndoorGardenIntensity.getValue();
+		double airConditioner =
+					TENSION*this.currentAirConditionerIntensity.getValue();
+		double refrigerator =
+					TENSION*this.currentRefrigeratorIntensity.getValue();
+		double solarPanel = TENSION*this.currentSolarPanelIntensity.getValue();
+
+		snapshot[ElectricMeterPowerImplementationI.HEATER] = heater;
+		snapshot[ElectricMeterPowerImplementationI.HAIR_DRYER] = hairDryer;
+		snapshot[ElectricMeterPowerImplementationI.INDOOR_GARDEN] =
+																indoorGarden;
+		snapshot[ElectricMeterPowerImplementationI.AIR_CONDITIONER] =
+																airConditioner;
+		snapshot[ElectricMeterPowerImplementationI.REFRIGERATOR] =
+																refrigerator;
+		snapshot[ElectricMeterPowerImplementationI.SOLAR_PANEL] = solarPanel;
+		snapshot[ElectricMeterPowerImplementationI.TOTAL_CONSUMPTION] =
+					heater + hairDryer + indoorGarden + airConditioner +
+																refrigerator;
+		snapshot[ElectricMeterPowerImplementationI.TOTAL_PRODUCTION] =
+																solarPanel;
+	}
+
+	/**
+	 * return the powers published at the last transition, indexed as defined
+	 * by {@code ElectricMeterPowerImplementationI}, or null if none has been
+	 * published yet; the array must not be modified.
+	 *
+	 * @return	the powers published at the last transition or null.
+	 */
+	public double[]		getPowers()
+	{
+		return this.powers;
+	}
+
+	/**
+	 * return the total consumption in kwh published at the last transition,
+	 * its derivative being the consumption per time unit at the current
+	 * intensity, or null if it is not initialised yet.
+	 *
+	 * @return	the last published total consumption or null.
+	 */
+	public StateSnapshot	getConsumptionSnapshot()
+	{
+		return this.consumptionSnapshot;
+	}
+
+	/**
+	 * return the total production in kwh published at the last transition,
+	 * its derivative being the production per time unit at the current
+	 * intensity, or null if it is not initialised yet.
+	 *
+	 * @return	the last published total production or null.
+	 */
+	public StateSnapshot	getProductionSnapshot()
+	{
+		return this.productionSnapshot;
+	}
+
+	/**
+	 * publish the totals and, in SIL simulations, the powers at {@code now},
+	 * the totals growing at the current intensities when {@code running}
+	 * and staying constant otherwise.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code now != null}
+	 * pre	{@code currentConsIntensity.isInitialised() && currentProdIntensity.isInitialised()}
+	 * post	{@code getConsumptionSnapshot() != null && getProductionSnapshot() != null}
+	 * </pre>
+	 *
+	 * @param now		time of the published values.
+	 * @param running	true if the totals keep growing after {@code now}.
+	 */
+	protected void		publishReadings(Time now, boolean running)
+	{
+		double t = now.getSimulatedTime();
+		double dc = running ?
+					Electricity.computeConsumption(
+							1.0, this.hoursPerUnit,
+							TENSION*this.currentConsIntensity.getValue())
+				:	0.0;
+		double dp = running ?
+					Electricity.computeConsumption(
+							1.0, this.hoursPerUnit,
+							TENSION*this.currentProdIntensity.getValue())
+				:	0.0;
+		this.consumptionSnapshot =
+				new StateSnapshot(t, this.currentConsumption.getValue(), dc);
+		this.productionSnapshot =
+				new StateSnapshot(t, this.currentProduction.getValue(), dp);
+		if (this.owner != null) {
+			double[] p =
+				new double[ElectricMeterPowerImplementationI.SNAPSHOT_SIZE];
+			this.fillPowerSnapshot(p);
+			this.powers = p;
+		}
+	}
+
+	/**
+	 * update the total electricity production in kwh up to {@code now} given the
+	 * current intensity has been constant since its last update.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code now != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param now	time up to which the production is updated.
+	 */
+	protected void		updateProduction(Time now)
+	{
+		this.currentProduction.setNewValue(this.computeTotalProduction(now),
+										   now);
 	}
 	
 	/**
@@ -250,25 +488,22 @@ extends		AtomicHIOA
 	}
 	
 	/**
-	 * update the total electricity consumption in kwh given the current
-	 * intensity has been constant for the duration {@code d}.
+	 * update the total electricity consumption in kwh up to {@code now} given the
+	 * current intensity has been constant since its last update.
 	 * 
 	 * <p><strong>Contract</strong></p>
 	 * 
 	 * <pre>
-	 * pre	{@code d != null}
+	 * pre	{@code now != null}
 	 * post	{@code true}	// no postcondition.
 	 * </pre>
 	 *
-	 * @param d	duration for which the intensity has been maintained.
+	 * @param now	time up to which the consumption is updated.
 	 */
-	protected void		updateConsumption(Duration d)
+	protected void		updateConsumption(Time now)
 	{
-		double c = this.currentConsumption.getValue();
-		c += Electricity.computeConsumption(
-								d, TENSION*this.currentConsIntensity.getValue());
-		Time t = this.currentConsumption.getTime().add(d);
-		this.currentConsumption.setNewValue(c, t);
+		this.currentConsumption.setNewValue(this.computeTotalConsumption(now),
+											now);
 	}
 
 	/**
@@ -315,9 +550,10 @@ extends		AtomicHIOA
 	public void			initialiseState(Time initialTime)
 	{
 		super.initialiseState(initialTime);
+		this.intensityHasChanged = false;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	/**
@@ -362,6 +598,10 @@ extends		AtomicHIOA
 		} else if (!this.currentProdIntensity.isInitialised()) {
 			notInitialisedYet += 2;
 		}
+		if (justInitialised > 0 && this.currentConsIntensity.isInitialised()
+								&& this.currentProdIntensity.isInitialised()) {
+			this.publishReadings(this.getCurrentStateTime(), true);
+		}
 		
 		return new Pair<>(justInitialised, notInitialisedYet);
 	}
@@ -382,8 +622,19 @@ extends		AtomicHIOA
 	@Override
 	public Duration		timeAdvance()
 	{
-		// trigger a new internal transition at each evaluation step duration
-		return this.evaluationStep;
+		if (this.intensityHasChanged) {
+			// an immediate internal transition updates the totals with the
+			// new intensities; being after the transitions of the models
+			// that have sent the events, it sees their new values.
+			this.intensityHasChanged = false;
+			return Duration.zero(this.getSimulatedTimeUnit());
+		} else if (this.owner != null) {
+			// in SIL, wake up for the heartbeat readings of the owner
+			return this.idleStep;
+		} else {
+			// otherwise nothing changes until the next intensity change
+			return Duration.INFINITY;
+		}
 	}
 
 	/**
@@ -394,26 +645,80 @@ extends		AtomicHIOA
 	{
 		super.userDefinedInternalTransition(elapsedTime);
 
-		// update the current consumption since the last consumption update.
-		// must be done before recomputing the instantaneous intensity.
-		this.updateConsumption(elapsedTime);
-		this.updateProduction(elapsedTime);
+		if (this.probe != null) {
+			this.probe.recordTransition(
+							this.getCurrentStateTime().getSimulatedTime());
+		}
+
+		// update the current consumption since the last consumption update,
+		// which may be before the last external transition; must be done
+		// before recomputing the instantaneous intensity.
+		Time now = this.getCurrentStateTime();
+		this.updateConsumption(now);
+		this.updateProduction(now);
 		// recompute the current total intensity of consumption
 		double old_cons = this.currentConsIntensity.getValue();
 		double ic = this.computeTotalConsumptionIntensity();
 		this.currentConsIntensity.setNewValue(ic, this.getCurrentStateTime());
-		if (Math.abs(ic - old_cons) > 0.00000000000000001) {
-			this.logMessage("new electricity consumption: " +
-							this.currentConsIntensity + " amperes.\n");
-		}
 		// recompute the current total intensity of production
 		double old_prod = this.currentProdIntensity.getValue();
 		double ip = this.computeTotalProductionIntensity();
-		this.currentProdIntensity.setNewValue(ic, this.getCurrentStateTime());
-		if (Math.abs(ip - old_prod) > 0.00000000000000001) {
-			this.logMessage("new electricity production: " +
-							this.currentProdIntensity + " amperes.\n");
+		this.currentProdIntensity.setNewValue(ip, this.getCurrentStateTime());
+		// publish before the owner reads the instant of the readings
+		this.publishReadings(now, true);
+
+		// Tracing
+		if (this.trace != null) {
+			try {
+				double t = this.getCurrentStateTime().getSimulatedTime();
+				this.trace.append(t, this.consIntensityTraceId, ic);
+				this.trace.append(t, this.prodIntensityTraceId, ip);
+			} catch (Exception e) {
+				throw new RuntimeException(e) ;
+			}
+		} else {
+			if (Math.abs(ic - old_cons) > 0.00000000000000001) {
+				SimulationLog.log(this, Level.FINE,
+									() -> "new electricity consumption: " +
+										  this.currentConsIntensity + " amperes.\n");
+			}
+			if (Math.abs(ip - old_prod) > 0.00000000000000001) {
+				SimulationLog.log(this, Level.FINE,
+									() -> "new electricity production: " +
+										  this.currentProdIntensity + " amperes.\n");
+			}
+		}
+
+		// in SIL simulations, let the owner component push the new readings
+		// to its subscriber when they differ enough from the last pushed ones
+		if (this.owner != null) {
+			try {
+				this.owner.readingsUpdated(
+										ic, ip, this.powers,
+										this.currentConsumption.getValue(),
+										this.currentProduction.getValue());
+			} catch (Exception e) {
+				throw new RuntimeException(e) ;
+			}
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedExternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration)
+	 */
+	@Override
+	public void			userDefinedExternalTransition(Duration elapsedTime)
+	{
+		// several appliances may change their intensity at the same time
+		ArrayList<EventI> currentEvents = this.getStoredEventAndReset();
+		assert	currentEvents != null && !currentEvents.isEmpty();
+
+		for (EventI e : currentEvents) {
+			assert	e instanceof IntensityChanged;
+			((IntensityChanged)e).executeOn(this);
 		}
+
+		super.userDefinedExternalTransition(elapsedTime);
 	}
 
 	/**
@@ -422,10 +727,9 @@ extends		AtomicHIOA
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.updateConsumption(
-						endTime.subtract(this.currentConsumption.getTime()));
-		this.updateProduction(
-						endTime.subtract(this.currentProduction.getTime()));
+		this.updateConsumption(endTime);
+		this.updateProduction(endTime);
+		this.publishReadings(endTime, false);
 		// must capture the current consumption before the finalisation
 		// reinitialise the internal model variable.
 		this.finalReport = new ElectricMeterElectricityReport(
@@ -433,7 +737,10 @@ extends		AtomicHIOA
 											this.currentConsumption.getValue(),
 											this.currentProduction.getValue());
 
-		this.logMessage("simulation ends.\n");
+		if (this.trace != null) {
+			this.trace.flush();
+		}
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
@@ -483,6 +790,16 @@ extends		AtomicHIOA
 			return this.modelURI;
 		}
 
+		public double	getTotalConsumption()
+		{
+			return this.totalConsumption;
+		}
+
+		public double	getTotalProduction()
+		{
+			return this.totalProduction;
+		}
+
 		@Override
 		public String	printout(String indent)
 		{
@@ -531,6 +848,18 @@ extends		AtomicHIOA
 							ElectricMeterRTAtomicSimulatorPlugin.OWNER_RPNAME);
 			// direct traces on the tracer of the owner component
 			this.setLogger(new StandardComponentLogger(owner));
+			if (owner instanceof ElectricMeter) {
+				this.owner = (ElectricMeter) owner;
+			}
+			this.probe = RealTimeProbe.forName(URI);
+		}
+		// per step values go to the binary trace file when one is given
+		this.trace = BinaryTraceWriter.fromRunParameters(simParams);
+		if (this.trace != null) {
+			this.consIntensityTraceId =
+						this.trace.register(URI + ".currentConsIntensity");
+			this.prodIntensityTraceId =
+						this.trace.register(URI + ".currentProdIntensity");
 		}
 	}
 
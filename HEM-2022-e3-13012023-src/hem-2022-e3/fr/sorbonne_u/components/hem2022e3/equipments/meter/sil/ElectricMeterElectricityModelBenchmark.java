@@ -0,0 +1,83 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.sil;
+
+import java.util.ArrayList;
+import java.util.List;
+import fr.sorbonne_u.components.hem2022e3.utils.MicroBenchmark;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>ElectricMeterElectricityModelBenchmark</code> measures the
+ * hot paths of the <code>ElectricMeterElectricityModel</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The model must have been initialised by a simulation run, so that its
+ * imported intensities are bound. The benchmarks sum the imported
+ * intensities, integrate the consumption until one simulated second after
+ * its last update and update it at its current time.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			ElectricMeterElectricityModelBenchmark
+{
+	/** duration of the consumption integrated at each call in hours.		*/
+	protected static final double	INTEGRATION_DURATION = 1.0/3600.0;
+
+	/**
+	 * run the benchmarks on {@code model}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code model != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param model	initialised model.
+	 * @return		the measures of the benchmarks.
+	 */
+	public static List<MicroBenchmark.Result>	run(
+		ElectricMeterElectricityModel model
+		)
+	{
+		assert	model != null;
+
+		List<MicroBenchmark.Result> ret = new ArrayList<>();
+		ret.add(MicroBenchmark.run(
+				ElectricMeterElectricityModel.URI
+									+ ".computeTotalConsumptionIntensity",
+				null,
+				() -> model.computeTotalConsumptionIntensity()));
+
+		Time last = model.currentConsumption.getTime();
+		Time later = last.add(new Duration(INTEGRATION_DURATION,
+										   model.getSimulatedTimeUnit()));
+		ret.add(MicroBenchmark.run(
+				ElectricMeterElectricityModel.URI + ".computeTotalConsumption",
+				null,
+				() -> model.computeTotalConsumption(later)));
+		ret.add(MicroBenchmark.run(
+				ElectricMeterElectricityModel.URI + ".updateConsumption",
+				null,
+				() -> {	model.updateConsumption(last);
+						return model.currentConsumption.getValue();
+					  }));
+		return ret;
+	}
+}
+// -----------------------------------------------------------------------------
@@ -52,6 +52,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.Swi
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchLightOnIndoorGarden;
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchOffIndoorGarden;
 import fr.sorbonne_u.components.hem2022e3.equipments.indoorgarden.sil.events.SwitchOnIndoorGarden;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.ElectricMeterPowerImplementationI;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.events.IntensityChanged;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.RefrigeratorElectricityModel;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.DoNotRun;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.Run;
@@ -60,6 +62,7 @@ import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.Sto
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.SolarPanelElectricityModel;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.events.SolarNotProduce;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.events.SolarProduce;
+import fr.sorbonne_u.components.hem2022e3.utils.StateSnapshot;
 import fr.sorbonne_u.devs_simulation.architectures.RTArchitecture;
 import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
 import fr.sorbonne_u.devs_simulation.hioa.architectures.RTAtomicHIOA_Descriptor;
@@ -71,11 +74,10 @@ import fr.sorbonne_u.devs_simulation.models.architectures.CoupledModelDescriptor
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.events.EventSink;
 import fr.sorbonne_u.devs_simulation.models.events.EventSource;
-import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.models.time.TimeUtils;
-import fr.sorbonne_u.exceptions.PreconditionException;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -116,6 +118,15 @@ extends		RTAtomicSimulatorPlugin
 	 *  parameter.															*/
 	public static final String	OWNER_RPNAME = "EMCRN";
 
+	/** start time of the simulation as an instant.							*/
+	protected Instant	localStartTime;
+	/** start time of the simulation in simulated time.						*/
+	protected Time		simulatedStartTime;
+	/** acceleration factor of the real time simulation.					*/
+	protected double	accelerationFactor;
+	/** electric meter model, looked up at the first access of a run.		*/
+	protected volatile ElectricMeterElectricityModel	meterModel;
+
 	// -------------------------------------------------------------------------
 	// DEVS simulation protocol
 	// -------------------------------------------------------------------------
@@ -142,54 +153,230 @@ extends		RTAtomicSimulatorPlugin
 		simParams.remove(OWNER_RPNAME);
 	}
 
+	/**
+	 * @see fr.sorbonne_u.components.cyphy.plugins.devs.RTAtomicSimulatorPlugin#startRTSimulation(long, double, double)
+	 */
+	@Override
+	public void			startRTSimulation(
+		long realTimeOfStart,
+		double simulationStartTime,
+		double simulationDuration
+		) throws Exception
+	{
+		// keep track of the simulation real time of start as an instance
+		// of Instant to be able to convert simulated times into instants
+		this.localStartTime = Instant.ofEpochMilli(realTimeOfStart);
+		// also keep track of the simulated start time in order to interpret
+		// correctly the simulated times against localStartTime
+		this.simulatedStartTime =
+				new Time(simulationStartTime,
+						 this.localArchitecture.getSimulationTimeUnit());
+		// the model is looked up again in case the simulator has changed
+		this.meterModel = null;
+		// actually start the real time simulation
+		super.startRTSimulation(
+					realTimeOfStart, simulationStartTime, simulationDuration);
+	}
+
 	// -------------------------------------------------------------------------
 	// Methods
 	// -------------------------------------------------------------------------
 	
 	/**
-	 * Get the total electricity consumption at the current time through the URI 
-	 * of the electric meter model
-	 * */
-	public double getTotalConsumption() {
+	 * return the electric meter model, looked up once per simulation run.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code simulator != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the electric meter model.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected ElectricMeterElectricityModel	meterModel() throws Exception
+	{
+		ElectricMeterElectricityModel m = this.meterModel;
+		if (m == null) {
+			m = (ElectricMeterElectricityModel)
+					this.simulator.getDescendentModel(
+											ElectricMeterElectricityModel.URI);
+			assert	m != null :
+					new AssertionError(ElectricMeterElectricityModel.URI +
+									   " is not the URI of a model!");
+			this.meterModel = m;
+		}
+		return m;
+	}
+
+	/**
+	 * return the total electricity consumption in kwh at the current time,
+	 * extrapolated from the last published one without synchronising with
+	 * the simulation thread.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @return	the total electricity consumption in kwh.
+	 */
+	public double		getTotalConsumption()
+	{
 		try {
-			String uri = ElectricMeterElectricityModel.URI;
-			ElectricMeterElectricityModel m =
-				(ElectricMeterElectricityModel)
-					this.simulator.getDescendentModel(ElectricMeterElectricityModel.URI);
-			assert m instanceof ElectricMeterElectricityModel:
-				new AssertionError(uri + " is not the URI of a "
-								+ ElectricMeterElectricityModel.class.getSimpleName()
-								+ " model !");
-				assert uri != null && !uri.isEmpty() :
-					new PreconditionException("uri not defined");
-			return ((ElectricMeterElectricityModel)m).computeTotalConsumption();
+			ElectricMeterElectricityModel m = this.meterModel();
+			StateSnapshot s = m.getConsumptionSnapshot();
+			return s == null ?
+						0.0
+					:	s.valueAt(this.currentSimulatedTime(s));
 		} catch (Exception e) {
 			throw new RuntimeException(e) ;
 		}
 	} 
 	
 	/**
-	 * Get the total electricity production at the current time through the URI 
-	 * of the electric meter model
-	 * */
-	public double getTotalProduction() {
+	 * return the total electricity production in kwh at the current time,
+	 * extrapolated from the last published one without synchronising with
+	 * the simulation thread.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @return	the total electricity production in kwh.
+	 */
+	public double		getTotalProduction()
+	{
 		try {
-			String uri = ElectricMeterElectricityModel.URI;
-			ElectricMeterElectricityModel m =
-				(ElectricMeterElectricityModel)
-					this.simulator.getDescendentModel(ElectricMeterElectricityModel.URI);
-			assert m instanceof ElectricMeterElectricityModel:
-				new AssertionError(uri + " is not the URI of a "
-								+ ElectricMeterElectricityModel.class.getSimpleName()
-								+ " model !");
-				assert uri != null && !uri.isEmpty() :
-					new PreconditionException("uri not defined");
-			return ((ElectricMeterElectricityModel)m).computeTotalProduction();
+			ElectricMeterElectricityModel m = this.meterModel();
+			StateSnapshot s = m.getProductionSnapshot();
+			return s == null ?
+						0.0
+					:	s.valueAt(this.currentSimulatedTime(s));
 		} catch (Exception e) {
 			throw new RuntimeException(e) ;
 		}
 	} 
 	
+	/**
+	 * return the simulated time corresponding to the current real time, as
+	 * the electric meter model only makes transitions when the intensities
+	 * change, or the time of {@code s} before the real time simulation has
+	 * started.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code s != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param s	last snapshot published by the electric meter model.
+	 * @return	the current simulated time in the time unit of the model.
+	 */
+	protected double	currentSimulatedTime(StateSnapshot s)
+	{
+		if (this.localStartTime == null) {
+			return s.time;
+		}
+		long elapsedNanos = java.time.Duration.between(
+								this.localStartTime, Instant.now()).toNanos();
+		TimeUnit u = this.localArchitecture.getSimulationTimeUnit();
+		double elapsed = (elapsedNanos * this.accelerationFactor)/
+										TimeUnit.NANOSECONDS.convert(1, u);
+		return this.simulatedStartTime.getSimulatedTime() + elapsed;
+	}
+
+	/**
+	 * return the current total and per appliance powers in watts, as
+	 * defined by {@code ElectricMeterPowerImplementationI}, which are the
+	 * ones published at the last transition of the model.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null && return.length == ElectricMeterPowerImplementationI.SNAPSHOT_SIZE}
+	 * </pre>
+	 *
+	 * @return	the current total and per appliance powers in watts.
+	 */
+	public double[]		getPowerSnapshot()
+	{
+		try {
+			double[] powers = this.meterModel().getPowers();
+			return powers == null ?
+					new double[ElectricMeterPowerImplementationI.SNAPSHOT_SIZE]
+				:	powers.clone();
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * return the current power in watts at the index {@code index} defined
+	 * by {@code ElectricMeterPowerImplementationI}, without copying the
+	 * published powers.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code index >= 0 && index < ElectricMeterPowerImplementationI.SNAPSHOT_SIZE}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param index	index of the power in the snapshots.
+	 * @return		the current power in watts.
+	 */
+	public double		getPower(int index)
+	{
+		assert	index >= 0 &&
+					index < ElectricMeterPowerImplementationI.SNAPSHOT_SIZE;
+
+		try {
+			double[] powers = this.meterModel().getPowers();
+			return powers == null ? 0.0 : powers[index];
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * compute the {@code Instant} corresponding to the simulated time of the
+	 * last readings published by the {@code ElectricMeterElectricityModel}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition
+	 * post	{@code ret != null}
+	 * </pre>
+	 *
+	 * @return	the instant corresponding to the current simulation time.
+	 */
+	public Instant		getCurrentInstant()
+	{
+		try {
+			StateSnapshot s = this.meterModel().getConsumptionSnapshot();
+			if (s == null || this.localStartTime == null) {
+				return this.localStartTime != null ?
+							this.localStartTime : Instant.now();
+			}
+			long dInNanos = TimeUtils.toNanos(
+						s.time - this.simulatedStartTime.getSimulatedTime(),
+						this.simulatedStartTime.getTimeUnit());
+			return this.localStartTime.plusNanos(dInNanos);
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
 	/**
 	 * create and set the simulation architecture internal to this component.
 	 * 
@@ -212,6 +399,7 @@ extends		RTAtomicSimulatorPlugin
 	{
 		// map that will contain the atomic model descriptors to construct
 		// the simulation architecture
+		this.accelerationFactor = accFactor;
 		Map<String,AbstractAtomicModelDescriptor> atomicModelDescriptors =
 															new HashMap<>();
 		// map that will contain the coupled model descriptors to construct
@@ -477,6 +665,22 @@ extends		RTAtomicSimulatorPlugin
 								 SolarNotProduce.class)
 				 });
 
+		// each appliance electricity model tells the electric meter model
+		// when its intensity changes
+		for (String uri : new String[]{HairDryerElectricityModel.URI,
+									   HeaterElectricityModel.URI,
+									   IndoorGardenElectricityModel.URI,
+									   AirConditionerElectricityModel.URI,
+									   RefrigeratorElectricityModel.URI,
+									   SolarPanelElectricityModel.URI}) {
+			connections.put(
+				new EventSource(uri, IntensityChanged.class),
+				new EventSink[] {
+					new EventSink(ElectricMeterElectricityModel.URI,
+								  IntensityChanged.class)
+				});
+		}
+
 		// coupled model descriptor
 		coupledModelDescriptors.put(
 				ElectricMeterCoupledModel.URI,
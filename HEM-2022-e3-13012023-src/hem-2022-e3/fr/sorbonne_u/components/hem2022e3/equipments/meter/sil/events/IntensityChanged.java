@@ -0,0 +1,92 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.events;
+
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterElectricityModel;
+import fr.sorbonne_u.devs_simulation.models.AtomicModel;
+import fr.sorbonne_u.devs_simulation.models.events.Event;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+
+/**
+ * The class <code>IntensityChanged</code> defines the simulation event sent
+ * by an appliance electricity model to the electric meter model when the
+ * intensity it exports changes.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The intensities are piecewise constant, hence the electric meter model
+ * needs to update its totals only when one of them changes. The event
+ * carries no information: the meter reads the new values in its imported
+ * variables once the emitting model has made its own transition.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			IntensityChanged
+extends		Event
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an <code>IntensityChanged</code> event.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code timeOfOccurrence != null}
+	 * post	{@code this.getTimeOfOccurrence().equals(timeOfOccurrence)}
+	 * </pre>
+	 *
+	 * @param timeOfOccurrence	time of occurrence of the event.
+	 */
+	public				IntensityChanged(
+		Time timeOfOccurrence
+		)
+	{
+		super(timeOfOccurrence, null);
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.events.Event#hasPriorityOver(fr.sorbonne_u.devs_simulation.models.events.EventI)
+	 */
+	@Override
+	public boolean		hasPriorityOver(EventI e)
+	{
+		// all of the changes occurring at the same time have the same effect
+		return false;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.events.Event#executeOn(fr.sorbonne_u.devs_simulation.models.AtomicModel)
+	 */
+	@Override
+	public void			executeOn(AtomicModel model)
+	{
+		assert	model instanceof ElectricMeterElectricityModel;
+
+		((ElectricMeterElectricityModel)model).intensityChanged();
+	}
+}
@@ -24,7 +24,6 @@ import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.connections.Re
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.RefrigeratorCoupledModel;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.RefrigeratorRTAtomicSimulatorPlugin;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.RefrigeratorStateModel;
-import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.RefrigeratorTemperatureModel;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.DoNotRun;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.Run;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.StartRefrigerator;
@@ -634,9 +633,7 @@ implements ControlledRefrigeratorImplementationI
 		double currentTemperature = 0.0;
 		if (this.isSimulated) {
 			currentTemperature =
-					(double) this.simulatorPlugin.getModelStateValue(
-							RefrigeratorTemperatureModel.URI, 
-							RefrigeratorRTAtomicSimulatorPlugin.CURRENT_FREEZING_TERMPERATURE);
+					this.simulatorPlugin.getCurrentFreezingTemperature();
 		} else {
 			currentTemperature = FAKE_CURRENT_FREEZING_TEMPERATURE;
 		}
@@ -654,9 +651,7 @@ implements ControlledRefrigeratorImplementationI
 		
 		if (this.isSimulated) {
 			currentTemperature =
-					(double) this.simulatorPlugin.getModelStateValue(
-							RefrigeratorTemperatureModel.URI, 
-							RefrigeratorRTAtomicSimulatorPlugin.CURRENT_REFRIGERATION_TERMPERATURE);
+					this.simulatorPlugin.getCurrentRefrigerationTemperature();
 		} else {
 			currentTemperature = FAKE_CURRENT_REFRIGERATION_TEMPERATURE;
 		}
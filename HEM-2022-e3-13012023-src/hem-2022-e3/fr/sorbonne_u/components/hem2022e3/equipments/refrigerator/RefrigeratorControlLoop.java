@@ -0,0 +1,287 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.refrigerator;
+
+import java.util.concurrent.atomic.AtomicReference;
+import fr.sorbonne_u.components.connectors.DataConnector;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.Refrigerator.RefrigeratorState;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.RefrigeratorSensorCI.StateDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.RefrigeratorSensorCI.TemperatureDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.connections.RefrigeratoActuatorConnector;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.connections.RefrigeratorActuatorOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.connections.RefrigeratorSensorDataOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticControlEngine;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoopDescriptor;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
+import fr.sorbonne_u.components.interfaces.DataRequiredCI.DataI;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>RefrigeratorControlLoop</code> implements the control loop
+ * of the {@code RefrigeratorController} as a loop executed by a
+ * {@code ThermostaticControlEngine}.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The refrigerator pushes its state to the loop when it is switched on or
+ * off and when it starts or stops running; at each control period when it
+ * is on, the loop requests its freezing and refrigeration temperatures and
+ * starts running when one of them is above its target plus the hysteresis,
+ * or stops running when one of them is below its target minus the
+ * hysteresis, the freezer and the refrigeration compartment sharing the
+ * same compressor.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			RefrigeratorControlLoop
+extends		ThermostaticLoop
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Descriptor</code> describes a refrigerator control loop.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static class	Descriptor
+	extends		ThermostaticLoopDescriptor
+	{
+		private static final long serialVersionUID = 1L;
+
+		/** name of the loop.												*/
+		protected final String	name;
+		/** URI of the sensor inbound port on the refrigerator.			*/
+		protected final String	sensorIBP_URI;
+		/** URI of the actuator inbound port on the refrigerator.			*/
+		protected final String	actuatorIBP_URI;
+		/** control hysteresis around the target temperatures.			*/
+		protected final double	hysteresis;
+		/** control period in seconds.										*/
+		protected final double	controlPeriod;
+
+		/**
+		 * create a descriptor of a refrigerator control loop.
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 * pre	{@code name != null && !name.isEmpty()}
+		 * pre	{@code sensorIBP_URI != null && !sensorIBP_URI.isEmpty()}
+		 * pre	{@code actuatorIBP_URI != null && !actuatorIBP_URI.isEmpty()}
+		 * pre	{@code hysteresis > 0.0}
+		 * pre	{@code controlPeriod > 0.0}
+		 * post	{@code true}	// no postcondition.
+		 * </pre>
+		 *
+		 * @param name				name of the loop.
+		 * @param sensorIBP_URI		URI of the refrigerator sensor inbound port.
+		 * @param actuatorIBP_URI	URI of the refrigerator actuator inbound port.
+		 * @param hysteresis		control hysteresis around the target temperatures.
+		 * @param controlPeriod		control period in seconds.
+		 */
+		public			Descriptor(
+			String name,
+			String sensorIBP_URI,
+			String actuatorIBP_URI,
+			double hysteresis,
+			double controlPeriod
+			)
+		{
+			assert	sensorIBP_URI != null && !sensorIBP_URI.isEmpty() :
+					new PreconditionException(
+							"sensorIBP_URI != null && !sensorIBP_URI.isEmpty()");
+			assert	actuatorIBP_URI != null && !actuatorIBP_URI.isEmpty() :
+					new PreconditionException(
+						"actuatorIBP_URI != null && !actuatorIBP_URI.isEmpty()");
+
+			this.name = name;
+			this.sensorIBP_URI = sensorIBP_URI;
+			this.actuatorIBP_URI = actuatorIBP_URI;
+			this.hysteresis = hysteresis;
+			this.controlPeriod = controlPeriod;
+		}
+
+		/**
+		 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoopDescriptor#createLoop(fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticControlEngine)
+		 */
+		@Override
+		protected ThermostaticLoop	createLoop(ThermostaticControlEngine owner)
+		throws Exception
+		{
+			return new RefrigeratorControlLoop(owner, this);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** URI of the sensor inbound port on the refrigerator.				*/
+	protected final String								sensorIBP_URI;
+	/** URI of the actuator inbound port on the refrigerator.				*/
+	protected final String								actuatorIBP_URI;
+	/** sensor data outbound port connected to the refrigerator.			*/
+	protected final RefrigeratorSensorDataOutboundPort	sensorOutboundPort;
+	/** actuator outbound port connected to the refrigerator.				*/
+	protected final RefrigeratorActuatorOutboundPort	actuatorOutboundPort;
+	/** the current state of the refrigerator as pushed by it.				*/
+	protected final AtomicReference<RefrigeratorState>	currentState;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create the loop described by {@code d}, creating and publishing its
+	 * outbound ports.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code owner != null && d != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner			engine executing the loop.
+	 * @param d				descriptor of the loop.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected			RefrigeratorControlLoop(
+		ThermostaticControlEngine owner,
+		Descriptor d
+		) throws Exception
+	{
+		super(owner, d.name, d.hysteresis, d.controlPeriod);
+
+		this.sensorIBP_URI = d.sensorIBP_URI;
+		this.actuatorIBP_URI = d.actuatorIBP_URI;
+		this.currentState = new AtomicReference<>(RefrigeratorState.OFF);
+		this.sensorOutboundPort = new RefrigeratorSensorDataOutboundPort(owner);
+		this.sensorOutboundPort.publishPort();
+		this.actuatorOutboundPort = new RefrigeratorActuatorOutboundPort(owner);
+		this.actuatorOutboundPort.publishPort();
+		owner.registerReceiver(this.sensorOutboundPort.getPortURI(), this);
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#connect()
+	 */
+	@Override
+	protected void		connect() throws Exception
+	{
+		this.owner.doPortConnection(this.sensorOutboundPort.getPortURI(),
+									this.sensorIBP_URI,
+									DataConnector.class.getCanonicalName());
+		this.owner.doPortConnection(
+					this.actuatorOutboundPort.getPortURI(),
+					this.actuatorIBP_URI,
+					RefrigeratoActuatorConnector.class.getCanonicalName());
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#disconnect()
+	 */
+	@Override
+	protected void		disconnect() throws Exception
+	{
+		this.owner.doPortDisconnection(this.sensorOutboundPort.getPortURI());
+		this.owner.doPortDisconnection(this.actuatorOutboundPort.getPortURI());
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#unpublish()
+	 */
+	@Override
+	protected void		unpublish() throws Exception
+	{
+		this.sensorOutboundPort.unpublishPort();
+		this.actuatorOutboundPort.unpublishPort();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#receive(fr.sorbonne_u.components.interfaces.DataRequiredCI.DataI)
+	 */
+	@Override
+	protected void		receive(DataI d)
+	{
+		if (d instanceof StateDataI) {
+			this.currentState.set(((StateDataI) d).getState());
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#isActive()
+	 */
+	@Override
+	protected boolean	isActive() throws Exception
+	{
+		return this.currentState.get() != RefrigeratorState.OFF;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticLoop#control()
+	 */
+	@Override
+	protected void		control() throws Exception
+	{
+		TemperatureDataI td =
+						(TemperatureDataI) this.sensorOutboundPort.request();
+
+		if (td.getCurrentFreezingTemperature() >
+						td.getTargetFreezingTemperature() + this.hysteresis
+			|| td.getCurrentRefrigerationTemperature() >
+						td.getTargetRefrigerationTemperature() + this.hysteresis) {
+			// one of the temperatures is too high, start running
+			if (RefrigeratorState.RUNNING != this.currentState.get()) {
+				if (SimulationLog.isLoggable(this.owner, Level.INFO)) {
+					this.owner.traceMessage(
+							this.name + " starts running with "
+							+ td.getCurrentFreezingTemperature() + " and "
+							+ td.getCurrentRefrigerationTemperature()
+							+ " for " + td.getTargetFreezingTemperature()
+							+ " and " + td.getTargetRefrigerationTemperature()
+							+ " at " + this.owner.currentInstant() + ".\n");
+				}
+				this.actuatorOutboundPort.run();
+			}
+		} else if (td.getCurrentFreezingTemperature() <
+						td.getTargetFreezingTemperature() - this.hysteresis
+				   || td.getCurrentRefrigerationTemperature() <
+						td.getTargetRefrigerationTemperature() - this.hysteresis) {
+			// one of the temperatures is low enough, stop running
+			if (RefrigeratorState.RUNNING == this.currentState.get()) {
+				if (SimulationLog.isLoggable(this.owner, Level.INFO)) {
+					this.owner.traceMessage(
+							this.name + " stops running with "
+							+ td.getCurrentFreezingTemperature() + " and "
+							+ td.getCurrentRefrigerationTemperature()
+							+ " for " + td.getTargetFreezingTemperature()
+							+ " and " + td.getTargetRefrigerationTemperature()
+							+ " at " + this.owner.currentInstant() + ".\n");
+				}
+				this.actuatorOutboundPort.doNotRun();
+			}
+		}
+	}
+}
@@ -24,6 +24,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.RefrigeratorSe
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.connections.RefrigeratoActuatorConnector;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.connections.RefrigeratorActuatorOutboundPort;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.connections.RefrigeratorSensorDataOutboundPort;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.components.interfaces.DataRequiredCI;
 import fr.sorbonne_u.exceptions.PreconditionException;
 
@@ -411,23 +413,25 @@ extends AbstractComponent
 					// the current temperature is too high, start running
 					if (RefrigeratorState.RUNNING != this.currentState.get()) {
 						// tracing
-						StringBuffer sb =
-								new StringBuffer("start running with ");
-						sb.append(td.getCurrentFreezingTemperature());
-						sb.append(" > ");
-						sb.append(td.getTargetFreezingTemperature());
-						sb.append(" + ");
-						sb.append(this.hysteresis);
-						sb.append(" or ");
-						sb.append(td.getCurrentRefrigerationTemperature());
-						sb.append(" > ");
-						sb.append(td.getTargetRefrigerationTemperature());
-						sb.append(" + ");
-						sb.append(this.hysteresis);
-						sb.append(" at ");
-						sb.append(this.clock.get().currentInstant());
-						sb.append(".\n");
-						this.traceMessage(sb.toString());
+						if (SimulationLog.isLoggable(this, Level.INFO)) {
+							StringBuffer sb =
+									new StringBuffer("start running with ");
+							sb.append(td.getCurrentFreezingTemperature());
+							sb.append(" > ");
+							sb.append(td.getTargetFreezingTemperature());
+							sb.append(" + ");
+							sb.append(this.hysteresis);
+							sb.append(" or ");
+							sb.append(td.getCurrentRefrigerationTemperature());
+							sb.append(" > ");
+							sb.append(td.getTargetRefrigerationTemperature());
+							sb.append(" + ");
+							sb.append(this.hysteresis);
+							sb.append(" at ");
+							sb.append(this.clock.get().currentInstant());
+							sb.append(".\n");
+							this.traceMessage(sb.toString());
+						}
 						// actuate
 						this.actuatorOutboundPort.run();
 					}
@@ -436,23 +440,25 @@ extends AbstractComponent
 					// the current room temperature is low enough, stop running
 					if (RefrigeratorState.RUNNING == this.currentState.get()) {
 						// tracing
-						StringBuffer sb =
-								new StringBuffer("stop running with ");
-						sb.append(td.getCurrentFreezingTemperature());
-						sb.append(" < ");
-						sb.append(td.getTargetFreezingTemperature());
-						sb.append(" - ");
-						sb.append(this.hysteresis);
-						sb.append(" or ");
-						sb.append(td.getCurrentRefrigerationTemperature());
-						sb.append(" < ");
-						sb.append(td.getTargetRefrigerationTemperature());
-						sb.append(" - ");
-						sb.append(this.hysteresis);
-						sb.append(" at ");
-						sb.append(this.clock.get().currentInstant());
-						sb.append(".\n");
-						this.traceMessage(sb.toString());
+						if (SimulationLog.isLoggable(this, Level.INFO)) {
+							StringBuffer sb =
+									new StringBuffer("stop running with ");
+							sb.append(td.getCurrentFreezingTemperature());
+							sb.append(" < ");
+							sb.append(td.getTargetFreezingTemperature());
+							sb.append(" - ");
+							sb.append(this.hysteresis);
+							sb.append(" or ");
+							sb.append(td.getCurrentRefrigerationTemperature());
+							sb.append(" < ");
+							sb.append(td.getTargetRefrigerationTemperature());
+							sb.append(" - ");
+							sb.append(this.hysteresis);
+							sb.append(" at ");
+							sb.append(this.clock.get().currentInstant());
+							sb.append(".\n");
+							this.traceMessage(sb.toString());
+						}
 						// actuate
 						this.actuatorOutboundPort.doNotRun();
 					}
@@ -6,6 +6,7 @@ package fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.connections;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.RefrigeratorController;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.RefrigeratorSensorCI.StateDataI;
+import fr.sorbonne_u.components.hem2022e3.equipments.thermostat.ThermostaticControlEngine;
 import fr.sorbonne_u.components.interfaces.DataRequiredCI;
 import fr.sorbonne_u.components.interfaces.DataRequiredCI.DataI;
 import fr.sorbonne_u.components.ports.AbstractDataOutboundPort;
@@ -39,7 +40,7 @@ extends		AbstractDataOutboundPort
 	 * <p><strong>Contract</strong></p>
 	 * 
 	 * <pre>
-	 * pre	{@code owner instanceof RefrigeratorController}
+	 * pre	{@code owner instanceof RefrigeratorController || owner instanceof ThermostaticControlEngine}
 	 * post	{@code true}	// no postcondition.
 	 * </pre>
 	 *
@@ -50,9 +51,11 @@ extends		AbstractDataOutboundPort
 	throws Exception
 	{
 		super(DataRequiredCI.PullCI.class, DataRequiredCI.PushCI.class, owner);
-		assert	owner instanceof RefrigeratorController :
+		assert	owner instanceof RefrigeratorController ||
+									owner instanceof ThermostaticControlEngine :
 				new PreconditionException(
-						"owner instanceof RefrigeratorController");
+						"owner instanceof RefrigeratorController || "
+						+ "owner instanceof ThermostaticControlEngine");
 	}
 
 	/**
@@ -76,9 +79,11 @@ extends		AbstractDataOutboundPort
 	{
 		super(uri, DataRequiredCI.PullCI.class, DataRequiredCI.PushCI.class,
 			  owner);
-		assert	owner instanceof RefrigeratorController :
+		assert	owner instanceof RefrigeratorController ||
+									owner instanceof ThermostaticControlEngine :
 				new PreconditionException(
-						"owner instanceof RefrigeratorController");
+						"owner instanceof RefrigeratorController || "
+						+ "owner instanceof ThermostaticControlEngine");
 	}
 
 	// -------------------------------------------------------------------------
@@ -86,7 +91,8 @@ extends		AbstractDataOutboundPort
 	// -------------------------------------------------------------------------
 
 	/**
-	 * receives the running state in push mode.
+	 * receives the running state in push mode, passing it to the loop
+	 * owning this port when the owner is a control engine.
 	 * 
 	 * <p><strong>Contract</strong></p>
 	 * 
@@ -100,10 +106,19 @@ extends		AbstractDataOutboundPort
 	@Override
 	public void			receive(DataI d) throws Exception
 	{
-		this.getOwner().handleRequest(
-				o -> {	((RefrigeratorController)o).
-									receiveRunningState((StateDataI) d);
-						return null;
-					 });
+		if (this.getOwner() instanceof ThermostaticControlEngine) {
+			String uri = this.getPortURI();
+			this.getOwner().handleRequest(
+					o -> {	((ThermostaticControlEngine)o).
+												receiveSensorData(uri, d);
+							return null;
+						 });
+		} else {
+			this.getOwner().handleRequest(
+					o -> {	((RefrigeratorController)o).
+										receiveRunningState((StateDataI) d);
+							return null;
+						 });
+		}
 	}
 }
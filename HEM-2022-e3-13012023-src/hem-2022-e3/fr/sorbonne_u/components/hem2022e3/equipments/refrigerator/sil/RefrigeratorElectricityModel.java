@@ -17,6 +17,9 @@ import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.Ref
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.Run;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.StartRefrigerator;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.StopRefrigerator;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.events.IntensityChanged;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -45,7 +48,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 		imported = {StartRefrigerator.class,
 					StopRefrigerator.class,
 					Run.class,
-					DoNotRun.class})
+					DoNotRun.class},
+		exported = {IntensityChanged.class})
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 //-----------------------------------------------------------------------------
 public class RefrigeratorElectricityModel 
@@ -96,6 +100,9 @@ implements RefrigeratorOperationI
 
 	/** total consumption of the refrigerator during the simulation in kwh.		*/
 	protected double				totalConsumption;
+	/** duration of the simulated time unit in hours, computed once for
+	 *  the integration of the consumption.								*/
+	protected final double			hoursPerUnit;
 	
 	// -------------------------------------------------------------------------
 	// HIOA model variables
@@ -130,6 +137,7 @@ implements RefrigeratorOperationI
 			SimulatorI simulationEngine)
 			throws Exception {
 		super(uri, simulatedTimeUnit, simulationEngine);
+		this.hoursPerUnit = Electricity.hoursPerUnit(simulatedTimeUnit);
 		this.setLogger(new StandardLogger());
 	}
 	
@@ -183,8 +191,8 @@ implements RefrigeratorOperationI
 		this.consumptionHasChanged = false;
 		this.totalConsumption = 0.0;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	@Override
@@ -195,18 +203,22 @@ implements RefrigeratorOperationI
 		// initially, the refrigerator is off, so its consumption is zero.
 		this.currentIntensity.initialise(0.0);
 
-		StringBuffer sb = new StringBuffer("new consumption: ");
-		sb.append(this.currentIntensity.getValue());
-		sb.append(" amperes at ");
-		sb.append(this.currentIntensity.getTime());
-		sb.append(" seconds.\n");
-		this.logMessage(sb.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer sb = new StringBuffer("new consumption: ");
+			sb.append(this.currentIntensity.getValue());
+			sb.append(" amperes at ");
+			sb.append(this.currentIntensity.getTime());
+			sb.append(" seconds.\n");
+			this.logMessage(sb.toString());
+		}
 	}
 
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		return null;
+		ArrayList<EventI> ret = new ArrayList<EventI>();
+		ret.add(new IntensityChanged(this.getTimeOfNextEvent()));
+		return ret;
 	}
 
 	@Override
@@ -246,12 +258,14 @@ implements RefrigeratorOperationI
 			this.currentIntensity.setNewValue(0.0, t);
 		}
 
-		StringBuffer sb = new StringBuffer("new consumption: ");
-		sb.append(this.currentIntensity.getValue());
-		sb.append(" amperes at ");
-		sb.append(this.currentIntensity.getTime());
-		sb.append(" seconds.\n");
-		this.logMessage(sb.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer sb = new StringBuffer("new consumption: ");
+			sb.append(this.currentIntensity.getValue());
+			sb.append(" amperes at ");
+			sb.append(this.currentIntensity.getTime());
+			sb.append(" seconds.\n");
+			this.logMessage(sb.toString());
+		}
 	}
 
 	@Override
@@ -272,13 +286,16 @@ implements RefrigeratorOperationI
 		// compute the total consumption for the simulation report.
 		this.totalConsumption +=
 				Electricity.computeConsumption(
-									elapsedTime,
+									elapsedTime.getSimulatedDuration(),
+									this.hoursPerUnit,
 									TENSION*this.currentIntensity.getValue());
 
-		StringBuffer sb = new StringBuffer("execute the external event: ");
-		sb.append(ce.eventAsString());
-		sb.append(".\n");
-		this.logMessage(sb.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer sb = new StringBuffer("execute the external event: ");
+			sb.append(ce.eventAsString());
+			sb.append(".\n");
+			this.logMessage(sb.toString());
+		}
 
 		// the next call will update the current state of the refrigerator and if
 		// this state has changed, it put the boolean consumptionHasChanged
@@ -291,13 +308,14 @@ implements RefrigeratorOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		Duration d = endTime.subtract(this.getCurrentStateTime());
 		this.totalConsumption +=
 				Electricity.computeConsumption(
-									d,
-									TENSION*this.currentIntensity.getValue());
+							endTime.getSimulatedTime() -
+								this.getCurrentStateTime().getSimulatedTime(),
+							this.hoursPerUnit,
+							TENSION*this.currentIntensity.getValue());
 
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
@@ -15,7 +15,6 @@ import fr.sorbonne_u.devs_simulation.architectures.RTArchitecture;
 import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
 import fr.sorbonne_u.devs_simulation.hioa.architectures.RTAtomicHIOA_Descriptor;
 import fr.sorbonne_u.devs_simulation.hioa.architectures.RTCoupledHIOA_Descriptor;
-import fr.sorbonne_u.devs_simulation.interfaces.ModelDescriptionI;
 import fr.sorbonne_u.devs_simulation.models.architectures.AbstractAtomicModelDescriptor;
 import fr.sorbonne_u.devs_simulation.models.architectures.CoupledModelDescriptor;
 import fr.sorbonne_u.devs_simulation.models.architectures.RTAtomicModelDescriptor;
@@ -23,7 +22,6 @@ import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.events.EventSink;
 import fr.sorbonne_u.devs_simulation.models.events.EventSource;
 import fr.sorbonne_u.devs_simulation.models.events.ReexportedEvent;
-import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.models.time.TimeUtils;
 import fr.sorbonne_u.exceptions.PreconditionException;
@@ -31,6 +29,7 @@ import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.DoN
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.Run;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.StartRefrigerator;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.StopRefrigerator;
+import fr.sorbonne_u.components.hem2022e3.utils.StateSnapshot;
 
 /**
  * The class <code>RefrigeratorRTAtomicSimulatorPlugin</code> 
@@ -63,6 +62,8 @@ extends RTAtomicSimulatorPlugin {
 	protected Instant	localStartTime;
 	/** start time of the simulation in simulated time.						*/
 	protected Time		simulatedStartTime;
+	/** temperature model, looked up at the first access of a run.			*/
+	protected volatile RefrigeratorTemperatureModel	temperatureModel;
 
 	// -------------------------------------------------------------------------
 	// DEVS simulation protocol
@@ -115,8 +116,7 @@ extends RTAtomicSimulatorPlugin {
 		assert	name != null && !name.isEmpty() :
 				new PreconditionException("name != null && !name.isEmpty()");
 
-		ModelDescriptionI m = this.simulator.getDescendentModel(modelURI);
-		assert	m instanceof RefrigeratorTemperatureModel :
+		assert	modelURI.equals(RefrigeratorTemperatureModel.URI) :
 				new AssertionError(modelURI + " is not the URI of a "
 						+ RefrigeratorTemperatureModel.class.getSimpleName()
 						+ "model!");
@@ -126,9 +126,9 @@ extends RTAtomicSimulatorPlugin {
 				new AssertionError(name + " is an unknown variable name!");
 
 		if (name.equals(CURRENT_FREEZING_TERMPERATURE)) {
-			return ((RefrigeratorTemperatureModel)m).getCurrentFreezingTemperature();
+			return this.getCurrentFreezingTemperature();
 		} 
-		return ((RefrigeratorTemperatureModel)m).getCurrentRefrigerationTemperature();
+		return this.getCurrentRefrigerationTemperature();
 	}
 
 	@Override
@@ -146,6 +146,8 @@ extends RTAtomicSimulatorPlugin {
 		this.simulatedStartTime =
 				new Time(simulationStartTime,
 						 this.localArchitecture.getSimulationTimeUnit());
+		// the model is looked up again in case the simulator has changed
+		this.temperatureModel = null;
 		// actually start the real time simulation
 		super.startRTSimulation(
 					realTimeOfStart, simulationStartTime, simulationDuration);
@@ -156,10 +158,86 @@ extends RTAtomicSimulatorPlugin {
 	// -------------------------------------------------------------------------
 
 	/**
-	 * compute the {@code Instant} corresponding to the current simulation time
-	 * of the {@code RefrigeratorTemperatureModel}, assuming that the start time and
-	 * the start instant are known to interpret correctly the current simulation
-	 * time as an {@code Instant}.
+	 * return the temperature model, looked up once per simulation run.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code simulator != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the temperature model.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected RefrigeratorTemperatureModel	temperatureModel() throws Exception
+	{
+		RefrigeratorTemperatureModel m = this.temperatureModel;
+		if (m == null) {
+			m = (RefrigeratorTemperatureModel)
+					this.simulator.getDescendentModel(RefrigeratorTemperatureModel.URI);
+			assert	m != null :
+					new AssertionError(RefrigeratorTemperatureModel.URI + " is not the URI of a model!");
+			this.temperatureModel = m;
+		}
+		return m;
+	}
+
+	/**
+	 * return the freezing temperature published at the last transition of the
+	 * temperature model, without synchronising with the simulation thread.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the current freezing temperature.
+	 */
+	public double		getCurrentFreezingTemperature()
+	{
+		try {
+			StateSnapshot s = this.temperatureModel().getFreezingSnapshot();
+			assert	s != null :
+					new AssertionError("the temperature is not initialised!");
+			return s.value;
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * return the refrigeration temperature published at the last transition of the
+	 * temperature model, without synchronising with the simulation thread.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the current refrigeration temperature.
+	 */
+	public double		getCurrentRefrigerationTemperature()
+	{
+		try {
+			StateSnapshot s = this.temperatureModel().getRefrigerationSnapshot();
+			assert	s != null :
+					new AssertionError("the temperature is not initialised!");
+			return s.value;
+		} catch (Exception e) {
+			throw new RuntimeException(e) ;
+		}
+	}
+
+	/**
+	 * compute the {@code Instant} corresponding to the simulated time of the
+	 * last temperature published by the {@code RefrigeratorTemperatureModel},
+	 * assuming that the start time and the start instant are known to
+	 * interpret correctly the simulated time as an {@code Instant}.
 	 * 
 	 * <p><strong>Contract</strong></p>
 	 * 
@@ -173,13 +251,14 @@ extends RTAtomicSimulatorPlugin {
 	public Instant		getCurrentInstant()
 	{
 		try {
-			RefrigeratorTemperatureModel m =
-				(RefrigeratorTemperatureModel)
-					this.simulator.getDescendentModel(RefrigeratorTemperatureModel.URI);
-			Time t = m.getCurrentStateTime();
-			Duration d = t.subtract(this.simulatedStartTime);
-			long dInNanos =
-				TimeUtils.toNanos(d.getSimulatedDuration(), d.getTimeUnit());
+			StateSnapshot s = this.temperatureModel().getRefrigerationSnapshot();
+			if (s == null || this.localStartTime == null) {
+				return this.localStartTime != null ?
+							this.localStartTime : Instant.now();
+			}
+			long dInNanos = TimeUtils.toNanos(
+						s.time - this.simulatedStartTime.getSimulatedTime(),
+						this.simulatedStartTime.getTimeUnit());
 			return this.localStartTime.plusNanos(dInNanos);
 		} catch (Exception e) {
 			throw new RuntimeException(e) ;
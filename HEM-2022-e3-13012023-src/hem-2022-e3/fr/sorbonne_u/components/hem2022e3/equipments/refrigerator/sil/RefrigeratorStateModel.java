@@ -7,6 +7,8 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
@@ -143,8 +145,8 @@ implements RefrigeratorOperationI
 		this.lastReceived = null;
 		this.currentState = State.OFF;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 	
 	@Override
@@ -183,12 +185,14 @@ implements RefrigeratorOperationI
 
 		this.lastReceived = (RefrigeratorEventI) currentEvents.get(0);
 
-		StringBuffer message = new StringBuffer("execute the external event ");
-		message.append(this.lastReceived);
-		message.append(" in state ");
-		message.append(this.currentState);
-		message.append('\n');
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message = new StringBuffer("execute the external event ");
+			message.append(this.lastReceived);
+			message.append(" in state ");
+			message.append(this.currentState);
+			message.append('\n');
+			this.logMessage(message.toString());
+		}
 
 		this.lastReceived.executeOn(this);
 	}
@@ -196,7 +200,7 @@ implements RefrigeratorOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 	
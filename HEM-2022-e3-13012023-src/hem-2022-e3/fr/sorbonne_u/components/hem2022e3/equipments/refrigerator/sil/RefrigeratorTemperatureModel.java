@@ -3,6 +3,9 @@
  */
 package fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil;
 
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
+import fr.sorbonne_u.components.hem2022e3.utils.StateSnapshot;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.InternalVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.DerivableValue;
@@ -10,9 +13,11 @@ import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.Event;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
+import fr.sorbonne_u.devs_simulation.utils.Pair;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.Run;
 
@@ -24,14 +29,28 @@ import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.components.hem2022e2.HEM_ReportI;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.Refrigerator;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.RefrigeratorController;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.DoNotRun;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.RefrigeratorEventI;
+import fr.sorbonne_u.components.hem2022e3.utils.BinaryTraceWriter;
+import fr.sorbonne_u.components.hem2022e3.utils.NewtonCoolingSolver;
 
 /**
  * The class <code>RefrigeratorTemperatureModel</code> 
  *
  * <p><strong>Description</strong></p>
  * 
+ * <p>
+ * When the refrigerator runs, each compartment temperature follows a linear
+ * differential equation solved in closed form over each step; when it does
+ * not run, it drifts at a constant rate. The steps are adaptive: a step
+ * ends when one of the temperatures has changed by
+ * {@code TEMPERATURE_TOLERANCE}, when it crosses one of its thermostat levels
+ * (target plus or minus the hysteresis) or after {@code MAX_STEP}, hence the
+ * next internal transition falls exactly at the instant the controller will
+ * switch the refrigerator.
+ * </p>
+ * 
  * <p>Created on : 2023-01-03</p>
  * 
  * @author	<p>Hongyu YAN & Liuyi CHEN</p>
@@ -79,10 +98,43 @@ implements	RefrigeratorOperationI
 	protected final double			REFRIGERATION_TRANSFER_CONSTANT = 4000.0;
 	/** temperature of the cooling plate in the refrigerator.						*/
 	protected final double			STANDARD_REFRIGERATION_TEMP = 300.0;
-	/** integration step for the differential equation(assumed in seconds).	*/
+	/** drift of the freezing temperature when not running in Celsius per
+	 *  hour.																*/
+	protected final double			FREEZING_DRIFT = 0.2;
+	/** drift of the refrigeration temperature when not running in Celsius
+	 *  per hour.															*/
+	protected final double			REFRIGERATION_DRIFT = 0.3;
+	/** step used before the temperatures are initialised (assumed in
+	 *  hours).																*/
 	protected static final double	STEP = 60.0/3600.0;
-	/** integration step as a duration, including the time unit.			*/
-	protected final Duration		integrationStep;
+	/** shortest adaptive step (assumed in hours).							*/
+	protected static final double	MIN_STEP = 1.0/3600.0;
+	/** longest adaptive step (assumed in hours).							*/
+	protected static final double	MAX_STEP = 15.0/60.0;
+	/** largest change of a temperature over one step in Celsius.			*/
+	protected static final double	TEMPERATURE_TOLERANCE = 0.05;
+	/** run parameter name for the target freezing temperature.				*/
+	public static final String		TARGET_FREEZING_TEMPERATURE_RPNAME =
+												"TARGET_FREEZING_TEMPERATURE";
+	/** run parameter name for the target refrigeration temperature.		*/
+	public static final String		TARGET_REFRIGERATION_TEMPERATURE_RPNAME =
+											"TARGET_REFRIGERATION_TEMPERATURE";
+	/** run parameter name for the hysteresis of the thermostat.			*/
+	public static final String		HYSTERESIS_RPNAME = "HYSTERESIS";
+	/** duration of the next step, including the time unit.					*/
+	protected Duration				nextStep;
+
+	/** target freezing temperature when no owner gives it.					*/
+	protected double				targetFreezingTemperature =
+						Refrigerator.STANDARD_TARGET_FREEZING_TEMPERATURE;
+	/** target refrigeration temperature when no owner gives it.			*/
+	protected double				targetRefrigerationTemperature =
+						Refrigerator.STANDARD_TARGET_REFRIGERATION_TEMPERATURE;
+	/** hysteresis of the thermostat.										*/
+	protected double				hysteresis =
+								RefrigeratorController.STANDARD_HYSTERESIS;
+	/** owner component giving the target temperatures in SIL or null.		*/
+	protected Refrigerator			owner;
 
 	/** current state of the refrigerator.										*/
 	protected State					currentState;
@@ -99,6 +151,20 @@ implements	RefrigeratorOperationI
 	/** the mean refrigeration temperature over the simulation duration for the simulation
 	 *  report.																*/
 	protected double				meanRefrigerationTemperature;
+	/** binary trace writer or null if the model traces in its log.			*/
+	protected BinaryTraceWriter		trace;
+	/** identifier of the freezing temperature in the binary trace.			*/
+	protected int					freezingTraceId;
+	/** identifier of the refrigeration temperature in the binary trace.	*/
+	protected int					refrigerationTraceId;
+	/** freezing temperature published at the end of the last transition
+	 *  for the threads of the owner component, null before the
+	 *  initialisation of the variables.									*/
+	protected volatile StateSnapshot	freezingSnapshot;
+	/** refrigeration temperature published at the end of the last
+	 *  transition for the threads of the owner component, null before the
+	 *  initialisation of the variables.									*/
+	protected volatile StateSnapshot	refrigerationSnapshot;
 	
 	// -------------------------------------------------------------------------
 	// HIOA model variables
@@ -139,7 +205,7 @@ implements	RefrigeratorOperationI
 			) throws Exception 
 	{
 		super(uri, simulatedTimeUnit, simulationEngine);
-		this.integrationStep = new Duration(STEP, simulatedTimeUnit);
+		this.nextStep = new Duration(STEP, simulatedTimeUnit);
 		this.setLogger(new StandardLogger());
 	}
 
@@ -190,6 +256,44 @@ implements	RefrigeratorOperationI
 	{
 		return this.currentRefrigerationTemperature.evaluateAt(this.getCurrentStateTime());
 	}
+
+	/**
+	 * return the freezing temperature published at the end of the last
+	 * transition, which may be called from any thread without
+	 * synchronisation.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the last published freezing temperature or null if none yet.
+	 */
+	public StateSnapshot	getFreezingSnapshot()
+	{
+		return this.freezingSnapshot;
+	}
+
+	/**
+	 * return the refrigeration temperature published at the end of the last
+	 * transition, which may be called from any thread without
+	 * synchronisation.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the last published refrigeration temperature or null if none yet.
+	 */
+	public StateSnapshot	getRefrigerationSnapshot()
+	{
+		return this.refrigerationSnapshot;
+	}
 	
 	// -------------------------------------------------------------------------
 	// DEVS simulation protocol
@@ -201,9 +305,10 @@ implements	RefrigeratorOperationI
 		this.refrigerationTemperatureAcc = 0.0;
 		this.start = initialTime;
 		this.currentState = State.NOT_RUNNING;
+		this.nextStep = new Duration(STEP, this.getSimulatedTimeUnit());
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 
 		super.initialiseState(initialTime);
 	}
@@ -214,6 +319,35 @@ implements	RefrigeratorOperationI
 		return true;
 	}
 
+	@Override
+	public Pair<Integer, Integer>	fixpointInitialiseVariables()
+	throws Exception
+	{
+		int justInitialised = 0;
+		double t = this.getCurrentStateTime().getSimulatedTime();
+		// both temperatures are internal, hence they can always be
+		// initialised at the first call
+		if (!this.currentFreezingTemperature.isInitialised()) {
+			double d =
+				this.computeFreezingDerivatives(INITIAL_FREEZING_TEMPERATURE);
+			this.currentFreezingTemperature.initialise(
+											INITIAL_FREEZING_TEMPERATURE, d);
+			this.freezingSnapshot =
+				new StateSnapshot(t, INITIAL_FREEZING_TEMPERATURE, d);
+			justInitialised++;
+		}
+		if (!this.currentRefrigerationTemperature.isInitialised()) {
+			double d = this.computeRefrigerationDerivatives(
+											INITIAL_REFRIGERATION_TEMPERATURE);
+			this.currentRefrigerationTemperature.initialise(
+										INITIAL_REFRIGERATION_TEMPERATURE, d);
+			this.refrigerationSnapshot =
+				new StateSnapshot(t, INITIAL_REFRIGERATION_TEMPERATURE, d);
+			justInitialised++;
+		}
+		return new Pair<>(justInitialised, 0);
+	}
+
 	@Override
 	public ArrayList<EventI>	output()
 	{
@@ -223,7 +357,7 @@ implements	RefrigeratorOperationI
 	@Override
 	public Duration		timeAdvance()
 	{
-		return this.integrationStep;
+		return this.nextStep;
 	}
 
 	protected double	computeFreezingDerivatives(Double current)
@@ -238,7 +372,7 @@ implements	RefrigeratorOperationI
 					(STANDARD_FREEZING_TEMP - current)/
 					FREEZING_TRANSFER_CONSTANT;
 		} else {
-			currentTempDerivative = 0.2;
+			currentTempDerivative = FREEZING_DRIFT;
 		}
 		return currentTempDerivative;
 	}
@@ -255,61 +389,205 @@ implements	RefrigeratorOperationI
 					(STANDARD_REFRIGERATION_TEMP - current)/
 					REFRIGERATION_TRANSFER_CONSTANT;
 		} else {
-			currentTempDerivative = 0.3;
+			currentTempDerivative = REFRIGERATION_DRIFT;
 		}
 		return currentTempDerivative;
 	}
 	
-	@Override
-	public void			userDefinedInternalTransition(Duration elapsedTime)
+	/**
+	 * bring a compartment temperature up to date after {@code elapsedTime}
+	 * in the current state, accumulating its exact integral for the mean.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code temperature.isInitialised()}
+	 * post	{@code temperature.getTime().equals(getCurrentStateTime())}
+	 * </pre>
+	 *
+	 * @param temperature	the compartment temperature.
+	 * @param elapsedTime	time elapsed since the last update.
+	 * @param plate			temperature towards which it tends when running.
+	 * @param transfer		transfer constant when running.
+	 * @param drift			drift per hour when not running.
+	 * @param freezing		true for the freezing compartment.
+	 * @return				the new compartment temperature.
+	 */
+	protected double	advance(
+		DerivableValue<Double> temperature,
+		Duration elapsedTime,
+		double plate,
+		double transfer,
+		double drift,
+		boolean freezing
+		)
 	{
-//		Time ft = this.currentFreezingTemperature.getTime();
-//		double oldFreezingTemp = this.currentFreezingTemperature.evaluateAt(ft);
-//		// accumulate the temperature*time to compute the mean temperature
-//		this.freezingTemperatureAcc += oldFreezingTemp * elapsedTime.getSimulatedDuration();
-//		
-//		Time rt = this.currentRefrigerationTemperature.getTime();
-//		double oldRefrigerationTemp = this.currentRefrigerationTemperature.evaluateAt(rt);
-//		// accumulate the temperature*time to compute the mean temperature
-//		this.refrigerationTemperatureAcc += oldRefrigerationTemp * elapsedTime.getSimulatedDuration();
-//
-//		// update the temperature using the Euler integration of the
-//		// differential equation
-//		double oldFreezingDerivative = this.currentFreezingTemperature.getFirstDerivative();
-//		double newFreezingTemp = oldFreezingTemp + oldFreezingDerivative*STEP;
-//		double newFreezingDerivative = this.computeFreezingDerivatives(newFreezingTemp);
-//		this.currentFreezingTemperature.setNewValue(newFreezingTemp,
-//											newFreezingDerivative,
-//											this.getCurrentStateTime());
-//		
-//		double oldRefrigerationDerivative = this.currentRefrigerationTemperature.getFirstDerivative();
-//		double newRefrigerationTemp = oldRefrigerationTemp + oldRefrigerationDerivative*STEP;
-//		double newRefrigerationDerivative = this.computeRefrigerationDerivatives(newRefrigerationTemp);
-//		this.currentRefrigerationTemperature.setNewValue(newRefrigerationTemp,
-//											newRefrigerationDerivative,
-//											this.getCurrentStateTime());
-		
+		double oldTemp = temperature.evaluateAt(temperature.getTime());
+		double h = elapsedTime.getSimulatedDuration();
+		double acc;
+		double newTemp;
 		if (this.currentState == State.RUNNING) {
+			acc = NewtonCoolingSolver.integral(oldTemp, plate, 1.0/transfer, h);
+			newTemp = NewtonCoolingSolver.valueAt(oldTemp, plate, 1.0/transfer, h);
+		} else {
+			acc = oldTemp * h + drift * h * h/2.0;
+			newTemp = oldTemp + drift * h;
+		}
+		double newDerivative;
+		if (freezing) {
+			this.freezingTemperatureAcc += acc;
+			newDerivative = this.computeFreezingDerivatives(newTemp);
+		} else {
+			this.refrigerationTemperatureAcc += acc;
+			newDerivative = this.computeRefrigerationDerivatives(newTemp);
+		}
+		Time now = this.getCurrentStateTime();
+		temperature.setNewValue(newTemp, newDerivative, now);
+		StateSnapshot s = new StateSnapshot(now.getSimulatedTime(), newTemp,
+											newDerivative);
+		if (freezing) {
+			this.freezingSnapshot = s;
+		} else {
+			this.refrigerationSnapshot = s;
+		}
+		return newTemp;
+	}
 
-
+	/**
+	 * return the longest step keeping a compartment temperature within the
+	 * tolerance and stopping at the first of its thermostat levels crossed.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return > 0.0}
+	 * </pre>
+	 *
+	 * @param current		current compartment temperature.
+	 * @param target		target temperature of the compartment.
+	 * @param plate			temperature towards which it tends when running.
+	 * @param transfer		transfer constant when running.
+	 * @param drift			drift per hour when not running.
+	 * @return				the longest step for this compartment in hours.
+	 */
+	protected double	compartmentStep(
+		double current,
+		double target,
+		double plate,
+		double transfer,
+		double drift
+		)
+	{
+		double low = target - this.hysteresis;
+		double high = target + this.hysteresis;
+		double h;
+		if (this.currentState == State.RUNNING) {
+			double rate = 1.0/transfer;
+			h = NewtonCoolingSolver.toleranceStep(
+								current, plate, rate, TEMPERATURE_TOLERANCE);
+			h = Math.min(h, NewtonCoolingSolver.timeToReach(
+												current, plate, rate, low));
+			h = Math.min(h, NewtonCoolingSolver.timeToReach(
+												current, plate, rate, high));
 		} else {
+			h = TEMPERATURE_TOLERANCE/Math.abs(drift);
+			for (double level : new double[]{low, high}) {
+				double d = (level - current)/drift;
+				if (d > 0.0) {
+					h = Math.min(h, d);
+				}
+			}
+		}
+		return h;
+	}
 
+	/**
+	 * compute the duration of the next step from the current temperatures.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return >= MIN_STEP && return <= MAX_STEP}
+	 * </pre>
+	 *
+	 * @param freezing		current freezing temperature.
+	 * @param refrigeration	current refrigeration temperature.
+	 * @return				the duration of the next step in hours.
+	 */
+	protected double	computeStep(double freezing, double refrigeration)
+	{
+		double targetFreezing = this.targetFreezingTemperature;
+		double targetRefrigeration = this.targetRefrigerationTemperature;
+		if (this.owner != null) {
+			try {
+				targetFreezing = this.owner.getTargetFreezingTemperature();
+				targetRefrigeration =
+							this.owner.getTargetRefrigerationTemperature();
+			} catch (Exception e) {
+				throw new RuntimeException(e) ;
+			}
 		}
-		
+		double h = Math.min(
+				this.compartmentStep(freezing, targetFreezing,
+									 STANDARD_FREEZING_TEMP,
+									 FREEZING_TRANSFER_CONSTANT,
+									 FREEZING_DRIFT),
+				this.compartmentStep(refrigeration, targetRefrigeration,
+									 STANDARD_REFRIGERATION_TEMP,
+									 REFRIGERATION_TRANSFER_CONSTANT,
+									 REFRIGERATION_DRIFT));
+		return Math.max(MIN_STEP, Math.min(MAX_STEP, h));
+	}
+
+	@Override
+	public void			userDefinedInternalTransition(Duration elapsedTime)
+	{
+		// update both temperatures using the closed-form solution of their
+		// differential equations and plan the next step from them
+		double newFreezingTemp = this.advance(
+					this.currentFreezingTemperature, elapsedTime,
+					STANDARD_FREEZING_TEMP, FREEZING_TRANSFER_CONSTANT,
+					FREEZING_DRIFT, true);
+		double newRefrigerationTemp = this.advance(
+					this.currentRefrigerationTemperature, elapsedTime,
+					STANDARD_REFRIGERATION_TEMP, REFRIGERATION_TRANSFER_CONSTANT,
+					REFRIGERATION_DRIFT, false);
+		this.nextStep = new Duration(
+				this.computeStep(newFreezingTemp, newRefrigerationTemp),
+				this.getSimulatedTimeUnit());
+
 		// Tracing
-		String mark = this.currentState == State.RUNNING ? " (h)" : " (-)";
-		StringBuffer message = new StringBuffer();
-		message.append(this.currentFreezingTemperature.getTime().getSimulatedTime());
-		message.append(mark);
-		message.append(" : ");
-		message.append(this.currentFreezingTemperature.getValue());
-		message.append(" | ");
-		message.append(this.currentRefrigerationTemperature.getTime().getSimulatedTime());
-		message.append(mark);
-		message.append(" : ");
-		message.append(this.currentRefrigerationTemperature.getValue());
-		message.append('\n');
-		this.logMessage(message.toString());
+		if (this.trace != null) {
+			try {
+				this.trace.append(
+					this.currentFreezingTemperature.getTime().getSimulatedTime(),
+					this.freezingTraceId,
+					this.currentFreezingTemperature.getValue());
+				this.trace.append(
+					this.currentRefrigerationTemperature.getTime().
+															getSimulatedTime(),
+					this.refrigerationTraceId,
+					this.currentRefrigerationTemperature.getValue());
+			} catch (Exception e) {
+				throw new RuntimeException(e) ;
+			}
+		} else if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			String mark = this.currentState == State.RUNNING ? " (h)" : " (-)";
+			StringBuffer message = new StringBuffer();
+			message.append(this.currentFreezingTemperature.getTime().getSimulatedTime());
+			message.append(mark);
+			message.append(" : ");
+			message.append(this.currentFreezingTemperature.getValue());
+			message.append(" | ");
+			message.append(this.currentRefrigerationTemperature.getTime().getSimulatedTime());
+			message.append(mark);
+			message.append(" : ");
+			message.append(this.currentRefrigerationTemperature.getValue());
+			message.append('\n');
+			this.logMessage(message.toString());
+		}
 
 		super.userDefinedInternalTransition(elapsedTime);
 	}
@@ -328,17 +606,32 @@ implements	RefrigeratorOperationI
 		assert	ce instanceof RefrigeratorEventI;
 		assert	ce instanceof Run || ce instanceof DoNotRun;
 
-		StringBuffer sb = new StringBuffer("executing the external event: ");
-		sb.append(ce.eventAsString());
-		sb.append(".\n");
-		this.logMessage(sb.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer sb = new StringBuffer("executing the external event: ");
+			sb.append(ce.eventAsString());
+			sb.append(".\n");
+			this.logMessage(sb.toString());
+		}
 
 		// the next call will update the current state of the refrigerator and if
 		// this state has changed, it will toggle the boolean
 		// consumptionHasChanged, which in turn will trigger an immediate
 		// internal transition to update the current intensity of the
 		// refrigerator electricity consumption.
+		// The temperatures are first brought up to date in the state before
+		// the event and the next step is then planned in the new one.
+		double newFreezingTemp = this.advance(
+					this.currentFreezingTemperature, elapsedTime,
+					STANDARD_FREEZING_TEMP, FREEZING_TRANSFER_CONSTANT,
+					FREEZING_DRIFT, true);
+		double newRefrigerationTemp = this.advance(
+					this.currentRefrigerationTemperature, elapsedTime,
+					STANDARD_REFRIGERATION_TEMP, REFRIGERATION_TRANSFER_CONSTANT,
+					REFRIGERATION_DRIFT, false);
 		ce.executeOn(this);
+		this.nextStep = new Duration(
+				this.computeStep(newFreezingTemp, newRefrigerationTemp),
+				this.getSimulatedTimeUnit());
 
 		super.userDefinedExternalTransition(elapsedTime);
 	}
@@ -350,10 +643,13 @@ implements	RefrigeratorOperationI
 				this.freezingTemperatureAcc/
 						endTime.subtract(this.start).getSimulatedDuration();
 		this.meanRefrigerationTemperature =
-				this.meanRefrigerationTemperature/
+				this.refrigerationTemperatureAcc/
 						endTime.subtract(this.start).getSimulatedDuration();
 
-		this.logMessage("simulation ends.\n");
+		if (this.trace != null) {
+			this.trace.flush();
+		}
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 	
@@ -379,6 +675,35 @@ implements	RefrigeratorOperationI
 							RefrigeratorRTAtomicSimulatorPlugin.OWNER_RPNAME);
 			// direct traces on the tracer of the owner component
 			this.setLogger(new StandardComponentLogger(owner));
+			// the target temperatures are then read from the owner component
+			this.owner = (Refrigerator) owner;
+		}
+		String freezingName =
+				ModelI.createRunParameterName(
+							getURI(), TARGET_FREEZING_TEMPERATURE_RPNAME);
+		if (simParams.containsKey(freezingName)) {
+			this.targetFreezingTemperature =
+									(double) simParams.get(freezingName);
+		}
+		String refrigerationName =
+				ModelI.createRunParameterName(
+							getURI(), TARGET_REFRIGERATION_TEMPERATURE_RPNAME);
+		if (simParams.containsKey(refrigerationName)) {
+			this.targetRefrigerationTemperature =
+									(double) simParams.get(refrigerationName);
+		}
+		String hysteresisName =
+				ModelI.createRunParameterName(getURI(), HYSTERESIS_RPNAME);
+		if (simParams.containsKey(hysteresisName)) {
+			this.hysteresis = (double) simParams.get(hysteresisName);
+		}
+		// per step values go to the binary trace file when one is given
+		this.trace = BinaryTraceWriter.fromRunParameters(simParams);
+		if (this.trace != null) {
+			this.freezingTraceId =
+				this.trace.register(URI + ".currentFreezingTemperature");
+			this.refrigerationTraceId =
+				this.trace.register(URI + ".currentRefrigerationTemperature");
 		}
 	}
 
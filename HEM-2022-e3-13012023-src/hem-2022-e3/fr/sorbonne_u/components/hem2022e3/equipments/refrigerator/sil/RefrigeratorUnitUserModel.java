@@ -14,6 +14,8 @@ import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.DoN
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.Run;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.StartRefrigerator;
 import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.sil.events.StopRefrigerator;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -92,8 +94,8 @@ extends AtomicModel
 	{
 		super.initialiseState(initialTime);
 		this.step = 1;
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 	
 	@Override
@@ -105,23 +107,27 @@ extends AtomicModel
 			ArrayList<EventI> ret = new ArrayList<EventI>();
 			switch (this.step) {
 			case 1:
-				this.logMessage(this.uri + " turns on the refrigerator at " +
-						this.getTimeOfNextEvent() + ".\n");
+				SimulationLog.log(this, Level.FINE,
+							() -> this.uri + " turns on the refrigerator at " +
+								  this.getTimeOfNextEvent() + ".\n");
 				ret.add(new StartRefrigerator(this.getTimeOfNextEvent()));
 				break;
 			case 2:
-				this.logMessage(this.uri + " starts running at " +
-						this.getTimeOfNextEvent() + ".\n");
+				SimulationLog.log(this, Level.FINE,
+							() -> this.uri + " starts running at " +
+								  this.getTimeOfNextEvent() + ".\n");
 				ret.add(new Run(this.getTimeOfNextEvent()));
 				break;
 			case 3:
-				this.logMessage(this.uri + " stops running at " +
-						this.getTimeOfNextEvent() + ".\n");
+				SimulationLog.log(this, Level.FINE,
+							() -> this.uri + " stops running at " +
+								  this.getTimeOfNextEvent() + ".\n");
 				ret.add(new DoNotRun(this.getTimeOfNextEvent()));
 				break;
 			case 4:
-				this.logMessage(this.uri + " turns ffon the refrigerator at " +
-						this.getTimeOfNextEvent() + ".\n");
+				SimulationLog.log(this, Level.FINE,
+							() -> this.uri + " turns ffon the refrigerator at " +
+								  this.getTimeOfNextEvent() + ".\n");
 				ret.add(new StopRefrigerator(this.getTimeOfNextEvent()));
 				break;
 			}
@@ -156,7 +162,7 @@ extends AtomicModel
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 	
@@ -10,6 +10,9 @@ import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger
 import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.ElectricMeterRTAtomicSimulatorPlugin;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.SolarPanelStateModel.State;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.events.SolarNotProduce;
+import fr.sorbonne_u.components.hem2022e3.equipments.meter.sil.events.IntensityChanged;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ModelExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -18,6 +21,7 @@ import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.Event;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
@@ -34,7 +38,8 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
  */
 //-----------------------------------------------------------------------------
 @ModelExternalEvents(imported = {SolarProduce.class,
-								 SolarNotProduce.class})
+								 SolarNotProduce.class},
+					 exported = {IntensityChanged.class})
 @ModelExportedVariable(name = "currentIntensity", type = Double.class)
 //-----------------------------------------------------------------------------
 public class SolarPanelElectricityModel 
@@ -148,8 +153,8 @@ implements SolarPanelOperationI
 		this.currentState = State.OFF;
 		this.productionHasChanged = false;
 
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	@Override
@@ -162,7 +167,11 @@ implements SolarPanelOperationI
 	@Override
 	public ArrayList<EventI>	output()
 	{
-		return null;
+		// the production changes only through internal transitions, each of
+		// them notifying the electric meter model.
+		ArrayList<EventI> ret = new ArrayList<EventI>();
+		ret.add(new IntensityChanged(this.getTimeOfNextEvent()));
+		return ret;
 	}
 
 	@Override
@@ -186,20 +195,24 @@ implements SolarPanelOperationI
 		{
 			case OFF: this.currentIntensity.setNewValue(0.0, t); break;
 			case ON:
-				System.out.println("solar on with intensity:" + this.currentIntensity.getValue());
+				SimulationLog.log(this, Level.FINE,
+					() -> "solar on with intensity:" +
+						  this.currentIntensity.getValue() + "\n");
 				this.currentIntensity.
 							setNewValue(SCOLAR_POWER * SCOLAR_EFFICIENCY, t);
 		}
 		
 		// Tracing
-		StringBuffer message =
-				new StringBuffer("executes an internal transition ");
-		message.append("with current production ");
-		message.append(this.currentIntensity.getValue());
-		message.append(" at ");
-		message.append(this.currentIntensity.getTime());
-		message.append(".\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an internal transition ");
+			message.append("with current production ");
+			message.append(this.currentIntensity.getValue());
+			message.append(" at ");
+			message.append(this.currentIntensity.getTime());
+			message.append(".\n");
+			this.logMessage(message.toString());
+		}
 	}
 
 	@Override
@@ -216,11 +229,13 @@ implements SolarPanelOperationI
 		Event ce = (Event) currentEvents.get(0);
 
 		// Tracing
-		StringBuffer message =
-				new StringBuffer("executes an external transition on event ");
-		message.append(ce.toString());
-		message.append(")\n");
-		this.logMessage(message.toString());
+		if (SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
+			StringBuffer message =
+					new StringBuffer("executes an external transition on event ");
+			message.append(ce.toString());
+			message.append(")\n");
+			this.logMessage(message.toString());
+		}
 
 		// events have a method execute on to perform their effect on this
 		// model
@@ -230,7 +245,7 @@ implements SolarPanelOperationI
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 	
@@ -238,6 +253,11 @@ implements SolarPanelOperationI
 	// Optional DEVS simulation protocol: simulation run parameters
 	// -------------------------------------------------------------------------
 
+	/** run parameter name for {@code SCOLAR_POWER}.						*/
+	public static final String	SCOLAR_POWER_RPNAME = "SCOLAR_POWER";
+	/** run parameter name for {@code SCOLAR_EFFICIENCY}.					*/
+	public static final String	SCOLAR_EFFICIENCY_RPNAME = "SCOLAR_EFFICIENCY";
+
 	/**
 	 * @see fr.sorbonne_u.devs_simulation.models.Model#setSimulationRunParameters(java.util.Map)
 	 */
@@ -248,6 +268,17 @@ implements SolarPanelOperationI
 	{
 		super.setSimulationRunParameters(simParams);
 
+		String powerName =
+				ModelI.createRunParameterName(getURI(), SCOLAR_POWER_RPNAME);
+		if (simParams.containsKey(powerName)) {
+			SCOLAR_POWER = (double) simParams.get(powerName);
+		}
+		String efficiencyName =
+			ModelI.createRunParameterName(getURI(), SCOLAR_EFFICIENCY_RPNAME);
+		if (simParams.containsKey(efficiencyName)) {
+			SCOLAR_EFFICIENCY = (double) simParams.get(efficiencyName);
+		}
+
 		// retrieve the reference to the owner component when passed as a
 		// simulation run parameter
 		if (simParams.containsKey(
@@ -9,6 +9,8 @@ import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.events.SolarNotProduce;
 import fr.sorbonne_u.components.hem2022e3.equipments.solar.sil.events.SolarProduce;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog;
+import fr.sorbonne_u.components.hem2022e3.utils.SimulationLog.Level;
 import fr.sorbonne_u.devs_simulation.es.models.AtomicES_Model;
 import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -98,8 +100,8 @@ extends AtomicES_Model
 		this.timeOfNextEvent =
 				this.getCurrentStateTime().add(this.getNextTimeAdvance());
 		
-		this.toggleDebugMode();
-		this.logMessage("simulation begins.\n");
+		SimulationLog.toggleDebugMode(this);
+		SimulationLog.log(this, Level.INFO, "simulation begins.\n");
 	}
 
 	@Override
@@ -108,7 +110,8 @@ extends AtomicES_Model
 		ArrayList<EventI> ret = super.output();
 
 		// tracing
-		if (ret != null && ret.size() > 0) {
+		if (ret != null && ret.size() > 0 &&
+				SimulationLog.isLoggable(this.getURI(), Level.FINE)) {
 			StringBuffer sb = new StringBuffer("emits events ");
 			Iterator<EventI> iter = ret.iterator();
 			EventI e = iter.next();
@@ -134,7 +137,7 @@ extends AtomicES_Model
 	@Override
 	public void			endSimulation(Time endTime) throws Exception
 	{
-		this.logMessage("simulation ends.\n");
+		SimulationLog.log(this, Level.INFO, "simulation ends.\n");
 		super.endSimulation(endTime);
 	}
 
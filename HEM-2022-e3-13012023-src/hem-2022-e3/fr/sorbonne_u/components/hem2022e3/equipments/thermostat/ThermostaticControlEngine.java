@@ -0,0 +1,403 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.thermostat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
+import fr.sorbonne_u.components.cyphy.tools.aclocks.AcceleratedClock;
+import fr.sorbonne_u.components.cyphy.tools.aclocks.ClockServer;
+import fr.sorbonne_u.components.cyphy.tools.aclocks.ClockServerCI;
+import fr.sorbonne_u.components.cyphy.tools.aclocks.ClockServerConnector;
+import fr.sorbonne_u.components.cyphy.tools.aclocks.ClockServerOutboundPort;
+import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
+import fr.sorbonne_u.components.exceptions.ComponentStartException;
+import fr.sorbonne_u.components.hem2022e3.equipments.electricBlanket.ElectricBlanketCI;
+import fr.sorbonne_u.components.hem2022e3.equipments.heater.HeaterActuatorCI;
+import fr.sorbonne_u.components.hem2022e3.equipments.refrigerator.RefrigeratorActuatorCI;
+import fr.sorbonne_u.components.hem2022e3.utils.HashedTimingWheel;
+import fr.sorbonne_u.components.interfaces.DataRequiredCI;
+import fr.sorbonne_u.components.interfaces.DataRequiredCI.DataI;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>ThermostaticControlEngine</code> implements a controller
+ * component executing the thermostatic control loops of several devices on
+ * a single thread.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * Where a {@code ThermostatedHeaterController} or a
+ * {@code RefrigeratorController} executes the loop of a single device with
+ * its own threads, the engine executes the loops described by the
+ * descriptors given at creation, for instance {@code HeaterControlLoop},
+ * {@code RefrigeratorControlLoop} and {@code ElectricBlanketControlLoop},
+ * with one schedulable thread whatever their number. The loops wait for
+ * their next period in a {@code HashedTimingWheel} that the thread expires
+ * every {@code TICK} milliseconds, executing the due loops and putting them
+ * back in the wheel for their next period. Each loop is hence activated at
+ * most {@code TICK} milliseconds late, plus the time taken by the loops
+ * expiring before it, without the drift of rescheduling each loop after its
+ * execution, as its next deadline is computed from the previous one; the
+ * periods that have been missed altogether are skipped.
+ * </p>
+ * <p>
+ * The data pushed by the devices, which tell the loops when their device is
+ * switched on and off, are received by the two standard threads, which
+ * never wait for the loops, so that a device pushing its state while it is
+ * actuated by a loop cannot deadlock with it.
+ * </p>
+ *
+ * <p><strong>White-box Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code loops != null && !loops.isEmpty()}
+ * invariant	{@code !isUnderTest || clockURI != null && !clockURI.isEmpty()}
+ * </pre>
+ *
+ * <p><strong>Black-box Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code TICK > 0}
+ * invariant	{@code WHEEL_SIZE > 0 && (WHEEL_SIZE & (WHEEL_SIZE - 1)) == 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+//-----------------------------------------------------------------------------
+@RequiredInterfaces(required={DataRequiredCI.PullCI.class,
+							  HeaterActuatorCI.class,
+							  RefrigeratorActuatorCI.class,
+							  ElectricBlanketCI.class,
+							  ClockServerCI.class})
+@OfferedInterfaces(offered={DataRequiredCI.PushCI.class})
+//-----------------------------------------------------------------------------
+public class			ThermostaticControlEngine
+extends		AbstractComponent
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** when true, some methods trace their actions.						*/
+	protected static boolean			VERBOSE = true;
+	/** duration of a tick of the timing wheel in milliseconds, about the
+	 *  precision of the standard Java scheduler.							*/
+	public static final long			TICK = 10L;
+	/** number of buckets of the timing wheel, covering about five seconds
+	 *  of real time per turn.												*/
+	public static final int				WHEEL_SIZE = 512;
+
+	/** the loops executed by the engine.									*/
+	protected final List<ThermostaticLoop>			loops;
+	/** the loops receiving the data pushed through the data outbound port
+	 *  whose URI is the key.												*/
+	protected final Map<String,ThermostaticLoop>	receivers;
+	/** timing wheel holding the loops until their next period, created
+	 *  when the engine starts executing.									*/
+	protected HashedTimingWheel<ThermostaticLoop>	wheel;
+	/** loops due at the current tick, reused from one tick to the next.	*/
+	protected final List<ThermostaticLoop>			due;
+	/** time in nanoseconds at which the next tick is due.				*/
+	protected long									nextTick;
+	/** false once the engine is finalised, to stop the ticks.				*/
+	protected volatile boolean						ticking;
+
+	/** when true, the run is done in test mode.							*/
+	protected final boolean							isUnderTest;
+	/** outbound port to connect to the centralised clock server.			*/
+	protected ClockServerOutboundPort				clockServerOBP;
+	/** URI of the clock to be used to synchronise the test scenarios and
+	 *  the simulation.														*/
+	protected final String							clockURI;
+	/** accelerated clock used to timestamp the traces in test mode.		*/
+	protected volatile AcceleratedClock				clock;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create the control engine with the loops described by
+	 * {@code descriptors}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code descriptors != null && descriptors.length > 0}
+	 * pre	{@code !isUnderTest || clockURI != null && !clockURI.isEmpty()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param descriptors	descriptors of the loops to be executed.
+	 * @param isUnderTest	when true, the component is executed in test mode.
+	 * @param clockURI		URI of the clock to be used to synchronise the test scenarios and the simulation.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected			ThermostaticControlEngine(
+		ThermostaticLoopDescriptor[] descriptors,
+		boolean isUnderTest,
+		String clockURI
+		) throws Exception
+	{
+		// two standard threads for the pushed data, as the thread running
+		// the method execute may wait for the clock; the schedulable thread
+		// services all of the loops
+		super(2, 1);
+
+		assert	descriptors != null && descriptors.length > 0 :
+				new PreconditionException(
+						"descriptors != null && descriptors.length > 0");
+		assert	!isUnderTest || clockURI != null && !clockURI.isEmpty() :
+				new PreconditionException(
+						"!isUnderTest || "
+						+ "clockURI != null && !clockURI.isEmpty()");
+
+		this.isUnderTest = isUnderTest;
+		this.clockURI = clockURI;
+		this.loops = new ArrayList<>(descriptors.length);
+		this.receivers = new HashMap<>();
+		this.due = new ArrayList<>(descriptors.length);
+		for (ThermostaticLoopDescriptor d : descriptors) {
+			this.loops.add(d.createLoop(this));
+		}
+
+		if (VERBOSE) {
+			this.tracer.get().setTitle("Thermostatic control engine component");
+			this.tracer.get().setRelativePosition(1, 2);
+			this.toggleTracing();
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Component life-cycle
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#start()
+	 */
+	@Override
+	public synchronized void	start() throws ComponentStartException
+	{
+		super.start();
+
+		try {
+			for (ThermostaticLoop loop : this.loops) {
+				loop.connect();
+			}
+			if (this.isUnderTest) {
+				this.clockServerOBP = new ClockServerOutboundPort(this);
+				this.clockServerOBP.publishPort();
+				this.doPortConnection(
+						this.clockServerOBP.getPortURI(),
+						ClockServer.STANDARD_INBOUNDPORT_URI,
+						ClockServerConnector.class.getCanonicalName());
+			}
+			this.traceMessage("start with " + this.loops.size()
+							  + " control loops.\n");
+		} catch (Exception e) {
+			throw new ComponentStartException(e);
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#execute()
+	 */
+	@Override
+	public void			execute() throws Exception
+	{
+		if (this.isUnderTest) {
+			this.clock = this.clockServerOBP.getClock(this.clockURI);
+			for (ThermostaticLoop loop : this.loops) {
+				loop.accelerate(this.clock.getAccelerationFactor());
+			}
+		}
+
+		long now = System.nanoTime();
+		this.wheel = new HashedTimingWheel<>(
+								TimeUnit.MILLISECONDS.toNanos(TICK),
+								WHEEL_SIZE,
+								now);
+		for (ThermostaticLoop loop : this.loops) {
+			if (loop.actualControlPeriod < TimeUnit.MILLISECONDS.toNanos(TICK)) {
+				this.traceMessage(
+					"warning: accelerated control period of " + loop.getName()
+					+ " is smaller than a tick (" + loop.actualControlPeriod
+					+ " ns), it will be executed once per tick.\n");
+			}
+			loop.nextDeadline = now + loop.actualControlPeriod;
+			this.wheel.schedule(loop, loop.nextDeadline);
+		}
+		this.ticking = true;
+		this.nextTick = now + TimeUnit.MILLISECONDS.toNanos(TICK);
+		this.scheduleTask(
+				o -> ((ThermostaticControlEngine)o).tick(),
+				TimeUnit.MILLISECONDS.toNanos(TICK),
+				TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#finalise()
+	 */
+	@Override
+	public synchronized void	finalise() throws Exception
+	{
+		this.traceMessage("finalise.\n");
+		this.ticking = false;
+		for (ThermostaticLoop loop : this.loops) {
+			loop.disconnect();
+		}
+		if (this.clockServerOBP != null) {
+			this.doPortDisconnection(this.clockServerOBP.getPortURI());
+		}
+		super.finalise();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#shutdown()
+	 */
+	@Override
+	public synchronized void	shutdown() throws ComponentShutdownException
+	{
+		this.traceMessage("shutdown.\n");
+		try {
+			for (ThermostaticLoop loop : this.loops) {
+				loop.unpublish();
+			}
+			if (this.clockServerOBP != null) {
+				this.clockServerOBP.unpublishPort();
+			}
+		} catch (Exception e) {
+			throw new ComponentShutdownException(e) ;
+		}
+		super.shutdown();
+	}
+
+	// -------------------------------------------------------------------------
+	// Component internal methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * register {@code loop} as the receiver of the data pushed through the
+	 * data outbound port {@code portURI}, to be called by the loops when
+	 * they create their data outbound ports.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code portURI != null && loop != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param portURI	URI of a data outbound port owned by the engine.
+	 * @param loop		loop owning the port.
+	 */
+	public void			registerReceiver(String portURI, ThermostaticLoop loop)
+	{
+		assert	portURI != null && loop != null;
+
+		this.receivers.put(portURI, loop);
+	}
+
+	/**
+	 * receive the data pushed by a device through the data outbound port
+	 * {@code portURI} and pass them to the loop owning the port.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code portURI != null && d != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param portURI	URI of the data outbound port receiving the data.
+	 * @param d			data pushed by the device.
+	 */
+	public void			receiveSensorData(String portURI, DataI d)
+	{
+		assert	portURI != null && d != null :
+				new PreconditionException("portURI != null && d != null");
+
+		ThermostaticLoop loop = this.receivers.get(portURI);
+		if (loop != null) {
+			loop.receive(d);
+		}
+	}
+
+	/**
+	 * return the current instant of the clock in test mode or of the real
+	 * time otherwise, to timestamp the traces of the loops.
+	 *
+	 * @return	the current instant.
+	 */
+	public Instant		currentInstant()
+	{
+		AcceleratedClock c = this.clock;
+		return c != null ? c.currentInstant() : Instant.now();
+	}
+
+	/**
+	 * execute the loops due at the current tick, put them back in the wheel
+	 * for their next period and schedule the next tick.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 */
+	protected void		tick()
+	{
+		if (!this.ticking) {
+			this.traceMessage("exit the control.\n");
+			return;
+		}
+
+		long now = System.nanoTime();
+		this.wheel.expire(now, this.due);
+		for (int i = 0 ; i < this.due.size() ; i++) {
+			ThermostaticLoop loop = this.due.get(i);
+			try {
+				loop.step();
+			} catch (Exception e) {
+				// a failing device must not stop the loops of the others
+				this.traceMessage("control loop " + loop.getName()
+								  + " fails: " + e + "\n");
+			}
+			long next = loop.nextDeadline + loop.actualControlPeriod;
+			if (next <= now) {
+				// skip the periods missed altogether
+				next += ((now - next)/loop.actualControlPeriod + 1)*
+												loop.actualControlPeriod;
+			}
+			loop.nextDeadline = next;
+			this.wheel.schedule(loop, next);
+		}
+		this.due.clear();
+
+		// the next tick is computed from the previous one to avoid drifting,
+		// unless the ticks are late by more than one tick
+		this.nextTick += TimeUnit.MILLISECONDS.toNanos(TICK);
+		if (this.nextTick < now) {
+			this.nextTick = now + TimeUnit.MILLISECONDS.toNanos(TICK);
+		}
+		this.scheduleTask(
+				o -> ((ThermostaticControlEngine)o).tick(),
+				Math.max(0L, this.nextTick - System.nanoTime()),
+				TimeUnit.NANOSECONDS);
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,236 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.thermostat;
+
+import java.util.concurrent.TimeUnit;
+import fr.sorbonne_u.components.hem2022e3.utils.RealTimeProbe;
+import fr.sorbonne_u.components.interfaces.DataRequiredCI.DataI;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>ThermostaticLoop</code> is the root of the threshold-based
+ * control loops with hysteresis executed by a
+ * {@code ThermostaticControlEngine}, one per controlled device.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * A loop owns the outbound ports connecting its engine to its device, which
+ * are created and published by the constructor of the subclass and
+ * connected, disconnected and unpublished by the engine through
+ * {@code connect}, {@code disconnect} and {@code unpublish}. At each of its
+ * control periods, the engine calls {@code isActive} and, when the device is
+ * on, {@code control}, which reads the temperatures of the device and starts
+ * or stops it. These calls are made by the single thread servicing the loops
+ * of the engine, hence they must not wait for a long time. The data pushed
+ * by the device through a data port of the loop are passed to
+ * {@code receive} by the standard threads of the engine.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code name != null && !name.isEmpty()}
+ * invariant	{@code hysteresis > 0.0}
+ * invariant	{@code controlPeriod > 0.0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public abstract class	ThermostaticLoop
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** engine executing the loop.											*/
+	protected final ThermostaticControlEngine	owner;
+	/** name of the loop, used in the traces and as name of its probe.		*/
+	protected final String						name;
+	/** the actual hysteresis used in the control loop.						*/
+	protected final double						hysteresis;
+	/** user set control period in seconds.									*/
+	protected final double						controlPeriod;
+	/** actual control period in nanoseconds, accelerated in test mode.		*/
+	protected long								actualControlPeriod;
+	/** time in nanoseconds at which the loop is next due, only used by the
+	 *  thread servicing the loops.											*/
+	protected long								nextDeadline;
+	/** true if the device was active at the previous control period.		*/
+	protected boolean							wasActive;
+	/** probe measuring the jitter of the loop, null when the real time
+	 *  measures are not enabled.											*/
+	protected final RealTimeProbe				probe;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a control loop.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code owner != null}
+	 * pre	{@code name != null && !name.isEmpty()}
+	 * pre	{@code hysteresis > 0.0}
+	 * pre	{@code controlPeriod > 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner			engine executing the loop.
+	 * @param name			name of the loop.
+	 * @param hysteresis	control hysteresis around the target temperature.
+	 * @param controlPeriod	control period in seconds.
+	 */
+	protected			ThermostaticLoop(
+		ThermostaticControlEngine owner,
+		String name,
+		double hysteresis,
+		double controlPeriod
+		)
+	{
+		assert	owner != null : new PreconditionException("owner != null");
+		assert	name != null && !name.isEmpty() :
+				new PreconditionException("name != null && !name.isEmpty()");
+		assert	hysteresis > 0.0 :
+				new PreconditionException("hysteresis > 0.0");
+		assert	controlPeriod > 0.0 :
+				new PreconditionException("controlPeriod > 0.0");
+
+		this.owner = owner;
+		this.name = name;
+		this.hysteresis = hysteresis;
+		this.controlPeriod = controlPeriod;
+		this.actualControlPeriod =
+				(long) (controlPeriod * TimeUnit.SECONDS.toNanos(1));
+		this.wasActive = false;
+		this.probe = RealTimeProbe.forName(name);
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the name of the loop.
+	 *
+	 * @return	the name of the loop.
+	 */
+	public String		getName()
+	{
+		return this.name;
+	}
+
+	/**
+	 * set the actual control period from the acceleration factor of the
+	 * clock, converting to nanoseconds before dividing to keep the precision
+	 * of fractional periods.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code accelerationFactor > 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param accelerationFactor	acceleration factor of the clock.
+	 */
+	protected void		accelerate(double accelerationFactor)
+	{
+		assert	accelerationFactor > 0.0;
+
+		this.actualControlPeriod =
+			(long) ((this.controlPeriod * TimeUnit.SECONDS.toNanos(1))/
+														accelerationFactor);
+	}
+
+	/**
+	 * execute one period of the loop: when the device is active, record the
+	 * activation and apply the control, restarting the measure of the jitter
+	 * when the device has just been switched on.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected void		step() throws Exception
+	{
+		if (this.isActive()) {
+			if (this.probe != null) {
+				if (this.wasActive) {
+					this.probe.recordActivation(this.actualControlPeriod);
+				} else {
+					this.probe.restartActivations();
+				}
+			}
+			this.wasActive = true;
+			this.control();
+		} else {
+			this.wasActive = false;
+		}
+	}
+
+	/**
+	 * connect the outbound ports of the loop to its device.
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected abstract void	connect() throws Exception;
+
+	/**
+	 * disconnect the outbound ports of the loop from its device.
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected abstract void	disconnect() throws Exception;
+
+	/**
+	 * unpublish the outbound ports of the loop.
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected abstract void	unpublish() throws Exception;
+
+	/**
+	 * return true if the device is on and must be controlled.
+	 *
+	 * @return				true if the device is on.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected abstract boolean	isActive() throws Exception;
+
+	/**
+	 * start or stop the device when its temperatures are out of the
+	 * hysteresis band around their targets.
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected abstract void	control() throws Exception;
+
+	/**
+	 * receive the data pushed by the device through a data port of the loop;
+	 * the data are ignored by default.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code d != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param d	data pushed by the device.
+	 */
+	protected void		receive(DataI d)
+	{
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.equipments.thermostat;
+
+import java.io.Serializable;
+
+/**
+ * The class <code>ThermostaticLoopDescriptor</code> describes a control loop
+ * to be created by a {@code ThermostaticControlEngine} when it is itself
+ * created.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * As the components are created from the arguments of their constructor,
+ * the loops of an engine are given as descriptors holding the URIs of the
+ * inbound ports of their devices and their settings; each kind of loop
+ * defines its own descriptor creating it.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public abstract class	ThermostaticLoopDescriptor
+implements	Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * create the loop described by this descriptor, with its outbound ports
+	 * created and published.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code owner != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param owner			engine executing the loop.
+	 * @return				the new loop.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected abstract ThermostaticLoop	createLoop(
+		ThermostaticControlEngine owner
+		) throws Exception;
+}
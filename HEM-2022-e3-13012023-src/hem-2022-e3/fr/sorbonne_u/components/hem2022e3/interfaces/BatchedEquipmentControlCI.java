@@ -0,0 +1,69 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.interfaces;
+
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+
+/**
+ * The component interface <code>BatchedEquipmentControlCI</code> defines
+ * bulk operations that let the household energy manager read the whole
+ * control state of an equipment or apply a sequence of commands to it in a
+ * single call.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Reading the state of an equipment through the standard, suspension and
+ * planning control interfaces takes from five to eight calls, more if the
+ * preconditions are checked by the outbound port; when the household energy
+ * manager and the equipment are deployed on different JVM, each of these is
+ * a remote call. The interface is therefore offered by the inbound port of
+ * the equipment, which composes the individual operations on the equipment
+ * side through a control adapter generated from the same descriptor as the
+ * connector, and required by the household energy manager, so that a
+ * single call per equipment and per control period crosses the connector.
+ * </p>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public interface BatchedEquipmentControlCI
+extends OfferedCI,
+		RequiredCI
+{
+	/**
+	 * return a snapshot of the control state of the equipment.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return				a snapshot of the control state of the equipment.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public EquipmentStatus	getStatus() throws Exception;
+
+	/**
+	 * execute the given commands in order and return their results; a
+	 * command which precondition does not hold at the time it is executed
+	 * is not executed and its result is false.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code commands != null}
+	 * post	{@code return != null && return.length == commands.length}
+	 * </pre>
+	 *
+	 * @param commands		commands to be executed in order.
+	 * @return				the result of each command.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public boolean[]	execute(EquipmentCommand[] commands) throws Exception;
+}
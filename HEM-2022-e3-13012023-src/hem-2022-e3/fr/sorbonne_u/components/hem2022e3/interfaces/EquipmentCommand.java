@@ -0,0 +1,229 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.interfaces;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+import fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI;
+
+/**
+ * The class <code>EquipmentCommand</code> represents one control operation
+ * to be applied to an equipment through
+ * {@code BatchedEquipmentControlCI#execute(EquipmentCommand[])}.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Commands without parameter are shared constants; {@code setMode} and
+ * {@code postpone} commands are created by the corresponding factory
+ * methods.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code kind != null}
+ * invariant	{@code kind != Kind.SET_MODE || modeIndex > 0}
+ * invariant	{@code kind != Kind.POSTPONE || delay != null && !delay.isZero()}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class EquipmentCommand
+implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The enumeration <code>Kind</code> lists the control operations that
+	 * can be batched.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 * 
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static enum	Kind
+	{
+		SWITCH_ON,
+		SWITCH_OFF,
+		UP_MODE,
+		DOWN_MODE,
+		SET_MODE,
+		SUSPEND,
+		RESUME,
+		POSTPONE,
+		CANCEL
+	}
+
+	public static final EquipmentCommand	SWITCH_ON =
+										new EquipmentCommand(Kind.SWITCH_ON);
+	public static final EquipmentCommand	SWITCH_OFF =
+										new EquipmentCommand(Kind.SWITCH_OFF);
+	public static final EquipmentCommand	UP_MODE =
+										new EquipmentCommand(Kind.UP_MODE);
+	public static final EquipmentCommand	DOWN_MODE =
+										new EquipmentCommand(Kind.DOWN_MODE);
+	public static final EquipmentCommand	SUSPEND =
+										new EquipmentCommand(Kind.SUSPEND);
+	public static final EquipmentCommand	RESUME =
+										new EquipmentCommand(Kind.RESUME);
+	public static final EquipmentCommand	CANCEL =
+										new EquipmentCommand(Kind.CANCEL);
+
+	/** the operation to be applied.										*/
+	protected final Kind		kind;
+	/** mode index for {@code SET_MODE}, 0 otherwise.						*/
+	protected final int			modeIndex;
+	/** delay for {@code POSTPONE}, null otherwise.							*/
+	protected final Duration	delay;
+
+	protected EquipmentCommand(Kind kind)
+	{
+		this(kind, 0, null);
+	}
+
+	protected EquipmentCommand(Kind kind, int modeIndex, Duration delay)
+	{
+		this.kind = kind;
+		this.modeIndex = modeIndex;
+		this.delay = delay;
+	}
+
+	/**
+	 * return a command setting the mode of the equipment.
+	 *
+	 * @param modeIndex	index of the mode to be set, in [1, maxMode()].
+	 * @return			the command.
+	 */
+	public static EquipmentCommand	setMode(int modeIndex)
+	{
+		assert	modeIndex > 0;
+		return new EquipmentCommand(Kind.SET_MODE, modeIndex, null);
+	}
+
+	/**
+	 * return a command postponing (or advancing if {@code d} is negative)
+	 * the plan of the equipment.
+	 *
+	 * @param d	duration by which the plan must be postponed.
+	 * @return	the command.
+	 */
+	public static EquipmentCommand	postpone(Duration d)
+	{
+		assert	d != null && !d.isZero();
+		return new EquipmentCommand(Kind.POSTPONE, 0, d);
+	}
+
+	/** @return	the operation to be applied.								*/
+	public Kind			getKind()		{ return this.kind; }
+	/** @return	the mode index for {@code SET_MODE}.						*/
+	public int			getModeIndex()	{ return this.modeIndex; }
+	/** @return	the delay for {@code POSTPONE}.								*/
+	public Duration		getDelay()		{ return this.delay; }
+
+	/**
+	 * execute {@code commands} in order on {@code c}, skipping the ones
+	 * which preconditions do not hold or which are not supported by
+	 * {@code c}, and return their results.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code c != null && commands != null}
+	 * post	{@code return.length == commands.length}
+	 * </pre>
+	 *
+	 * @param c				the control interface of an equipment, usually a control adapter.
+	 * @param commands		commands to be executed in order.
+	 * @return				the result of each command.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public static boolean[]	executeAll(
+		StandardEquipmentControlCI c,
+		EquipmentCommand[] commands
+		) throws Exception
+	{
+		assert	c != null && commands != null;
+
+		boolean[] ret = new boolean[commands.length];
+		for (int i = 0 ; i < commands.length ; i++) {
+			ret[i] = commands[i].executeOn(c);
+		}
+		return ret;
+	}
+
+	/**
+	 * execute this command on {@code c}.
+	 *
+	 * @param c				the control interface of an equipment.
+	 * @return				the result of the operation, false if not executed.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected boolean	executeOn(StandardEquipmentControlCI c)
+	throws Exception
+	{
+		switch (this.kind) {
+		case SWITCH_ON:
+			return !c.on() && c.switchOn();
+		case SWITCH_OFF:
+			return c.on() && c.switchOff();
+		case UP_MODE:
+			return c.on() && c.currentMode() < c.maxMode() && c.upMode();
+		case DOWN_MODE:
+			return c.on() && c.currentMode() > 1 && c.downMode();
+		case SET_MODE:
+			return c.on() && this.modeIndex <= c.maxMode() &&
+												c.setMode(this.modeIndex);
+		case SUSPEND:
+			if (c instanceof SuspensionEquipmentControlCI && c.on()) {
+				SuspensionEquipmentControlCI s =
+										(SuspensionEquipmentControlCI) c;
+				return !s.suspended() && s.suspend();
+			}
+			return false;
+		case RESUME:
+			if (c instanceof SuspensionEquipmentControlCI && c.on()) {
+				SuspensionEquipmentControlCI s =
+										(SuspensionEquipmentControlCI) c;
+				return s.suspended() && s.resume();
+			}
+			return false;
+		case POSTPONE:
+			if (c instanceof PlanningEquipmentControlCI) {
+				PlanningEquipmentControlCI p = (PlanningEquipmentControlCI) c;
+				return p.hasPlan() && p.postpone(this.delay);
+			}
+			return false;
+		case CANCEL:
+			if (c instanceof PlanningEquipmentControlCI) {
+				PlanningEquipmentControlCI p = (PlanningEquipmentControlCI) c;
+				return p.hasPlan() && p.cancel();
+			}
+			return false;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		switch (this.kind) {
+		case SET_MODE:
+			return "SET_MODE(" + this.modeIndex + ")";
+		case POSTPONE:
+			return "POSTPONE(" + this.delay + ")";
+		default:
+			return this.kind.name();
+		}
+	}
+}
@@ -0,0 +1,237 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.interfaces;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+
+import fr.sorbonne_u.components.hem2022.interfaces.PlanningEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.StandardEquipmentControlCI;
+import fr.sorbonne_u.components.hem2022.interfaces.SuspensionEquipmentControlCI;
+
+/**
+ * The class <code>EquipmentStatus</code> is an immutable snapshot of the
+ * control state of an equipment, as returned by
+ * {@code BatchedEquipmentControlCI#getStatus()}.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The fields which are meaningless for an equipment, because it does not
+ * implement the corresponding control interface or because the precondition
+ * of the corresponding operation does not hold, are set to false, 0, NaN or
+ * null; {@code isSuspendable()} and {@code isPlannable()} tell which part
+ * of the snapshot applies.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code !suspended || suspendable && on}
+ * invariant	{@code !suspended || emergency >= 0.0 && emergency <= 1.0}
+ * invariant	{@code !hasPlan || plannable}
+ * invariant	{@code !planRunning || hasPlan}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class EquipmentStatus
+implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** true if the equipment is on.										*/
+	protected final boolean		on;
+	/** maximal mode index of the equipment.								*/
+	protected final int			maxMode;
+	/** current mode index of the equipment.								*/
+	protected final int			currentMode;
+	/** true if the equipment implements the suspension control.			*/
+	protected final boolean		suspendable;
+	/** true if the equipment is suspended.									*/
+	protected final boolean		suspended;
+	/** emergency of a resumption if suspended, NaN otherwise.				*/
+	protected final double		emergency;
+	/** true if the equipment implements the planning control.				*/
+	protected final boolean		plannable;
+	/** true if the equipment has a plan.									*/
+	protected final boolean		hasPlan;
+	/** true if the plan of the equipment is running.						*/
+	protected final boolean		planRunning;
+	/** start time of the plan or null if none.								*/
+	protected final Instant		startTime;
+	/** duration of the plan or null if none.								*/
+	protected final Duration	duration;
+	/** deadline of the plan or null if none.								*/
+	protected final Instant		deadline;
+
+	/**
+	 * create a status snapshot.
+	 *
+	 * @param on			true if the equipment is on.
+	 * @param maxMode		maximal mode index of the equipment.
+	 * @param currentMode	current mode index of the equipment.
+	 * @param suspendable	true if the equipment implements the suspension control.
+	 * @param suspended		true if the equipment is suspended.
+	 * @param emergency		emergency of a resumption if suspended, NaN otherwise.
+	 * @param plannable		true if the equipment implements the planning control.
+	 * @param hasPlan		true if the equipment has a plan.
+	 * @param planRunning	true if the plan of the equipment is running.
+	 * @param startTime		start time of the plan or null if none.
+	 * @param duration		duration of the plan or null if none.
+	 * @param deadline		deadline of the plan or null if none.
+	 */
+	public EquipmentStatus(
+		boolean on,
+		int maxMode,
+		int currentMode,
+		boolean suspendable,
+		boolean suspended,
+		double emergency,
+		boolean plannable,
+		boolean hasPlan,
+		boolean planRunning,
+		Instant startTime,
+		Duration duration,
+		Instant deadline
+		)
+	{
+		this.on = on;
+		this.maxMode = maxMode;
+		this.currentMode = currentMode;
+		this.suspendable = suspendable;
+		this.suspended = suspended;
+		this.emergency = emergency;
+		this.plannable = plannable;
+		this.hasPlan = hasPlan;
+		this.planRunning = planRunning;
+		this.startTime = startTime;
+		this.duration = duration;
+		this.deadline = deadline;
+	}
+
+	/**
+	 * take a snapshot of the control state of {@code c}, calling each of
+	 * its operations at most once and only when its precondition holds.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code c != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param c				the control interface of an equipment, usually a control adapter.
+	 * @return				a snapshot of the control state of {@code c}.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public static EquipmentStatus	snapshot(StandardEquipmentControlCI c)
+	throws Exception
+	{
+		assert	c != null;
+
+		boolean on = c.on();
+		int maxMode = c.maxMode();
+		int currentMode = c.currentMode();
+
+		boolean suspendable = c instanceof SuspensionEquipmentControlCI;
+		boolean suspended = false;
+		double emergency = Double.NaN;
+		if (suspendable && on) {
+			SuspensionEquipmentControlCI s = (SuspensionEquipmentControlCI) c;
+			suspended = s.suspended();
+			if (suspended) {
+				emergency = s.emergency();
+			}
+		}
+
+		boolean plannable = c instanceof PlanningEquipmentControlCI;
+		boolean hasPlan = false;
+		boolean planRunning = false;
+		Instant startTime = null;
+		Duration duration = null;
+		Instant deadline = null;
+		if (plannable) {
+			PlanningEquipmentControlCI p = (PlanningEquipmentControlCI) c;
+			hasPlan = p.hasPlan();
+			if (hasPlan) {
+				planRunning = p.isPlanRunning();
+				startTime = p.startTime();
+				duration = p.duration();
+				deadline = p.deadline();
+			}
+		}
+
+		return new EquipmentStatus(on, maxMode, currentMode,
+								   suspendable, suspended, emergency,
+								   plannable, hasPlan, planRunning,
+								   startTime, duration, deadline);
+	}
+
+	/** @return	true if the equipment is on.								*/
+	public boolean		isOn()			{ return this.on; }
+	/** @return	the maximal mode index of the equipment.					*/
+	public int			getMaxMode()	{ return this.maxMode; }
+	/** @return	the current mode index of the equipment.					*/
+	public int			getCurrentMode(){ return this.currentMode; }
+	/** @return	true if the equipment implements the suspension control.	*/
+	public boolean		isSuspendable()	{ return this.suspendable; }
+	/** @return	true if the equipment is suspended.							*/
+	public boolean		isSuspended()	{ return this.suspended; }
+	/** @return	the emergency of a resumption if suspended, NaN otherwise.	*/
+	public double		getEmergency()	{ return this.emergency; }
+	/** @return	true if the equipment implements the planning control.		*/
+	public boolean		isPlannable()	{ return this.plannable; }
+	/** @return	true if the equipment has a plan.							*/
+	public boolean		hasPlan()		{ return this.hasPlan; }
+	/** @return	true if the plan of the equipment is running.				*/
+	public boolean		isPlanRunning()	{ return this.planRunning; }
+	/** @return	the start time of the plan or null if none.					*/
+	public Instant		getStartTime()	{ return this.startTime; }
+	/** @return	the duration of the plan or null if none.					*/
+	public Duration		getDuration()	{ return this.duration; }
+	/** @return	the deadline of the plan or null if none.					*/
+	public Instant		getDeadline()	{ return this.deadline; }
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		StringBuffer sb = new StringBuffer("EquipmentStatus[on = ");
+		sb.append(this.on);
+		sb.append(", mode = ");
+		sb.append(this.currentMode);
+		sb.append('/');
+		sb.append(this.maxMode);
+		if (this.suspendable) {
+			sb.append(", suspended = ");
+			sb.append(this.suspended);
+			if (this.suspended) {
+				sb.append(", emergency = ");
+				sb.append(this.emergency);
+			}
+		}
+		if (this.plannable) {
+			sb.append(", hasPlan = ");
+			sb.append(this.hasPlan);
+			if (this.hasPlan) {
+				sb.append(", running = ");
+				sb.append(this.planRunning);
+				sb.append(", start = ");
+				sb.append(this.startTime);
+				sb.append(", duration = ");
+				sb.append(this.duration);
+				sb.append(", deadline = ");
+				sb.append(this.deadline);
+			}
+		}
+		sb.append(']');
+		return sb.toString();
+	}
+}
@@ -0,0 +1,303 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * The class <code>BinaryTraceReader</code> reads the trace files written by
+ * {@code BinaryTraceWriter} and converts them to CSV.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The reader maps the valid part of the trace file, as given by the number
+ * of records in its header, chunk by chunk and gives access to the records
+ * by index. {@code toCSV} writes the records which simulated time is in a
+ * given segment as {@code time,variable,value} lines, the variables being
+ * designated by their registered names. The tool is also usable from the
+ * command line:
+ * </p>
+ * <pre>
+ * java fr.sorbonne_u.components.hem2022e3.utils.BinaryTraceReader trace [from [to]]
+ * </pre>
+ * <p>
+ * which writes the CSV of the records in [{@code from}, {@code to}] on the
+ * standard output.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code count >= 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			BinaryTraceReader
+implements	Closeable
+{
+	/** channel on the trace file.											*/
+	protected final FileChannel				channel;
+	/** number of records in the trace file.								*/
+	protected final long					count;
+	/** names of the variables indexed by identifier.						*/
+	protected final ArrayList<String>		names;
+	/** chunks of records mapped so far, indexed by chunk number.			*/
+	protected final MappedByteBuffer[]		chunks;
+
+	/**
+	 * open the trace file at {@code path}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code path != null && !path.isEmpty()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param path			path of the trace file.
+	 * @throws IOException	if the files cannot be read or are not trace files.
+	 */
+	public				BinaryTraceReader(String path) throws IOException
+	{
+		assert	path != null && !path.isEmpty();
+
+		this.channel = FileChannel.open(Paths.get(path),
+										StandardOpenOption.READ);
+		MappedByteBuffer header =
+			this.channel.map(FileChannel.MapMode.READ_ONLY,
+							 0, BinaryTraceWriter.HEADER_SIZE);
+		if (header.getInt(0) != BinaryTraceWriter.MAGIC ||
+							header.getInt(4) != BinaryTraceWriter.VERSION) {
+			this.channel.close();
+			throw new IOException(path + " is not a trace file.");
+		}
+		this.count = header.getLong(BinaryTraceWriter.COUNT_OFFSET);
+		this.chunks = new MappedByteBuffer[
+						(int) ((this.count + BinaryTraceWriter.RECORDS_PER_CHUNK
+												- 1)/
+									BinaryTraceWriter.RECORDS_PER_CHUNK)];
+
+		this.names = new ArrayList<>();
+		if (Files.exists(BinaryTraceWriter.variablesFile(path))) {
+			try (BufferedReader r =
+					Files.newBufferedReader(
+								BinaryTraceWriter.variablesFile(path),
+								StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = r.readLine()) != null) {
+					int sep = line.indexOf(';');
+					int id = Integer.parseInt(line.substring(0, sep));
+					while (this.names.size() <= id) {
+						this.names.add(null);
+					}
+					this.names.set(id, line.substring(sep + 1));
+				}
+			}
+		}
+	}
+
+	/**
+	 * return the number of records in the trace file.
+	 *
+	 * @return	the number of records in the trace file.
+	 */
+	public long			size()
+	{
+		return this.count;
+	}
+
+	/**
+	 * return the name of the variable with identifier {@code id}, or its
+	 * identifier as a string if it has no registered name.
+	 *
+	 * @param id	identifier of a variable.
+	 * @return		the name of the variable.
+	 */
+	public String		getName(int id)
+	{
+		String name = id < this.names.size() ? this.names.get(id) : null;
+		return name != null ? name : Integer.toString(id);
+	}
+
+	/**
+	 * return the chunk holding the record at {@code index}, mapping it if
+	 * needed.
+	 *
+	 * @param index			index of a record.
+	 * @return				the chunk holding the record.
+	 * @throws IOException	if the chunk cannot be mapped.
+	 */
+	protected MappedByteBuffer	chunkOf(long index) throws IOException
+	{
+		int c = (int) (index / BinaryTraceWriter.RECORDS_PER_CHUNK);
+		if (this.chunks[c] == null) {
+			long start = BinaryTraceWriter.HEADER_SIZE +
+										c * BinaryTraceWriter.CHUNK_SIZE;
+			long records =
+				Math.min(this.count - (long) c *
+										BinaryTraceWriter.RECORDS_PER_CHUNK,
+						 BinaryTraceWriter.RECORDS_PER_CHUNK);
+			this.chunks[c] =
+				this.channel.map(FileChannel.MapMode.READ_ONLY, start,
+								 records * BinaryTraceWriter.RECORD_SIZE);
+		}
+		return this.chunks[c];
+	}
+
+	/**
+	 * return the offset of the record at {@code index} in its chunk.
+	 *
+	 * @param index	index of a record.
+	 * @return		the offset of the record in its chunk.
+	 */
+	protected static int	offsetOf(long index)
+	{
+		return (int) (index % BinaryTraceWriter.RECORDS_PER_CHUNK) *
+												BinaryTraceWriter.RECORD_SIZE;
+	}
+
+	/**
+	 * return the simulated time of the record at {@code index}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code index >= 0 && index < size()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param index			index of a record.
+	 * @return				the simulated time of the record.
+	 * @throws IOException	if the records cannot be read.
+	 */
+	public double		getTime(long index) throws IOException
+	{
+		return this.chunkOf(index).getDouble(offsetOf(index));
+	}
+
+	/**
+	 * return the variable identifier of the record at {@code index}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code index >= 0 && index < size()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param index			index of a record.
+	 * @return				the variable identifier of the record.
+	 * @throws IOException	if the records cannot be read.
+	 */
+	public int			getVariable(long index) throws IOException
+	{
+		return this.chunkOf(index).getInt(offsetOf(index) + 8);
+	}
+
+	/**
+	 * return the value of the record at {@code index}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code index >= 0 && index < size()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param index			index of a record.
+	 * @return				the value of the record.
+	 * @throws IOException	if the records cannot be read.
+	 */
+	public double		getValue(long index) throws IOException
+	{
+		return this.chunkOf(index).getDouble(offsetOf(index) + 12);
+	}
+
+	/**
+	 * write as CSV the records which simulated time is in
+	 * [{@code from}, {@code to}], preceded by a header line.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code out != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param from			lower bound of the segment, included.
+	 * @param to			upper bound of the segment, included.
+	 * @param out			writer receiving the CSV lines.
+	 * @throws IOException	if the records cannot be read or written.
+	 */
+	public void			toCSV(double from, double to, Writer out)
+	throws IOException
+	{
+		assert	out != null;
+
+		out.write("time,variable,value\n");
+		for (long i = 0 ; i < this.count ; i++) {
+			double t = this.getTime(i);
+			if (t >= from && t <= to) {
+				out.write(Double.toString(t));
+				out.write(',');
+				out.write(this.getName(this.getVariable(i)));
+				out.write(',');
+				out.write(Double.toString(this.getValue(i)));
+				out.write('\n');
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void			close() throws IOException
+	{
+		this.channel.close();
+	}
+
+	/**
+	 * convert a trace file to CSV on the standard output.
+	 * 
+	 * @param args	path of the trace file, then optionally the lower and upper bounds of the segment.
+	 */
+	public static void	main(String[] args)
+	{
+		if (args.length < 1 || args.length > 3) {
+			System.err.println("usage: BinaryTraceReader trace [from [to]]");
+			System.exit(1);
+		}
+		double from = args.length > 1 ?
+							Double.parseDouble(args[1]) : Double.NEGATIVE_INFINITY;
+		double to = args.length > 2 ?
+							Double.parseDouble(args[2]) : Double.POSITIVE_INFINITY;
+		try (BinaryTraceReader r = new BinaryTraceReader(args[0])) {
+			r.toCSV(from, to,
+					new BufferedWriter(
+						new OutputStreamWriter(System.out,
+											   StandardCharsets.UTF_8)));
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,351 @@
+/**
+ * 
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The class <code>BinaryTraceWriter</code> appends fixed-width binary trace
+ * records to a memory-mapped file.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * A record is made of the simulated time as a {@code double}, the identifier
+ * of the traced variable as an {@code int} and its value as a
+ * {@code double}, hence {@code RECORD_SIZE} bytes; appending a record is
+ * three absolute puts in a mapped buffer, without any formatting nor
+ * allocation. The file starts with a header of {@code HEADER_SIZE} bytes
+ * holding {@code MAGIC}, {@code VERSION} and the number of records, updated
+ * at each append so that a reader, even concurrent, knows the valid part of
+ * the file. Records are mapped by chunks of {@code RECORDS_PER_CHUNK}, the
+ * file growing by one chunk when the current one is full.
+ * </p>
+ * <p>
+ * Variables are registered by name before being traced; the names are
+ * written as {@code id;name} lines to a side file, the path of the trace
+ * suffixed with {@code VARIABLES_SUFFIX}, read by {@code BinaryTraceReader}.
+ * </p>
+ * <p>
+ * Models get their writer from their simulation run parameters: when the
+ * parameter {@code TRACE_FILE_RPNAME} gives the path of a trace file,
+ * {@code fromRunParameters} returns the writer shared by all of the models
+ * of the same virtual machine tracing to that file.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code count >= 0}
+ * invariant	{@code RECORDS_PER_CHUNK > 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-18</p>
+ * 
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			BinaryTraceWriter
+implements	Closeable
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** name of the simulation run parameter giving the path of the trace
+	 *  file.																*/
+	public static final String	TRACE_FILE_RPNAME = "HEM-TRACE-FILE";
+	/** name of the system property giving the path of the trace file.		*/
+	public static final String	TRACE_FILE_PROPERTY = "hem.trace.file";
+	/** suffix of the side file giving the names of the variables.			*/
+	public static final String	VARIABLES_SUFFIX = ".vars";
+	/** magic number at the start of a trace file.							*/
+	public static final int		MAGIC = 0x48454D54;
+	/** version of the file format.											*/
+	public static final int		VERSION = 1;
+	/** size of the header in bytes.										*/
+	public static final int		HEADER_SIZE = 16;
+	/** offset of the number of records in the header.						*/
+	public static final int		COUNT_OFFSET = 8;
+	/** size of a record in bytes: time, variable identifier and value.	*/
+	public static final int		RECORD_SIZE = 8 + 4 + 8;
+	/** number of records mapped at once.									*/
+	public static final int		RECORDS_PER_CHUNK = 1 << 20;
+	/** size of a chunk in bytes.											*/
+	public static final long	CHUNK_SIZE =
+									(long) RECORD_SIZE * RECORDS_PER_CHUNK;
+
+	/** writers currently opened, by absolute path of their file.			*/
+	protected static final ConcurrentHashMap<String,BinaryTraceWriter>
+											WRITERS = new ConcurrentHashMap<>();
+
+	/** absolute path of the trace file.									*/
+	protected final String				path;
+	/** channel on the trace file.											*/
+	protected final FileChannel			channel;
+	/** mapped header of the trace file.									*/
+	protected final MappedByteBuffer	header;
+	/** writer of the side file giving the names of the variables.			*/
+	protected final BufferedWriter		variables;
+	/** identifiers of the registered variables by name.					*/
+	protected final Map<String,Integer>	ids;
+	/** mapped chunk in which the records are currently appended.			*/
+	protected MappedByteBuffer			chunk;
+	/** number of records appended so far.									*/
+	protected long						count;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a writer on a new trace file, replacing any existing one.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code path != null && !path.isEmpty()}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param path			path of the trace file.
+	 * @throws IOException	if the files cannot be created.
+	 */
+	protected			BinaryTraceWriter(String path) throws IOException
+	{
+		assert	path != null && !path.isEmpty();
+
+		this.path = path;
+		this.channel = FileChannel.open(Paths.get(path),
+										StandardOpenOption.CREATE,
+										StandardOpenOption.TRUNCATE_EXISTING,
+										StandardOpenOption.READ,
+										StandardOpenOption.WRITE);
+		this.header = this.channel.map(FileChannel.MapMode.READ_WRITE,
+									   0, HEADER_SIZE);
+		this.header.putInt(0, MAGIC);
+		this.header.putInt(4, VERSION);
+		this.header.putLong(COUNT_OFFSET, 0L);
+		this.variables =
+			Files.newBufferedWriter(variablesFile(path),
+									StandardCharsets.UTF_8);
+		this.ids = new HashMap<>();
+		this.count = 0L;
+	}
+
+	/**
+	 * return the writer on the trace file at {@code path}, creating it if it
+	 * is not opened yet in this virtual machine.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code path != null && !path.isEmpty()}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param path			path of the trace file.
+	 * @return				the writer on the trace file.
+	 * @throws IOException	if the files cannot be created.
+	 */
+	public static BinaryTraceWriter	open(String path) throws IOException
+	{
+		assert	path != null && !path.isEmpty();
+
+		String key = Paths.get(path).toAbsolutePath().toString();
+		try {
+			return WRITERS.computeIfAbsent(
+						key,
+						k -> {	try {
+									return new BinaryTraceWriter(k);
+								} catch (IOException e) {
+									throw new RuntimeException(e) ;
+								}
+							 });
+		} catch (RuntimeException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * return the writer designated by the simulation run parameters, or
+	 * null if they do not give a trace file.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code simParams != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param simParams		simulation run parameters.
+	 * @return				the writer or null if none.
+	 * @throws IOException	if the files cannot be created.
+	 */
+	public static BinaryTraceWriter	fromRunParameters(
+		Map<String,Object> simParams
+		) throws IOException
+	{
+		assert	simParams != null;
+
+		Object path = simParams.get(TRACE_FILE_RPNAME);
+		return path == null ? null : open((String) path);
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the identifier of the variable with the given name, registering
+	 * it if needed.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code name != null && name.indexOf('\n') < 0}
+	 * post	{@code return >= 0}
+	 * </pre>
+	 *
+	 * @param name			name of the variable.
+	 * @return				the identifier of the variable.
+	 * @throws IOException	if the side file cannot be written.
+	 */
+	public synchronized int	register(String name) throws IOException
+	{
+		assert	name != null && name.indexOf('\n') < 0;
+
+		Integer id = this.ids.get(name);
+		if (id == null) {
+			id = this.ids.size();
+			this.ids.put(name, id);
+			this.variables.write(id + ";" + name);
+			this.variables.newLine();
+			this.variables.flush();
+		}
+		return id;
+	}
+
+	/**
+	 * append a record.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code id >= 0}
+	 * post	{@code getCount() == getCount()@pre + 1}
+	 * </pre>
+	 *
+	 * @param time			simulated time of the record.
+	 * @param id			identifier of the variable as returned by {@code register}.
+	 * @param value			value of the variable.
+	 * @throws IOException	if the file cannot be extended.
+	 */
+	public synchronized void	append(double time, int id, double value)
+	throws IOException
+	{
+		int index = (int) (this.count % RECORDS_PER_CHUNK);
+		if (index == 0) {
+			// the current chunk is full, or none has been mapped yet
+			this.chunk = this.channel.map(
+							FileChannel.MapMode.READ_WRITE,
+							HEADER_SIZE +
+								(this.count / RECORDS_PER_CHUNK) * CHUNK_SIZE,
+							CHUNK_SIZE);
+		}
+		int offset = index * RECORD_SIZE;
+		this.chunk.putDouble(offset, time);
+		this.chunk.putInt(offset + 8, id);
+		this.chunk.putDouble(offset + 12, value);
+		this.count++;
+		this.header.putLong(COUNT_OFFSET, this.count);
+	}
+
+	/**
+	 * return the number of records appended so far.
+	 *
+	 * @return	the number of records appended so far.
+	 */
+	public synchronized long	getCount()
+	{
+		return this.count;
+	}
+
+	/**
+	 * return the path of the trace file.
+	 *
+	 * @return	the path of the trace file.
+	 */
+	public String		getPath()
+	{
+		return this.path;
+	}
+
+	/**
+	 * force the records appended so far to the storage; as the header and
+	 * the records are mapped, a reader sees them even before, but calling
+	 * this method at the end of a simulation run guarantees that they survive
+	 * a crash of the virtual machine.
+	 */
+	public synchronized void	flush()
+	{
+		if (this.chunk != null) {
+			this.chunk.force();
+		}
+		this.header.force();
+	}
+
+	/**
+	 * force the records to the storage, close the files and forget the
+	 * writer, the next call to {@code open} with the same path replacing
+	 * the file.
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public synchronized void	close() throws IOException
+	{
+		WRITERS.remove(this.path, this);
+		if (this.chunk != null) {
+			this.chunk.force();
+		}
+		this.header.force();
+		// do not leave a partially used last chunk in the file; platforms
+		// refusing to truncate a mapped file keep it, readers relying on the
+		// number of records in the header anyway
+		try {
+			this.channel.truncate(HEADER_SIZE + this.count * RECORD_SIZE);
+		} catch (IOException e) {
+			// keep the file as is
+		}
+		this.channel.close();
+		this.variables.close();
+	}
+
+	/**
+	 * return the path of the side file giving the names of the variables of
+	 * the trace file at {@code path}.
+	 *
+	 * @param path	path of a trace file.
+	 * @return		the path of its side file.
+	 */
+	public static Path	variablesFile(String path)
+	{
+		return Paths.get(path + VARIABLES_SUFFIX);
+	}
+}
@@ -0,0 +1,227 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The class <code>HashedTimingWheel</code> implements a hashed timing wheel
+ * holding tasks until their deadline, for a thread that expires them at each
+ * tick.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The time is divided in ticks of {@code tickNanos} nanoseconds, counted
+ * from the start time given at creation, and the wheel has a power of two
+ * number of buckets. A task whose deadline is in the tick {@code k} goes in
+ * the bucket {@code k mod wheelSize} with the number of full turns of the
+ * wheel before its tick. {@code expire} visits the buckets of the ticks
+ * elapsed since its last call, removing the tasks having no turn left and
+ * decrementing the turns of the others, so that scheduling and expiring a
+ * task costs a constant time whatever the number of pending tasks. The
+ * tasks expire at the end of their tick, hence at most one tick late. When
+ * more than a turn has elapsed since the last call, each bucket is visited
+ * once, its tasks having as many turns elapsed as its ticks in the gap.
+ * </p>
+ * <p>
+ * The times are {@code System.nanoTime} values, or any other monotonic
+ * clock in nanoseconds. The methods are synchronised as the tasks are
+ * usually scheduled by other threads than the one expiring them.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code tickNanos > 0}
+ * invariant	{@code buckets.size() > 0 && (buckets.size() & (buckets.size() - 1)) == 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			HashedTimingWheel<T>
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Entry</code> holds a task in a bucket with its number
+	 * of turns left.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	protected static class	Entry<T>
+	{
+		/** scheduled task.													*/
+		protected final T	task;
+		/** number of full turns of the wheel before the tick of the task.	*/
+		protected long		turns;
+
+		protected			Entry(T task, long turns)
+		{
+			this.task = task;
+			this.turns = turns;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** duration of a tick in nanoseconds.									*/
+	protected final long				tickNanos;
+	/** time of the start of the first tick.								*/
+	protected final long				startNanos;
+	/** buckets of the wheel.												*/
+	protected final ArrayList<List<Entry<T>>>	buckets;
+	/** mask giving the bucket of a tick.									*/
+	protected final int					mask;
+	/** next tick to be expired.											*/
+	protected long						currentTick;
+	/** number of pending tasks.											*/
+	protected int						size;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an empty timing wheel.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code tickNanos > 0}
+	 * pre	{@code wheelSize > 0 && (wheelSize & (wheelSize - 1)) == 0}
+	 * post	{@code size() == 0}
+	 * </pre>
+	 *
+	 * @param tickNanos		duration of a tick in nanoseconds.
+	 * @param wheelSize		number of buckets, a power of two.
+	 * @param startNanos	time of the start of the first tick.
+	 */
+	public				HashedTimingWheel(
+		long tickNanos,
+		int wheelSize,
+		long startNanos
+		)
+	{
+		assert	tickNanos > 0;
+		assert	wheelSize > 0 && (wheelSize & (wheelSize - 1)) == 0;
+
+		this.tickNanos = tickNanos;
+		this.startNanos = startNanos;
+		this.buckets = new ArrayList<>(wheelSize);
+		for (int i = 0 ; i < wheelSize ; i++) {
+			this.buckets.add(new ArrayList<>());
+		}
+		this.mask = wheelSize - 1;
+		this.currentTick = 0L;
+		this.size = 0;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the duration of a tick in nanoseconds.
+	 *
+	 * @return	the duration of a tick in nanoseconds.
+	 */
+	public long			getTickNanos()
+	{
+		return this.tickNanos;
+	}
+
+	/**
+	 * return the number of pending tasks.
+	 *
+	 * @return	the number of pending tasks.
+	 */
+	public synchronized int	size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * schedule {@code task} to expire at the end of the tick containing
+	 * {@code deadlineNanos}, or at the next call to {@code expire} if this
+	 * tick has already been expired.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code task != null}
+	 * post	{@code size() == size()@pre + 1}
+	 * </pre>
+	 *
+	 * @param task			task to be scheduled.
+	 * @param deadlineNanos	time at which the task is due.
+	 */
+	public synchronized void	schedule(T task, long deadlineNanos)
+	{
+		assert	task != null;
+
+		long tick = Math.max(this.currentTick,
+							 (deadlineNanos - this.startNanos)/this.tickNanos);
+		long turns = (tick - this.currentTick)/this.buckets.size();
+		this.buckets.get((int) (tick & this.mask)).
+												add(new Entry<>(task, turns));
+		this.size++;
+	}
+
+	/**
+	 * move the tasks due at {@code nowNanos} from the wheel to {@code due},
+	 * in the order of their ticks when less than a turn has elapsed since
+	 * the last call, and in the order of their buckets otherwise.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code due != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param nowNanos	current time.
+	 * @param due		list receiving the due tasks.
+	 */
+	public synchronized void	expire(long nowNanos, List<T> due)
+	{
+		assert	due != null;
+
+		// the ticks that have completely elapsed; each bucket is visited at
+		// most once, as the buckets of the next turns are the same
+		long lastTick = (nowNanos - this.startNanos)/this.tickNanos - 1;
+		if (lastTick < this.currentTick) {
+			return;
+		}
+		long end = Math.min(lastTick,
+							this.currentTick + this.buckets.size() - 1);
+		for (long tick = this.currentTick ; tick <= end ; tick++) {
+			// number of times the tick of the bucket has elapsed
+			long elapsed = (lastTick - tick)/this.buckets.size() + 1;
+			List<Entry<T>> bucket = this.buckets.get((int) (tick & this.mask));
+			int kept = 0;
+			for (int i = 0 ; i < bucket.size() ; i++) {
+				Entry<T> e = bucket.get(i);
+				if (e.turns < elapsed) {
+					due.add(e.task);
+					this.size--;
+				} else {
+					e.turns -= elapsed;
+					bucket.set(kept++, e);
+				}
+			}
+			bucket.subList(kept, bucket.size()).clear();
+		}
+		this.currentTick = lastTick + 1;
+	}
+}
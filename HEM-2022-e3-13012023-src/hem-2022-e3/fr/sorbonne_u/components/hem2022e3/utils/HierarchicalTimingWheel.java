@@ -0,0 +1,456 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+import java.util.List;
+
+/**
+ * The class <code>HierarchicalTimingWheel</code> implements a hierarchical
+ * timing wheel holding tasks until their tick, scheduling, rescheduling and
+ * cancelling them in constant time whatever the number of pending tasks.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The wheel has {@code levels} levels of {@code 2^bitsPerLevel} slots, a
+ * slot of the level {@code l} covering {@code 2^(l*bitsPerLevel)} ticks.
+ * A task due in less than {@code 2^bitsPerLevel} ticks goes in the slot of
+ * its tick at the level 0, a later one in the slot of its tick at the
+ * lowest level covering its delay, and a task due beyond the range of the
+ * top level in the farthest slot of this level. When the ticks of the level
+ * 0 complete a turn, the next slot of the level 1 is cascaded, its tasks
+ * being placed again from their own tick, and so on up the levels, so that
+ * a task is moved at most once per level before it expires.
+ * </p>
+ * <p>
+ * The entries are created once per task by {@code newEntry} and linked in
+ * the slots as the nodes of doubly linked lists, hence scheduling an entry
+ * again, for instance to postpone or renew its task, unlinks and links it
+ * without any allocation. The class is not thread safe, its users must
+ * synchronise its calls.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code bitsPerLevel > 0 && levels > 0}
+ * invariant	{@code size() >= 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			HierarchicalTimingWheel<T>
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Entry</code> holds a task in the wheel; it is the node
+	 * of the list of its slot when the task is scheduled.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static class	Entry<T>
+	{
+		/** scheduled task.													*/
+		protected final T	task;
+		/** tick at which the task is due.									*/
+		protected long		tick;
+		/** head of the list of the slot of the entry or null if the entry
+		 *  is not scheduled.												*/
+		protected Entry<T>	slot;
+		/** previous entry in the list of the slot.							*/
+		protected Entry<T>	previous;
+		/** next entry in the list of the slot.								*/
+		protected Entry<T>	next;
+
+		protected			Entry(T task)
+		{
+			this.task = task;
+		}
+
+		/**
+		 * return the task of the entry.
+		 *
+		 * @return	the task of the entry.
+		 */
+		public T			getTask()
+		{
+			return this.task;
+		}
+
+		/**
+		 * return the tick at which the task is due, or was due when it was
+		 * last scheduled.
+		 *
+		 * @return	the tick at which the task is due.
+		 */
+		public long			getTick()
+		{
+			return this.tick;
+		}
+
+		/**
+		 * return true if the entry is in the wheel.
+		 *
+		 * @return	true if the entry is in the wheel.
+		 */
+		public boolean		isScheduled()
+		{
+			return this.slot != null;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** number of bits of the tick giving the slot of a level.				*/
+	protected final int				bitsPerLevel;
+	/** mask giving the slot of a level.									*/
+	protected final int				mask;
+	/** heads of the lists of the slots, indexed by level then slot.		*/
+	protected final Entry<T>[][]	slots;
+	/** next tick to be expired.											*/
+	protected long					currentTick;
+	/** number of scheduled entries.										*/
+	protected int					size;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an empty timing wheel whose next tick to be expired is
+	 * {@code startTick}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code bitsPerLevel > 0 && levels > 0}
+	 * pre	{@code bitsPerLevel * levels < 63}
+	 * post	{@code size() == 0}
+	 * </pre>
+	 *
+	 * @param bitsPerLevel	number of bits of the slots of a level.
+	 * @param levels		number of levels.
+	 * @param startTick		first tick to be expired.
+	 */
+	public				HierarchicalTimingWheel(
+		int bitsPerLevel,
+		int levels,
+		long startTick
+		)
+	{
+		assert	bitsPerLevel > 0 && levels > 0;
+		assert	bitsPerLevel * levels < 63;
+
+		this.bitsPerLevel = bitsPerLevel;
+		this.mask = (1 << bitsPerLevel) - 1;
+		// no generic array can be created, but the array only ever holds
+		// the heads created below, which are all Entry<T>
+		@SuppressWarnings("unchecked")
+		Entry<T>[][] heads =
+				(Entry<T>[][]) new Entry<?>[levels][1 << bitsPerLevel];
+		this.slots = heads;
+		for (int l = 0 ; l < levels ; l++) {
+			for (int s = 0 ; s <= this.mask ; s++) {
+				Entry<T> head = new Entry<>(null);
+				head.previous = head;
+				head.next = head;
+				this.slots[l][s] = head;
+			}
+		}
+		this.currentTick = startTick;
+		this.size = 0;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the number of scheduled entries.
+	 *
+	 * @return	the number of scheduled entries.
+	 */
+	public int			size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * return the next tick to be expired.
+	 *
+	 * @return	the next tick to be expired.
+	 */
+	public long			getCurrentTick()
+	{
+		return this.currentTick;
+	}
+
+	/**
+	 * create an entry for {@code task}, not yet scheduled.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code task != null}
+	 * post	{@code !return.isScheduled()}
+	 * </pre>
+	 *
+	 * @param task	task of the entry.
+	 * @return		a new entry for {@code task}.
+	 */
+	public Entry<T>		newEntry(T task)
+	{
+		assert	task != null;
+
+		return new Entry<>(task);
+	}
+
+	/**
+	 * schedule {@code e} at {@code tick}, or at the next tick to be expired
+	 * if {@code tick} has already been expired, moving it if it is already
+	 * scheduled.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code e != null}
+	 * post	{@code e.isScheduled()}
+	 * </pre>
+	 *
+	 * @param e		entry to be scheduled.
+	 * @param tick	tick at which the task is due.
+	 */
+	public void			schedule(Entry<T> e, long tick)
+	{
+		assert	e != null;
+
+		if (e.slot != null) {
+			this.unlink(e);
+		}
+		e.tick = Math.max(tick, this.currentTick);
+		this.link(e);
+	}
+
+	/**
+	 * remove {@code e} from the wheel if it is scheduled.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code e != null}
+	 * post	{@code !e.isScheduled()}
+	 * </pre>
+	 *
+	 * @param e		entry to be cancelled.
+	 * @return		true if the entry was scheduled.
+	 */
+	public boolean		cancel(Entry<T> e)
+	{
+		assert	e != null;
+
+		if (e.slot == null) {
+			return false;
+		}
+		this.unlink(e);
+		return true;
+	}
+
+	/**
+	 * expire the ticks up to {@code lastTick} included, moving their entries
+	 * to {@code due} in the order of their ticks.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code due != null}
+	 * post	{@code getCurrentTick() == Math.max(getCurrentTick()@pre, lastTick + 1)}
+	 * </pre>
+	 *
+	 * @param lastTick	last tick to be expired.
+	 * @param due		list receiving the due entries.
+	 */
+	public void			advance(long lastTick, List<Entry<T>> due)
+	{
+		assert	due != null;
+
+		while (this.currentTick <= lastTick) {
+			if (this.size == 0) {
+				// nothing to move, jump directly after the last tick
+				this.currentTick = lastTick + 1;
+				return;
+			}
+			int s = (int) (this.currentTick & this.mask);
+			if (s == 0) {
+				// the level 0 starts a new turn, cascade the next slots of
+				// the upper levels as long as they also start a new turn
+				for (int l = 1 ; l < this.slots.length ; l++) {
+					int ls = (int) ((this.currentTick >>> (l*this.bitsPerLevel))
+																& this.mask);
+					this.cascade(this.slots[l][ls]);
+					if (ls != 0) {
+						break;
+					}
+				}
+			}
+			this.expire(this.slots[0][s], due);
+			this.currentTick++;
+		}
+	}
+
+	/**
+	 * link {@code e} in the slot of its tick.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code e != null && !e.isScheduled()}
+	 * pre	{@code e.tick >= currentTick}
+	 * post	{@code e.isScheduled()}
+	 * </pre>
+	 *
+	 * @param e	entry to be linked.
+	 */
+	protected void		link(Entry<T> e)
+	{
+		long delay = e.tick - this.currentTick;
+		long tick = e.tick;
+		int top = this.slots.length - 1;
+		int l = 0;
+		while (l < top && (delay >>> ((l + 1)*this.bitsPerLevel)) != 0) {
+			l++;
+		}
+		if ((delay >>> ((top + 1)*this.bitsPerLevel)) != 0) {
+			// beyond the range of the wheel, wait in the farthest slot of the
+			// top level to be cascaded again
+			tick = this.currentTick +
+							(1L << ((top + 1)*this.bitsPerLevel)) - 1;
+		}
+		Entry<T> head =
+			this.slots[l][(int) ((tick >>> (l*this.bitsPerLevel)) & this.mask)];
+		e.slot = head;
+		e.previous = head.previous;
+		e.next = head;
+		head.previous.next = e;
+		head.previous = e;
+		this.size++;
+	}
+
+	/**
+	 * unlink {@code e} from its slot.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code e != null && e.isScheduled()}
+	 * post	{@code !e.isScheduled()}
+	 * </pre>
+	 *
+	 * @param e	entry to be unlinked.
+	 */
+	protected void		unlink(Entry<T> e)
+	{
+		e.previous.next = e.next;
+		e.next.previous = e.previous;
+		e.previous = null;
+		e.next = null;
+		e.slot = null;
+		this.size--;
+	}
+
+	/**
+	 * move the entries of the slot {@code head} due at the current tick to
+	 * {@code due}, linking again the others, which are only there when they
+	 * are beyond the range of a wheel of a single level.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code head != null && due != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param head	head of the list of the slot to be expired.
+	 * @param due	list receiving the due entries.
+	 */
+	protected void		expire(Entry<T> head, List<Entry<T>> due)
+	{
+		Entry<T> e = this.detach(head);
+		while (e != null) {
+			Entry<T> next = e.next;
+			e.next = null;
+			if (e.tick <= this.currentTick) {
+				due.add(e);
+			} else {
+				this.link(e);
+			}
+			e = next;
+		}
+	}
+
+	/**
+	 * link again the entries of the slot {@code head} from their ticks.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code head != null}
+	 * post	{@code head.next == head}
+	 * </pre>
+	 *
+	 * @param head	head of the list of the slot to be cascaded.
+	 */
+	protected void		cascade(Entry<T> head)
+	{
+		Entry<T> e = this.detach(head);
+		while (e != null) {
+			Entry<T> next = e.next;
+			e.next = null;
+			this.link(e);
+			e = next;
+		}
+	}
+
+	/**
+	 * empty the slot {@code head} and return its entries, unscheduled but
+	 * still chained by their {@code next} field up to null.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code head != null}
+	 * post	{@code head.next == head}
+	 * </pre>
+	 *
+	 * @param head	head of the list of the slot to be emptied.
+	 * @return		the first entry of the slot or null if it was empty.
+	 */
+	protected Entry<T>	detach(Entry<T> head)
+	{
+		// detach the whole list first, as its entries may be linked again in
+		// the same slot when they are beyond the range of the wheel
+		Entry<T> first = head.next;
+		Entry<T> last = head.previous;
+		head.next = head;
+		head.previous = head;
+		if (first == head) {
+			return null;
+		}
+		last.next = null;
+		for (Entry<T> e = first ; e != null ; e = e.next) {
+			e.slot = null;
+			e.previous = null;
+			this.size--;
+		}
+		return first;
+	}
+}
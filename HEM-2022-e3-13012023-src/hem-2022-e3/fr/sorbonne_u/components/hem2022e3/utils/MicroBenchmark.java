@@ -0,0 +1,207 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The class <code>MicroBenchmark</code> measures the time and the memory
+ * allocated per call of a small operation.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * {@code run} calls the operation {@code operations} times per iteration,
+ * first for {@code warmups} iterations that are not measured and let the
+ * just in time compiler optimise the code, then for {@code iterations}
+ * measured ones. Before each iteration, the setup, if any, is called outside
+ * of the measure, for instance to bring back the benchmarked model to a
+ * known state. The values returned by the operation are added to
+ * {@code sink} so that the compiler cannot remove the calls.
+ * </p>
+ * <p>
+ * The time per call is measured with {@code System.nanoTime} and the memory
+ * allocated per call with the allocation counter of the current thread when
+ * the virtual machine provides one, NaN otherwise. The result gives the mean
+ * and the minimum over the measured iterations of the time per call and the
+ * mean of the allocated bytes per call.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			MicroBenchmark
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Result</code> gives the measures of a benchmark.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static class	Result
+	{
+		/** name of the benchmark.											*/
+		public final String	name;
+		/** mean time per call in nanoseconds.								*/
+		public final double	meanNanos;
+		/** smallest time per call of an iteration in nanoseconds.			*/
+		public final double	minNanos;
+		/** mean allocated bytes per call, NaN if not measured.				*/
+		public final double	bytes;
+
+		public			Result(
+			String name,
+			double meanNanos,
+			double minNanos,
+			double bytes
+			)
+		{
+			this.name = name;
+			this.meanNanos = meanNanos;
+			this.minNanos = minNanos;
+			this.bytes = bytes;
+		}
+
+		/**
+		 * return a one line printout of the result.
+		 *
+		 * @return	a printout of the result.
+		 */
+		public String	printout()
+		{
+			return String.format("%-60s %10.1f ns/op (min %10.1f) %10.1f B/op",
+								 this.name, this.meanNanos, this.minNanos,
+								 this.bytes);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** default number of iterations not measured.							*/
+	public static final int		DEFAULT_WARMUPS = 5;
+	/** default number of measured iterations.								*/
+	public static final int		DEFAULT_ITERATIONS = 10;
+	/** default number of calls per iteration.								*/
+	public static final int		DEFAULT_OPERATIONS = 100000;
+
+	/** receives the values returned by the operations.					*/
+	public static volatile double	sink;
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * run a benchmark with the default numbers of iterations and calls.
+	 *
+	 * @param name	name of the benchmark.
+	 * @param setup	called before each iteration, or null if none.
+	 * @param op	operation to be measured.
+	 * @return		the measures.
+	 */
+	public static Result	run(String name, Runnable setup, DoubleSupplier op)
+	{
+		return run(name, setup, op,
+				   DEFAULT_WARMUPS, DEFAULT_ITERATIONS, DEFAULT_OPERATIONS);
+	}
+
+	/**
+	 * run a benchmark.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code name != null && op != null}
+	 * pre	{@code warmups >= 0 && iterations > 0 && operations > 0}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param name			name of the benchmark.
+	 * @param setup			called before each iteration, or null if none.
+	 * @param op			operation to be measured.
+	 * @param warmups		number of iterations not measured.
+	 * @param iterations	number of measured iterations.
+	 * @param operations	number of calls per iteration.
+	 * @return				the measures.
+	 */
+	public static Result	run(
+		String name,
+		Runnable setup,
+		DoubleSupplier op,
+		int warmups,
+		int iterations,
+		int operations
+		)
+	{
+		assert	name != null && op != null;
+		assert	warmups >= 0 && iterations > 0 && operations > 0;
+
+		com.sun.management.ThreadMXBean threads = allocationCounter();
+		long thread = Thread.currentThread().getId();
+		double totalNanos = 0.0;
+		double minNanos = Double.POSITIVE_INFINITY;
+		double totalBytes = 0.0;
+		for (int i = -warmups ; i < iterations ; i++) {
+			if (setup != null) {
+				setup.run();
+			}
+			double acc = 0.0;
+			long bytes = threads != null ?
+							threads.getThreadAllocatedBytes(thread) : 0L;
+			long start = System.nanoTime();
+			for (int j = 0 ; j < operations ; j++) {
+				acc += op.getAsDouble();
+			}
+			long end = System.nanoTime();
+			if (threads != null) {
+				bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+			}
+			sink += acc;
+			if (i >= 0) {
+				double nanos = (end - start)/(double) operations;
+				totalNanos += nanos;
+				minNanos = Math.min(minNanos, nanos);
+				totalBytes += bytes/(double) operations;
+			}
+		}
+		return new Result(name, totalNanos/iterations, minNanos,
+						  threads != null ? totalBytes/iterations : Double.NaN);
+	}
+
+	/**
+	 * return the allocation counter of the threads, or null if the virtual
+	 * machine does not provide one.
+	 *
+	 * @return	the allocation counter of the threads or null.
+	 */
+	protected static com.sun.management.ThreadMXBean	allocationCounter()
+	{
+		java.lang.management.ThreadMXBean b =
+									ManagementFactory.getThreadMXBean();
+		if (b instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean ret =
+									(com.sun.management.ThreadMXBean) b;
+			if (ret.isThreadAllocatedMemorySupported()) {
+				ret.setThreadAllocatedMemoryEnabled(true);
+				return ret;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,180 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+/**
+ * The class <code>NewtonCoolingSolver</code> gathers the closed-form solution
+ * of the linear differential equation {@code dT/dt = rate * (equilibrium - T)}
+ * used by the temperature models of the household.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * When the equilibrium temperature and the rate are constant over a step of
+ * duration {@code h}, the temperature is exactly
+ * {@code equilibrium + (T0 - equilibrium) * exp(-rate * h)}, hence the models
+ * can take steps as long as they wish without accumulating any integration
+ * error. The methods also give the integral of the temperature over a step,
+ * used to compute mean temperatures, the duration of the step after which
+ * the temperature has changed by a given tolerance and the duration after
+ * which the temperature reaches a given level, used to put the next internal
+ * transition of a model exactly at a thermostat crossing.
+ * </p>
+ * <p>
+ * All durations are expressed in the time unit of {@code rate}, which is
+ * hours in the models of this project.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public final class		NewtonCoolingSolver
+{
+	/**
+	 * no instance of this class.
+	 */
+	private				NewtonCoolingSolver()
+	{
+		super();
+	}
+
+	/**
+	 * return the temperature after a step of duration {@code h}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code rate >= 0.0 && h >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param initial		temperature at the beginning of the step.
+	 * @param equilibrium	temperature towards which the temperature tends.
+	 * @param rate			inverse of the time constant of the equation.
+	 * @param h				duration of the step.
+	 * @return				the temperature at the end of the step.
+	 */
+	public static double	valueAt(
+		double initial,
+		double equilibrium,
+		double rate,
+		double h
+		)
+	{
+		assert	rate >= 0.0 && h >= 0.0;
+
+		return equilibrium + (initial - equilibrium) * Math.exp(-rate * h);
+	}
+
+	/**
+	 * return the integral of the temperature over a step of duration
+	 * {@code h}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code rate >= 0.0 && h >= 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param initial		temperature at the beginning of the step.
+	 * @param equilibrium	temperature towards which the temperature tends.
+	 * @param rate			inverse of the time constant of the equation.
+	 * @param h				duration of the step.
+	 * @return				the integral of the temperature over the step.
+	 */
+	public static double	integral(
+		double initial,
+		double equilibrium,
+		double rate,
+		double h
+		)
+	{
+		assert	rate >= 0.0 && h >= 0.0;
+
+		if (rate == 0.0) {
+			return initial * h;
+		}
+		return equilibrium * h
+					+ (initial - equilibrium) * (-Math.expm1(-rate * h))/rate;
+	}
+
+	/**
+	 * return the duration after which the temperature has changed by
+	 * {@code tolerance}, or {@code Double.POSITIVE_INFINITY} if it never
+	 * does, that is when it is already closer than {@code tolerance} to the
+	 * equilibrium.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code rate >= 0.0 && tolerance > 0.0}
+	 * post	{@code return > 0.0}
+	 * </pre>
+	 *
+	 * @param initial		temperature at the beginning of the step.
+	 * @param equilibrium	temperature towards which the temperature tends.
+	 * @param rate			inverse of the time constant of the equation.
+	 * @param tolerance		admissible change of temperature over the step.
+	 * @return				the longest step keeping the change within tolerance.
+	 */
+	public static double	toleranceStep(
+		double initial,
+		double equilibrium,
+		double rate,
+		double tolerance
+		)
+	{
+		assert	rate >= 0.0 && tolerance > 0.0;
+
+		double gap = Math.abs(initial - equilibrium);
+		if (rate == 0.0 || gap <= tolerance) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return -Math.log1p(-tolerance/gap)/rate;
+	}
+
+	/**
+	 * return the duration after which the temperature reaches {@code level},
+	 * or {@code Double.POSITIVE_INFINITY} if it never does, that is when
+	 * {@code level} is not strictly between the initial and the equilibrium
+	 * temperatures.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code rate >= 0.0}
+	 * post	{@code return > 0.0}
+	 * </pre>
+	 *
+	 * @param initial		temperature at the beginning of the step.
+	 * @param equilibrium	temperature towards which the temperature tends.
+	 * @param rate			inverse of the time constant of the equation.
+	 * @param level			temperature to be reached.
+	 * @return				the duration after which {@code level} is reached.
+	 */
+	public static double	timeToReach(
+		double initial,
+		double equilibrium,
+		double rate,
+		double level
+		)
+	{
+		assert	rate >= 0.0;
+
+		if (rate == 0.0 ||
+				!(Math.min(initial, equilibrium) < level &&
+								level < Math.max(initial, equilibrium))) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return Math.log((initial - equilibrium)/(level - equilibrium))/rate;
+	}
+}
@@ -0,0 +1,426 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.cyphy.tools.aclocks.AcceleratedClock;
+import fr.sorbonne_u.components.hem2022e3.utils.HierarchicalTimingWheel.Entry;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>PlanScheduler</code> implements a scheduler of the on and
+ * off actions of the plans of the planning appliances, shared by all the
+ * components using the same accelerated clock.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The actions are kept in a {@code HierarchicalTimingWheel} whose ticks are
+ * {@code TICK} nanoseconds of accelerated time counted from the start
+ * instant of the clock, so that the components do not hold one pending task
+ * of their executor per planned action. A single daemon thread advances the
+ * wheel to the current instant of the clock every {@code DRIVER_PERIOD}
+ * milliseconds of real time and gives the due actions to their components
+ * in batches, one task per component running its due actions in the order
+ * of their instants. An action is hence executed at most one tick of
+ * accelerated time plus one driver period late.
+ * </p>
+ * <p>
+ * A component creates its actions once by {@code newAction} and then
+ * schedules, moves and cancels them in constant time without allocation,
+ * for instance to renew its plan each day or when the HEM postpones it. An
+ * action cancelled or scheduled again after having been given to its
+ * component but before being executed is not executed.
+ * </p>
+ * <p>
+ * A scheduler is obtained for a clock by {@code acquire} and released by
+ * {@code release} when the component is finalised; its thread ends when it
+ * is released by all its users.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code TICK > 0}
+ * invariant	{@code DRIVER_PERIOD > 0}
+ * invariant	{@code users >= 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			PlanScheduler
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The interface <code>PlanTaskI</code> defines the code of an action,
+	 * executed by its component.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	@FunctionalInterface
+	public static interface	PlanTaskI
+	{
+		/**
+		 * execute the action on {@code owner}.
+		 *
+		 * @param owner			component executing the action.
+		 * @throws Exception	<i>to do</i>.
+		 */
+		public void		run(ComponentI owner) throws Exception;
+	}
+
+	/**
+	 * The class <code>Action</code> is the handle of an action of a
+	 * component in the scheduler.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static class	Action
+	{
+		/** component executing the action.									*/
+		protected final AbstractComponent	owner;
+		/** code of the action.												*/
+		protected final PlanTaskI			task;
+		/** entry of the action in the wheel.								*/
+		protected Entry<Action>				entry;
+		/** number of times the action has been scheduled or cancelled.		*/
+		protected long						generation;
+		/** generation of the action when it was last given to its
+		 *  component, or -1 if it is not waiting to be executed.			*/
+		protected long						dueGeneration;
+
+		protected			Action(AbstractComponent owner, PlanTaskI task)
+		{
+			this.owner = owner;
+			this.task = task;
+			this.generation = 0L;
+			this.dueGeneration = -1L;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** duration of a tick in nanoseconds of accelerated time.				*/
+	public static final long	TICK = TimeUnit.SECONDS.toNanos(1);
+	/** number of bits of the slots of a level of the wheel.				*/
+	public static final int		BITS_PER_LEVEL = 6;
+	/** number of levels of the wheel, covering about 194 days of ticks.	*/
+	public static final int		LEVELS = 4;
+	/** period in milliseconds of real time at which the wheel advances.	*/
+	public static final long	DRIVER_PERIOD = 10L;
+
+	/** schedulers by URI of their clock.									*/
+	protected static final Map<String,PlanScheduler>	SCHEDULERS =
+															new HashMap<>();
+
+	/** URI of the clock of the scheduler.									*/
+	protected final String						clockURI;
+	/** accelerated clock giving the current instant.						*/
+	protected final AcceleratedClock			clock;
+	/** wheel holding the scheduled actions.								*/
+	protected final HierarchicalTimingWheel<Action>	wheel;
+	/** entries due at the last advance, only used by the driver thread.	*/
+	protected final List<Entry<Action>>			due;
+	/** executor of the driver thread.										*/
+	protected final ScheduledExecutorService	driver;
+	/** number of components having acquired the scheduler.				*/
+	protected int								users;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a scheduler for {@code clock} and start its driver thread.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code clockURI != null && clock != null}
+	 * post	{@code size() == 0}
+	 * </pre>
+	 *
+	 * @param clockURI	URI of the clock.
+	 * @param clock		accelerated clock giving the current instant.
+	 */
+	protected			PlanScheduler(String clockURI, AcceleratedClock clock)
+	{
+		this.clockURI = clockURI;
+		this.clock = clock;
+		this.wheel = new HierarchicalTimingWheel<>(BITS_PER_LEVEL, LEVELS, 0L);
+		this.due = new ArrayList<>();
+		this.users = 0;
+		this.driver = Executors.newSingleThreadScheduledExecutor(
+							r -> {	Thread t = new Thread(
+												r, "plan-scheduler-" + clockURI);
+									t.setDaemon(true);
+									return t;
+								 });
+		this.driver.scheduleAtFixedRate(
+							() -> this.advance(),
+							DRIVER_PERIOD, DRIVER_PERIOD, TimeUnit.MILLISECONDS);
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the scheduler of the clock {@code clockURI}, creating it if
+	 * needed, and count the caller as one of its users.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code clockURI != null && !clockURI.isEmpty()}
+	 * pre	{@code clock != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param clockURI	URI of the clock.
+	 * @param clock		accelerated clock giving the current instant.
+	 * @return			the scheduler of the clock {@code clockURI}.
+	 */
+	public static PlanScheduler	acquire(String clockURI, AcceleratedClock clock)
+	{
+		assert	clockURI != null && !clockURI.isEmpty() :
+				new PreconditionException(
+								"clockURI != null && !clockURI.isEmpty()");
+		assert	clock != null : new PreconditionException("clock != null");
+
+		synchronized (SCHEDULERS) {
+			PlanScheduler s = SCHEDULERS.get(clockURI);
+			if (s == null) {
+				s = new PlanScheduler(clockURI, clock);
+				SCHEDULERS.put(clockURI, s);
+			}
+			s.users++;
+			return s;
+		}
+	}
+
+	/**
+	 * uncount the caller as a user of the scheduler, stopping the scheduler
+	 * when it has no more users.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code users > 0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 */
+	public void			release()
+	{
+		synchronized (SCHEDULERS) {
+			assert	this.users > 0 : new PreconditionException("users > 0");
+
+			if (--this.users == 0) {
+				SCHEDULERS.remove(this.clockURI);
+				this.driver.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * return the number of scheduled actions.
+	 *
+	 * @return	the number of scheduled actions.
+	 */
+	public synchronized int	size()
+	{
+		return this.wheel.size();
+	}
+
+	/**
+	 * create an action executing {@code task} on {@code owner}, not yet
+	 * scheduled.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code owner != null && task != null}
+	 * post	{@code !isPending(return)}
+	 * </pre>
+	 *
+	 * @param owner	component executing the action.
+	 * @param task	code of the action.
+	 * @return		a new action.
+	 */
+	public synchronized Action	newAction(
+		AbstractComponent owner,
+		PlanTaskI task
+		)
+	{
+		assert	owner != null : new PreconditionException("owner != null");
+		assert	task != null : new PreconditionException("task != null");
+
+		Action a = new Action(owner, task);
+		a.entry = this.wheel.newEntry(a);
+		return a;
+	}
+
+	/**
+	 * schedule {@code a} at the accelerated instant {@code at}, or as soon as
+	 * possible if {@code at} is past, replacing its previous schedule if any.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code a != null && at != null}
+	 * post	{@code isPending(a)}
+	 * </pre>
+	 *
+	 * @param a		action to be scheduled.
+	 * @param at	accelerated instant at which the action is due.
+	 */
+	public synchronized void	schedule(Action a, Instant at)
+	{
+		assert	a != null : new PreconditionException("a != null");
+		assert	at != null : new PreconditionException("at != null");
+
+		// the ceiling of the tick, so that the action is never early
+		long nanos = Duration.between(this.clock.getStartInstant(), at).toNanos();
+		a.generation++;
+		this.wheel.schedule(a.entry, -Math.floorDiv(-nanos, TICK));
+	}
+
+	/**
+	 * cancel {@code a} if it is pending.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code a != null}
+	 * post	{@code !isPending(a)}
+	 * </pre>
+	 *
+	 * @param a	action to be cancelled.
+	 * @return	true if the action was pending.
+	 */
+	public synchronized boolean	cancel(Action a)
+	{
+		assert	a != null : new PreconditionException("a != null");
+
+		boolean pending = this.isPending(a);
+		a.generation++;
+		this.wheel.cancel(a.entry);
+		return pending;
+	}
+
+	/**
+	 * return true if {@code a} is scheduled or due but not yet executed.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code a != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param a	action to be tested.
+	 * @return	true if {@code a} is scheduled or due but not yet executed.
+	 */
+	public synchronized boolean	isPending(Action a)
+	{
+		assert	a != null : new PreconditionException("a != null");
+
+		return a.entry.isScheduled() || a.dueGeneration == a.generation;
+	}
+
+	/**
+	 * advance the wheel to the current instant of the clock and give the
+	 * due actions to their components, called by the driver thread.
+	 */
+	protected void		advance()
+	{
+		Map<AbstractComponent,List<Action>> batches = null;
+		synchronized (this) {
+			long nanos = Duration.between(this.clock.getStartInstant(),
+										  this.clock.currentInstant()).toNanos();
+			if (nanos < 0L) {
+				return;
+			}
+			this.wheel.advance(nanos/TICK, this.due);
+			if (!this.due.isEmpty()) {
+				batches = new LinkedHashMap<>();
+				for (int i = 0 ; i < this.due.size() ; i++) {
+					Action a = this.due.get(i).getTask();
+					a.dueGeneration = a.generation;
+					batches.computeIfAbsent(a.owner, o -> new ArrayList<>()).
+																		add(a);
+				}
+				this.due.clear();
+			}
+		}
+		if (batches != null) {
+			for (Map.Entry<AbstractComponent,List<Action>> b :
+														batches.entrySet()) {
+				List<Action> actions = b.getValue();
+				try {
+					b.getKey().runTask(o -> this.execute(o, actions));
+				} catch (Exception e) {
+					// a failing component must not stop the driver thread,
+					// as the executor cancels a periodic task that throws
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * execute on {@code owner} the actions of {@code actions} that have not
+	 * been cancelled or scheduled again since they were due.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code owner != null && actions != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner		component executing the actions.
+	 * @param actions	due actions of {@code owner}.
+	 */
+	protected void		execute(ComponentI owner, List<Action> actions)
+	{
+		for (int i = 0 ; i < actions.size() ; i++) {
+			Action a = actions.get(i);
+			synchronized (this) {
+				if (a.dueGeneration != a.generation) {
+					continue;
+				}
+				a.dueGeneration = -1L;
+			}
+			try {
+				a.task.run(owner);
+			} catch (Exception e) {
+				throw new RuntimeException(e) ;
+			}
+		}
+	}
+}
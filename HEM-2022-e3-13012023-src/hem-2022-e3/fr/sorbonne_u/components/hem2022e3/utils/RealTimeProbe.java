@@ -0,0 +1,311 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class <code>RealTimeProbe</code> measures how late the real time
+ * activities of a SIL run execute compared to the instants at which they
+ * were due.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * Probes are only created when the system property
+ * {@code REPORT_FILE_PROPERTY} gives the file receiving their report;
+ * otherwise {@code forName} returns null and the code holding a probe does
+ * nothing more. There is one probe per name in the virtual machine, which
+ * may hence be shared by the components of a single JVM deployment.
+ * </p>
+ * <p>
+ * A probe records two kinds of measures:
+ * </p>
+ * <ul>
+ * <li>{@code recordTransition} is called by a real time simulation model at
+ *   the simulated time of a transition; the lag is the difference between
+ *   the wall clock and the instant this simulated time maps to given the
+ *   timeline set by {@code setTimeline}, that is the real time of the start
+ *   of the simulation and the acceleration factor, simulated times being in
+ *   hours.</li>
+ * <li>{@code recordActivation} is called by a periodic control loop at each
+ *   of its executions; the jitter is the difference between the measured and
+ *   the expected periods, the first period being measured from the last
+ *   call to {@code restartActivations}.</li>
+ * </ul>
+ * <p>
+ * A measure greater than the deadline, given in milliseconds by the system
+ * property {@code DEADLINE_PROPERTY} and defaulting to the 10 ms precision of
+ * the Java scheduler, counts as a missed deadline. Early transitions count
+ * as no lag. {@code writeReport} writes the statistics of all of the probes
+ * as a properties file with keys {@code <name>.<statistic>}.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code missed <= delays.getCount()}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			RealTimeProbe
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** name of the system property giving the path of the report file.	*/
+	public static final String	REPORT_FILE_PROPERTY = "hem.rt.report";
+	/** name of the system property giving the deadline in milliseconds.	*/
+	public static final String	DEADLINE_PROPERTY = "hem.rt.deadline";
+	/** default deadline in milliseconds.									*/
+	public static final double	DEFAULT_DEADLINE = 10.0;
+	/** key of the acceleration factor in the report.						*/
+	public static final String	ACC_FACTOR_KEY = "accelerationFactor";
+	/** suffix of the keys giving the number of measures.					*/
+	public static final String	COUNT_SUFFIX = ".count";
+	/** suffix of the keys giving the number of missed deadlines.			*/
+	public static final String	MISSED_SUFFIX = ".missed";
+	/** suffix of the keys giving the mean delay in milliseconds.			*/
+	public static final String	MEAN_SUFFIX = ".mean";
+	/** suffix of the keys giving the 99th percentile of the delays.		*/
+	public static final String	P99_SUFFIX = ".p99";
+	/** suffix of the keys giving the largest delay.						*/
+	public static final String	MAX_SUFFIX = ".max";
+
+	/** probes by name.														*/
+	protected static final ConcurrentHashMap<String,RealTimeProbe>
+											PROBES = new ConcurrentHashMap<>();
+	/** Unix epoch time in milliseconds of the start of the simulation.	*/
+	protected static volatile long		startMillis;
+	/** acceleration factor of the simulation, 0 until the timeline is set.	*/
+	protected static volatile double	accFactor;
+
+	/** name of the probe.													*/
+	protected final String				name;
+	/** deadline in milliseconds.											*/
+	protected final double				deadline;
+	/** lags or jitters in milliseconds.									*/
+	protected final StreamingStatistics	delays;
+	/** number of measures greater than the deadline.						*/
+	protected long						missed;
+	/** {@code System.nanoTime} at the last activation, 0 if none.			*/
+	protected long						lastActivation;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a probe.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code name != null && deadline > 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param name		name of the probe.
+	 * @param deadline	deadline in milliseconds.
+	 */
+	protected			RealTimeProbe(String name, double deadline)
+	{
+		assert	name != null && deadline > 0.0;
+
+		this.name = name;
+		this.deadline = deadline;
+		this.delays = new StreamingStatistics();
+	}
+
+	/**
+	 * return the probe with the given name, creating it if needed, or null
+	 * when the system property {@code REPORT_FILE_PROPERTY} is not set.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code name != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param name	name of the probe.
+	 * @return		the probe or null if the measures are not enabled.
+	 */
+	public static RealTimeProbe	forName(String name)
+	{
+		assert	name != null;
+
+		if (System.getProperty(REPORT_FILE_PROPERTY) == null) {
+			return null;
+		}
+		return PROBES.computeIfAbsent(
+					name,
+					n -> new RealTimeProbe(
+							n,
+							Double.parseDouble(System.getProperty(
+											DEADLINE_PROPERTY,
+											Double.toString(DEFAULT_DEADLINE)))));
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * set the mapping from simulated times to real times used by
+	 * {@code recordTransition}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code start > 0 && acceleration > 0.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param start			Unix epoch time in milliseconds of the simulated time 0.
+	 * @param acceleration	acceleration factor of the simulation.
+	 */
+	public static void	setTimeline(long start, double acceleration)
+	{
+		assert	start > 0 && acceleration > 0.0;
+
+		startMillis = start;
+		accFactor = acceleration;
+	}
+
+	/**
+	 * record the lag of a transition executed now at the simulated time
+	 * {@code simulatedTime}; nothing is recorded before the timeline is set.
+	 *
+	 * @param simulatedTime	simulated time of the transition in hours.
+	 */
+	public void			recordTransition(double simulatedTime)
+	{
+		long now = System.currentTimeMillis();
+		double acc = accFactor;
+		if (acc > 0.0) {
+			double due = startMillis +
+							simulatedTime * TimeUnit.HOURS.toMillis(1)/acc;
+			this.record(Math.max(0.0, now - due));
+		}
+	}
+
+	/**
+	 * record the jitter of an activation of a periodic task executed now.
+	 *
+	 * @param expectedPeriod	expected period of the task in nanoseconds.
+	 */
+	public void			recordActivation(long expectedPeriod)
+	{
+		long now = System.nanoTime();
+		long previous;
+		synchronized (this) {
+			previous = this.lastActivation;
+			this.lastActivation = now;
+		}
+		if (previous != 0L) {
+			this.record(Math.abs(now - previous - expectedPeriod)/
+									(double) TimeUnit.MILLISECONDS.toNanos(1));
+		}
+	}
+
+	/**
+	 * take now as the last activation, to be called when a periodic task is
+	 * (re)started so that the time it was stopped is not measured as a
+	 * jitter.
+	 */
+	public synchronized void	restartActivations()
+	{
+		this.lastActivation = System.nanoTime();
+	}
+
+	/**
+	 * record a delay.
+	 *
+	 * @param delay	delay in milliseconds.
+	 */
+	protected synchronized void	record(double delay)
+	{
+		this.delays.add(delay);
+		if (delay > this.deadline) {
+			this.missed++;
+		}
+	}
+
+	/**
+	 * add the statistics of this probe to {@code report}.
+	 *
+	 * @param report	properties receiving the statistics.
+	 */
+	protected synchronized void	addTo(Properties report)
+	{
+		report.setProperty(this.name + COUNT_SUFFIX,
+						   Long.toString(this.delays.getCount()));
+		report.setProperty(this.name + MISSED_SUFFIX,
+						   Long.toString(this.missed));
+		if (this.delays.getCount() > 0) {
+			report.setProperty(this.name + MEAN_SUFFIX,
+							   Double.toString(this.delays.getMean()));
+			report.setProperty(this.name + P99_SUFFIX,
+							   Double.toString(this.delays.getQuantile(0.99)));
+			report.setProperty(this.name + MAX_SUFFIX,
+							   Double.toString(this.delays.getMax()));
+		}
+	}
+
+	/**
+	 * write the statistics of all of the probes to the file given by the
+	 * system property {@code REPORT_FILE_PROPERTY}, if any.
+	 *
+	 * @throws IOException	when the file cannot be written.
+	 */
+	public static void	writeReport() throws IOException
+	{
+		String path = System.getProperty(REPORT_FILE_PROPERTY);
+		if (path == null) {
+			return;
+		}
+		Properties report = new Properties();
+		report.setProperty(ACC_FACTOR_KEY, Double.toString(accFactor));
+		for (RealTimeProbe p : new TreeMap<>(PROBES).values()) {
+			p.addTo(report);
+		}
+		try (Writer w = Files.newBufferedWriter(Paths.get(path),
+												StandardCharsets.UTF_8)) {
+			report.store(w, "real time lags and jitters in milliseconds");
+		}
+	}
+
+	/**
+	 * return the names of the probes found in a report.
+	 *
+	 * @param report	report written by {@code writeReport}.
+	 * @return			the names of the probes, sorted.
+	 */
+	public static SortedSet<String>	probeNames(Properties report)
+	{
+		SortedSet<String> names = new TreeSet<>();
+		for (String key : report.stringPropertyNames()) {
+			if (key.endsWith(COUNT_SUFFIX)) {
+				names.add(key.substring(0,
+										key.length() - COUNT_SUFFIX.length()));
+			}
+		}
+		return names;
+	}
+}
@@ -0,0 +1,313 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
+
+/**
+ * The class <code>SimulationLog</code> gates the messages of the simulation
+ * models and of the components by level, so that the messages that are not
+ * logged are not even built.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * Each message has a level: {@code INFO} for the beginning and the end of
+ * simulations and the decisions of the controllers, {@code FINE} for the
+ * messages issued at each transition or at each execution of a control loop.
+ * A message is logged when its level is at most the level of its source,
+ * given by {@code setLevel} for a model URI or the simple name of a
+ * component class, or by the default level for the others. The default
+ * level is read from the system property {@code LEVEL_PROPERTY} and is
+ * {@code FINE}, hence logging everything, when it is not set.
+ * </p>
+ * <p>
+ * The messages are given as suppliers that are called only when the message
+ * is logged. Fast runs, like campaigns and benchmarks, set the default level
+ * to {@code OFF} and a single model can then be traced by giving it its own
+ * level, at any time during the run.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code defaultLevel != null}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			SimulationLog
+{
+	// -------------------------------------------------------------------------
+	// Inner types and classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The enumeration <code>Level</code> defines the levels of the messages,
+	 * from the least to the most verbose.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 *
+	 * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+	 */
+	public static enum	Level
+	{
+		/** nothing is logged.												*/
+		OFF,
+		/** beginnings and ends of simulations and decisions.				*/
+		INFO,
+		/** messages issued at each transition or control step.			*/
+		FINE
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** name of the system property giving the default level.				*/
+	public static final String	LEVEL_PROPERTY = "hem.log.level";
+
+	/** levels of the sources that do not use the default one.			*/
+	protected static final ConcurrentHashMap<String,Level>
+											LEVELS = new ConcurrentHashMap<>();
+	/** level of the sources that have none of their own.					*/
+	protected static volatile Level	defaultLevel =
+								parseLevel(System.getProperty(LEVEL_PROPERTY,
+															  Level.FINE.name()));
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the level named {@code name}, ignoring the case.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code name != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param name	name of a level.
+	 * @return		the level.
+	 */
+	public static Level	parseLevel(String name)
+	{
+		assert	name != null;
+
+		return Level.valueOf(name.trim().toUpperCase(Locale.ROOT));
+	}
+
+	/**
+	 * set the level of the sources that have none of their own.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code level != null}
+	 * post	{@code getDefaultLevel() == level}
+	 * </pre>
+	 *
+	 * @param level	new default level.
+	 */
+	public static void	setDefaultLevel(Level level)
+	{
+		assert	level != null;
+
+		defaultLevel = level;
+	}
+
+	/**
+	 * return the level of the sources that have none of their own.
+	 *
+	 * @return	the default level.
+	 */
+	public static Level	getDefaultLevel()
+	{
+		return defaultLevel;
+	}
+
+	/**
+	 * set the default level to {@code OFF} unless the system property
+	 * {@code LEVEL_PROPERTY} gives it, for the runs that are measured or
+	 * repeated many times.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 */
+	public static void	quietUnlessConfigured()
+	{
+		if (System.getProperty(LEVEL_PROPERTY) == null) {
+			setDefaultLevel(Level.OFF);
+		}
+	}
+
+	/**
+	 * set the level of the source {@code source}, or make it use the default
+	 * level again when {@code level} is null.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code source != null}
+	 * post	{@code level == null || getLevel(source) == level}
+	 * </pre>
+	 *
+	 * @param source	model URI or simple name of a component class.
+	 * @param level		new level of the source or null.
+	 */
+	public static void	setLevel(String source, Level level)
+	{
+		assert	source != null;
+
+		if (level == null) {
+			LEVELS.remove(source);
+		} else {
+			LEVELS.put(source, level);
+		}
+	}
+
+	/**
+	 * return the level of the source {@code source}.
+	 *
+	 * @param source	model URI or simple name of a component class.
+	 * @return			the level of the source.
+	 */
+	public static Level	getLevel(String source)
+	{
+		if (LEVELS.isEmpty()) {
+			return defaultLevel;
+		}
+		Level l = LEVELS.get(source);
+		return l != null ? l : defaultLevel;
+	}
+
+	/**
+	 * return true if the messages of level {@code level} issued by the
+	 * source {@code source} are logged.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code level != null && level != Level.OFF}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param source	model URI or simple name of a component class.
+	 * @param level		level of the messages.
+	 * @return			true if the messages are logged.
+	 */
+	public static boolean	isLoggable(String source, Level level)
+	{
+		assert	level != null && level != Level.OFF;
+
+		return level.compareTo(getLevel(source)) <= 0;
+	}
+
+	/**
+	 * log the message of level {@code level} given by {@code message} through
+	 * the logger of {@code model}, calling the supplier only when the message
+	 * is logged.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code model != null && message != null}
+	 * pre	{@code level != null && level != Level.OFF}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param model		model issuing the message.
+	 * @param level		level of the message.
+	 * @param message	supplier of the message.
+	 */
+	public static void	log(
+		ModelI model,
+		Level level,
+		Supplier<String> message
+		)
+	{
+		if (isLoggable(model.getURI(), level)) {
+			model.logMessage(message.get());
+		}
+	}
+
+	/**
+	 * log the constant message {@code message} of level {@code level} through
+	 * the logger of {@code model}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code model != null && message != null}
+	 * pre	{@code level != null && level != Level.OFF}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param model		model issuing the message.
+	 * @param level		level of the message.
+	 * @param message	message.
+	 */
+	public static void	log(ModelI model, Level level, String message)
+	{
+		if (isLoggable(model.getURI(), level)) {
+			model.logMessage(message);
+		}
+	}
+
+	/**
+	 * switch on the debug mode of {@code model}, which is done at each
+	 * initialisation of the simulation, when its {@code FINE} messages are
+	 * logged.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code model != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param model	model being initialised.
+	 */
+	public static void	toggleDebugMode(ModelI model)
+	{
+		if (isLoggable(model.getURI(), Level.FINE)) {
+			model.toggleDebugMode();
+		}
+	}
+
+	/**
+	 * return true if the messages of level {@code level} traced by the
+	 * component {@code c} are logged, its source being the simple name of
+	 * its class.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code c != null}
+	 * pre	{@code level != null && level != Level.OFF}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param c		component tracing the messages.
+	 * @param level	level of the messages.
+	 * @return		true if the messages are traced.
+	 */
+	public static boolean	isLoggable(AbstractComponent c, Level level)
+	{
+		return isLoggable(c.getClass().getSimpleName(), level);
+	}
+}
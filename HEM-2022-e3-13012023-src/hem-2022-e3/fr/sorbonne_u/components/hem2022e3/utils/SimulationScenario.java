@@ -0,0 +1,368 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import fr.sorbonne_u.devs_simulation.models.interfaces.ModelI;
+
+/**
+ * The class <code>SimulationScenario</code> holds the settings of a
+ * simulation run read from a scenario file, so that runs can be configured
+ * without recompiling.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * A scenario file is a Java properties file. The keys
+ * {@code ACC_FACTOR_KEY}, {@code SIMULATION_DURATION_KEY},
+ * {@code START_INSTANT_KEY}, {@code TARGET_TEMPERATURE_KEY},
+ * {@code HEATER_PUSH_MODE_KEY}, {@code SHARED_CONTROL_ENGINE_KEY} and
+ * {@code HEATER_PREDICTIVE_CONTROL_KEY} give the settings of the deployment, each one defaulting to the value given by
+ * the caller when absent. A key of the form {@code run.<model URI>.<name>}
+ * gives the simulation run parameter {@code <name>} of the model
+ * {@code <model URI>}, as named by {@code ModelI.createRunParameterName},
+ * for instance:
+ * </p>
+ * <pre>
+ * accelerationFactor = 600.0
+ * simulationDuration = 48.0
+ * run.AirConditionerElectricityModel.ON_CONSUMPTION = 1200.0
+ * run.HeaterTemperatureModel.INSULATION_TRANSFER_CONSTANT = 40.0
+ * </pre>
+ * <p>
+ * The values of the run parameters are converted to {@code Double} when they
+ * are numbers, to {@code Boolean} when they are {@code true} or
+ * {@code false} and kept as strings otherwise; they are meant to be added to
+ * the map given to {@code setSimulationRunParameters}.
+ * </p>
+ * <p>
+ * The key {@code LOG_LEVEL_KEY} gives the default level of the messages of
+ * the models and components and a key of the form {@code log.<source>} the
+ * level of the source {@code <source>}, a model URI or the simple name of a
+ * component class, as defined by {@code SimulationLog}; for instance,
+ * {@code logLevel = OFF} and {@code log.HeaterTemperatureModel = FINE} only
+ * trace the heater temperature model.
+ * </p>
+ * <p>
+ * The scenario file of a run is given by the system property
+ * {@code SCENARIO_FILE_PROPERTY}; without it, the scenario is empty and all
+ * of the settings keep their default values.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code properties != null}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			SimulationScenario
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** name of the system property giving the path of the scenario file.	*/
+	public static final String	SCENARIO_FILE_PROPERTY = "hem.scenario";
+	/** key of the acceleration factor of real time simulations.			*/
+	public static final String	ACC_FACTOR_KEY = "accelerationFactor";
+	/** key of the duration of the simulation in hours.						*/
+	public static final String	SIMULATION_DURATION_KEY = "simulationDuration";
+	/** key of the start instant, in the format of {@code Instant.parse}.	*/
+	public static final String	START_INSTANT_KEY = "startInstant";
+	/** key of the target temperature of the heater.						*/
+	public static final String	TARGET_TEMPERATURE_KEY = "targetTemperature";
+	/** key telling if the heater pushes the crossings of the hysteresis
+	 *  band to its controller instead of being polled.						*/
+	public static final String	HEATER_PUSH_MODE_KEY = "heaterPushMode";
+	/** key telling if the thermostatic devices are controlled by a shared
+	 *  control engine instead of one controller each.						*/
+	public static final String	SHARED_CONTROL_ENGINE_KEY =
+														"sharedControlEngine";
+	/** key telling if the heater is controlled by a predictive controller
+	 *  instead of the hysteresis one.										*/
+	public static final String	HEATER_PREDICTIVE_CONTROL_KEY =
+													"heaterPredictiveControl";
+	/** prefix of the keys giving simulation run parameters.				*/
+	public static final String	RUN_PARAMETER_PREFIX = "run.";
+	/** key of the default level of the messages.							*/
+	public static final String	LOG_LEVEL_KEY = "logLevel";
+	/** prefix of the keys giving the level of the messages of a source.	*/
+	public static final String	LOG_LEVEL_PREFIX = "log.";
+
+	/** settings read from the scenario file.								*/
+	protected final Properties	properties;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create an empty scenario, all of the settings keeping their default
+	 * values.
+	 */
+	public				SimulationScenario()
+	{
+		this(new Properties());
+	}
+
+	/**
+	 * create a scenario from the given settings.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code properties != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param properties	settings of the scenario.
+	 */
+	public				SimulationScenario(Properties properties)
+	{
+		assert	properties != null;
+
+		this.properties = properties;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * load the scenario file at {@code path}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code path != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param path			path of the scenario file.
+	 * @return				the scenario read from the file.
+	 * @throws IOException	when the file cannot be read.
+	 */
+	public static SimulationScenario	load(String path) throws IOException
+	{
+		assert	path != null;
+
+		Properties p = new Properties();
+		try (Reader r = Files.newBufferedReader(Paths.get(path),
+												StandardCharsets.UTF_8)) {
+			p.load(r);
+		}
+		return new SimulationScenario(p);
+	}
+
+	/**
+	 * load the scenario file given by the system property
+	 * {@code SCENARIO_FILE_PROPERTY}, or return an empty scenario when the
+	 * property is not set.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return				the scenario of the run.
+	 * @throws IOException	when the file cannot be read.
+	 */
+	public static SimulationScenario	fromSystemProperty() throws IOException
+	{
+		String path = System.getProperty(SCENARIO_FILE_PROPERTY);
+		return path != null ? load(path) : new SimulationScenario();
+	}
+
+	/**
+	 * return the number given by {@code key} or {@code defaultValue} when the
+	 * scenario does not set it.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code key != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param key			key of the setting.
+	 * @param defaultValue	value returned when the setting is absent.
+	 * @return				the value of the setting.
+	 */
+	public double		getDouble(String key, double defaultValue)
+	{
+		assert	key != null;
+
+		String v = this.properties.getProperty(key);
+		if (v == null) {
+			return defaultValue;
+		}
+		try {
+			return Double.parseDouble(v.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(
+						"scenario setting " + key + " is not a number: " + v,
+						e);
+		}
+	}
+
+	/**
+	 * return the boolean given by {@code key} or {@code defaultValue} when
+	 * the scenario does not set it.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code key != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param key			key of the setting.
+	 * @param defaultValue	value returned when the setting is absent.
+	 * @return				the value of the setting.
+	 */
+	public boolean		getBoolean(String key, boolean defaultValue)
+	{
+		assert	key != null;
+
+		String v = this.properties.getProperty(key);
+		if (v == null) {
+			return defaultValue;
+		}
+		v = v.trim();
+		if (v.equalsIgnoreCase("true")) {
+			return true;
+		} else if (v.equalsIgnoreCase("false")) {
+			return false;
+		} else {
+			throw new IllegalArgumentException(
+						"scenario setting " + key + " is not a boolean: " + v);
+		}
+	}
+
+	/**
+	 * return the start instant given by the scenario or
+	 * {@code defaultValue} when the scenario does not set it.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return == null || Instant.parse(return) != null}
+	 * </pre>
+	 *
+	 * @param defaultValue	start instant returned when the setting is absent.
+	 * @return				the start instant as a string.
+	 */
+	public String		getStartInstant(String defaultValue)
+	{
+		String v = this.properties.getProperty(START_INSTANT_KEY);
+		if (v == null) {
+			return defaultValue;
+		}
+		// fail at loading time rather than when the clock is created
+		Instant.parse(v.trim());
+		return v.trim();
+	}
+
+	/**
+	 * return the simulation run parameters given by the scenario, named as
+	 * by {@code ModelI.createRunParameterName}.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	a new map from run parameter names to their values.
+	 */
+	public Map<String,Object>	getRunParameters()
+	{
+		Map<String,Object> ret = new HashMap<>();
+		for (String key : this.properties.stringPropertyNames()) {
+			if (!key.startsWith(RUN_PARAMETER_PREFIX)) {
+				continue;
+			}
+			String rest = key.substring(RUN_PARAMETER_PREFIX.length());
+			int dot = rest.indexOf('.');
+			if (dot <= 0 || dot == rest.length() - 1) {
+				throw new IllegalArgumentException(
+							"scenario run parameter " + key
+							+ " is not of the form " + RUN_PARAMETER_PREFIX
+							+ "<model URI>.<name>");
+			}
+			ret.put(ModelI.createRunParameterName(rest.substring(0, dot),
+												  rest.substring(dot + 1)),
+					parseValue(this.properties.getProperty(key).trim()));
+		}
+		return ret;
+	}
+
+	/**
+	 * set the levels of the messages given by the scenario in
+	 * {@code SimulationLog}, the levels not given by the scenario being left
+	 * unchanged.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 */
+	public void			applyLogLevels()
+	{
+		for (String key : this.properties.stringPropertyNames()) {
+			String v = this.properties.getProperty(key);
+			try {
+				if (LOG_LEVEL_KEY.equals(key)) {
+					SimulationLog.setDefaultLevel(SimulationLog.parseLevel(v));
+				} else if (key.startsWith(LOG_LEVEL_PREFIX) &&
+									key.length() > LOG_LEVEL_PREFIX.length()) {
+					SimulationLog.setLevel(
+								key.substring(LOG_LEVEL_PREFIX.length()),
+								SimulationLog.parseLevel(v));
+				}
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException(
+							"scenario setting " + key + " is not a level: " + v,
+							e);
+			}
+		}
+	}
+
+	/**
+	 * convert the value of a run parameter.
+	 *
+	 * @param v	value as written in the scenario file.
+	 * @return	the value as a {@code Double}, a {@code Boolean} or a string.
+	 */
+	protected static Object	parseValue(String v)
+	{
+		if ("true".equalsIgnoreCase(v) || "false".equalsIgnoreCase(v)) {
+			return Boolean.valueOf(v);
+		}
+		try {
+			return Double.valueOf(v);
+		} catch (NumberFormatException e) {
+			return v;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+/**
+ * The class <code>StateSnapshot</code> gives the value of a model variable,
+ * its derivative and the simulated time at which it was computed, as
+ * published by a model at the end of a transition.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * A model publishes a new snapshot at each transition updating the variable
+ * by assigning it to a volatile field; as a snapshot is immutable, the
+ * threads of the owner component can then read it without locking and
+ * without racing the thread of the real time simulation engine, seeing
+ * either the previous or the new snapshot but never a partial update.
+ * </p>
+ * <p>
+ * The derivative is the rate at which the value changes per simulated time
+ * unit of the model until its next transition; it is 0 for a piecewise
+ * constant variable, and the rate of the integrated variable, for instance
+ * the power for an energy, makes {@code valueAt} exact until the next
+ * transition.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public final class		StateSnapshot
+{
+	/** simulated time of the snapshot in the time unit of the model.		*/
+	public final double	time;
+	/** value of the variable at {@code time}.								*/
+	public final double	value;
+	/** derivative of the variable at {@code time} per time unit.			*/
+	public final double	derivative;
+
+	/**
+	 * create a snapshot.
+	 *
+	 * @param time			simulated time of the snapshot.
+	 * @param value			value of the variable at {@code time}.
+	 * @param derivative	derivative of the variable at {@code time}.
+	 */
+	public				StateSnapshot(
+		double time,
+		double value,
+		double derivative
+		)
+	{
+		this.time = time;
+		this.value = value;
+		this.derivative = derivative;
+	}
+
+	/**
+	 * return the value of the variable extrapolated at the simulated time
+	 * {@code t} with the derivative, or the value of the snapshot when
+	 * {@code t} is not after its time.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param t	simulated time in the time unit of the model.
+	 * @return	the value of the variable at {@code t}.
+	 */
+	public double		valueAt(double t)
+	{
+		return t > this.time ?
+					this.value + this.derivative*(t - this.time)
+				:	this.value;
+	}
+}
@@ -0,0 +1,226 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The class <code>StreamingStatistics</code> summarises a stream of
+ * non negative values in a bounded memory: count, mean, standard deviation,
+ * minimum, maximum and quantiles.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The mean and the variance are updated with Welford's method. The quantiles
+ * come from a logarithmic histogram: a positive value {@code x} is counted in
+ * the bucket {@code ceil(log(x)/log(GAMMA))}, where
+ * {@code GAMMA = (1 + RELATIVE_ACCURACY)/(1 - RELATIVE_ACCURACY)}, hence a
+ * quantile is returned within {@code RELATIVE_ACCURACY} of the exact value of
+ * its rank and the number of buckets only grows with the logarithm of the
+ * range of the values. Values smaller than {@code MIN_INDEXABLE} are counted
+ * as zeros.
+ * </p>
+ * <p>
+ * Two summaries can be merged, the result not depending on the order of the
+ * merges for the counts, the extrema and the quantiles, so that the values
+ * can be summarised by independent tasks and their summaries combined. The
+ * class is not synchronised.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code count >= 0}
+ * invariant	{@code count == 0 || min <= mean && mean <= max}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			StreamingStatistics
+implements	Serializable
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** relative accuracy of the quantiles.									*/
+	public static final double	RELATIVE_ACCURACY = 0.01;
+	/** ratio between the bounds of a bucket.								*/
+	protected static final double	GAMMA =
+						(1.0 + RELATIVE_ACCURACY)/(1.0 - RELATIVE_ACCURACY);
+	/** logarithm of {@code GAMMA}.											*/
+	protected static final double	LOG_GAMMA = Math.log(GAMMA);
+	/** smallest value counted in a bucket rather than as a zero.			*/
+	public static final double	MIN_INDEXABLE = 1.0e-9;
+
+	/** number of values.													*/
+	protected long						count;
+	/** mean of the values.													*/
+	protected double					mean;
+	/** sum of the squared deviations from the mean.						*/
+	protected double					m2;
+	/** smallest value.														*/
+	protected double					min = Double.POSITIVE_INFINITY;
+	/** largest value.														*/
+	protected double					max = Double.NEGATIVE_INFINITY;
+	/** number of values counted as zeros.									*/
+	protected long						zeros;
+	/** number of values in each non empty bucket, by index.				*/
+	protected final TreeMap<Integer,Long>	buckets = new TreeMap<>();
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * add a value to the summary.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code x >= 0.0}
+	 * post	{@code getCount() == getCount()@pre + 1}
+	 * </pre>
+	 *
+	 * @param x	value to be added.
+	 */
+	public void			add(double x)
+	{
+		assert	x >= 0.0;
+
+		this.count++;
+		double delta = x - this.mean;
+		this.mean += delta/this.count;
+		this.m2 += delta * (x - this.mean);
+		this.min = Math.min(this.min, x);
+		this.max = Math.max(this.max, x);
+		if (x < MIN_INDEXABLE) {
+			this.zeros++;
+		} else {
+			this.buckets.merge((int) Math.ceil(Math.log(x)/LOG_GAMMA), 1L,
+							   Long::sum);
+		}
+	}
+
+	/**
+	 * add the values summarised by {@code other} to this summary.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code other != null}
+	 * post	{@code getCount() == getCount()@pre + other.getCount()}
+	 * </pre>
+	 *
+	 * @param other	summary to be merged into this one.
+	 */
+	public void			merge(StreamingStatistics other)
+	{
+		assert	other != null;
+
+		if (other.count == 0) {
+			return;
+		}
+		long n = this.count + other.count;
+		double delta = other.mean - this.mean;
+		this.mean += delta * other.count/n;
+		this.m2 += other.m2 + delta * delta * this.count * other.count/n;
+		this.count = n;
+		this.min = Math.min(this.min, other.min);
+		this.max = Math.max(this.max, other.max);
+		this.zeros += other.zeros;
+		for (Map.Entry<Integer,Long> e : other.buckets.entrySet()) {
+			this.buckets.merge(e.getKey(), e.getValue(), Long::sum);
+		}
+	}
+
+	/** @return	the number of values.										*/
+	public long			getCount()		{ return this.count; }
+	/** @return	the mean of the values, or NaN if none.						*/
+	public double		getMean()
+	{
+		return this.count == 0 ? Double.NaN : this.mean;
+	}
+	/** @return	the smallest value, or NaN if none.							*/
+	public double		getMin()
+	{
+		return this.count == 0 ? Double.NaN : this.min;
+	}
+	/** @return	the largest value, or NaN if none.							*/
+	public double		getMax()
+	{
+		return this.count == 0 ? Double.NaN : this.max;
+	}
+
+	/**
+	 * return the sample standard deviation of the values, or NaN if there
+	 * are less than two values.
+	 *
+	 * @return	the sample standard deviation of the values.
+	 */
+	public double		getStandardDeviation()
+	{
+		return this.count < 2 ?
+					Double.NaN : Math.sqrt(this.m2/(this.count - 1));
+	}
+
+	/**
+	 * return the value of rank {@code q * (getCount() - 1)} within
+	 * {@code RELATIVE_ACCURACY}, clamped to the extrema, or NaN if there is
+	 * no value.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code q >= 0.0 && q <= 1.0}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param q	quantile to be returned, between 0 and 1.
+	 * @return	the estimated quantile.
+	 */
+	public double		getQuantile(double q)
+	{
+		assert	q >= 0.0 && q <= 1.0;
+
+		if (this.count == 0) {
+			return Double.NaN;
+		}
+		long rank = (long) Math.floor(q * (this.count - 1));
+		if (rank < this.zeros) {
+			return this.min;
+		}
+		long seen = this.zeros;
+		for (Map.Entry<Integer,Long> e : this.buckets.entrySet()) {
+			seen += e.getValue();
+			if (rank < seen) {
+				// middle of the bucket in relative terms
+				double v = 2.0 * Math.pow(GAMMA, e.getKey())/(GAMMA + 1.0);
+				return Math.max(this.min, Math.min(this.max, v));
+			}
+		}
+		return this.max;
+	}
+
+	/**
+	 * return a one line printout of the summary.
+	 *
+	 * @return	a printout of the summary.
+	 */
+	public String		printout()
+	{
+		return String.format(
+				"n = %d, mean = %.4f, sd = %.4f, min = %.4f, p5 = %.4f, "
+				+ "p50 = %.4f, p95 = %.4f, max = %.4f",
+				this.getCount(), this.getMean(), this.getStandardDeviation(),
+				this.getMin(), this.getQuantile(0.05), this.getQuantile(0.5),
+				this.getQuantile(0.95), this.getMax());
+	}
+}
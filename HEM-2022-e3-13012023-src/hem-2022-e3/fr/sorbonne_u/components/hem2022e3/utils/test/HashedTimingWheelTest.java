@@ -0,0 +1,116 @@
+/**
+ *
+ */
+package fr.sorbonne_u.components.hem2022e3.utils.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import fr.sorbonne_u.components.hem2022e3.utils.HashedTimingWheel;
+
+/**
+ * The class <code>HashedTimingWheelTest</code> tests the expiration of the
+ * tasks of a {@code HashedTimingWheel}, in particular when more than a turn
+ * of the wheel has elapsed between two calls to {@code expire}.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The wheels have four buckets and ticks of one nanosecond, starting at
+ * time 0, so that a task due at time {@code k} expires at the first call to
+ * {@code expire} with a time greater than {@code k}.
+ * </p>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author	<p>Hongyu YAN & Liuyi CHEN</p>
+ */
+public class			HashedTimingWheelTest
+{
+	/** number of buckets of the tested wheels.								*/
+	protected static final int	WHEEL_SIZE = 4;
+
+	/**
+	 * expire the tasks of {@code w} due at {@code now} and check that they
+	 * are {@code expected}.
+	 *
+	 * @param w			a timing wheel.
+	 * @param now		current time.
+	 * @param expected	tasks that must expire.
+	 */
+	protected static void	checkExpire(
+		HashedTimingWheel<Integer> w,
+		long now,
+		Integer... expected
+		)
+	{
+		List<Integer> due = new ArrayList<>();
+		w.expire(now, due);
+		if (!due.equals(Arrays.asList(expected))) {
+			throw new AssertionError("expire(" + now + ") returned " + due
+									 + " instead of "
+									 + Arrays.asList(expected));
+		}
+	}
+
+	/**
+	 * check that the tasks expire at their tick when the calls to
+	 * {@code expire} are less than a turn apart.
+	 */
+	public static void	testEveryTick()
+	{
+		HashedTimingWheel<Integer> w = new HashedTimingWheel<>(1L, WHEEL_SIZE, 0L);
+		w.schedule(2, 2L);
+		w.schedule(9, 9L);
+		w.schedule(5, 5L);
+		for (long now = 1L ; now <= 10L ; now++) {
+			if (now == 3L) {
+				checkExpire(w, now, 2);
+			} else if (now == 6L) {
+				checkExpire(w, now, 5);
+			} else if (now == 10L) {
+				checkExpire(w, now, 9);
+			} else {
+				checkExpire(w, now);
+			}
+		}
+		if (w.size() != 0) {
+			throw new AssertionError("tasks left in the wheel: " + w.size());
+		}
+	}
+
+	/**
+	 * check that a gap of more than a turn between two calls to
+	 * {@code expire} neither expires a task early nor delays the tasks
+	 * scheduled after it.
+	 */
+	public static void	testCatchUp()
+	{
+		HashedTimingWheel<Integer> w = new HashedTimingWheel<>(1L, WHEEL_SIZE, 0L);
+		w.schedule(6, 6L);
+		w.schedule(13, 13L);
+		// a gap of five ticks, more than the size of the wheel
+		checkExpire(w, 5L);
+		checkExpire(w, 7L, 6);
+		// a task scheduled after the gap expires at its own tick
+		w.schedule(8, 8L);
+		checkExpire(w, 9L, 8);
+		// a gap of several turns ending after the tick of the last task
+		checkExpire(w, 30L, 13);
+		if (w.size() != 0) {
+			throw new AssertionError("tasks left in the wheel: " + w.size());
+		}
+		// a task due several turns after a gap
+		w.schedule(45, 45L);
+		checkExpire(w, 40L);
+		checkExpire(w, 46L, 45);
+	}
+
+	public static void	main(String[] args)
+	{
+		testEveryTick();
+		testCatchUp();
+		System.out.println("HashedTimingWheel tests passed.");
+	}
+}